@@ -0,0 +1,47 @@
+package com.fpt.careermate.common.constant;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Audience of a broadcast notification.
+ * A user belongs to ALL plus one audience per role they hold.
+ */
+public enum BroadcastAudience {
+    ALL,
+    ADMIN,
+    RECRUITER,
+    CANDIDATE;
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * FCM topic that devices of this audience are subscribed to
+     */
+    public String fcmTopic() {
+        return "broadcast-" + name().toLowerCase();
+    }
+
+    /**
+     * Resolve audiences from granted authorities (e.g. "ROLE_CANDIDATE")
+     */
+    public static Set<BroadcastAudience> fromAuthorities(Collection<String> authorities) {
+        Set<BroadcastAudience> audiences = EnumSet.of(ALL);
+        if (authorities == null) {
+            return audiences;
+        }
+        for (String authority : authorities) {
+            if (authority == null || !authority.startsWith(ROLE_PREFIX)) {
+                continue;
+            }
+            String role = authority.substring(ROLE_PREFIX.length());
+            for (BroadcastAudience audience : values()) {
+                if (audience != ALL && audience.name().equals(role)) {
+                    audiences.add(audience);
+                }
+            }
+        }
+        return audiences;
+    }
+}
@@ -0,0 +1,6 @@
+package com.fpt.careermate.common.constant;
+
+public class QuotaSubjectType {
+    public static final String CANDIDATE = "CANDIDATE";
+    public static final String RECRUITER = "RECRUITER";
+}
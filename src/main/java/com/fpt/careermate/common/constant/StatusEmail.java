@@ -0,0 +1,6 @@
+package com.fpt.careermate.common.constant;
+
+public enum StatusEmail {
+    PENDING,
+    FAILED
+}
@@ -34,6 +34,7 @@ public enum ErrorCode {
     // 30xx: CandidatePackage
     PACKAGE_NOT_FOUND(3000, "CandidatePackage not found", HttpStatus.NOT_FOUND),
     USING_FREE_PACAKGE(3001, "You are using FREE package", HttpStatus.BAD_REQUEST),
+    QUOTA_EXCEEDED(3002, "You have reached the limit of your current package", HttpStatus.FORBIDDEN),
 
     // 40xx: Recruiter
     INVALID_WEBSITE(4000, "Website is not reachable", HttpStatus.BAD_REQUEST),
@@ -179,6 +180,7 @@ public enum ErrorCode {
     INVALID_DURATION(9112, "Invalid interview duration", HttpStatus.BAD_REQUEST),
     INTERVIEW_TOO_SHORT(9113, "Interview must last at least 50% of scheduled duration to complete early", HttpStatus.BAD_REQUEST),
     INTERVIEW_CANNOT_BE_MODIFIED(9114, "Cannot modify completed, cancelled, or no-show interviews", HttpStatus.BAD_REQUEST),
+    INVALID_SCHEDULE_RANGE(9115, "Invalid scheduling date range", HttpStatus.BAD_REQUEST),
 
     // Company Review Error Codes (9300-9399)
     REVIEW_NOT_FOUND(9300, "Company review not found", HttpStatus.NOT_FOUND),
@@ -1,19 +1,13 @@
 package com.fpt.careermate.common.util;
 
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.CurrentUserResolver;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
-import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Service;
-
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -21,20 +15,15 @@ import java.util.Optional;
 @Slf4j
 public class CoachUtil {
 
-    AuthenticationImp authenticationImp;
-    CandidateRepo candidateRepo;
-    RecruiterRepo recruiterRepo;
+    CurrentUserResolver currentUserResolver;
 
+    // Resolved once per request, so repeated calls do not query again
     public Candidate getCurrentCandidate() {
-        Account account = authenticationImp.findByEmail();
-        Optional<Candidate> exsting = candidateRepo.findByAccount_Id(account.getId());
-        return exsting.get();
+        return currentUserResolver.findCandidate().orElseThrow();
     }
 
     public Recruiter getCurrentRecruiter() {
-        Account account = authenticationImp.findByEmail();
-        Optional<Recruiter> exsting = recruiterRepo.findByAccount_Id(account.getId());
-        return exsting.get();
+        return currentUserResolver.findRecruiter().orElseThrow();
     }
 
 }
@@ -4,6 +4,7 @@ import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.services.account_services.domain.Account;
 import com.fpt.careermate.services.account_services.repository.AccountRepo;
+import com.fpt.careermate.services.authentication_services.service.CurrentUserResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Component;
 public class SecurityUtil {
 
     private final AccountRepo accountRepo;
+    private final CurrentUserResolver currentUserResolver;
 
     /**
      * Get the current authenticated user's email from JWT token.
@@ -39,28 +41,26 @@ public class SecurityUtil {
 
     /**
      * Get the current authenticated user's database ID.
-     * Looks up the Account by email and returns the integer ID.
+     * Read from the userId claim; older tokens fall back to an Account lookup.
      *
      * @return User's database ID
      * @throws AppException if not authenticated or account not found
      */
     public Integer getCurrentUserId() {
-        String email = getCurrentUserEmail();
-        Account account = accountRepo.findByEmail(email)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
-        return account.getId();
+        getCurrentUserEmail();
+        return currentUserResolver.getUserId();
     }
 
     /**
      * Get the current authenticated Account entity.
+     * Loaded at most once per request.
      *
      * @return Full Account entity
      * @throws AppException if not authenticated or account not found
      */
     public Account getCurrentAccount() {
-        String email = getCurrentUserEmail();
-        return accountRepo.findByEmail(email)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+        getCurrentUserEmail();
+        return currentUserResolver.getAccount();
     }
 
     /**
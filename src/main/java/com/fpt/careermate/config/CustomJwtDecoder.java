@@ -1,10 +1,8 @@
 package com.fpt.careermate.config;
 
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
-import com.fpt.careermate.services.authentication_services.service.dto.request.IntrospectRequest;
-import com.nimbusds.jose.JOSEException;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.fpt.careermate.services.authentication_services.service.TokenRevocationRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -13,35 +11,76 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
-import java.text.ParseException;
-import java.util.Objects;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Decodes and verifies access tokens for every authenticated request.
+ * The signature is verified once per token; the decoded token is then cached
+ * until it expires, so repeat requests only check expiry and revocation, both
+ * in memory (see {@link TokenRevocationRegistry}).
+ */
 @Component
 public class CustomJwtDecoder implements JwtDecoder {
-    @Value("${jwt.signerKey}")
-    private String signerKey;
-    @Autowired
-    private AuthenticationImp authenticationServiceImp;
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+    private final NimbusJwtDecoder nimbusJwtDecoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final int maxCachedTokens;
+
+    // Raw token -> verified token; keyed by the full string so a hit means the exact bytes were verified
+    private final Map<String, Jwt> verifiedTokens = new ConcurrentHashMap<>();
+
+    public CustomJwtDecoder(@Value("${jwt.signerKey}") String signerKey,
+                            @Value("${app.auth.token-cache.max-entries:10000}") int maxCachedTokens,
+                            TokenRevocationRegistry tokenRevocationRegistry) {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
+        this.nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
     @Override
     public Jwt decode(String token) throws JwtException {
-        try {
-            var response = authenticationServiceImp.introspect(
-                    IntrospectRequest.builder().token(token).build());
+        Instant now = Instant.now();
+        Jwt jwt = verifiedTokens.get(token);
+        if (jwt == null) {
+            jwt = nimbusJwtDecoder.decode(token);
+            if (jwt.getExpiresAt() == null) throw new JwtException("Token invalid");
+            cache(token, jwt, now);
+        }
 
-            if (!response.isValid()) throw new JwtException("Token invalid");
-        } catch (JOSEException | ParseException e) {
-            throw new JwtException(e.getMessage());
+        if (!jwt.getExpiresAt().isAfter(now)) {
+            verifiedTokens.remove(token);
+            throw new JwtException("Token invalid");
         }
+        if (tokenRevocationRegistry.isRevoked(jwt.getId())) throw new JwtException("Token invalid");
 
-        if (Objects.isNull(nimbusJwtDecoder)) {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-            nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                    .macAlgorithm(MacAlgorithm.HS512)
-                    .build();
+        return jwt;
+    }
+
+    private void cache(String token, Jwt jwt, Instant now) {
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            evictExpired(now);
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                // Still full of live tokens: start over rather than track recency
+                verifiedTokens.clear();
+            }
         }
+        verifiedTokens.put(token, jwt);
+    }
+
+    /**
+     * Drop expired tokens from the cache
+     */
+    @Scheduled(fixedDelayString = "${app.auth.token-cache.sweep-ms:60000}")
+    public void evictExpiredTokens() {
+        evictExpired(Instant.now());
+    }
 
-        return nimbusJwtDecoder.decode(token);
+    private void evictExpired(Instant now) {
+        verifiedTokens.values().removeIf(jwt -> !jwt.getExpiresAt().isAfter(now));
     }
 }
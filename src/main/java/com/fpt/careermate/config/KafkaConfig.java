@@ -1,23 +1,30 @@
 package com.fpt.careermate.config;
 
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.serialization.NotificationEventDeserializer;
+import com.fpt.careermate.services.kafka.serialization.NotificationEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * Kafka configuration for creating topics and setting up basic Kafka beans.
@@ -31,6 +38,46 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    // Upper bound on records handed to one batch listener invocation
+    @Value("${app.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Partitions per notification topic; records are keyed by recipient so a
+    // given user always maps to the same partition (changing this remaps users)
+    @Value("${app.kafka.topic.partitions:3}")
+    private int topicPartitions;
+
+    // Listener threads per topic; more than topicPartitions would sit idle
+    @Value("${app.kafka.consumer.concurrency:3}")
+    private int listenerConcurrency;
+
+    // Compression for notification batches; message bodies are long, repetitive text
+    @Value("${app.kafka.producer.compression:zstd}")
+    private String compressionType;
+
+    // Wait briefly so concurrent sends share a (compressed) batch
+    @Value("${app.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    // How long the outbox relay's send() may block on metadata or a full buffer; it holds
+    // a transaction and the relay lock meanwhile, so fail fast instead of the 60 s default
+    @Value("${app.kafka.producer.outbox-max-block-ms:5000}")
+    private int outboxMaxBlockMs;
+
+    // Redeliveries of a failed batch before its records go to the consume dead-letter topic
+    @Value("${app.kafka.consumer.retry.attempts:3}")
+    private long consumeRetryAttempts;
+
+    @Value("${app.kafka.consumer.retry.interval-ms:2000}")
+    private long consumeRetryIntervalMs;
+
+    // Optional static membership id (unique per instance) so restarts keep their partitions
+    @Value("${KAFKA_GROUP_INSTANCE_ID:}")
+    private String groupInstanceId;
+
     // Cloud Kafka security settings (read directly from env vars)
     @Value("${KAFKA_SECURITY_PROTOCOL:}")
     private String securityProtocol;
@@ -48,6 +95,9 @@ public class KafkaConfig {
     public static final String ADMIN_NOTIFICATION_TOPIC = "admin-notifications";
     public static final String RECRUITER_NOTIFICATION_TOPIC = "recruiter-notifications";
     public static final String CANDIDATE_NOTIFICATION_TOPIC = "candidate-notifications";
+    public static final String BROADCAST_NOTIFICATION_TOPIC = "broadcast-notifications";
+    public static final String NOTIFICATION_DELIVERY_DLT_TOPIC = "notification-delivery-dlt";
+    public static final String NOTIFICATION_CONSUME_DLT_TOPIC = "notification-consume-dlt";
 
     /**
      * Common security properties for cloud Kafka (Confluent, Upstash, etc.)
@@ -75,7 +125,7 @@ public class KafkaConfig {
     public NewTopic adminNotificationTopic() {
         return TopicBuilder
                 .name(ADMIN_NOTIFICATION_TOPIC)
-                .partitions(3)
+                .partitions(topicPartitions)
                 .replicas(1)
                 .build();
     }
@@ -87,7 +137,7 @@ public class KafkaConfig {
     public NewTopic recruiterNotificationTopic() {
         return TopicBuilder
                 .name(RECRUITER_NOTIFICATION_TOPIC)
-                .partitions(3)
+                .partitions(topicPartitions)
                 .replicas(1)
                 .build();
     }
@@ -99,23 +149,63 @@ public class KafkaConfig {
     public NewTopic candidateNotificationTopic() {
         return TopicBuilder
                 .name(CANDIDATE_NOTIFICATION_TOPIC)
-                .partitions(3)
+                .partitions(topicPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Create broadcast notification topic (one event per announcement, not per recipient)
+     */
+    @Bean
+    public NewTopic broadcastNotificationTopic() {
+        return TopicBuilder
+                .name(BROADCAST_NOTIFICATION_TOPIC)
+                .partitions(topicPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Create dead-letter topic for deliveries (SSE, push, email) that exhausted their retries
+     */
+    @Bean
+    public NewTopic notificationDeliveryDltTopic() {
+        return TopicBuilder
+                .name(NOTIFICATION_DELIVERY_DLT_TOPIC)
+                .partitions(topicPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Create dead-letter topic for notification records the listeners could not process
+     */
+    @Bean
+    public NewTopic notificationConsumeDltTopic() {
+        return TopicBuilder
+                .name(NOTIFICATION_CONSUME_DLT_TOPIC)
+                .partitions(topicPartitions)
                 .replicas(1)
                 .build();
     }
 
     /**
-     * Producer configuration
+     * Producer configuration.
+     * Events are written in the compact binary format of {@link NotificationEventSerializer}.
      */
     @Bean
     public ProducerFactory<String, NotificationEvent> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, NotificationEventSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
         
         // Add cloud security properties if configured
         addSecurityProperties(configProps);
@@ -127,10 +217,19 @@ public class KafkaConfig {
      * Kafka template for sending messages
      */
     @Bean
+    @Primary
     public KafkaTemplate<String, NotificationEvent> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Kafka template for the outbox relay, with a short max.block.ms
+     */
+    @Bean
+    public KafkaTemplate<String, NotificationEvent> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory(), Map.of(ProducerConfig.MAX_BLOCK_MS_CONFIG, outboxMaxBlockMs));
+    }
+
     /**
      * String-based producer factory for simple string messages (e.g., testing)
      */
@@ -159,7 +258,8 @@ public class KafkaConfig {
     }
 
     /**
-     * Consumer configuration
+     * Consumer configuration.
+     * Reads the binary format and still accepts JSON records produced before it was introduced.
      */
     @Bean
     public ConsumerFactory<String, NotificationEvent> consumerFactory() {
@@ -167,11 +267,15 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, NotificationEventDeserializer.class);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, NotificationEvent.class.getName());
+        // Sticky assignment keeps a recipient's partition on the same consumer across rebalances
+        configProps.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+                CooperativeStickyAssignor.class.getName());
+        if (groupInstanceId != null && !groupInstanceId.isEmpty()) {
+            configProps.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId);
+        }
         
         // Add cloud security properties if configured
         addSecurityProperties(configProps);
@@ -180,16 +284,43 @@ public class KafkaConfig {
     }
 
     /**
-     * Kafka listener container factory
+     * Batch Kafka listener container factory.
+     * Delivers each poll as a list so notifications can be deduplicated and
+     * persisted in bulk; the whole batch is acknowledged at once.
+     * A listener that throws has its batch redelivered a bounded number of times;
+     * after that the failed records are published to the consume dead-letter topic
+     * and their offsets committed, so one bad record cannot stall the partition.
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> batchKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
-        factory.setConcurrency(3);
+
+        Properties consumerProps = new Properties();
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProps);
+
+        factory.setConcurrency(listenerConcurrency);
+        factory.setCommonErrorHandler(notificationErrorHandler());
         return factory;
     }
+
+    /**
+     * Error handler for the notification listeners.
+     * A BatchListenerFailedException retries from the failing record (earlier ones are
+     * committed); any other exception retries the whole batch. Keyed by recipient like
+     * the source topics; the original topic, offset and error travel in the DLT headers.
+     */
+    private DefaultErrorHandler notificationErrorHandler() {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate(),
+                (record, ex) -> new TopicPartition(NOTIFICATION_CONSUME_DLT_TOPIC, -1));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(consumeRetryIntervalMs, consumeRetryAttempts));
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
+    }
 }
 
@@ -2,19 +2,25 @@ package com.fpt.careermate.config;
 
 import com.fpt.careermate.services.authentication_services.web.rest.OAuth2LoginSuccessHandler;
 import lombok.RequiredArgsConstructor;
+import com.fpt.careermate.common.constant.PredefineRole;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -57,8 +63,9 @@ public class SecurityConfig {
             // Public job postings endpoints - no authentication required
             "/api/job-postings",
             "/api/job-postings/**",
-            // Actuator endpoints for monitoring (consider securing these in production)
-            "/actuator/**",
+            // Liveness/readiness probes; other actuator endpoints are not public
+            "/actuator/health",
+            "/actuator/health/**",
             "/api/job-postings/**",
             "/api/jdskill/top-used",
             "/api/saved-jobs/jobs-for-candidate",
@@ -67,7 +74,46 @@ public class SecurityConfig {
     @Autowired
     private CustomJwtDecoder customJwtDecoder;
 
+    private static final String METRICS_SCRAPER_ROLE = "METRICS_SCRAPER";
+
+    // HTTP Basic credential for the Prometheus scraper; no password disables it (admins only)
+    @Value("${app.actuator.prometheus.username:prometheus}")
+    private String prometheusUsername;
+    @Value("${app.actuator.prometheus.password:}")
+    private String prometheusPassword;
+
+    /**
+     * /actuator/prometheus: an admin token, or the scrape credential over HTTP Basic.
+     * Never authorized by client address, which behind the proxy comes from X-Forwarded-For.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity httpSecurity) throws Exception {
+        httpSecurity
+                .securityMatcher("/actuator/prometheus")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(request -> request
+                        .anyRequest().hasAnyRole(PredefineRole.ADMIN_ROLE, METRICS_SCRAPER_ROLE));
+
+        httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwtConfigurer -> jwtConfigurer
+                .decoder(customJwtDecoder)
+                .jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                .authenticationEntryPoint(new JwtAuthenticationEntryPoint()));
+
+        if (!prometheusPassword.isBlank()) {
+            httpSecurity.userDetailsService(new InMemoryUserDetailsManager(User.withUsername(prometheusUsername)
+                            .password("{bcrypt}" + passwordEncoder().encode(prometheusPassword))
+                            .roles(METRICS_SCRAPER_ROLE)
+                            .build()))
+                    .httpBasic(Customizer.withDefaults());
+        }
+
+        return httpSecurity.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
         httpSecurity
                 .cors(Customizer.withDefaults()) // 👈 enable CORS support
@@ -2,6 +2,8 @@ package com.fpt.careermate.services.authentication_services.domain;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -14,9 +16,13 @@ import java.util.Date;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity(name = "invalid_token")
+@Table(indexes = @Index(name = "idx_invalid_token_created_at", columnList = "created_at"))
 public class InvalidToken {
     @Id
     String id;
 
     Date expiryTime;
+
+    // Lets other instances poll for new revocations; null on rows created before it existed
+    Date createdAt;
 }
@@ -2,8 +2,27 @@ package com.fpt.careermate.services.authentication_services.repository;
 
 import com.fpt.careermate.services.authentication_services.domain.InvalidToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface InvalidDateTokenRepo extends JpaRepository<InvalidToken, String> {
+
+    List<InvalidToken> findByExpiryTimeAfter(Date now);
+
+    List<InvalidToken> findByCreatedAtAfter(Date since);
+
+    /**
+     * Expired tokens are rejected on their own, so their revocation rows are no longer needed
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM invalid_token t WHERE t.expiryTime < :now")
+    int deleteByExpiryTimeBefore(@Param("now") Date now);
 }
@@ -3,7 +3,6 @@ package com.fpt.careermate.services.authentication_services.service;
 import com.fpt.careermate.common.constant.PredefineRole;
 import com.fpt.careermate.common.constant.StatusAccount;
 import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.domain.InvalidToken;
 import com.fpt.careermate.services.account_services.repository.AccountRepo;
 import com.fpt.careermate.services.authentication_services.repository.InvalidDateTokenRepo;
 import com.fpt.careermate.services.authentication_services.service.dto.request.AuthenticationRequest;
@@ -56,6 +55,12 @@ public class AuthenticationImp implements AuthenticationService {
     protected long REFRESHABLE_DURATION;
 
     protected final InvalidDateTokenRepo invalidatedTokenRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final CurrentUserResolver currentUserResolver;
+
+    // Created on first use; the signer key is injected after construction
+    @NonFinal
+    private volatile JWSVerifier verifier;
 
     private final AccountRepo accountRepo;
     private final RecruiterRepo recruiterRepo;
@@ -78,23 +83,28 @@ public class AuthenticationImp implements AuthenticationService {
     @Override
     public SignedJWT verifyToken(String token) throws JOSEException, ParseException {
 
-        JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
-
         SignedJWT signedJWT = SignedJWT.parse(token);
 
         Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-        var verified = signedJWT.verify(verifier);
+        var verified = signedJWT.verify(verifier());
 
         if (!(verified && expiryTime.after(new Date())))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID()))
+        if (tokenRevocationRegistry.isRevoked(signedJWT.getJWTClaimsSet().getJWTID()))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
         return signedJWT;
     }
 
+    private JWSVerifier verifier() throws JOSEException {
+        if (verifier == null) {
+            verifier = new MACVerifier(SIGNER_KEY.getBytes());
+        }
+        return verifier;
+    }
+
     @Override
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
@@ -209,12 +219,7 @@ public class AuthenticationImp implements AuthenticationService {
         String jit = signToken.getJWTClaimsSet().getJWTID();
         Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
 
-        InvalidToken invalidatedToken = InvalidToken.builder()
-                .id(jit)
-                .expiryTime(expiryTime)
-                .build();
-
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationRegistry.revoke(jit, expiryTime);
     }
 
     @Override
@@ -223,17 +228,14 @@ public class AuthenticationImp implements AuthenticationService {
         var jti = signedJWT.getJWTClaimsSet().getJWTID();
         var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-        // Check if RT already used (token reuse detection)
+        // Check if RT already used (token reuse detection); asks the table so a
+        // rotation on another instance that has not been synced yet is still caught
         if (invalidatedTokenRepository.existsById(jti)) {
             throw new AppException(ErrorCode.TOKEN_REUSE_DETECTED);
         }
 
         // Invalidate old RT
-        InvalidToken invalidatedToken = InvalidToken.builder()
-                .id(jti)
-                .expiryTime(expiryTime)
-                .build();
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationRegistry.revoke(jti, expiryTime);
 
         // Generate new tokens
         var username = signedJWT.getJWTClaimsSet().getSubject();
@@ -347,9 +349,7 @@ public class AuthenticationImp implements AuthenticationService {
 
     @Override
     public Account findByEmail() {
-        var context = SecurityContextHolder.getContext();
-        String email = context.getAuthentication().getName();
-        return accountRepo.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+        return currentUserResolver.getAccount();
     }
 
     /**
@@ -357,22 +357,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The userId claim from JWT
      */
     public Integer getUserIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                SignedJWT signedJWT = SignedJWT.parse(token);
-                Object userId = signedJWT.getJWTClaimsSet().getClaim("userId");
-                if (userId instanceof Number) {
-                    return ((Number) userId).intValue();
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse userId from token", e);
-            }
-        }
-        // Fallback: get from database
-        return findByEmail().getId();
+        return currentUserResolver.getUserId();
     }
 
     /**
@@ -380,34 +365,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The recruiterId claim from JWT, or null if not a recruiter
      */
     public Integer getRecruiterIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                // Strip "Bearer " prefix if present
-                if (token.toLowerCase().startsWith("bearer ")) {
-                    token = token.substring(7);
-                }
-                // Validate token has exactly 3 parts (header.payload.signature)
-                if (token.split("\\.").length != 3) {
-                    log.warn("Invalid JWT format - expected 3 parts");
-                } else {
-                    SignedJWT signedJWT = SignedJWT.parse(token);
-                    Object recruiterId = signedJWT.getJWTClaimsSet().getClaim("recruiterId");
-                    if (recruiterId instanceof Number) {
-                        return ((Number) recruiterId).intValue();
-                    }
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse recruiterId from token", e);
-            }
-        }
-        // Fallback: lookup from database
-        Account account = findByEmail();
-        return recruiterRepo.findByAccount_Id(account.getId())
-                .map(r -> r.getId())
-                .orElse(null);
+        return currentUserResolver.getRecruiterId();
     }
 
     /**
@@ -415,34 +373,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The candidateId claim from JWT, or null if not a candidate
      */
     public Integer getCandidateIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                // Strip "Bearer " prefix if present
-                if (token.toLowerCase().startsWith("bearer ")) {
-                    token = token.substring(7);
-                }
-                // Validate token has exactly 3 parts (header.payload.signature)
-                if (token.split("\\.").length != 3) {
-                    log.warn("Invalid JWT format - expected 3 parts");
-                } else {
-                    SignedJWT signedJWT = SignedJWT.parse(token);
-                    Object candidateId = signedJWT.getJWTClaimsSet().getClaim("candidateId");
-                    if (candidateId instanceof Number) {
-                        return ((Number) candidateId).intValue();
-                    }
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse candidateId from token", e);
-            }
-        }
-        // Fallback: lookup from database
-        Account account = findByEmail();
-        return candidateRepo.findByAccount_Id(account.getId())
-                .map(c -> c.getCandidateId())
-                .orElse(null);
+        return currentUserResolver.getCandidateId();
     }
 
     @Override
@@ -0,0 +1,161 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.account_services.domain.Account;
+import com.fpt.careermate.services.account_services.repository.AccountRepo;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the authenticated user of the current request.
+ * IDs come from the claims generateToken puts in the access token (userId,
+ * recruiterId, candidateId), so they cost nothing; the Account, Candidate and
+ * Recruiter entities are loaded lazily, at most once per request, and reused by
+ * every later caller in the same request. Outside a web request (e.g. async
+ * tasks) nothing is cached and each call queries again.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private static final String ATTRIBUTE = CurrentUserResolver.class.getName();
+
+    private final AccountRepo accountRepo;
+    private final CandidateRepo candidateRepo;
+    private final RecruiterRepo recruiterRepo;
+
+    /**
+     * Email (JWT subject) of the authenticated user
+     */
+    public String getEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Account ID from the userId claim, or from the account if the token has none
+     */
+    public Integer getUserId() {
+        Integer userId = claim("userId");
+        return userId != null ? userId : getAccount().getId();
+    }
+
+    /**
+     * Recruiter profile ID from the recruiterId claim, or looked up if the token has none
+     *
+     * @return the ID, or null if the user has no recruiter profile
+     */
+    public Integer getRecruiterId() {
+        Integer recruiterId = claim("recruiterId");
+        return recruiterId != null ? recruiterId : findRecruiter().map(Recruiter::getId).orElse(null);
+    }
+
+    /**
+     * Candidate profile ID from the candidateId claim, or looked up if the token has none
+     *
+     * @return the ID, or null if the user has no candidate profile
+     */
+    public Integer getCandidateId() {
+        Integer candidateId = claim("candidateId");
+        return candidateId != null ? candidateId : findCandidate().map(Candidate::getCandidateId).orElse(null);
+    }
+
+    /**
+     * The authenticated user's account
+     */
+    public Account getAccount() {
+        Resolved resolved = resolved();
+        return resolve(resolved, () -> resolved.account, value -> resolved.account = value,
+                () -> Optional.of(accountRepo.findByEmail(getEmail())
+                        .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED))))
+                .get();
+    }
+
+    /**
+     * The authenticated user's candidate profile, if any
+     */
+    public Optional<Candidate> findCandidate() {
+        Resolved resolved = resolved();
+        return resolve(resolved, () -> resolved.candidate, value -> resolved.candidate = value, () -> {
+            Integer candidateId = claim("candidateId");
+            return candidateId != null
+                    ? candidateRepo.findById(candidateId)
+                    : candidateRepo.findByAccount_Id(getUserId());
+        });
+    }
+
+    /**
+     * The authenticated user's recruiter profile, if any
+     */
+    public Optional<Recruiter> findRecruiter() {
+        Resolved resolved = resolved();
+        return resolve(resolved, () -> resolved.recruiter, value -> resolved.recruiter = value, () -> {
+            Integer recruiterId = claim("recruiterId");
+            return recruiterId != null
+                    ? recruiterRepo.findById(recruiterId)
+                    : recruiterRepo.findByAccount_Id(getUserId());
+        });
+    }
+
+    private static Integer claim(String name) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getClaim(name) instanceof Number value) {
+            return value.intValue();
+        }
+        return null;
+    }
+
+    private static <T> Optional<T> resolve(Resolved resolved, Supplier<Optional<T>> cached,
+                                           Consumer<Optional<T>> store,
+                                           Supplier<Optional<T>> loader) {
+        if (resolved != null && cached.get() != null) {
+            return cached.get();
+        }
+        Optional<T> value = loader.get();
+        if (resolved != null) {
+            store.accept(value);
+        }
+        return value;
+    }
+
+    /**
+     * Per-request holder, or null outside a web request
+     */
+    private static Resolved resolved() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Resolved resolved = (Resolved) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (resolved == null) {
+            resolved = new Resolved();
+            attributes.setAttribute(ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
+    // Null field = not loaded yet; an empty Optional = loaded and absent
+    private static final class Resolved {
+        private Optional<Account> account;
+        private Optional<Candidate> candidate;
+        private Optional<Recruiter> recruiter;
+    }
+}
@@ -0,0 +1,212 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.services.authentication_services.domain.InvalidToken;
+import com.fpt.careermate.services.authentication_services.repository.InvalidDateTokenRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory view of revoked token IDs (the invalid_token table).
+ * Every authenticated request checks its JTI here instead of querying the
+ * database: a bloom filter answers the common "never revoked" case, and the
+ * exact set confirms the rare positives. Revocations made on this instance are
+ * visible immediately; those made on other instances are picked up by a short
+ * incremental poll of the table. Expired entries are dropped (and the bloom
+ * filter rebuilt) by a periodic full reload.
+ */
+@Service
+@Slf4j
+public class TokenRevocationRegistry {
+
+    // Overlap between incremental polls so rows committed late are not missed
+    private static final long SYNC_OVERLAP_MILLIS = 5_000;
+
+    private final InvalidDateTokenRepo invalidTokenRepo;
+    private final int expectedRevocations;
+
+    // Revoked JTI -> token expiry (epoch millis); replaced together with the filter on reload
+    private volatile Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile boolean loaded;
+    private volatile long lastSyncAt;
+
+    public TokenRevocationRegistry(InvalidDateTokenRepo invalidTokenRepo,
+                                   @Value("${app.auth.revocation.expected-entries:100000}") int expectedRevocations) {
+        this.invalidTokenRepo = invalidTokenRepo;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    /**
+     * Whether a token ID has been revoked (logout or refresh token rotation)
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!loaded) {
+            // Not loaded yet (startup, or the last reload failed): fall back to the table
+            return invalidTokenRepo.existsById(jti);
+        }
+        return bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until it expires
+     */
+    public void revoke(String jti, Date expiryTime) {
+        invalidTokenRepo.save(InvalidToken.builder()
+                .id(jti)
+                .expiryTime(expiryTime)
+                .createdAt(new Date())
+                .build());
+        remember(jti, expiryTime);
+    }
+
+    /**
+     * Pick up tokens revoked by other instances since the last poll
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.sync-ms:5000}")
+    public void sync() {
+        if (!loaded) {
+            reload();
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<InvalidToken> added = invalidTokenRepo.findByCreatedAtAfter(
+                    new Date(lastSyncAt - SYNC_OVERLAP_MILLIS));
+            added.forEach(token -> remember(token.getId(), token.getExpiryTime()));
+            lastSyncAt = startedAt;
+        } catch (Exception e) {
+            log.error("❌ Failed to sync revoked tokens", e);
+        }
+    }
+
+    /**
+     * Reload all unexpired revocations, rebuild the bloom filter and purge expired rows
+     * Runs every hour by default
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.reload-ms:3600000}",
+            initialDelayString = "${app.auth.revocation.reload-ms:3600000}")
+    public void reload() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            Date now = new Date(startedAt);
+            int purged = invalidTokenRepo.deleteByExpiryTimeBefore(now);
+            List<InvalidToken> active = invalidTokenRepo.findByExpiryTimeAfter(now);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active.size() * 2));
+            Map<String, Long> current = new ConcurrentHashMap<>();
+            for (InvalidToken token : active) {
+                current.put(token.getId(), expiryMillis(token.getExpiryTime()));
+                rebuilt.add(token.getId());
+            }
+            synchronized (this) {
+                // Keep revocations made while loading; they are already in the table too
+                revoked.forEach((jti, expiry) -> {
+                    if (expiry > startedAt && current.putIfAbsent(jti, expiry) == null) {
+                        rebuilt.add(jti);
+                    }
+                });
+                revoked = current;
+                bloomFilter = rebuilt;
+                lastSyncAt = startedAt;
+                loaded = true;
+            }
+
+            log.info("🔐 Revoked tokens loaded | active: {} | purged: {}", current.size(), purged);
+        } catch (Exception e) {
+            log.error("❌ Failed to load revoked tokens, checking the database until the next attempt", e);
+        }
+    }
+
+    private synchronized void remember(String jti, Date expiryTime) {
+        // Add to the filter first so a concurrent check never sees the set entry without it
+        bloomFilter.add(jti);
+        revoked.put(jti, expiryMillis(expiryTime));
+    }
+
+    private static long expiryMillis(Date expiryTime) {
+        return expiryTime != null ? expiryTime.getTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Fixed-size bloom filter over token IDs (about 1% false positives at the expected size).
+     * Thread-safe without locks; entries cannot be removed, so it is rebuilt on reload.
+     */
+    static final class BloomFilter {
+
+        private static final int HASH_COUNT = 7;
+
+        private final AtomicLongArray bits;
+        private final int bitCount;
+
+        BloomFilter(int expectedEntries) {
+            // ~9.6 bits per entry gives ~1% false positives with 7 hash functions
+            long size = Math.max(1_024L, (long) expectedEntries * 10);
+            int words = (int) Math.min(Integer.MAX_VALUE / 64, (size + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64;
+        }
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a followed by a murmur3 finalizer to spread the bits
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb93fe53c2b1aL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
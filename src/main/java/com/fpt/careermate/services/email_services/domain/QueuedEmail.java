@@ -0,0 +1,56 @@
+package com.fpt.careermate.services.email_services.domain;
+
+import com.fpt.careermate.common.constant.StatusEmail;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing email waiting in the persistent send queue.
+ * Rows are deleted once the SMTP server accepted the message; rows that ran
+ * out of attempts stay as FAILED for inspection.
+ */
+@Entity
+@Table(name = "email_queue", indexes = {
+        @Index(name = "idx_email_queue_due", columnList = "status, next_attempt_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class QueuedEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "recipient", nullable = false, length = 320)
+    String recipient;
+
+    @Column(name = "subject", nullable = false, length = 998)
+    String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "text")
+    String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    StatusEmail status = StatusEmail.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+}
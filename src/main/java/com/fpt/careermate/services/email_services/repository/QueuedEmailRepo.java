@@ -0,0 +1,45 @@
+package com.fpt.careermate.services.email_services.repository;
+
+import com.fpt.careermate.services.email_services.domain.QueuedEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the persistent email send queue
+ */
+@Repository
+public interface QueuedEmailRepo extends JpaRepository<QueuedEmail, Long> {
+
+    /**
+     * Claim pending emails that are due, oldest first.
+     * Rows locked by another sender are skipped so parallel instances never send the same email.
+     */
+    @Query(value = "SELECT * FROM email_queue " +
+           "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+           "ORDER BY id " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<QueuedEmail> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Remove emails the SMTP server accepted
+     */
+    @Modifying
+    @Query("DELETE FROM QueuedEmail e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete failed emails older than the given time
+     */
+    @Modifying
+    @Query("DELETE FROM QueuedEmail e WHERE e.status = com.fpt.careermate.common.constant.StatusEmail.FAILED " +
+           "AND e.createdAt < :before")
+    int deleteFailedBefore(@Param("before") LocalDateTime before);
+}
@@ -6,48 +6,56 @@ import com.fpt.careermate.services.account_services.repository.AccountRepo;
 import com.fpt.careermate.services.authentication_services.repository.ForgotPasswordRepo;
 import com.fpt.careermate.common.util.ChangePassword;
 import com.fpt.careermate.common.util.MailBody;
+import com.fpt.careermate.services.email_services.domain.QueuedEmail;
+import com.fpt.careermate.services.email_services.repository.QueuedEmailRepo;
 import com.fpt.careermate.services.email_services.service.impl.EmailService;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
-import lombok.experimental.NonFinal;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-
+@Slf4j
 public class EmailImp implements EmailService {
-    final JavaMailSender mailSender;
-    @NonFinal
-    @Value("${spring.mail.username}")
-    String sender;
-
+    QueuedEmailRepo queuedEmailRepo;
     AccountRepo accountRepo;
     ForgotPasswordRepo forgotPasswordRepo;
     PasswordEncoder passwordEncoder;
 
 
+    /**
+     * Queue an email; EmailQueueSender delivers it in the background.
+     * Joins the caller's transaction, so the email is only sent if it commits.
+     */
     @Override
     public void sendSimpleEmail(MailBody mailBody) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(sender);
-        message.setTo(mailBody.to());
-        message.setSubject(mailBody.subject());
-        message.setText(mailBody.text());
+        LocalDateTime now = LocalDateTime.now();
+        QueuedEmail email = queuedEmailRepo.save(QueuedEmail.builder()
+                .recipient(mailBody.to())
+                .subject(mailBody.subject())
+                .body(mailBody.text())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.debug("📧 Email queued | id: {} | recipient: {}", email.getId(), mailBody.to());
+    }
 
-        mailSender.send(message);
+    @Override
+    public void sendTemplatedEmail(String to, EmailTemplate template, Map<String, ?> model) {
+        sendSimpleEmail(template.render(to, model));
     }
 
     @Override
@@ -56,18 +64,13 @@ public class EmailImp implements EmailService {
         validateEmail(cleanEmail);
         Account account = accountRepo.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
         int otp = generateVerificationCode();
-        MailBody mailBody = MailBody.builder()
-                .to(email)
-                .subject("Verification Code")
-                .text("Your verification code is: " + otp)
-                .build();
         ForgotPassword fp = ForgotPassword.builder()
                 .otp(otp)
                 .expiredAt(new Date(System.currentTimeMillis() + 70 * 1000))
                 .account(account)
                 .build();
-        sendSimpleEmail(mailBody);
         forgotPasswordRepo.save(fp);
+        sendTemplatedEmail(email, EmailTemplate.VERIFICATION_CODE, Map.of("otp", otp));
         return "Verification code sent to email";
     }
 
@@ -0,0 +1,194 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.constant.StatusEmail;
+import com.fpt.careermate.common.util.MailBody;
+import com.fpt.careermate.services.email_services.domain.QueuedEmail;
+import com.fpt.careermate.services.email_services.repository.QueuedEmailRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the persistent email queue.
+ * Each poll claims due rows with {@code FOR UPDATE SKIP LOCKED} (so parallel
+ * instances split the queue), sends them as one batch over a single SMTP
+ * connection, deletes accepted rows and reschedules failed ones with
+ * exponential backoff. A token bucket keeps the send rate under the provider's
+ * limit; emails that exhaust their attempts are kept as FAILED.
+ */
+@Slf4j
+@Component
+public class EmailQueueSender {
+
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final QueuedEmailRepo queuedEmailRepo;
+    private final MailTransport mailTransport;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenBucket rateLimiter;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailQueueSender(QueuedEmailRepo queuedEmailRepo,
+                            MailTransport mailTransport,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.mail.queue.batch-size:20}") int batchSize,
+                            @Value("${app.mail.queue.max-attempts:6}") int maxAttempts,
+                            @Value("${app.mail.rate-per-second:5}") double ratePerSecond) {
+        this.queuedEmailRepo = queuedEmailRepo;
+        this.mailTransport = mailTransport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new TokenBucket(ratePerSecond);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+
+        this.sentCounter = Counter.builder("email.queue.sent")
+                .description("Emails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.queue.retried")
+                .description("Email send attempts that failed and were rescheduled")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.queue.failed")
+                .description("Emails given up after exhausting their attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send due emails; keeps going while full batches go out and the rate allows
+     */
+    @Scheduled(fixedDelayString = "${app.mail.queue.poll-ms:1000}")
+    public void drain() {
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> sendBatch());
+            } while (Boolean.TRUE.equals(more));
+        } catch (Exception e) {
+            log.error("❌ Email queue drain failed", e);
+        }
+    }
+
+    /**
+     * Claim and send one batch inside the current transaction
+     *
+     * @return true if a full batch was sent and more may be waiting
+     */
+    private boolean sendBatch() {
+        int permits = rateLimiter.tryAcquireUpTo(batchSize);
+        if (permits == 0) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<QueuedEmail> batch = queuedEmailRepo.claimDue(now, permits);
+        rateLimiter.release(permits - batch.size());
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<MailBody> messages = new ArrayList<>(batch.size());
+        for (QueuedEmail email : batch) {
+            messages.add(new MailBody(email.getRecipient(), email.getSubject(), email.getBody()));
+        }
+        List<MailTransport.SendOutcome> outcomes = mailTransport.send(messages);
+
+        List<Long> sent = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            QueuedEmail email = batch.get(i);
+            MailTransport.SendOutcome outcome = outcomes.get(i);
+            if (outcome.success()) {
+                sent.add(email.getId());
+            } else {
+                reschedule(email, outcome.error(), now);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            queuedEmailRepo.deleteByIdIn(sent);
+            sentCounter.increment(sent.size());
+        }
+        log.info("📧 Email batch sent | sent: {} | failed: {}", sent.size(), batch.size() - sent.size());
+
+        return sent.size() == batch.size() && batch.size() == batchSize;
+    }
+
+    private void reschedule(QueuedEmail email, String error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(StatusEmail.FAILED);
+            failedCounter.increment();
+            log.error("❌ Giving up on email after {} attempt(s) | id: {} | recipient: {} | error: {}",
+                    attempts, email.getId(), email.getRecipient(), error);
+        } else {
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (attempts - 1));
+            email.setNextAttemptAt(now.plusSeconds(backoff));
+            retriedCounter.increment();
+            log.warn("⚠️ Email send failed, retrying in {}s | id: {} | attempt: {} | error: {}",
+                    backoff, email.getId(), attempts, error);
+        }
+        // Managed entity: flushed when the batch transaction commits
+    }
+
+    /**
+     * Delete failed emails after a week
+     * Runs every day at 4:00 AM
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purgeFailed() {
+        int deleted = transactionTemplate.execute(status ->
+                queuedEmailRepo.deleteFailedBefore(LocalDateTime.now().minusDays(7)));
+        if (deleted > 0) {
+            log.info("🧹 Deleted {} failed email(s) from the queue", deleted);
+        }
+    }
+
+    /**
+     * Refilling token bucket holding at most one second worth of sends
+     */
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(double ratePerSecond) {
+            this.ratePerNano = ratePerSecond / 1_000_000_000d;
+            this.capacity = Math.max(1, ratePerSecond);
+            this.tokens = capacity;
+        }
+
+        synchronized int tryAcquireUpTo(int requested) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            int granted = (int) Math.min(requested, Math.floor(tokens));
+            tokens -= granted;
+            return granted;
+        }
+
+        synchronized void release(int unused) {
+            tokens = Math.min(capacity, tokens + unused);
+        }
+    }
+}
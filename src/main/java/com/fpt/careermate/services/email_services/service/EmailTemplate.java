@@ -0,0 +1,122 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.util.MailBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain-text email templates with {{placeholder}} variables.
+ * Each template is split into literal and variable segments once, when the
+ * enum is loaded; rendering only concatenates segments. Missing variables render
+ * as an empty string.
+ */
+public enum EmailTemplate {
+
+    VERIFICATION_CODE(
+            "Verification Code",
+            "Your verification code is: {{otp}}"),
+
+    /**
+     * Layout wrapped around notification emails
+     */
+    NOTIFICATION(
+            "{{subject}}",
+            "{{content}}\n\n" +
+                    "---\n" +
+                    "This is an automated notification from CareerMate.\n" +
+                    "You can view all your notifications in the app.\n\n" +
+                    "Best regards,\n" +
+                    "The CareerMate Team\n" +
+                    "\n" +
+                    "© 2025 CareerMate. All rights reserved."),
+
+    JOB_POSTING_APPROVED(
+            "Your Job Posting Has Been Approved",
+            "Great news! Your job posting '{{title}}' has been approved and is now live on CareerMate.\n\n" +
+                    "Job Details:\n" +
+                    "- Title: {{title}}\n" +
+                    "- Location: {{address}}\n" +
+                    "- Expiration Date: {{expirationDate}}\n\n" +
+                    "Candidates can now view and apply to your job posting.\n\n" +
+                    "Best regards,\n" +
+                    "CareerMate Team"),
+
+    JOB_POSTING_REJECTED(
+            "Your Job Posting Requires Updates",
+            "Your job posting '{{title}}' was not approved and requires updates.\n\n" +
+                    "Rejection Reason:\n{{reason}}\n\n" +
+                    "Please review the feedback above and resubmit your job posting after making the necessary changes.\n\n" +
+                    "If you have any questions, please contact our support team.\n\n" +
+                    "Best regards,\n" +
+                    "CareerMate Team");
+
+    private final Compiled subject;
+    private final Compiled body;
+
+    EmailTemplate(String subject, String body) {
+        this.subject = Compiled.parse(subject);
+        this.body = Compiled.parse(body);
+    }
+
+    public String renderSubject(Map<String, ?> model) {
+        return subject.render(model);
+    }
+
+    public String renderBody(Map<String, ?> model) {
+        return body.render(model);
+    }
+
+    public MailBody render(String to, Map<String, ?> model) {
+        return MailBody.builder()
+                .to(to)
+                .subject(renderSubject(model))
+                .text(renderBody(model))
+                .build();
+    }
+
+    /**
+     * Template split into segments; odd indexes are variable names
+     */
+    private record Compiled(String[] segments, int literalLength) {
+
+        private static final String OPEN = "{{";
+        private static final String CLOSE = "}}";
+
+        static Compiled parse(String source) {
+            List<String> segments = new ArrayList<>();
+            int literalLength = 0;
+            int position = 0;
+            while (true) {
+                int open = source.indexOf(OPEN, position);
+                int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+                if (close < 0) {
+                    segments.add(source.substring(position));
+                    literalLength += source.length() - position;
+                    break;
+                }
+                segments.add(source.substring(position, open));
+                segments.add(source.substring(open + OPEN.length(), close).trim());
+                literalLength += open - position;
+                position = close + CLOSE.length();
+            }
+            return new Compiled(segments.toArray(new String[0]), literalLength);
+        }
+
+        String render(Map<String, ?> model) {
+            StringBuilder out = new StringBuilder(literalLength + 64);
+            for (int i = 0; i < segments.length; i++) {
+                if (i % 2 == 0) {
+                    out.append(segments[i]);
+                } else {
+                    Object value = model.get(segments[i]);
+                    if (value != null) {
+                        out.append(value);
+                    }
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.util.MailBody;
+
+import java.util.List;
+
+/**
+ * Thin seam over the SMTP server.
+ * The JavaMail implementation is used by default; setting app.mail.stub.enabled=true
+ * swaps in a local fake so registration and notification flows can run in tests
+ * and local setups without a mail server.
+ */
+public interface MailTransport {
+
+    /**
+     * Send several messages over a single SMTP connection.
+     *
+     * @return one outcome per message, in the same order as {@code messages}
+     */
+    List<SendOutcome> send(List<MailBody> messages);
+
+    /**
+     * Result for a single message; error is null when the server accepted it
+     */
+    record SendOutcome(boolean success, String error) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.util.MailBody;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SMTP transport backed by JavaMailSender.
+ * A multi-message send connects once and delivers every message over that
+ * connection, so a batch costs one TCP/TLS handshake and one AUTH instead of one per email.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.mail.stub.enabled", havingValue = "false", matchIfMissing = true)
+public class SmtpMailTransport implements MailTransport {
+
+    private final JavaMailSender mailSender;
+    private final String sender;
+
+    public SmtpMailTransport(JavaMailSender mailSender, @Value("${spring.mail.username}") String sender) {
+        this.mailSender = mailSender;
+        this.sender = sender;
+    }
+
+    @Override
+    public List<SendOutcome> send(List<MailBody> messages) {
+        SimpleMailMessage[] mailMessages = new SimpleMailMessage[messages.size()];
+        for (int i = 0; i < messages.size(); i++) {
+            MailBody mailBody = messages.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(sender);
+            message.setTo(mailBody.to());
+            message.setSubject(mailBody.subject());
+            message.setText(mailBody.text());
+            mailMessages[i] = message;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        String batchError = null;
+        try {
+            mailSender.send(mailMessages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchError = e.getMessage(); // e.g. connection or authentication failure
+            }
+        } catch (MailException e) {
+            batchError = e.getMessage();
+        }
+
+        List<SendOutcome> outcomes = new ArrayList<>(mailMessages.length);
+        for (SimpleMailMessage message : mailMessages) {
+            Exception failure = failures.get(message);
+            if (batchError != null) {
+                outcomes.add(new SendOutcome(false, batchError));
+            } else if (failure != null) {
+                outcomes.add(new SendOutcome(false, failure.getMessage()));
+            } else {
+                outcomes.add(new SendOutcome(true, null));
+            }
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.util.MailBody;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Local fake SMTP for tests and offline runs (app.mail.stub.enabled=true).
+ * Accepts every message after a simulated round trip of app.mail.stub.latency-ms
+ * and keeps the most recent ones in memory so tests can assert on them;
+ * recipients ending in "@invalid.test" are rejected to exercise retries.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.mail.stub.enabled", havingValue = "true")
+public class StubMailTransport implements MailTransport {
+
+    private static final int MAX_KEPT = 200;
+
+    private final long latencyMillis;
+    private final List<MailBody> sent = Collections.synchronizedList(new ArrayList<>());
+
+    public StubMailTransport(@Value("${app.mail.stub.latency-ms:0}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        log.warn("⚠️ Using stub mail transport - emails are NOT delivered");
+    }
+
+    @Override
+    public List<SendOutcome> send(List<MailBody> messages) {
+        simulateRoundTrip();
+
+        List<SendOutcome> outcomes = new ArrayList<>(messages.size());
+        for (MailBody message : messages) {
+            if (message.to() != null && message.to().endsWith("@invalid.test")) {
+                outcomes.add(new SendOutcome(false, "550 Mailbox unavailable: " + message.to()));
+                continue;
+            }
+            synchronized (sent) {
+                if (sent.size() == MAX_KEPT) {
+                    sent.remove(0);
+                }
+                sent.add(message);
+            }
+            log.info("📧 [stub] Email to: {} | subject: {}", message.to(), message.subject());
+            outcomes.add(new SendOutcome(true, null));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Messages accepted so far, oldest first
+     */
+    public List<MailBody> getSentMessages() {
+        synchronized (sent) {
+            return List.copyOf(sent);
+        }
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+
+    private void simulateRoundTrip() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
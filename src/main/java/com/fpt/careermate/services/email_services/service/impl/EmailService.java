@@ -2,9 +2,13 @@ package com.fpt.careermate.services.email_services.service.impl;
 
 import com.fpt.careermate.common.util.ChangePassword;
 import com.fpt.careermate.common.util.MailBody;
+import com.fpt.careermate.services.email_services.service.EmailTemplate;
+
+import java.util.Map;
 
 public interface EmailService {
     void sendSimpleEmail(MailBody mailBody);
+    void sendTemplatedEmail(String to, EmailTemplate template, Map<String, ?> model);
     String verifyEmail(String email);
     String verifyOtp(String email, Integer otp);
     String changePassword(ChangePassword password, String email);
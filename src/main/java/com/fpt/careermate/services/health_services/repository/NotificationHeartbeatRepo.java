@@ -2,11 +2,37 @@ package com.fpt.careermate.services.health_services.repository;
 
 import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface NotificationHeartbeatRepo extends JpaRepository<NotificationHeartbeat, Integer> {
     Optional<NotificationHeartbeat> findByName(String name);
+
+    /**
+     * Add counter deltas to a heartbeat row, creating it if needed.
+     * Deltas are added rather than overwritten, so several instances can
+     * flush into the same row.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notification_heartbeat (name, last_processed_at, message_count, error_count, last_error_message) " +
+            "VALUES (:name, :lastProcessedAt, :messageDelta, :errorDelta, :lastErrorMessage) " +
+            "ON CONFLICT (name) DO UPDATE SET " +
+            "last_processed_at = GREATEST(notification_heartbeat.last_processed_at, EXCLUDED.last_processed_at), " +
+            "message_count = notification_heartbeat.message_count + EXCLUDED.message_count, " +
+            "error_count = notification_heartbeat.error_count + EXCLUDED.error_count, " +
+            "last_error_message = COALESCE(EXCLUDED.last_error_message, notification_heartbeat.last_error_message)",
+            nativeQuery = true)
+    int addHeartbeat(@Param("name") String name,
+                     @Param("lastProcessedAt") Instant lastProcessedAt,
+                     @Param("messageDelta") long messageDelta,
+                     @Param("errorDelta") long errorDelta,
+                     @Param("lastErrorMessage") String lastErrorMessage);
 }
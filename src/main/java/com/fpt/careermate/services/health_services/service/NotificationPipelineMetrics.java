@@ -0,0 +1,146 @@
+package com.fpt.careermate.services.health_services.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the notification pipeline, from the outbox to the device.
+ * Latencies measured from {@code NotificationEvent.timestamp} are end-to-end
+ * (producer, broker, consumer and channel time) and are published as percentile
+ * histograms per event type so consumer concurrency can be sized from data.
+ * Meters are cached per tag combination; event types are a small fixed set.
+ */
+@Component
+public class NotificationPipelineMetrics {
+
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofMinutes(10);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public NotificationPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Outbox row handed to Kafka and acknowledged (or failed) by the broker
+     */
+    public void recordPublish(String topic, long sendNanos, boolean success) {
+        String outcome = success ? "success" : "failure";
+        timers.computeIfAbsent("publish|" + topic + "|" + outcome, key -> Timer.builder("notification.publish.latency")
+                        .description("Time from handing an event to the Kafka producer to the broker acknowledgement")
+                        .tag("topic", topic)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(sendNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time an event waited in the outbox before the broker acknowledged it
+     */
+    public void recordOutboxDelay(String topic, LocalDateTime queuedAt) {
+        recordSince(timers.computeIfAbsent("outbox|" + topic, key -> Timer.builder("notification.outbox.delay")
+                .description("Time from writing an event to the outbox to the broker acknowledgement")
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(meterRegistry)), queuedAt);
+    }
+
+    /**
+     * Notification stored in the database
+     */
+    public void recordPersisted(String eventType, LocalDateTime eventTimestamp) {
+        String type = eventType != null ? eventType : UNKNOWN;
+        recordSince(timers.computeIfAbsent("persist|" + type, key -> Timer.builder("notification.persist.latency")
+                .description("Time from the event timestamp to the notification being stored")
+                .tag("event_type", type)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(meterRegistry)), eventTimestamp);
+    }
+
+    /**
+     * Notification handed to a user-facing channel: SSE written/relayed, or push acknowledged by FCM
+     */
+    public void recordDelivered(String channel, String eventType, LocalDateTime eventTimestamp) {
+        String type = eventType != null ? eventType : UNKNOWN;
+        recordSince(timers.computeIfAbsent("delivered|" + channel + "|" + type, key ->
+                Timer.builder("notification.end.to.end.latency")
+                        .description("Time from the event timestamp to delivery on a channel")
+                        .tag("channel", channel)
+                        .tag("event_type", type)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                        .register(meterRegistry)), eventTimestamp);
+    }
+
+    /**
+     * Events skipped as duplicates.
+     *
+     * @param stage "batch" (repeated inside one poll), "stored" (already in the
+     *              database) or "conflict" (stored concurrently by another consumer)
+     */
+    public void recordDuplicates(String stage, int count) {
+        if (count <= 0) {
+            return;
+        }
+        counters.computeIfAbsent("dedup|" + stage, key -> Counter.builder("notification.dedup.hits")
+                        .description("Notification events skipped because they were already processed")
+                        .tag("stage", stage)
+                        .register(meterRegistry))
+                .increment(count);
+    }
+
+    /**
+     * Records in a batch that failed processing and will be redelivered
+     */
+    public void recordConsumeFailure(String topic, int count) {
+        counters.computeIfAbsent("failed|" + topic, key -> Counter.builder("notification.consume.failed")
+                        .description("Notification records whose batch failed and will be redelivered")
+                        .tag("topic", topic)
+                        .register(meterRegistry))
+                .increment(count);
+    }
+
+    /**
+     * One polled batch: its size and how long the listener spent on it
+     */
+    public void recordBatch(String topic, int size, long durationNanos) {
+        summaries.computeIfAbsent(topic, key -> DistributionSummary.builder("notification.consume.batch.size")
+                        .description("Records per polled batch")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(size);
+        timers.computeIfAbsent("batch|" + topic, key -> Timer.builder("notification.consume.batch.duration")
+                        .description("Listener time spent on one polled batch")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofMinutes(1))
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void recordSince(Timer timer, LocalDateTime since) {
+        if (since == null) {
+            return;
+        }
+        long millis = Duration.between(since, LocalDateTime.now()).toMillis();
+        timer.record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+}
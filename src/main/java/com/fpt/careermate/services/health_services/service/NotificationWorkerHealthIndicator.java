@@ -17,12 +17,22 @@ import java.time.Instant;
 public class NotificationWorkerHealthIndicator implements HealthIndicator {
 
     private final NotificationHeartbeatRepo heartbeatRepo;
+    private final NotificationWorkerHealthTracker healthTracker;
     private static final long STALE_THRESHOLD_SECONDS = 300; // 5 minutes
 
     @Override
     public Health health() {
         try {
-            var heartbeat = heartbeatRepo.findByName("notification-worker");
+            // This instance's own consumers, without touching the database
+            if (healthTracker.hasActivity()) {
+                return buildHealth(healthTracker.getLastProcessedAt(),
+                        healthTracker.getProcessedCount(), healthTracker.getFailedCount())
+                        .withDetail("partitionLag", healthTracker.getPartitionLag())
+                        .build();
+            }
+
+            // Nothing consumed here yet; fall back to the heartbeat flushed by any instance
+            var heartbeat = heartbeatRepo.findByName(NotificationWorkerHealthTracker.WORKER_NAME);
             
             if (heartbeat.isEmpty()) {
                 log.warn("Notification worker health check: No heartbeat record found");
@@ -32,28 +42,7 @@ public class NotificationWorkerHealthIndicator implements HealthIndicator {
             }
             
             NotificationHeartbeat beat = heartbeat.get();
-            Instant last = beat.getLastProcessedAt();
-            long secondsSinceLastProcess = Duration.between(last, Instant.now()).getSeconds();
-            
-            if (secondsSinceLastProcess > STALE_THRESHOLD_SECONDS) {
-                log.warn("Notification worker is stale. Last processed: {} seconds ago", secondsSinceLastProcess);
-                return Health.down()
-                        .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
-                        .withDetail("lastProcessedAt", last.toString())
-                        .withDetail("messageCount", beat.getMessageCount())
-                        .withDetail("errorCount", beat.getErrorCount())
-                        .withDetail("message", String.format("Worker stale for %d seconds (threshold: %d)", 
-                                secondsSinceLastProcess, STALE_THRESHOLD_SECONDS))
-                        .build();
-            }
-            
-            return Health.up()
-                    .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
-                    .withDetail("lastProcessedAt", last.toString())
-                    .withDetail("messageCount", beat.getMessageCount())
-                    .withDetail("errorCount", beat.getErrorCount())
-                    .withDetail("message", "Worker is active")
-                    .build();
+            return buildHealth(beat.getLastProcessedAt(), beat.getMessageCount(), beat.getErrorCount()).build();
                     
         } catch (Exception e) {
             log.error("Notification worker health check failed", e);
@@ -63,4 +52,26 @@ public class NotificationWorkerHealthIndicator implements HealthIndicator {
                     .build();
         }
     }
+
+    private Health.Builder buildHealth(Instant last, long messageCount, long errorCount) {
+        long secondsSinceLastProcess = Duration.between(last, Instant.now()).getSeconds();
+
+        if (secondsSinceLastProcess > STALE_THRESHOLD_SECONDS) {
+            log.warn("Notification worker is stale. Last processed: {} seconds ago", secondsSinceLastProcess);
+            return Health.down()
+                    .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
+                    .withDetail("lastProcessedAt", last.toString())
+                    .withDetail("messageCount", messageCount)
+                    .withDetail("errorCount", errorCount)
+                    .withDetail("message", String.format("Worker stale for %d seconds (threshold: %d)",
+                            secondsSinceLastProcess, STALE_THRESHOLD_SECONDS));
+        }
+
+        return Health.up()
+                .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
+                .withDetail("lastProcessedAt", last.toString())
+                .withDetail("messageCount", messageCount)
+                .withDetail("errorCount", errorCount)
+                .withDetail("message", "Worker is active");
+    }
 }
@@ -0,0 +1,161 @@
+package com.fpt.careermate.services.health_services.service;
+
+import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory health state of the notification Kafka consumers.
+ * Consumer threads only touch lock-free counters; the totals are flushed to the
+ * notification_heartbeat row on a fixed interval and exposed as Micrometer meters.
+ */
+@Component
+@Slf4j
+public class NotificationWorkerHealthTracker {
+
+    public static final String WORKER_NAME = "notification-worker";
+
+    private final NotificationHeartbeatRepo heartbeatRepo;
+
+    // Totals since startup (this instance)
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // Not yet flushed to the heartbeat row
+    private final LongAdder pendingProcessed = new LongAdder();
+    private final LongAdder pendingFailed = new LongAdder();
+
+    private final AtomicLong lastProcessedAt = new AtomicLong();
+    private final AtomicLong lastSuccessAt = new AtomicLong();
+    private final AtomicLong lastFlushedAt = new AtomicLong();
+    private final AtomicReference<String> lastErrorMessage = new AtomicReference<>();
+
+    // Consumer lag per "topic-partition", as last reported by the consumer
+    private final Map<String, AtomicLong> partitionLag = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public NotificationWorkerHealthTracker(NotificationHeartbeatRepo heartbeatRepo, MeterRegistry meterRegistry) {
+        this.heartbeatRepo = heartbeatRepo;
+        this.meterRegistry = meterRegistry;
+
+        FunctionCounter.builder("notification.worker.processed", processed, LongAdder::sum)
+                .description("Notification records processed by this instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("notification.worker.failed", failed, LongAdder::sum)
+                .description("Notification batches that failed processing")
+                .register(meterRegistry);
+        Gauge.builder("notification.worker.last.success.age", this, tracker -> tracker.secondsSinceLastSuccess())
+                .description("Seconds since the last successfully processed batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A batch of records was processed successfully
+     */
+    public void recordSuccess(int recordCount) {
+        long now = System.currentTimeMillis();
+        processed.add(recordCount);
+        pendingProcessed.add(recordCount);
+        lastProcessedAt.set(now);
+        lastSuccessAt.set(now);
+    }
+
+    /**
+     * A batch of records failed and will be redelivered
+     */
+    public void recordFailure(int recordCount, String errorMessage) {
+        processed.add(recordCount);
+        pendingProcessed.add(recordCount);
+        failed.increment();
+        pendingFailed.increment();
+        lastProcessedAt.set(System.currentTimeMillis());
+        lastErrorMessage.set(errorMessage);
+    }
+
+    /**
+     * Record the consumer lag of a partition
+     */
+    public void recordLag(String topic, int partition, long lag) {
+        partitionLag.computeIfAbsent(topic + "-" + partition, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("notification.worker.lag", value, AtomicLong::get)
+                    .description("Records behind the end of the partition")
+                    .tag("topic", topic)
+                    .tag("partition", String.valueOf(partition))
+                    .register(meterRegistry);
+            return value;
+        }).set(lag);
+    }
+
+    /**
+     * Write accumulated counters to the heartbeat row
+     */
+    @Scheduled(fixedDelayString = "${app.notification.heartbeat.flush-ms:15000}")
+    @PreDestroy
+    public void flush() {
+        long processedAt = lastProcessedAt.get();
+        if (processedAt == 0 || processedAt == lastFlushedAt.get()) {
+            return;
+        }
+
+        long messageDelta = pendingProcessed.sumThenReset();
+        long errorDelta = pendingFailed.sumThenReset();
+        String errorMessage = errorDelta > 0 ? lastErrorMessage.get() : null;
+        try {
+            heartbeatRepo.addHeartbeat(WORKER_NAME, Instant.ofEpochMilli(processedAt),
+                    messageDelta, errorDelta, errorMessage);
+            lastFlushedAt.set(processedAt);
+        } catch (Exception e) {
+            // Keep the deltas for the next flush
+            pendingProcessed.add(messageDelta);
+            pendingFailed.add(errorDelta);
+            log.error("Failed to flush notification worker heartbeat", e);
+        }
+    }
+
+    /**
+     * Whether this instance has processed anything since startup
+     */
+    public boolean hasActivity() {
+        return lastProcessedAt.get() != 0;
+    }
+
+    public Instant getLastProcessedAt() {
+        long processedAt = lastProcessedAt.get();
+        return processedAt != 0 ? Instant.ofEpochMilli(processedAt) : null;
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public Map<String, Long> getPartitionLag() {
+        Map<String, Long> lag = new TreeMap<>();
+        partitionLag.forEach((partition, value) -> lag.put(partition, value.get()));
+        return lag;
+    }
+
+    private double secondsSinceLastSuccess() {
+        long successAt = lastSuccessAt.get();
+        return successAt == 0 ? Double.NaN : (System.currentTimeMillis() - successAt) / 1000.0;
+    }
+}
@@ -26,6 +26,7 @@ import java.time.LocalDateTime;
 @Table(indexes = {
     @Index(name = "idx_interview_schedule_date", columnList = "scheduled_date"),
     @Index(name = "idx_interview_schedule_status", columnList = "status"),
+    @Index(name = "idx_interview_schedule_recruiter_date", columnList = "created_by_recruiter_id, scheduled_date"),
     @Index(name = "idx_interview_job_apply", columnList = "job_apply_id")
 })
 public class InterviewSchedule {
@@ -49,6 +50,12 @@ public class InterviewSchedule {
     @Column(nullable = false)
     Integer durationMinutes;  // Expected duration (e.g., 60 minutes)
     
+    // Stored end time (scheduledDate + durationMinutes) so overlap checks can use indexes
+    // and the interviewer exclusion constraint (see V1_3 migration). Mapped as nullable so
+    // ddl-auto can add the column to a populated table; V1_3 backfills it and sets NOT NULL
+    @Column(name = "scheduled_end_date")
+    LocalDateTime scheduledEndDate;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     InterviewType interviewType;  // IN_PERSON, VIDEO_CALL, PHONE, ONLINE_ASSESSMENT
@@ -88,6 +95,9 @@ public class InterviewSchedule {
     
     @Column(nullable = false)
     Boolean reminderSent2h;
+
+    // A reminder that failed to send is not claimed again before this time
+    LocalDateTime reminderRetryAt;
     
     // Results (filled after interview)
     LocalDateTime interviewCompletedAt;
@@ -129,11 +139,13 @@ public class InterviewSchedule {
         if (reminderSent2h == null) {
             reminderSent2h = false;
         }
+        scheduledEndDate = getExpectedEndTime();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        scheduledEndDate = getExpectedEndTime();
     }
     
     /**
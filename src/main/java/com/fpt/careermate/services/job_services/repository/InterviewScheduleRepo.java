@@ -4,12 +4,14 @@ import com.fpt.careermate.common.constant.InterviewStatus;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
 import com.fpt.careermate.services.job_services.domain.JobApply;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -116,6 +118,78 @@ public interface InterviewScheduleRepo extends JpaRepository<InterviewSchedule,
     List<InterviewSchedule> findNeedingReminder2h(@Param("start") LocalDateTime start, 
                                                    @Param("end") LocalDateTime end);
 
+    /**
+     * Claim interviews whose 24h reminder is due (scheduled within (windowStart, windowEnd]),
+     * skipping those whose last attempt failed less than the retry delay ago.
+     * Rows are locked until the calling transaction ends; rows locked by another
+     * instance are skipped so each reminder is claimed by exactly one dispatcher.
+     */
+    @Query(value = "SELECT i.id FROM interview_schedule i " +
+           "WHERE i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.reminder_sent24h = false " +
+           "AND (i.reminder_retry_at IS NULL OR i.reminder_retry_at <= :now) " +
+           "AND i.scheduled_date > :windowStart " +
+           "AND i.scheduled_date <= :windowEnd " +
+           "ORDER BY i.scheduled_date ASC " +
+           "LIMIT :batchSize " +
+           "FOR UPDATE OF i SKIP LOCKED", nativeQuery = true)
+    List<Integer> claimDue24hReminders(@Param("now") LocalDateTime now,
+                                       @Param("windowStart") LocalDateTime windowStart,
+                                       @Param("windowEnd") LocalDateTime windowEnd,
+                                       @Param("batchSize") int batchSize);
+
+    /**
+     * Claim interviews whose 2h reminder is due (scheduled within (windowStart, windowEnd]).
+     * Same locking semantics as {@link #claimDue24hReminders}.
+     */
+    @Query(value = "SELECT i.id FROM interview_schedule i " +
+           "WHERE i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.reminder_sent2h = false " +
+           "AND (i.reminder_retry_at IS NULL OR i.reminder_retry_at <= :now) " +
+           "AND i.scheduled_date > :windowStart " +
+           "AND i.scheduled_date <= :windowEnd " +
+           "ORDER BY i.scheduled_date ASC " +
+           "LIMIT :batchSize " +
+           "FOR UPDATE OF i SKIP LOCKED", nativeQuery = true)
+    List<Integer> claimDue2hReminders(@Param("now") LocalDateTime now,
+                                      @Param("windowStart") LocalDateTime windowStart,
+                                      @Param("windowEnd") LocalDateTime windowEnd,
+                                      @Param("batchSize") int batchSize);
+
+    /**
+     * Load claimed interviews with the entity graph needed to build reminder events
+     */
+    @Query("SELECT i FROM interview_schedule i " +
+           "JOIN FETCH i.jobApply ja " +
+           "JOIN FETCH ja.candidate c " +
+           "JOIN FETCH c.account " +
+           "JOIN FETCH ja.jobPosting jp " +
+           "JOIN FETCH jp.recruiter r " +
+           "JOIN FETCH r.account " +
+           "WHERE i.id IN :ids")
+    List<InterviewSchedule> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Mark 24h reminders as sent in one statement
+     */
+    @Modifying
+    @Query("UPDATE interview_schedule i SET i.reminderSent24h = true, i.reminderRetryAt = null WHERE i.id IN :ids")
+    int markReminder24hSent(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Mark 2h reminders as sent in one statement
+     */
+    @Modifying
+    @Query("UPDATE interview_schedule i SET i.reminderSent2h = true, i.reminderRetryAt = null WHERE i.id IN :ids")
+    int markReminder2hSent(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Hold back reminders that failed to send until retryAt, so the claim queries skip them
+     */
+    @Modifying
+    @Query("UPDATE interview_schedule i SET i.reminderRetryAt = :retryAt WHERE i.id IN :ids")
+    int deferReminders(@Param("ids") Collection<Integer> ids, @Param("retryAt") LocalDateTime retryAt);
+
     /**
      * Find interviews by recruiter with full entity graph for response
      */
@@ -237,62 +311,169 @@ public interface InterviewScheduleRepo extends JpaRepository<InterviewSchedule,
     
     /**
      * Check if recruiter has conflicting interview at proposed time
-     * Conflict exists if there's an overlap with any non-cancelled interview
-     * Uses native query for PostgreSQL interval arithmetic
+     * Conflict exists if there's an overlap with any active (scheduled or confirmed)
+     * interview, the statuses covered by the interviewer exclusion constraint
+     * Range overlap on the stored end time is served by the GiST period index
      */
-    @Query(value = "SELECT CASE WHEN COUNT(*) > 0 THEN true ELSE false END FROM interview_schedule i " +
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM interview_schedule i " +
            "WHERE i.created_by_recruiter_id = :recruiterId " +
-           "AND i.status NOT IN ('CANCELLED', 'NO_SHOW') " +
-           "AND i.scheduled_date < :proposedEndTime " +
-           "AND (i.scheduled_date + (i.duration_minutes * INTERVAL '1 minute')) > :proposedStartTime", nativeQuery = true)
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND tsrange(i.scheduled_date, i.scheduled_end_date) && " +
+           "tsrange(CAST(:proposedStartTime AS timestamp), CAST(:proposedEndTime AS timestamp)))", nativeQuery = true)
     boolean hasConflict(@Param("recruiterId") Integer recruiterId,
                         @Param("proposedStartTime") LocalDateTime proposedStartTime,
                         @Param("proposedEndTime") LocalDateTime proposedEndTime);
     
     /**
      * Find all interviews for recruiter on specific date (for daily calendar view)
-     * Uses native query for proper PostgreSQL date comparison
+     * Compares against day bounds instead of DATE() so the scheduled_date index is used
      */
     @Query(value = "SELECT * FROM interview_schedule i " +
            "WHERE i.created_by_recruiter_id = :recruiterId " +
            "AND i.status NOT IN ('CANCELLED') " +
-           "AND DATE(i.scheduled_date) = :date " +
+           "AND i.scheduled_date >= CAST(:date AS timestamp) " +
+           "AND i.scheduled_date < CAST(:date AS timestamp) + INTERVAL '1 day' " +
            "ORDER BY i.scheduled_date ASC", nativeQuery = true)
     List<InterviewSchedule> findByRecruiterIdAndDate(@Param("recruiterId") Integer recruiterId,
                                                       @Param("date") LocalDate date);
     
     /**
      * Find all interviews for recruiter in date range (for weekly/monthly calendar view)
-     * Uses native query for proper PostgreSQL date comparison
+     * Compares against day bounds instead of DATE() so the scheduled_date index is used
      */
     @Query(value = "SELECT * FROM interview_schedule i " +
            "WHERE i.created_by_recruiter_id = :recruiterId " +
            "AND i.status NOT IN ('CANCELLED') " +
-           "AND DATE(i.scheduled_date) BETWEEN :startDate AND :endDate " +
+           "AND i.scheduled_date >= CAST(:startDate AS timestamp) " +
+           "AND i.scheduled_date < CAST(:endDate AS timestamp) + INTERVAL '1 day' " +
            "ORDER BY i.scheduled_date ASC", nativeQuery = true)
     List<InterviewSchedule> findByRecruiterIdAndDateRange(@Param("recruiterId") Integer recruiterId,
                                                            @Param("startDate") LocalDate startDate,
                                                            @Param("endDate") LocalDate endDate);
     
+    /**
+     * Find all interviews for recruiter in a datetime range with the entity graph
+     * needed for response mapping (for weekly calendar view).
+     * Compares the raw scheduled_date against half-open bounds so the
+     * scheduled_date index can be used.
+     */
+    @Query("SELECT i FROM interview_schedule i " +
+           "JOIN FETCH i.jobApply ja " +
+           "JOIN FETCH ja.candidate c " +
+           "JOIN FETCH c.account " +
+           "JOIN FETCH ja.jobPosting jp " +
+           "JOIN FETCH jp.recruiter r " +
+           "JOIN FETCH r.account " +
+           "WHERE i.createdByRecruiter.id = :recruiterId " +
+           "AND i.status <> 'CANCELLED' " +
+           "AND i.scheduledDate >= :rangeStart " +
+           "AND i.scheduledDate < :rangeEnd " +
+           "ORDER BY i.scheduledDate ASC")
+    List<InterviewSchedule> findByRecruiterIdAndDateRangeWithDetails(@Param("recruiterId") Integer recruiterId,
+                                                                     @Param("rangeStart") LocalDateTime rangeStart,
+                                                                     @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    /**
+     * Count interviews per day for recruiter in a datetime range (for monthly calendar view).
+     * Returns rows of [interview_date, interview_count] without loading entities.
+     */
+    @Query(value = "SELECT CAST(i.scheduled_date AS DATE) AS interview_date, COUNT(*) AS interview_count " +
+           "FROM interview_schedule i " +
+           "WHERE i.created_by_recruiter_id = :recruiterId " +
+           "AND i.status NOT IN ('CANCELLED') " +
+           "AND i.scheduled_date >= :rangeStart " +
+           "AND i.scheduled_date < :rangeEnd " +
+           "GROUP BY CAST(i.scheduled_date AS DATE)", nativeQuery = true)
+    List<Object[]> countInterviewsByDateInRange(@Param("recruiterId") Integer recruiterId,
+                                                @Param("rangeStart") LocalDateTime rangeStart,
+                                                @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    /**
+     * Count all interviews of a recruiter grouped by status (for dashboard stats).
+     * Returns rows of [InterviewStatus, Long count] without loading entities.
+     */
+    @Query("SELECT i.status, COUNT(i) FROM interview_schedule i " +
+           "WHERE i.createdByRecruiter.id = :recruiterId " +
+           "GROUP BY i.status")
+    List<Object[]> countByStatusForRecruiter(@Param("recruiterId") Integer recruiterId);
+
+    /**
+     * Count recruiter's upcoming interviews (SCHEDULED or CONFIRMED, in the future)
+     */
+    @Query("SELECT COUNT(i) FROM interview_schedule i " +
+           "WHERE i.createdByRecruiter.id = :recruiterId " +
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.scheduledDate > :now")
+    long countUpcomingByRecruiterId(@Param("recruiterId") Integer recruiterId,
+                                    @Param("now") LocalDateTime now);
+
+    /**
+     * Find recruiter's pending interviews (SCHEDULED, in the future) with full entity graph for response
+     */
+    @Query("SELECT i FROM interview_schedule i " +
+           "JOIN FETCH i.jobApply ja " +
+           "JOIN FETCH ja.candidate c " +
+           "JOIN FETCH c.account " +
+           "JOIN FETCH ja.jobPosting jp " +
+           "JOIN FETCH jp.recruiter r " +
+           "JOIN FETCH r.account " +
+           "WHERE i.createdByRecruiter.id = :recruiterId " +
+           "AND i.status = 'SCHEDULED' " +
+           "AND i.scheduledDate > :now " +
+           "ORDER BY i.scheduledDate DESC")
+    List<InterviewSchedule> findPendingInterviewsByRecruiterId(@Param("recruiterId") Integer recruiterId,
+                                                               @Param("now") LocalDateTime now);
+
+    /**
+     * Aggregate recruiter's interviews in a datetime range (for scheduling stats).
+     * Returns rows of [InterviewStatus, InterviewType, InterviewOutcome, Long count, Long totalMinutes];
+     * the result has at most one row per status/type/outcome combination.
+     */
+    @Query("SELECT i.status, i.interviewType, i.outcome, COUNT(i), SUM(i.durationMinutes) " +
+           "FROM interview_schedule i " +
+           "WHERE i.createdByRecruiter.id = :recruiterId " +
+           "AND i.scheduledDate >= :rangeStart " +
+           "AND i.scheduledDate < :rangeEnd " +
+           "GROUP BY i.status, i.interviewType, i.outcome")
+    List<Object[]> aggregateStatsInRange(@Param("recruiterId") Integer recruiterId,
+                                         @Param("rangeStart") LocalDateTime rangeStart,
+                                         @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    /**
+     * Count recruiter's active interviews per ISO day of week (1 = Monday .. 7 = Sunday) in a datetime range.
+     * Returns rows of [iso_dow, interview_count].
+     */
+    @Query(value = "SELECT CAST(EXTRACT(ISODOW FROM i.scheduled_date) AS INTEGER) AS iso_dow, COUNT(*) AS interview_count " +
+           "FROM interview_schedule i " +
+           "WHERE i.created_by_recruiter_id = :recruiterId " +
+           "AND i.status NOT IN ('CANCELLED') " +
+           "AND i.scheduled_date >= :rangeStart " +
+           "AND i.scheduled_date < :rangeEnd " +
+           "GROUP BY 1", nativeQuery = true)
+    List<Object[]> countInterviewsByDayOfWeekInRange(@Param("recruiterId") Integer recruiterId,
+                                                     @Param("rangeStart") LocalDateTime rangeStart,
+                                                     @Param("rangeEnd") LocalDateTime rangeEnd);
+    
     /**
      * Count active interviews for recruiter on specific date
-     * Uses native query for proper PostgreSQL date comparison
+     * Compares against day bounds instead of DATE() so the scheduled_date index is used
      */
     @Query(value = "SELECT COUNT(*) FROM interview_schedule i " +
            "WHERE i.created_by_recruiter_id = :recruiterId " +
            "AND i.status NOT IN ('CANCELLED', 'NO_SHOW') " +
-           "AND DATE(i.scheduled_date) = :date", nativeQuery = true)
+           "AND i.scheduled_date >= CAST(:date AS timestamp) " +
+           "AND i.scheduled_date < CAST(:date AS timestamp) + INTERVAL '1 day'", nativeQuery = true)
     Long countInterviewsOnDate(@Param("recruiterId") Integer recruiterId, @Param("date") LocalDate date);
     
     /**
      * Find overlapping interviews (for conflict detection with duration)
-     * Uses native query for PostgreSQL interval arithmetic
+     * Range overlap on the stored end time is served by the GiST period index
      */
     @Query(value = "SELECT * FROM interview_schedule i " +
            "WHERE i.created_by_recruiter_id = :recruiterId " +
-           "AND i.status NOT IN ('CANCELLED', 'NO_SHOW') " +
-           "AND i.scheduled_date < :proposedEndTime " +
-           "AND (i.scheduled_date + (i.duration_minutes * INTERVAL '1 minute')) > :proposedStartTime " +
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND tsrange(i.scheduled_date, i.scheduled_end_date) && " +
+           "tsrange(CAST(:proposedStartTime AS timestamp), CAST(:proposedEndTime AS timestamp)) " +
            "ORDER BY i.scheduled_date ASC", nativeQuery = true)
     List<InterviewSchedule> findOverlappingInterviews(@Param("recruiterId") Integer recruiterId,
                                                        @Param("proposedStartTime") LocalDateTime proposedStartTime,
@@ -300,27 +481,54 @@ public interface InterviewScheduleRepo extends JpaRepository<InterviewSchedule,
     
     /**
      * Check if candidate has conflicting interview
-     * Uses native query for PostgreSQL interval arithmetic
+     * Compares raw columns against the proposed bounds so indexes stay usable
      */
-    @Query(value = "SELECT CASE WHEN COUNT(*) > 0 THEN true ELSE false END FROM interview_schedule i " +
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM interview_schedule i " +
            "JOIN job_apply ja ON i.job_apply_id = ja.id " +
            "WHERE ja.candidate_id = :candidateId " +
-           "AND i.status NOT IN ('CANCELLED', 'NO_SHOW') " +
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
            "AND i.scheduled_date < :proposedEndTime " +
-           "AND (i.scheduled_date + (i.duration_minutes * INTERVAL '1 minute')) > :proposedStartTime", nativeQuery = true)
+           "AND i.scheduled_end_date > :proposedStartTime)", nativeQuery = true)
     boolean candidateHasConflict(@Param("candidateId") Integer candidateId,
                                   @Param("proposedStartTime") LocalDateTime proposedStartTime,
                                   @Param("proposedEndTime") LocalDateTime proposedEndTime);
     
+    /**
+     * Find busy periods of several recruiters in a datetime range (panel scheduling).
+     * Returns rows of [recruiterId, scheduledDate, scheduledEndDate] without loading entities.
+     */
+    @Query("SELECT i.createdByRecruiter.id, i.scheduledDate, i.scheduledEndDate FROM interview_schedule i " +
+           "WHERE i.createdByRecruiter.id IN :recruiterIds " +
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.scheduledDate < :rangeEnd " +
+           "AND i.scheduledEndDate > :rangeStart")
+    List<Object[]> findBusyPeriodsByRecruiterIds(@Param("recruiterIds") Collection<Integer> recruiterIds,
+                                                 @Param("rangeStart") LocalDateTime rangeStart,
+                                                 @Param("rangeEnd") LocalDateTime rangeEnd);
+    
+    /**
+     * Find candidate's busy periods in a datetime range (panel scheduling).
+     * Returns rows of [scheduledDate, scheduledEndDate] without loading entities.
+     */
+    @Query("SELECT i.scheduledDate, i.scheduledEndDate FROM interview_schedule i " +
+           "WHERE i.jobApply.candidate.candidateId = :candidateId " +
+           "AND i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.scheduledDate < :rangeEnd " +
+           "AND i.scheduledEndDate > :rangeStart")
+    List<Object[]> findBusyPeriodsByCandidateId(@Param("candidateId") Integer candidateId,
+                                                @Param("rangeStart") LocalDateTime rangeStart,
+                                                @Param("rangeEnd") LocalDateTime rangeEnd);
+    
     /**
      * Find candidate's interviews on specific date
-     * Uses native query for proper PostgreSQL date comparison
+     * Compares against day bounds instead of DATE() so the scheduled_date index is used
      */
     @Query(value = "SELECT i.* FROM interview_schedule i " +
            "JOIN job_apply ja ON i.job_apply_id = ja.id " +
            "WHERE ja.candidate_id = :candidateId " +
            "AND i.status NOT IN ('CANCELLED') " +
-           "AND DATE(i.scheduled_date) = :date " +
+           "AND i.scheduled_date >= CAST(:date AS timestamp) " +
+           "AND i.scheduled_date < CAST(:date AS timestamp) + INTERVAL '1 day' " +
            "ORDER BY i.scheduled_date ASC", nativeQuery = true)
     List<InterviewSchedule> findByCandidateIdAndDate(@Param("candidateId") Integer candidateId,
                                                       @Param("date") LocalDate date);
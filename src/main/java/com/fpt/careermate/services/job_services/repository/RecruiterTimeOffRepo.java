@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -40,6 +41,17 @@ public interface RecruiterTimeOffRepo extends JpaRepository<RecruiterTimeOff, In
                                                @Param("startDate") LocalDate startDate,
                                                @Param("endDate") LocalDate endDate);
     
+    /**
+     * Find approved time-off periods of several recruiters overlapping with a date range
+     */
+    @Query("SELECT t FROM recruiter_time_off t WHERE t.recruiter.id IN :recruiterIds " +
+           "AND t.isApproved = true " +
+           "AND t.startDate <= :endDate " +
+           "AND t.endDate >= :startDate")
+    List<RecruiterTimeOff> findTimeOffInRangeForRecruiters(@Param("recruiterIds") Collection<Integer> recruiterIds,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+    
     /**
      * Check if recruiter has time-off on specific date
      */
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,12 @@ public interface RecruiterWorkingHoursRepo extends JpaRepository<RecruiterWorkin
     @Query("SELECT w FROM recruiter_working_hours w WHERE w.recruiter.id = :recruiterId ORDER BY w.dayOfWeek")
     List<RecruiterWorkingHours> findByRecruiterId(@Param("recruiterId") Integer recruiterId);
     
+    /**
+     * Find working hours configuration for several recruiters (panel scheduling)
+     */
+    @Query("SELECT w FROM recruiter_working_hours w WHERE w.recruiter.id IN :recruiterIds")
+    List<RecruiterWorkingHours> findByRecruiterIdIn(@Param("recruiterIds") Collection<Integer> recruiterIds);
+    
     /**
      * Find working hours for specific day of week
      */
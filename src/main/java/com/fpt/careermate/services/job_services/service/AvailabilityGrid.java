@@ -0,0 +1,156 @@
+package com.fpt.careermate.services.job_services.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Bitmap of free 15-minute slots over a date range for one participant.
+ * Each bit is one slot; participants are combined with {@link #intersect}
+ * so panel availability is computed in memory without per-slot queries.
+ *
+ * @since 1.3 - Panel Scheduling
+ */
+public class AvailabilityGrid {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final LocalDate startDate;
+    private final int days;
+    private final BitSet free;
+
+    private AvailabilityGrid(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        this.free = new BitSet(days * SLOTS_PER_DAY);
+    }
+
+    /**
+     * Grid with no free time; open windows with {@link #markFree}
+     */
+    public static AvailabilityGrid closed(LocalDate startDate, LocalDate endDate) {
+        return new AvailabilityGrid(startDate, endDate);
+    }
+
+    /**
+     * Grid that is free around the clock; close periods with {@link #markBusy}
+     */
+    public static AvailabilityGrid open(LocalDate startDate, LocalDate endDate) {
+        AvailabilityGrid grid = new AvailabilityGrid(startDate, endDate);
+        grid.free.set(0, grid.days * SLOTS_PER_DAY);
+        return grid;
+    }
+
+    /**
+     * Mark a window on a date as free. Partial slots at the edges are not counted.
+     */
+    public void markFree(LocalDate date, LocalTime from, LocalTime to) {
+        int day = dayIndex(date);
+        if (day < 0 || day >= days || !to.isAfter(from)) {
+            return;
+        }
+        int fromSlot = (from.toSecondOfDay() / 60 + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        int toSlot = (to.toSecondOfDay() / 60) / SLOT_MINUTES;
+        if (toSlot > fromSlot) {
+            free.set(day * SLOTS_PER_DAY + fromSlot, day * SLOTS_PER_DAY + toSlot);
+        }
+    }
+
+    /**
+     * Mark a period as busy. Any slot it touches becomes unavailable.
+     */
+    public void markBusy(LocalDateTime from, LocalDateTime to) {
+        int fromIndex = Math.max(0, floorIndex(from));
+        int toIndex = Math.min(days * SLOTS_PER_DAY, ceilIndex(to));
+        if (toIndex > fromIndex) {
+            free.clear(fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Mark whole dates (inclusive) as busy, e.g. approved time off
+     */
+    public void markDaysBusy(LocalDate from, LocalDate to) {
+        int fromDay = Math.max(0, dayIndex(from));
+        int toDay = Math.min(days - 1, dayIndex(to));
+        if (toDay >= fromDay) {
+            free.clear(fromDay * SLOTS_PER_DAY, (toDay + 1) * SLOTS_PER_DAY);
+        }
+    }
+
+    /**
+     * Keep only the slots that are also free in the other grid (same range required)
+     */
+    public void intersect(AvailabilityGrid other) {
+        free.and(other.free);
+    }
+
+    /**
+     * All start times where {@code durationMinutes} of consecutive free slots fit
+     * within a single day, in chronological order
+     */
+    public List<LocalDateTime> findStartTimes(int durationMinutes) {
+        int slotsNeeded = slotsFor(durationMinutes);
+        List<LocalDateTime> starts = new ArrayList<>();
+
+        int runStart = free.nextSetBit(0);
+        while (runStart >= 0) {
+            int runEnd = free.nextClearBit(runStart);
+            // Runs never span midnight
+            int dayEnd = (runStart / SLOTS_PER_DAY + 1) * SLOTS_PER_DAY;
+            int end = Math.min(runEnd, dayEnd);
+            for (int slot = runStart; slot + slotsNeeded <= end; slot++) {
+                starts.add(toDateTime(slot));
+            }
+            runStart = free.nextSetBit(end);
+        }
+        return starts;
+    }
+
+    /**
+     * Count free slots directly before and after a booking, up to {@code maxEachSide} each.
+     * Used to prefer slots that leave breathing room for every participant.
+     */
+    public int countFreeAround(LocalDateTime start, int durationMinutes, int maxEachSide) {
+        int first = floorIndex(start);
+        int last = first + slotsFor(durationMinutes) - 1;
+        int dayStart = (first / SLOTS_PER_DAY) * SLOTS_PER_DAY;
+        int dayEnd = dayStart + SLOTS_PER_DAY;
+
+        int count = 0;
+        for (int i = 1; i <= maxEachSide && first - i >= dayStart && free.get(first - i); i++) {
+            count++;
+        }
+        for (int i = 1; i <= maxEachSide && last + i < dayEnd && free.get(last + i); i++) {
+            count++;
+        }
+        return count;
+    }
+
+    public static int slotsFor(int durationMinutes) {
+        return (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    private int dayIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    private int floorIndex(LocalDateTime dateTime) {
+        long minutes = ChronoUnit.MINUTES.between(startDate.atStartOfDay(), dateTime);
+        return (int) Math.floorDiv(minutes, SLOT_MINUTES);
+    }
+
+    private int ceilIndex(LocalDateTime dateTime) {
+        long minutes = ChronoUnit.MINUTES.between(startDate.atStartOfDay(), dateTime);
+        return (int) -Math.floorDiv(-minutes, SLOT_MINUTES);
+    }
+
+    private LocalDateTime toDateTime(int slot) {
+        return startDate.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+    }
+}
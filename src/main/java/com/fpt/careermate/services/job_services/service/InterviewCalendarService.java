@@ -1,5 +1,6 @@
 package com.fpt.careermate.services.job_services.service;
 
+import com.fpt.careermate.services.job_services.service.dto.request.PanelSlotSearchRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.RecruiterWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.TimeOffRequest;
 import com.fpt.careermate.services.job_services.service.dto.response.*;
@@ -61,6 +62,12 @@ public interface InterviewCalendarService {
      */
     List<LocalTime> getAvailableSlots(Integer recruiterId, LocalDate date, Integer durationMinutes);
     
+    /**
+     * Find ranked start times that are free for every recruiter in a panel and the candidate.
+     * Considers working hours, approved time off and existing interviews on both sides.
+     */
+    PanelSlotSearchResponse findPanelSlots(PanelSlotSearchRequest request);
+    
     /**
      * Get available dates for recruiter in date range
      * Returns list of dates that have at least one available slot
@@ -4,6 +4,7 @@ import com.fpt.careermate.common.constant.InterviewStatus;
 import com.fpt.careermate.common.constant.StatusJobApply;
 import com.fpt.careermate.common.response.PageResponse;
 import com.fpt.careermate.services.account_services.domain.Account;
+import com.fpt.careermate.services.order_services.service.CandidateEntitlementCheckerService;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
@@ -43,6 +44,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -60,6 +62,7 @@ public class JobApplyImp implements JobApplyService {
         AuthenticationImp authenticationImp;
         RecruiterRepo recruiterRepo;
         InterviewScheduleRepo interviewScheduleRepo;
+        CandidateEntitlementCheckerService candidateEntitlementCheckerService;
 
         @Override
         @Transactional
@@ -83,6 +86,9 @@ public class JobApplyImp implements JobApplyService {
                                         throw new AppException(ErrorCode.ALREADY_APPLIED_TO_JOB_POSTING);
                                 });
 
+                // Take one of this month's applications; rolled back with the application on failure
+                candidateEntitlementCheckerService.consumeApplyJob(candidate);
+
                 // Create new job apply
                 JobApply jobApply = JobApply.builder()
                                 .jobPosting(jobPosting)
@@ -101,12 +107,9 @@ public class JobApplyImp implements JobApplyService {
                                 jobPosting.getTitle());
 
                 // Send notification to recruiter about new application
-                try {
-                        sendApplicationReceivedNotification(savedJobApply, jobPosting, candidate);
-                } catch (Exception e) {
-                        log.error("Failed to send application received notification: {}", e.getMessage(), e);
-                        // Don't fail the application process if notification fails
-                }
+                queueNotification("recruiter-notifications",
+                                () -> buildApplicationReceivedNotification(savedJobApply, jobPosting, candidate),
+                                "application received");
 
                 return jobApplyMapper.toJobApplyResponse(savedJobApply);
         }
@@ -212,33 +215,20 @@ public class JobApplyImp implements JobApplyService {
                 log.info("Job application ID: {} updated from {} to {}", id, previousStatus, status);
 
                 // Send notification to candidate about status change
-                try {
-                        sendApplicationStatusChangeNotification(updatedJobApply, previousStatus, status);
-                } catch (Exception e) {
-                        log.error("Failed to send application status change notification: {}", e.getMessage(), e);
-                        // Don't fail the update process if notification fails
-                }
+                queueNotification("candidate-notifications",
+                                () -> buildApplicationStatusChangeNotification(updatedJobApply, previousStatus, status),
+                                "application status change");
 
-                // Handle business rules when candidate is hired (ACCEPTED status)
+                // Handle business rules when candidate is hired (ACCEPTED status).
+                // Not caught: these run in this transaction, so a failed write has already
+                // marked it rollback-only and must fail the update rather than its commit
                 if (status == StatusJobApply.ACCEPTED) {
-                        try {
-                                handleHireBusinessRules(updatedJobApply);
-                        } catch (Exception e) {
-                                log.error("Failed to process hire business rules for application {}: {}",
-                                                id, e.getMessage(), e);
-                                // Don't fail the main update if auto-withdraw fails
-                        }
+                        handleHireBusinessRules(updatedJobApply);
                 }
 
                 // Handle interview cancellation when application is manually withdrawn
                 if (status == StatusJobApply.WITHDRAWN) {
-                        try {
-                                cancelInterviewOnManualWithdrawal(updatedJobApply);
-                        } catch (Exception e) {
-                                log.error("Failed to cancel interview for withdrawn application {}: {}",
-                                                id, e.getMessage(), e);
-                                // Don't fail the main update if interview cancellation fails
-                        }
+                        cancelInterviewOnManualWithdrawal(updatedJobApply);
                 }
 
                 return jobApplyMapper.toJobApplyResponse(updatedJobApply);
@@ -255,12 +245,29 @@ public class JobApplyImp implements JobApplyService {
         // ==================== NOTIFICATION HELPER METHODS ====================
 
         /**
-         * Send notification to recruiter when a candidate applies to their job posting
+         * Queue a notification in the caller's transaction.
+         * A failure while building the event is logged and the notification skipped;
+         * an outbox write failure is not caught, so it rolls back the caller's
+         * transaction (see NotificationProducer).
+         */
+        private void queueNotification(String topic, Supplier<NotificationEvent> builder, String description) {
+                NotificationEvent event;
+                try {
+                        event = builder.get();
+                } catch (Exception e) {
+                        log.error("Failed to build {} notification: {}", description, e.getMessage(), e);
+                        return;
+                }
+                notificationProducer.sendNotification(topic, event);
+                log.info("✅ Queued {} notification for {}", description, event.getRecipientId());
+        }
+
+        /**
+         * Build notification to recruiter when a candidate applies to their job posting
          */
-        private void sendApplicationReceivedNotification(JobApply jobApply, JobPosting jobPosting,
+        private NotificationEvent buildApplicationReceivedNotification(JobApply jobApply, JobPosting jobPosting,
                         Candidate candidate) {
                 String recruiterEmail = jobPosting.getRecruiter().getAccount().getEmail();
-                Integer recruiterId = jobPosting.getRecruiter().getId();
 
                 DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
                 String appliedTime = jobApply.getCreateAt().format(formatter);
@@ -312,21 +319,18 @@ public class JobApplyImp implements JobApplyService {
                                 .priority(2) // MEDIUM priority
                                 .build();
 
-                notificationProducer.sendNotification("recruiter-notifications", event);
-                log.info("✅ Sent new application notification to recruiter {} for job: {}", recruiterId,
-                                jobPosting.getTitle());
+                return event;
         }
 
         /**
-         * Send notification to candidate when recruiter updates their application
+         * Build notification to candidate when recruiter updates their application
          * status
          */
-        private void sendApplicationStatusChangeNotification(JobApply jobApply, StatusJobApply previousStatus,
+        private NotificationEvent buildApplicationStatusChangeNotification(JobApply jobApply, StatusJobApply previousStatus,
                         StatusJobApply newStatus) {
                 Candidate candidate = jobApply.getCandidate();
                 JobPosting jobPosting = jobApply.getJobPosting();
                 String candidateEmail = candidate.getAccount().getEmail();
-                Integer candidateId = candidate.getCandidateId();
 
                 Map<String, Object> metadata = new HashMap<>();
                 metadata.put("applicationId", jobApply.getId());
@@ -596,9 +600,7 @@ public class JobApplyImp implements JobApplyService {
                                 .priority(priority)
                                 .build();
 
-                notificationProducer.sendNotification("candidate-notifications", event);
-                log.info("✅ Sent application status change notification to candidate {} for status: {}", candidateId,
-                                newStatus);
+                return event;
         }
 
         // ==================== STATUS TRANSITION VALIDATION ====================
@@ -805,38 +807,34 @@ public class JobApplyImp implements JobApplyService {
 
                 int withdrawnCount = 0;
                 for (JobApply application : pendingApplications) {
-                        try {
-                                StatusJobApply previousStatus = application.getStatus();
-
-                                // Update status to WITHDRAWN
-                                application.setStatus(StatusJobApply.WITHDRAWN);
-                                application.setStatusChangedAt(LocalDateTime.now());
-                                jobApplyRepo.save(application);
-
-                                // Record in history with reason
-                                String withdrawReason = String.format(
-                                                "Auto-withdrawn: Candidate hired for '%s' at %s",
-                                                hiredJobTitle, hiredCompanyName);
-                                recordStatusChange(application, previousStatus, StatusJobApply.WITHDRAWN,
-                                                null, withdrawReason);
-
-                                // Send notification to recruiter about auto-withdrawal
-                                sendAutoWithdrawNotificationToRecruiter(application, hiredJobTitle, hiredCompanyName);
-
-                                // Cancel any scheduled interviews for this application
-                                cancelInterviewIfExists(application, hiredJobTitle, hiredCompanyName);
-
-                                withdrawnCount++;
-                                log.info("✅ Auto-withdrew application {} for job '{}' (was: {})",
-                                                application.getId(),
-                                                application.getJobPosting().getTitle(),
-                                                previousStatus);
-
-                        } catch (Exception e) {
-                                log.error("Failed to auto-withdraw application {}: {}",
-                                                application.getId(), e.getMessage());
-                                // Continue processing other applications
-                        }
+                        StatusJobApply previousStatus = application.getStatus();
+
+                        // Update status to WITHDRAWN
+                        application.setStatus(StatusJobApply.WITHDRAWN);
+                        application.setStatusChangedAt(LocalDateTime.now());
+                        jobApplyRepo.save(application);
+
+                        // Record in history with reason
+                        String withdrawReason = String.format(
+                                        "Auto-withdrawn: Candidate hired for '%s' at %s",
+                                        hiredJobTitle, hiredCompanyName);
+                        recordStatusChange(application, previousStatus, StatusJobApply.WITHDRAWN,
+                                        null, withdrawReason);
+
+                        // Send notification to recruiter about auto-withdrawal
+                        queueNotification("recruiter-notifications",
+                                        () -> buildAutoWithdrawNotificationToRecruiter(application, hiredJobTitle,
+                                                        hiredCompanyName),
+                                        "auto-withdrawal");
+
+                        // Cancel any scheduled interviews for this application
+                        cancelInterviewIfExists(application, hiredJobTitle, hiredCompanyName);
+
+                        withdrawnCount++;
+                        log.info("✅ Auto-withdrew application {} for job '{}' (was: {})",
+                                        application.getId(),
+                                        application.getJobPosting().getTitle(),
+                                        previousStatus);
                 }
 
                 log.info("🎉 Auto-withdrew {} of {} pending applications for candidate {}",
@@ -844,15 +842,18 @@ public class JobApplyImp implements JobApplyService {
 
                 // Send summary notification to candidate about auto-withdrawals
                 if (withdrawnCount > 0) {
-                        sendAutoWithdrawSummaryToCandidate(hiredApplication, withdrawnCount);
+                        int withdrawn = withdrawnCount;
+                        queueNotification("candidate-notifications",
+                                        () -> buildAutoWithdrawSummaryToCandidate(hiredApplication, withdrawn),
+                                        "auto-withdrawal summary");
                 }
         }
 
         /**
-         * Send notification to recruiter when a candidate auto-withdraws from their job
+         * Build notification to recruiter when a candidate auto-withdraws from their job
          * posting.
          */
-        private void sendAutoWithdrawNotificationToRecruiter(JobApply withdrawnApplication,
+        private NotificationEvent buildAutoWithdrawNotificationToRecruiter(JobApply withdrawnApplication,
                         String hiredJobTitle, String hiredCompanyName) {
                 String recruiterEmail = withdrawnApplication.getJobPosting().getRecruiter().getAccount().getEmail();
                 Integer recruiterId = withdrawnApplication.getJobPosting().getRecruiter().getId();
@@ -889,14 +890,14 @@ public class JobApplyImp implements JobApplyService {
                                 .timestamp(LocalDateTime.now())
                                 .build();
 
-                notificationProducer.sendRecruiterNotification(event);
+                return event;
         }
 
         /**
-         * Send summary notification to candidate about their auto-withdrawn
+         * Build summary notification to candidate about their auto-withdrawn
          * applications.
          */
-        private void sendAutoWithdrawSummaryToCandidate(JobApply hiredApplication, int withdrawnCount) {
+        private NotificationEvent buildAutoWithdrawSummaryToCandidate(JobApply hiredApplication, int withdrawnCount) {
                 String candidateEmail = hiredApplication.getCandidate().getAccount().getEmail();
                 Integer candidateId = hiredApplication.getCandidate().getCandidateId();
                 String hiredCompanyName = hiredApplication.getJobPosting().getRecruiter().getCompanyName();
@@ -932,7 +933,7 @@ public class JobApplyImp implements JobApplyService {
                                 .timestamp(LocalDateTime.now())
                                 .build();
 
-                notificationProducer.sendNotification("candidate-notifications", event);
+                return event;
         }
 
         /**
@@ -945,42 +946,38 @@ public class JobApplyImp implements JobApplyService {
          * @param hiredCompanyName The company name where candidate was hired
          */
         private void cancelInterviewIfExists(JobApply application, String hiredJobTitle, String hiredCompanyName) {
-                try {
-                        interviewScheduleRepo.findByJobApplyId(application.getId())
-                                        .ifPresent(interview -> {
-                                                // Only cancel if interview is not already completed/cancelled/no-show
-                                                if (interview.getStatus() == InterviewStatus.SCHEDULED
-                                                                || interview.getStatus() == InterviewStatus.CONFIRMED
-                                                                || interview.getStatus() == InterviewStatus.RESCHEDULED) {
-
-                                                        InterviewStatus previousStatus = interview.getStatus();
-                                                        interview.setStatus(InterviewStatus.CANCELLED);
-                                                        interview.setInterviewerNotes(String.format(
-                                                                        "Auto-cancelled: Candidate hired for '%s' at %s. Previous status: %s",
-                                                                        hiredJobTitle, hiredCompanyName,
-                                                                        previousStatus));
-                                                        interviewScheduleRepo.save(interview);
-
-                                                        log.info("🗓️ Auto-cancelled interview {} for application {} (was: {})",
-                                                                        interview.getId(), application.getId(),
-                                                                        previousStatus);
-
-                                                        // Send notification to recruiter about cancelled interview
-                                                        sendInterviewCancelledNotification(interview, application,
-                                                                        hiredJobTitle, hiredCompanyName);
-                                                }
-                                        });
-                } catch (Exception e) {
-                        log.error("Failed to cancel interview for application {}: {}",
-                                        application.getId(), e.getMessage());
-                        // Don't fail the withdrawal process if interview cancellation fails
-                }
+                interviewScheduleRepo.findByJobApplyId(application.getId())
+                                .ifPresent(interview -> {
+                                        // Only cancel if interview is not already completed/cancelled/no-show
+                                        if (interview.getStatus() == InterviewStatus.SCHEDULED
+                                                        || interview.getStatus() == InterviewStatus.CONFIRMED
+                                                        || interview.getStatus() == InterviewStatus.RESCHEDULED) {
+
+                                                InterviewStatus previousStatus = interview.getStatus();
+                                                interview.setStatus(InterviewStatus.CANCELLED);
+                                                interview.setInterviewerNotes(String.format(
+                                                                "Auto-cancelled: Candidate hired for '%s' at %s. Previous status: %s",
+                                                                hiredJobTitle, hiredCompanyName,
+                                                                previousStatus));
+                                                interviewScheduleRepo.save(interview);
+
+                                                log.info("🗓️ Auto-cancelled interview {} for application {} (was: {})",
+                                                                interview.getId(), application.getId(),
+                                                                previousStatus);
+
+                                                // Send notification to recruiter about cancelled interview
+                                                queueNotification("recruiter-notifications",
+                                                                () -> buildInterviewCancelledNotification(interview, application,
+                                                                                hiredJobTitle, hiredCompanyName),
+                                                                "interview auto-cancellation");
+                                        }
+                                });
         }
 
         /**
-         * Send notification to recruiter when a scheduled interview is auto-cancelled.
+         * Build notification to recruiter when a scheduled interview is auto-cancelled.
          */
-        private void sendInterviewCancelledNotification(InterviewSchedule interview, JobApply application,
+        private NotificationEvent buildInterviewCancelledNotification(InterviewSchedule interview, JobApply application,
                         String hiredJobTitle, String hiredCompanyName) {
                 String recruiterEmail = application.getJobPosting().getRecruiter().getAccount().getEmail();
                 Integer recruiterId = application.getJobPosting().getRecruiter().getId();
@@ -1022,7 +1019,7 @@ public class JobApplyImp implements JobApplyService {
                                 .timestamp(LocalDateTime.now())
                                 .build();
 
-                notificationProducer.sendNotification("recruiter-notifications", event);
+                return event;
         }
 
         /**
@@ -1033,41 +1030,37 @@ public class JobApplyImp implements JobApplyService {
          * @param application The application being withdrawn by candidate
          */
         private void cancelInterviewOnManualWithdrawal(JobApply application) {
-                try {
-                        interviewScheduleRepo.findByJobApplyId(application.getId())
-                                        .ifPresent(interview -> {
-                                                // Only cancel if interview is not already completed/cancelled/no-show
-                                                if (interview.getStatus() == InterviewStatus.SCHEDULED
-                                                                || interview.getStatus() == InterviewStatus.CONFIRMED
-                                                                || interview.getStatus() == InterviewStatus.RESCHEDULED) {
-
-                                                        InterviewStatus previousStatus = interview.getStatus();
-                                                        interview.setStatus(InterviewStatus.CANCELLED);
-                                                        interview.setInterviewerNotes(String.format(
-                                                                        "Cancelled: Candidate withdrew application. Previous status: %s",
-                                                                        previousStatus));
-                                                        interviewScheduleRepo.save(interview);
-
-                                                        log.info("🗓️ Cancelled interview {} for withdrawn application {} (was: {})",
-                                                                        interview.getId(), application.getId(),
-                                                                        previousStatus);
-
-                                                        // Notify recruiter about cancelled interview
-                                                        sendManualWithdrawInterviewCancelledNotification(interview,
-                                                                        application);
-                                                }
-                                        });
-                } catch (Exception e) {
-                        log.error("Failed to cancel interview for withdrawn application {}: {}",
-                                        application.getId(), e.getMessage());
-                }
+                interviewScheduleRepo.findByJobApplyId(application.getId())
+                                .ifPresent(interview -> {
+                                        // Only cancel if interview is not already completed/cancelled/no-show
+                                        if (interview.getStatus() == InterviewStatus.SCHEDULED
+                                                        || interview.getStatus() == InterviewStatus.CONFIRMED
+                                                        || interview.getStatus() == InterviewStatus.RESCHEDULED) {
+
+                                                InterviewStatus previousStatus = interview.getStatus();
+                                                interview.setStatus(InterviewStatus.CANCELLED);
+                                                interview.setInterviewerNotes(String.format(
+                                                                "Cancelled: Candidate withdrew application. Previous status: %s",
+                                                                previousStatus));
+                                                interviewScheduleRepo.save(interview);
+
+                                                log.info("🗓️ Cancelled interview {} for withdrawn application {} (was: {})",
+                                                                interview.getId(), application.getId(),
+                                                                previousStatus);
+
+                                                // Notify recruiter about cancelled interview
+                                                queueNotification("recruiter-notifications",
+                                                                () -> buildManualWithdrawInterviewCancelledNotification(interview, application),
+                                                                "interview cancellation");
+                                        }
+                                });
         }
 
         /**
-         * Send notification to recruiter when interview is cancelled due to candidate
+         * Build notification to recruiter when interview is cancelled due to candidate
          * withdrawal.
          */
-        private void sendManualWithdrawInterviewCancelledNotification(InterviewSchedule interview,
+        private NotificationEvent buildManualWithdrawInterviewCancelledNotification(InterviewSchedule interview,
                         JobApply application) {
                 String recruiterEmail = application.getJobPosting().getRecruiter().getAccount().getEmail();
                 Integer recruiterId = application.getJobPosting().getRecruiter().getId();
@@ -1106,7 +1099,7 @@ public class JobApplyImp implements JobApplyService {
                                 .timestamp(LocalDateTime.now())
                                 .build();
 
-                notificationProducer.sendNotification("recruiter-notifications", event);
+                return event;
         }
 
         // Get current recruiter helper method
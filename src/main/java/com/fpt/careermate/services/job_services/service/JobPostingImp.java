@@ -31,9 +31,11 @@ import com.fpt.careermate.common.util.JobPostingValidator;
 import com.fpt.careermate.common.util.MailBody;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.email_services.service.EmailTemplate;
 import com.fpt.careermate.services.email_services.service.impl.EmailService;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import com.fpt.careermate.services.order_services.service.RecruiterEntitlementCheckerService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -77,10 +79,12 @@ public class JobPostingImp implements JobPostingService {
     NotificationProducer notificationProducer;
     SavedJobRepo savedJobRepo;
     CoachUtil coachUtil;
+    RecruiterEntitlementCheckerService recruiterEntitlementCheckerService;
 
     // Recruiter create job posting
     @PreAuthorize("hasRole('RECRUITER')")
     @Override
+    @Transactional
     public void createJobPosting(JobPostingCreationRequest request) {
         // Get current recruiter first (needed for duplicate check)
         Recruiter recruiter = getMyRecruiter();
@@ -89,6 +93,9 @@ public class JobPostingImp implements JobPostingService {
         jobPostingValidator.checkDuplicateJobPostingTitle(request.getTitle(), recruiter.getId());
         jobPostingValidator.validateExpirationDate(request.getExpirationDate());
 
+        // Take one of this month's postings; rolled back with the posting on failure
+        recruiterEntitlementCheckerService.consumePostJob(recruiter);
+
         JobPosting jobPosting = jobPostingMapper.toJobPosting(request);
         jobPosting.setCreateAt(LocalDate.now());
         jobPosting.setWorkModel(request.getWorkModel().getDisplayName());
@@ -652,6 +659,7 @@ public class JobPostingImp implements JobPostingService {
      * Send notification to admin when a new job posting is created (PENDING status)
      */
     private void sendJobPostingPendingNotification(JobPosting jobPosting) {
+        NotificationEvent event;
         try {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("jobPostingId", jobPosting.getId());
@@ -660,7 +668,7 @@ public class JobPostingImp implements JobPostingService {
             metadata.put("recruiterId", jobPosting.getRecruiter().getId());
             metadata.put("createdAt", jobPosting.getCreateAt().toString());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.SYSTEM_NOTIFICATION.name())
                     .recipientId("ADMIN")
                     .recipientEmail("admin@careermate.com")
@@ -674,42 +682,37 @@ public class JobPostingImp implements JobPostingService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
-
-            notificationProducer.sendAdminNotification(event);
-            log.info("✅ Sent pending job posting notification to admin for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
-            log.error("❌ Failed to send pending job posting notification to admin for job ID: {}",
+            log.error("❌ Failed to build pending job posting notification to admin for job ID: {}",
                     jobPosting.getId(), e);
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendAdminNotification(event);
+        log.info("✅ Sent pending job posting notification to admin for job ID: {}", jobPosting.getId());
     }
 
     /**
      * Send notification to recruiter when their job posting is approved
      */
     private void sendJobPostingApprovedNotification(JobPosting jobPosting) {
-        String emailMessage = String.format(
-                "Great news! Your job posting '%s' has been approved and is now live on CareerMate.\n\n" +
-                        "Job Details:\n" +
-                        "- Title: %s\n" +
-                        "- Location: %s\n" +
-                        "- Expiration Date: %s\n\n" +
-                        "Candidates can now view and apply to your job posting.\n\n" +
-                        "Best regards,\n" +
-                        "CareerMate Team",
-                jobPosting.getTitle(),
-                jobPosting.getTitle(),
-                jobPosting.getAddress(),
-                jobPosting.getExpirationDate());
+        Map<String, Object> emailModel = new HashMap<>();
+        emailModel.put("title", jobPosting.getTitle());
+        emailModel.put("address", jobPosting.getAddress());
+        emailModel.put("expirationDate", jobPosting.getExpirationDate());
+        String emailMessage = EmailTemplate.JOB_POSTING_APPROVED.renderBody(emailModel);
 
+        NotificationEvent event = null;
         try {
-            // Send Kafka notification for in-app notification
+            // Build the in-app notification
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("jobPostingId", jobPosting.getId());
             metadata.put("jobTitle", jobPosting.getTitle());
             metadata.put("approvedBy", jobPosting.getApprovedBy().getAccount().getEmail());
             metadata.put("status", jobPosting.getStatus());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.JOB_POSTING_APPROVED.name())
                     .recipientId(jobPosting.getRecruiter().getAccount().getEmail()) // Use email for SSE
                     .recipientEmail(jobPosting.getRecruiter().getAccount().getEmail())
@@ -720,19 +723,22 @@ public class JobPostingImp implements JobPostingService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
+        } catch (Exception e) {
+            log.error("❌ Failed to build approval notification to recruiter for job ID: {}",
+                    jobPosting.getId(), e);
+        }
 
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        if (event != null) {
             notificationProducer.sendRecruiterNotification(event);
             log.info("✅ Sent approval notification to recruiter for job ID: {}", jobPosting.getId());
-        } catch (Exception e) {
-            log.error("❌ Failed to send approval notification to recruiter for job ID: {}",
-                    jobPosting.getId(), e);
         }
 
         // Send email notification
         try {
             MailBody mailBody = MailBody.builder()
                     .to(jobPosting.getRecruiter().getAccount().getEmail())
-                    .subject("Your Job Posting Has Been Approved")
+                    .subject(EmailTemplate.JOB_POSTING_APPROVED.renderSubject(emailModel))
                     .text(emailMessage)
                     .build();
 
@@ -748,20 +754,15 @@ public class JobPostingImp implements JobPostingService {
      * Send notification to recruiter when their job posting is rejected
      */
     private void sendJobPostingRejectedNotification(JobPosting jobPosting) {
-        String emailMessage = String.format(
-                "Your job posting '%s' was not approved and requires updates.\n\n" +
-                        "Rejection Reason:\n%s\n\n" +
-                        "Please review the feedback above and resubmit your job posting after making the necessary changes.\n\n"
-                        +
-                        "If you have any questions, please contact our support team.\n\n" +
-                        "Best regards,\n" +
-                        "CareerMate Team",
-                jobPosting.getTitle(),
-                jobPosting.getRejectionReason() != null ? jobPosting.getRejectionReason()
-                        : "No specific reason provided");
+        Map<String, Object> emailModel = new HashMap<>();
+        emailModel.put("title", jobPosting.getTitle());
+        emailModel.put("reason", jobPosting.getRejectionReason() != null ? jobPosting.getRejectionReason()
+                : "No specific reason provided");
+        String emailMessage = EmailTemplate.JOB_POSTING_REJECTED.renderBody(emailModel);
 
+        NotificationEvent event = null;
         try {
-            // Send Kafka notification for in-app notification
+            // Build the in-app notification
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("jobPostingId", jobPosting.getId());
             metadata.put("jobTitle", jobPosting.getTitle());
@@ -769,7 +770,7 @@ public class JobPostingImp implements JobPostingService {
             metadata.put("rejectedBy", jobPosting.getApprovedBy().getAccount().getEmail());
             metadata.put("status", jobPosting.getStatus());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.JOB_POSTING_REJECTED.name())
                     .recipientId(jobPosting.getRecruiter().getAccount().getEmail()) // Use email for SSE
                     .recipientEmail(jobPosting.getRecruiter().getAccount().getEmail())
@@ -780,19 +781,22 @@ public class JobPostingImp implements JobPostingService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
+        } catch (Exception e) {
+            log.error("❌ Failed to build rejection notification to recruiter for job ID: {}",
+                    jobPosting.getId(), e);
+        }
 
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        if (event != null) {
             notificationProducer.sendRecruiterNotification(event);
             log.info("✅ Sent rejection notification to recruiter for job ID: {}", jobPosting.getId());
-        } catch (Exception e) {
-            log.error("❌ Failed to send rejection notification to recruiter for job ID: {}",
-                    jobPosting.getId(), e);
         }
 
         // Send email notification
         try {
             MailBody mailBody = MailBody.builder()
                     .to(jobPosting.getRecruiter().getAccount().getEmail())
-                    .subject("Your Job Posting Requires Updates")
+                    .subject(EmailTemplate.JOB_POSTING_REJECTED.renderSubject(emailModel))
                     .text(emailMessage)
                     .build();
 
@@ -0,0 +1,40 @@
+package com.fpt.careermate.services.job_services.service.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request to find common interview slots for a panel of recruiters and a candidate
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PanelSlotSearchRequest {
+
+    @NotEmpty(message = "At least one recruiter ID is required")
+    private List<Integer> recruiterIds;
+
+    @NotNull(message = "Candidate ID is required")
+    private Integer candidateId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Duration in minutes is required")
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    private Integer durationMinutes;
+
+    private Integer maxResults;  // Defaults to 10
+}
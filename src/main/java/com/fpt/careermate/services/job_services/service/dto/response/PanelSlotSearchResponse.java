@@ -0,0 +1,34 @@
+package com.fpt.careermate.services.job_services.service.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PanelSlotSearchResponse {
+    List<Integer> recruiterIds;
+    Integer candidateId;
+    LocalDate startDate;
+    LocalDate endDate;
+    Integer durationMinutes;
+    Integer totalCommonSlots;     // All start times free for every participant
+    List<RankedSlot> suggestedSlots;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class RankedSlot {
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        Integer score;  // Higher is better
+    }
+}
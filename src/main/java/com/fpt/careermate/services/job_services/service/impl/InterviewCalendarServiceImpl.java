@@ -1,15 +1,22 @@
 package com.fpt.careermate.services.job_services.service.impl;
 
+import com.fpt.careermate.common.constant.InterviewOutcome;
+import com.fpt.careermate.common.constant.InterviewStatus;
+import com.fpt.careermate.common.constant.InterviewType;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.services.account_services.domain.Account;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
+import com.fpt.careermate.services.job_services.domain.RecruiterTimeOff;
 import com.fpt.careermate.services.job_services.domain.RecruiterWorkingHours;
 import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
+import com.fpt.careermate.services.job_services.repository.RecruiterTimeOffRepo;
 import com.fpt.careermate.services.job_services.repository.RecruiterWorkingHoursRepo;
+import com.fpt.careermate.services.job_services.service.AvailabilityGrid;
 import com.fpt.careermate.services.job_services.service.InterviewCalendarService;
 import com.fpt.careermate.services.job_services.service.dto.request.BatchWorkingHoursRequest;
+import com.fpt.careermate.services.job_services.service.dto.request.PanelSlotSearchRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.RecruiterWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.response.*;
 import com.fpt.careermate.services.job_services.service.mapper.InterviewScheduleMapper;
@@ -33,6 +40,7 @@ import java.util.stream.Collectors;
 public class InterviewCalendarServiceImpl implements InterviewCalendarService {
 
     private final RecruiterWorkingHoursRepo workingHoursRepo;
+    private final RecruiterTimeOffRepo timeOffRepo;
     private final InterviewScheduleRepo interviewScheduleRepo;
     private final RecruiterRepo recruiterRepo;
     private final RecruiterWorkingHoursMapper workingHoursMapper;
@@ -397,19 +405,25 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     public List<LocalTime> getAvailableSlots(Integer recruiterId, LocalDate date, Integer durationMinutes) {
         log.info("Getting available slots for recruiter {} on {}", recruiterId, date);
 
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        RecruiterWorkingHours workingHours = workingHoursRepo
+                .findByRecruiterIdAndDayOfWeek(recruiterId, date.getDayOfWeek())
+                .orElse(null);
 
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
+        return generateAvailableSlots(workingHours, durationMinutes);
+    }
 
+    /**
+     * Generate 15-minute slots for a day from its working hours configuration.
+     * Pure computation so range views can reuse one working-hours lookup for every day.
+     */
+    private List<LocalTime> generateAvailableSlots(RecruiterWorkingHours workingHours, Integer durationMinutes) {
         // SIMPLIFIED: Allow scheduling even on non-working days (company may have
         // overtime)
         // Just generate standard business hours if no working hours configured
         LocalTime startTime = LocalTime.of(8, 0); // Default: 8 AM
         LocalTime endTime = LocalTime.of(20, 0); // Default: 8 PM (allow overtime)
 
-        if (workingHoursOpt.isPresent() && Boolean.TRUE.equals(workingHoursOpt.get().getIsWorkingDay())) {
-            RecruiterWorkingHours workingHours = workingHoursOpt.get();
+        if (workingHours != null && Boolean.TRUE.equals(workingHours.getIsWorkingDay())) {
             startTime = workingHours.getStartTime() != null ? workingHours.getStartTime() : startTime;
             endTime = workingHours.getEndTime() != null ? workingHours.getEndTime() : endTime;
         }
@@ -432,6 +446,17 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         return availableSlots;
     }
 
+    /**
+     * Load recruiter's weekly working hours configuration keyed by day of week
+     */
+    private Map<DayOfWeek, RecruiterWorkingHours> getWorkingHoursByDay(Integer recruiterId) {
+        Map<DayOfWeek, RecruiterWorkingHours> workingHoursByDay = new EnumMap<>(DayOfWeek.class);
+        for (RecruiterWorkingHours workingHours : workingHoursRepo.findByRecruiterId(recruiterId)) {
+            workingHoursByDay.put(workingHours.getDayOfWeek(), workingHours);
+        }
+        return workingHoursByDay;
+    }
+
     private boolean isSlotAvailable(LocalTime slotStart, LocalTime slotEnd,
             RecruiterWorkingHours workingHours,
             List<InterviewSchedule> existingInterviews,
@@ -481,17 +506,143 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         return true;
     }
 
+    private static final int MAX_PANEL_SEARCH_DAYS = 62;
+    private static final int DEFAULT_PANEL_RESULTS = 10;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PanelSlotSearchResponse findPanelSlots(PanelSlotSearchRequest request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        int durationMinutes = request.getDurationMinutes();
+        Set<Integer> recruiterIds = new LinkedHashSet<>(request.getRecruiterIds());
+
+        log.info("Finding panel slots for recruiters {} and candidate {} from {} to {}",
+                recruiterIds, request.getCandidateId(), startDate, endDate);
+
+        if (endDate.isBefore(startDate)
+                || Duration.between(startDate.atStartOfDay(), endDate.atStartOfDay()).toDays() >= MAX_PANEL_SEARCH_DAYS) {
+            throw new AppException(ErrorCode.INVALID_SCHEDULE_RANGE);
+        }
+
+        LocalDateTime rangeStart = startDate.atStartOfDay();
+        LocalDateTime rangeEnd = endDate.plusDays(1).atStartOfDay();
+
+        // Four bulk queries regardless of panel size or range length
+        Map<Integer, Map<DayOfWeek, RecruiterWorkingHours>> workingHoursByRecruiter = new HashMap<>();
+        for (RecruiterWorkingHours workingHours : workingHoursRepo.findByRecruiterIdIn(recruiterIds)) {
+            workingHoursByRecruiter
+                    .computeIfAbsent(workingHours.getRecruiter().getId(), id -> new EnumMap<>(DayOfWeek.class))
+                    .put(workingHours.getDayOfWeek(), workingHours);
+        }
+        List<RecruiterTimeOff> timeOffs = timeOffRepo
+                .findTimeOffInRangeForRecruiters(recruiterIds, startDate, endDate);
+        List<Object[]> recruiterBusy = interviewScheduleRepo
+                .findBusyPeriodsByRecruiterIds(recruiterIds, rangeStart, rangeEnd);
+        List<Object[]> candidateBusy = interviewScheduleRepo
+                .findBusyPeriodsByCandidateId(request.getCandidateId(), rangeStart, rangeEnd);
+
+        Map<Integer, AvailabilityGrid> grids = new HashMap<>();
+        for (Integer recruiterId : recruiterIds) {
+            grids.put(recruiterId, buildWorkingGrid(startDate, endDate,
+                    workingHoursByRecruiter.getOrDefault(recruiterId, Map.of())));
+        }
+        for (RecruiterTimeOff timeOff : timeOffs) {
+            grids.get(timeOff.getRecruiter().getId()).markDaysBusy(timeOff.getStartDate(), timeOff.getEndDate());
+        }
+        for (Object[] row : recruiterBusy) {
+            grids.get((Integer) row[0]).markBusy((LocalDateTime) row[1], (LocalDateTime) row[2]);
+        }
+
+        AvailabilityGrid common = AvailabilityGrid.open(startDate, endDate);
+        for (Object[] row : candidateBusy) {
+            common.markBusy((LocalDateTime) row[0], (LocalDateTime) row[1]);
+        }
+        // Same 5 minute lead time as scheduleInterview
+        common.markBusy(rangeStart, LocalDateTime.now().plusMinutes(5));
+        grids.values().forEach(common::intersect);
+
+        List<LocalDateTime> startTimes = common.findStartTimes(durationMinutes);
+        int maxResults = request.getMaxResults() != null && request.getMaxResults() > 0
+                ? request.getMaxResults()
+                : DEFAULT_PANEL_RESULTS;
+
+        List<PanelSlotSearchResponse.RankedSlot> suggestedSlots = startTimes.stream()
+                .map(start -> PanelSlotSearchResponse.RankedSlot.builder()
+                        .startTime(start)
+                        .endTime(start.plusMinutes(durationMinutes))
+                        .score(scorePanelSlot(common, start, durationMinutes, startDate))
+                        .build())
+                .sorted(Comparator.comparing(PanelSlotSearchResponse.RankedSlot::getScore).reversed()
+                        .thenComparing(PanelSlotSearchResponse.RankedSlot::getStartTime))
+                .limit(maxResults)
+                .collect(Collectors.toList());
+
+        return PanelSlotSearchResponse.builder()
+                .recruiterIds(new ArrayList<>(recruiterIds))
+                .candidateId(request.getCandidateId())
+                .startDate(startDate)
+                .endDate(endDate)
+                .durationMinutes(durationMinutes)
+                .totalCommonSlots(startTimes.size())
+                .suggestedSlots(suggestedSlots)
+                .build();
+    }
+
+    /**
+     * Free grid for one recruiter from the weekly working hours configuration.
+     * Unconfigured days fall back to the default 8 AM - 8 PM window used by getAvailableSlots.
+     */
+    private AvailabilityGrid buildWorkingGrid(LocalDate startDate, LocalDate endDate,
+            Map<DayOfWeek, RecruiterWorkingHours> workingHoursByDay) {
+        AvailabilityGrid grid = AvailabilityGrid.closed(startDate, endDate);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            RecruiterWorkingHours workingHours = workingHoursByDay.get(date.getDayOfWeek());
+            if (workingHours == null) {
+                grid.markFree(date, LocalTime.of(8, 0), LocalTime.of(20, 0));
+                continue;
+            }
+            if (!Boolean.TRUE.equals(workingHours.getIsWorkingDay())
+                    || workingHours.getStartTime() == null || workingHours.getEndTime() == null) {
+                continue;
+            }
+            grid.markFree(date, workingHours.getStartTime(), workingHours.getEndTime());
+            if (workingHours.getLunchBreakStart() != null && workingHours.getLunchBreakEnd() != null) {
+                grid.markBusy(date.atTime(workingHours.getLunchBreakStart()),
+                        date.atTime(workingHours.getLunchBreakEnd()));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Rank a common slot: closest to mid-morning / mid-afternoon first (same preference as
+     * suggestOptimalTimes), then slack around it for every participant, then earlier dates
+     */
+    private int scorePanelSlot(AvailabilityGrid common, LocalDateTime start, int durationMinutes,
+            LocalDate searchStart) {
+        int minuteOfDay = start.getHour() * 60 + start.getMinute();
+        int distance = Math.min(Math.abs(minuteOfDay - 10 * 60), Math.abs(minuteOfDay - 14 * 60));
+        int timeOfDayScore = Math.max(0, 100 - distance / 3);
+        int slackScore = common.countFreeAround(start, durationMinutes, 2) * 10;
+        int dayPenalty = (int) Duration.between(searchStart.atStartOfDay(),
+                start.toLocalDate().atStartOfDay()).toDays() * 5;
+        return timeOfDayScore + slackScore - dayPenalty;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<LocalDate> getAvailableDates(Integer recruiterId, LocalDate startDate,
             LocalDate endDate, Integer durationMinutes) {
         log.info("Getting available dates for recruiter {} from {} to {}", recruiterId, startDate, endDate);
 
+        Map<DayOfWeek, RecruiterWorkingHours> workingHoursByDay = getWorkingHoursByDay(recruiterId);
         List<LocalDate> availableDates = new ArrayList<>();
         LocalDate current = startDate;
 
         while (!current.isAfter(endDate)) {
-            List<LocalTime> slots = getAvailableSlots(recruiterId, current, durationMinutes);
+            List<LocalTime> slots = generateAvailableSlots(
+                    workingHoursByDay.get(current.getDayOfWeek()), durationMinutes);
             if (!slots.isEmpty()) {
                 availableDates.add(current);
             }
@@ -506,32 +657,42 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     public DailyCalendarResponse getDailyCalendar(Integer recruiterId, LocalDate date) {
         log.info("Getting daily calendar for recruiter {} on {}", recruiterId, date);
 
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
-
-        RecruiterWorkingHours workingHours = workingHoursOpt.orElse(null);
-        boolean isWorkingDay = workingHours != null && Boolean.TRUE.equals(workingHours.getIsWorkingDay());
+        RecruiterWorkingHours workingHours = workingHoursRepo
+                .findByRecruiterIdAndDayOfWeek(recruiterId, date.getDayOfWeek())
+                .orElse(null);
 
-        List<InterviewSchedule> interviews = interviewScheduleRepo.findByRecruiterIdAndDate(recruiterId, date);
-        List<InterviewScheduleResponse> interviewResponses = interviews.stream()
+        List<InterviewScheduleResponse> interviewResponses = interviewScheduleRepo
+                .findByRecruiterIdAndDateRangeWithDetails(recruiterId,
+                        date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .stream()
                 .map(interviewScheduleMapper::toResponse)
                 .collect(Collectors.toList());
 
+        return buildDailyCalendar(recruiterId, date, workingHours, interviewResponses);
+    }
+
+    /**
+     * Assemble a daily view from preloaded working hours and interviews.
+     * Shared by daily and weekly views so neither issues per-day queries.
+     */
+    private DailyCalendarResponse buildDailyCalendar(Integer recruiterId, LocalDate date,
+            RecruiterWorkingHours workingHours,
+            List<InterviewScheduleResponse> interviewResponses) {
+        boolean isWorkingDay = workingHours != null && Boolean.TRUE.equals(workingHours.getIsWorkingDay());
+
         // SIMPLIFIED: Always return available slots (8 AM - 8 PM if no config)
-        List<LocalTime> availableSlots = getAvailableSlots(recruiterId, date, 60);
+        List<LocalTime> availableSlots = generateAvailableSlots(workingHours, 60);
 
         return DailyCalendarResponse.builder()
                 .recruiterId(recruiterId)
                 .date(date)
-                .dayOfWeek(dayOfWeek.toString())
+                .dayOfWeek(date.getDayOfWeek().toString())
                 .isWorkingDay(isWorkingDay || true) // SIMPLIFIED: Always treat as working day
                 .workStartTime(workingHours != null ? workingHours.getStartTime() : LocalTime.of(8, 0))
                 .workEndTime(workingHours != null ? workingHours.getEndTime() : LocalTime.of(20, 0))
                 .lunchBreakStart(workingHours != null ? workingHours.getLunchBreakStart() : LocalTime.of(12, 0))
                 .lunchBreakEnd(workingHours != null ? workingHours.getLunchBreakEnd() : LocalTime.of(13, 0))
-                .totalInterviews(interviews.size())
+                .totalInterviews(interviewResponses.size())
                 .availableSlots(availableSlots.size())
                 .interviews(interviewResponses)
                 .availableTimeSlots(availableSlots)
@@ -546,14 +707,26 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         LocalDate monday = weekStartDate.with(DayOfWeek.MONDAY);
         LocalDate sunday = monday.plusDays(6);
 
-        Map<LocalDate, DailyCalendarResponse> dailyCalendars = new LinkedHashMap<>();
-        List<InterviewScheduleResponse> allInterviews = new ArrayList<>();
+        // One query for the whole week, grouped by date in memory
+        Map<DayOfWeek, RecruiterWorkingHours> workingHoursByDay = getWorkingHoursByDay(recruiterId);
+        List<InterviewScheduleResponse> allInterviews = interviewScheduleRepo
+                .findByRecruiterIdAndDateRangeWithDetails(recruiterId,
+                        monday.atStartOfDay(), sunday.plusDays(1).atStartOfDay())
+                .stream()
+                .map(interviewScheduleMapper::toResponse)
+                .collect(Collectors.toList());
 
+        Map<LocalDate, List<InterviewScheduleResponse>> interviewsByDate = allInterviews.stream()
+                .collect(Collectors.groupingBy(i -> i.getScheduledDate().toLocalDate()));
+
+        Map<LocalDate, DailyCalendarResponse> dailyCalendars = new LinkedHashMap<>();
         for (int i = 0; i < 7; i++) {
             LocalDate date = monday.plusDays(i);
-            DailyCalendarResponse dailyCalendar = getDailyCalendar(recruiterId, date);
-            dailyCalendars.put(date, dailyCalendar);
-            allInterviews.addAll(dailyCalendar.getInterviews());
+            dailyCalendars.put(date, buildDailyCalendar(
+                    recruiterId,
+                    date,
+                    workingHoursByDay.get(date.getDayOfWeek()),
+                    interviewsByDate.getOrDefault(date, new ArrayList<>())));
         }
 
         return WeeklyCalendarResponse.builder()
@@ -575,26 +748,25 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         LocalDate firstDay = yearMonth.atDay(1);
         LocalDate lastDay = yearMonth.atEndOfMonth();
 
-        List<InterviewSchedule> interviews = interviewScheduleRepo
-                .findByRecruiterIdAndDateRange(recruiterId, firstDay, lastDay);
+        // Count-only projection: the monthly grid never needs interview details
+        List<Object[]> countRows = interviewScheduleRepo.countInterviewsByDateInRange(
+                recruiterId, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
 
         Map<LocalDate, Integer> interviewCountByDate = new HashMap<>();
-        for (InterviewSchedule interview : interviews) {
-            LocalDate date = interview.getScheduledDate().toLocalDate();
-            interviewCountByDate.merge(date, 1, Integer::sum);
+        int totalInterviews = 0;
+        for (Object[] row : countRows) {
+            int count = ((Number) row[1]).intValue();
+            interviewCountByDate.put(toLocalDate(row[0]), count);
+            totalInterviews += count;
         }
 
-        List<RecruiterWorkingHours> workingHoursList = workingHoursRepo.findByRecruiterId(recruiterId);
-        Map<DayOfWeek, Boolean> workingDaysConfig = workingHoursList.stream()
-                .collect(Collectors.toMap(
-                        RecruiterWorkingHours::getDayOfWeek,
-                        RecruiterWorkingHours::getIsWorkingDay));
+        Map<DayOfWeek, RecruiterWorkingHours> workingHoursByDay = getWorkingHoursByDay(recruiterId);
 
         Map<LocalDate, Boolean> workingDays = new HashMap<>();
         LocalDate current = firstDay;
         while (!current.isAfter(lastDay)) {
-            Boolean isWorking = workingDaysConfig.getOrDefault(current.getDayOfWeek(), false);
-            workingDays.put(current, isWorking);
+            RecruiterWorkingHours workingHours = workingHoursByDay.get(current.getDayOfWeek());
+            workingDays.put(current, workingHours != null && Boolean.TRUE.equals(workingHours.getIsWorkingDay()));
             current = current.plusDays(1);
         }
 
@@ -603,12 +775,22 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
                 .year(year)
                 .month(month)
                 .yearMonth(yearMonth)
-                .totalInterviews(interviews.size())
+                .totalInterviews(totalInterviews)
                 .interviewCountByDate(interviewCountByDate)
                 .workingDays(workingDays)
                 .build();
     }
 
+    /**
+     * Convert a native query DATE column to LocalDate (driver may return either type)
+     */
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CandidateCalendarResponse getCandidateCalendar(Integer candidateId,
@@ -647,40 +829,68 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         log.info("Getting scheduling stats for recruiter {} from {} to {}",
                 recruiterId, startDate, endDate);
 
-        List<InterviewSchedule> interviews = interviewScheduleRepo
-                .findByRecruiterIdAndDateRange(recruiterId, startDate, endDate);
-
-        int totalScheduled = interviews.size();
-        long completed = interviews.stream()
-                .filter(i -> i.getStatus().name().equals("COMPLETED"))
-                .count();
-        long cancelled = interviews.stream()
-                .filter(i -> i.getStatus().name().equals("CANCELLED"))
-                .count();
-        long noShow = interviews.stream()
-                .filter(i -> i.getStatus().name().equals("NO_SHOW"))
-                .count();
+        LocalDateTime rangeStart = startDate.atStartOfDay();
+        LocalDateTime rangeEnd = endDate.plusDays(1).atStartOfDay();
+
+        // Aggregated in the database: one row per status/type/outcome combination
+        Map<String, Integer> byStatus = new LinkedHashMap<>();
+        Map<String, Integer> byType = new LinkedHashMap<>();
+        long totalScheduled = 0;
+        long totalMinutes = 0;
+        long completed = 0;
+        long cancelled = 0;
+        long noShow = 0;
+        long rescheduled = 0;
+        long passed = 0;
+        long failed = 0;
+        for (Object[] row : interviewScheduleRepo.aggregateStatsInRange(recruiterId, rangeStart, rangeEnd)) {
+            InterviewStatus status = (InterviewStatus) row[0];
+            InterviewType type = (InterviewType) row[1];
+            InterviewOutcome outcome = (InterviewOutcome) row[2];
+            long count = ((Number) row[3]).longValue();
+            long minutes = row[4] != null ? ((Number) row[4]).longValue() : 0;
+
+            byStatus.merge(status.name(), (int) count, Integer::sum);
+            switch (status) {
+                case COMPLETED -> completed += count;
+                case CANCELLED -> cancelled += count;
+                case NO_SHOW -> noShow += count;
+                case RESCHEDULED -> rescheduled += count;
+                default -> { }
+            }
+            if (outcome == InterviewOutcome.PASS) {
+                passed += count;
+            } else if (outcome == InterviewOutcome.FAIL) {
+                failed += count;
+            }
 
-        double totalHours = interviews.stream()
-                .mapToDouble(i -> i.getDurationMinutes() / 60.0)
-                .sum();
+            // Cancelled interviews don't take recruiter time
+            if (status != InterviewStatus.CANCELLED) {
+                totalScheduled += count;
+                totalMinutes += minutes;
+                if (type != null) {
+                    byType.merge(type.name(), (int) count, Integer::sum);
+                }
+            }
+        }
 
+        double totalHours = totalMinutes / 60.0;
         Integer totalInterviewHours = (int) totalHours;
+        double avgDuration = totalScheduled > 0 ? (double) totalMinutes / totalScheduled : 0;
+        double passRate = passed + failed > 0 ? (passed * 100.0) / (passed + failed) : 0;
 
-        double avgDuration = interviews.stream()
-                .mapToInt(InterviewSchedule::getDurationMinutes)
-                .average()
-                .orElse(0);
-
-        Map<DayOfWeek, Long> byDayOfWeek = interviews.stream()
-                .collect(Collectors.groupingBy(
-                        i -> i.getScheduledDate().getDayOfWeek(),
-                        Collectors.counting()));
-        String busiestDay = byDayOfWeek.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(e -> e.getKey().toString())
+        String busiestDay = interviewScheduleRepo
+                .countInterviewsByDayOfWeekInRange(recruiterId, rangeStart, rangeEnd).stream()
+                .max(Comparator.comparingLong(row -> ((Number) row[1]).longValue()))
+                .map(row -> DayOfWeek.of(((Number) row[0]).intValue()).toString())
                 .orElse("N/A");
 
+        LocalDate busiestDate = interviewScheduleRepo
+                .countInterviewsByDateInRange(recruiterId, rangeStart, rangeEnd).stream()
+                .max(Comparator.comparingLong(row -> ((Number) row[1]).longValue()))
+                .map(row -> toLocalDate(row[0]))
+                .orElse(null);
+
         long workingDays = workingHoursRepo.findWorkingDaysByRecruiterId(recruiterId).stream()
                 .filter(RecruiterWorkingHours::getIsWorkingDay)
                 .count();
@@ -698,14 +908,21 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
                 .recruiterId(recruiterId)
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalInterviewsScheduled(totalScheduled)
+                .totalInterviewsScheduled((int) totalScheduled)
                 .completedInterviews((int) completed)
                 .cancelledInterviews((int) cancelled)
                 .noShowInterviews((int) noShow)
+                .rescheduledInterviews((int) rescheduled)
                 .totalInterviewHours(totalInterviewHours)
                 .averageInterviewDurationMinutes(avgDurationMinutes)
                 .utilizationRate(utilizationRate)
                 .busiestDayOfWeek(busiestDay)
+                .busiestDate(busiestDate)
+                .passedInterviews((int) passed)
+                .failedInterviews((int) failed)
+                .passRate(passRate)
+                .interviewsByType(byType)
+                .interviewsByStatus(byStatus)
                 .build();
     }
 
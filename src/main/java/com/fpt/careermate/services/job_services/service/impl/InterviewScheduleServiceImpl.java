@@ -17,6 +17,7 @@ import com.fpt.careermate.services.job_services.service.dto.response.ConflictChe
 import com.fpt.careermate.services.job_services.service.dto.response.InterviewScheduleResponse;
 import com.fpt.careermate.services.job_services.service.InterviewScheduleService;
 import com.fpt.careermate.services.job_services.service.mapper.InterviewScheduleMapper;
+import com.fpt.careermate.services.job_services.service.scheduler.InterviewReminderDispatcher;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.kafka.producer.NotificationProducer;
 import jakarta.transaction.Transactional;
@@ -24,11 +25,15 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,11 +52,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InterviewScheduleServiceImpl implements InterviewScheduleService {
 
+    // Upper bound on reminder chunks per scheduler run
+    static final int MAX_REMINDER_CHUNKS_PER_RUN = 50;
+
+    // PostgreSQL exclusion_violation and the constraint from the V1_3 migration
+    static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    static final String INTERVIEWER_OVERLAP_CONSTRAINT = "excl_interview_interviewer_overlap";
+
     InterviewScheduleRepo interviewRepo;
     JobApplyRepo jobApplyRepo;
     InterviewScheduleMapper interviewMapper;
     InterviewCalendarService calendarService;
     NotificationProducer notificationProducer;
+    InterviewReminderDispatcher reminderDispatcher;
 
     @Override
     @Transactional
@@ -91,6 +104,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
 
         // Check if candidate has conflicting interviews (for warning, not blocking)
         // Recruiter scheduling is not blocked - they may have multiple interviewers
+        // (the same named interviewer is still kept from double-booking by the database)
         // But we warn the candidate if they have a conflict
         Integer candidateId = jobApply.getCandidate().getCandidateId();
         LocalDateTime proposedStart = request.getScheduledDate();
@@ -122,7 +136,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 .reminderSent2h(false)
                 .build();
 
-        interview = interviewRepo.save(interview);
+        interview = saveCheckingOverlap(interview);
 
         jobApply.setStatus(StatusJobApply.INTERVIEW_SCHEDULED);
         jobApplyRepo.save(jobApply);
@@ -302,7 +316,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         Integer originalDuration = interview.getDurationMinutes();
         interview.setDurationMinutes(newDurationMinutes);
 
-        interview = interviewRepo.save(interview);
+        interview = saveCheckingOverlap(interview);
 
         log.info("Duration adjusted from {} to {} minutes", originalDuration, newDurationMinutes);
         return interviewMapper.toResponse(interview);
@@ -407,6 +421,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             // Reset reminder flags
             interview.setReminderSent24h(false);
             interview.setReminderSent2h(false);
+            interview.setReminderRetryAt(null);
         }
 
         // Update other fields if provided
@@ -438,7 +453,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             interview.setInterviewRound(request.getInterviewRound());
         }
 
-        interview = interviewRepo.save(interview);
+        interview = saveCheckingOverlap(interview);
 
         // Send notification to candidate about the update
         if (request.getScheduledDate() != null) {
@@ -449,6 +464,40 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         return interviewMapper.toResponse(interview);
     }
 
+    /**
+     * Flush interview changes so the interviewer overlap exclusion constraint is
+     * checked here and reported as a scheduling conflict rather than at commit
+     */
+    private InterviewSchedule saveCheckingOverlap(InterviewSchedule interview) {
+        try {
+            return interviewRepo.saveAndFlush(interview);
+        } catch (DataIntegrityViolationException e) {
+            if (!isInterviewerOverlap(e)) {
+                throw e; // Some other constraint (not null, foreign key, ...)
+            }
+            log.warn("Interviewer {} is already booked at {}", interview.getInterviewerEmail(),
+                    interview.getScheduledDate());
+            throw new AppException(ErrorCode.SCHEDULING_CONFLICT);
+        }
+    }
+
+    /**
+     * Whether the violation comes from the interviewer overlap exclusion constraint
+     */
+    private static boolean isInterviewerOverlap(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && INTERVIEWER_OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Check if conflict is with the same interview being updated (not a real
      * conflict)
@@ -465,6 +514,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
      * Send notification about interview update
      */
     private void sendInterviewUpdateNotification(InterviewSchedule interview, String updateReason) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
@@ -479,7 +529,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             metadata.put("updateReason", updateReason != null ? updateReason : "Interview details have been updated");
             metadata.put("interviewId", interview.getId());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType("EMAIL")
                     .recipientId(candidateId)
                     .recipientEmail(candidateEmail)
@@ -491,12 +541,14 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .metadata(metadata)
                     .priority(1) // High priority
                     .build();
-
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.info("Interview update notification sent to: {}", candidateEmail);
         } catch (Exception e) {
-            log.error("Failed to send interview update notification: {}", e.getMessage());
+            log.error("Failed to build interview update notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", event);
+        log.info("Interview update notification sent to: {}", event.getRecipientEmail());
     }
 
     @Override
@@ -541,146 +593,35 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
     }
 
     @Override
-    @Transactional
     public Integer send24HourReminders() {
         log.info("Sending 24-hour interview reminders");
-
-        LocalDateTime targetTime = LocalDateTime.now().plusHours(24);
-        List<InterviewSchedule> interviews = interviewRepo.findInterviewsNeedingReminder(
-                targetTime.minusMinutes(30),
-                targetTime.plusMinutes(30),
-                true // is24hReminder
-        );
-
-        int sentCount = 0;
-        for (InterviewSchedule interview : interviews) {
-            try {
-                sendInterviewReminderNotification(interview, "24_HOUR");
-                interview.setReminderSent24h(true);
-                interviewRepo.save(interview);
-                sentCount++;
-            } catch (Exception e) {
-                log.error("Failed to send 24h reminder for interview {}: {}", interview.getId(), e.getMessage());
-            }
-        }
-
+        int sentCount = dispatchDueReminders(InterviewReminderDispatcher.ReminderType.TWENTY_FOUR_HOUR);
         log.info("Sent {} 24-hour reminders", sentCount);
         return sentCount;
     }
 
     @Override
-    @Transactional
     public Integer send2HourReminders() {
         log.info("Sending 2-hour interview reminders");
-
-        LocalDateTime targetTime = LocalDateTime.now().plusHours(2);
-        List<InterviewSchedule> interviews = interviewRepo.findInterviewsNeedingReminder(
-                targetTime.minusMinutes(15),
-                targetTime.plusMinutes(15),
-                false // is24hReminder (false = 2h reminder)
-        );
-
-        int sentCount = 0;
-        for (InterviewSchedule interview : interviews) {
-            try {
-                sendInterviewReminderNotification(interview, "2_HOUR");
-                interview.setReminderSent2h(true);
-                interviewRepo.save(interview);
-                sentCount++;
-            } catch (Exception e) {
-                log.error("Failed to send 2h reminder for interview {}: {}", interview.getId(), e.getMessage());
-            }
-        }
-
+        int sentCount = dispatchDueReminders(InterviewReminderDispatcher.ReminderType.TWO_HOUR);
         log.info("Sent {} 2-hour reminders", sentCount);
         return sentCount;
     }
 
     /**
-     * Sends interview reminder notifications to both candidate and recruiter.
-     * 
-     * @param interview    The interview to send reminders for
-     * @param reminderType Either "24_HOUR" or "2_HOUR"
+     * Drain due reminders chunk by chunk; each chunk commits independently.
+     * Every claimed row is either flagged as sent or deferred, so it is not claimed
+     * again in this run; the chunk cap is a backstop, leftovers go out on the next poll.
      */
-    private void sendInterviewReminderNotification(InterviewSchedule interview, String reminderType) {
-        JobApply jobApply = interview.getJobApply();
-        String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
-        String recruiterEmail = jobApply.getJobPosting().getRecruiter().getAccount().getEmail();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' HH:mm");
-        String scheduledTime = interview.getScheduledDate().format(formatter);
-        String timeRemaining = "24_HOUR".equals(reminderType) ? "24 hours" : "2 hours";
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("interviewId", interview.getId());
-        metadata.put("jobApplyId", jobApply.getId());
-        metadata.put("jobTitle", jobApply.getJobPosting().getTitle());
-        metadata.put("scheduledDate", scheduledTime);
-        metadata.put("interviewType", interview.getInterviewType());
-        metadata.put("location", interview.getLocation());
-        metadata.put("meetingLink", interview.getMeetingLink());
-        metadata.put("reminderType", reminderType);
-
-        // Send notification to candidate
-        String candidateMessage = String.format(
-                "⏰ Interview Reminder: Your interview for '%s' is in %s!\n\n" +
-                        "📅 When: %s\n" +
-                        "📍 Type: %s\n" +
-                        "📍 Location: %s\n" +
-                        (interview.getMeetingLink() != null ? "🔗 Meeting Link: %s\n" : "") +
-                        "\nPlease be prepared and on time. Good luck!",
-                jobApply.getJobPosting().getTitle(),
-                timeRemaining,
-                scheduledTime,
-                interview.getInterviewType(),
-                interview.getLocation() != null ? interview.getLocation() : "To be confirmed",
-                interview.getMeetingLink());
-
-        NotificationEvent candidateEvent = NotificationEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
-                .recipientEmail(candidateEmail)
-                .recipientId(String.valueOf(jobApply.getCandidate().getCandidateId()))
-                .category("CANDIDATE")
-                .eventType("INTERVIEW_REMINDER_" + reminderType)
-                .title("Interview Reminder - " + timeRemaining + " remaining")
-                .subject("Interview Reminder: " + jobApply.getJobPosting().getTitle())
-                .message(candidateMessage)
-                .metadata(metadata)
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        notificationProducer.sendNotification("candidate-notifications", candidateEvent);
-        log.info("Sent {} interview reminder to candidate: {}", reminderType, candidateEmail);
-
-        // Send notification to recruiter
-        String recruiterMessage = String.format(
-                "⏰ Interview Reminder: Your interview with %s for '%s' is in %s!\n\n" +
-                        "📅 When: %s\n" +
-                        "👤 Candidate: %s\n" +
-                        "📍 Type: %s\n" +
-                        "\nPlease review the candidate's application before the interview.",
-                jobApply.getFullName(),
-                jobApply.getJobPosting().getTitle(),
-                timeRemaining,
-                scheduledTime,
-                jobApply.getFullName(),
-                interview.getInterviewType());
-
-        NotificationEvent recruiterEvent = NotificationEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
-                .recipientEmail(recruiterEmail)
-                .recipientId(String.valueOf(jobApply.getJobPosting().getRecruiter().getId()))
-                .category("RECRUITER")
-                .eventType("INTERVIEW_REMINDER_" + reminderType)
-                .title("Interview Reminder - " + timeRemaining + " remaining")
-                .subject("Interview with " + jobApply.getFullName() + " - " + timeRemaining + " remaining")
-                .message(recruiterMessage)
-                .metadata(metadata)
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        notificationProducer.sendNotification("recruiter-notifications", recruiterEvent);
-        log.info("Sent {} interview reminder to recruiter: {}", reminderType, recruiterEmail);
+    private int dispatchDueReminders(InterviewReminderDispatcher.ReminderType type) {
+        int sentCount = 0;
+        InterviewReminderDispatcher.ChunkResult result;
+        int chunks = 0;
+        do {
+            result = reminderDispatcher.dispatchChunk(type);
+            sentCount += result.sent();
+        } while (result.claimed() == InterviewReminderDispatcher.CHUNK_SIZE && ++chunks < MAX_REMINDER_CHUNKS_PER_RUN);
+        return sentCount;
     }
 
     private InterviewSchedule findInterviewById(Integer interviewId) {
@@ -692,12 +633,8 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
     public List<InterviewScheduleResponse> getRecruiterPendingInterviews(Integer recruiterId) {
         log.info("Getting pending interviews for recruiter ID: {}", recruiterId);
 
-        // Get all interviews by recruiter and filter for pending status
-        List<InterviewSchedule> allInterviews = interviewRepo.findByRecruiterId(recruiterId);
-
-        return allInterviews.stream()
-                .filter(interview -> interview.getStatus() == InterviewStatus.SCHEDULED)
-                .filter(interview -> interview.getScheduledDate().isAfter(LocalDateTime.now()))
+        // Status and date filters run in the database instead of over the full history
+        return interviewRepo.findPendingInterviewsByRecruiterId(recruiterId, LocalDateTime.now()).stream()
                 .map(interviewMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -706,20 +643,21 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
     public Map<String, Object> getRecruiterInterviewStats(Integer recruiterId) {
         log.info("Getting interview statistics for recruiter ID: {}", recruiterId);
 
-        List<InterviewSchedule> allInterviews = interviewRepo.findByRecruiterId(recruiterId);
+        // Counts are grouped in the database; only one row per status comes back
+        Map<InterviewStatus, Long> countByStatus = new EnumMap<>(InterviewStatus.class);
+        for (Object[] row : interviewRepo.countByStatusForRecruiter(recruiterId)) {
+            countByStatus.put((InterviewStatus) row[0], ((Number) row[1]).longValue());
+        }
 
-        long total = allInterviews.size();
-        long scheduled = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.SCHEDULED).count();
-        long confirmed = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.CONFIRMED).count();
-        long completed = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.COMPLETED).count();
-        long cancelled = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.CANCELLED).count();
-        long noShow = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.NO_SHOW).count();
-        long rescheduled = allInterviews.stream().filter(i -> i.getStatus() == InterviewStatus.RESCHEDULED).count();
+        long total = countByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long scheduled = countByStatus.getOrDefault(InterviewStatus.SCHEDULED, 0L);
+        long confirmed = countByStatus.getOrDefault(InterviewStatus.CONFIRMED, 0L);
+        long completed = countByStatus.getOrDefault(InterviewStatus.COMPLETED, 0L);
+        long cancelled = countByStatus.getOrDefault(InterviewStatus.CANCELLED, 0L);
+        long noShow = countByStatus.getOrDefault(InterviewStatus.NO_SHOW, 0L);
+        long rescheduled = countByStatus.getOrDefault(InterviewStatus.RESCHEDULED, 0L);
 
-        long upcoming = allInterviews.stream()
-                .filter(i -> i.getScheduledDate().isAfter(LocalDateTime.now()))
-                .filter(i -> i.getStatus() == InterviewStatus.SCHEDULED || i.getStatus() == InterviewStatus.CONFIRMED)
-                .count();
+        long upcoming = interviewRepo.countUpcomingByRecruiterId(recruiterId, LocalDateTime.now());
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("total", total);
@@ -747,6 +685,8 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
      * @param hasConflict Whether the candidate has another interview at this time
      */
     private void sendInterviewScheduledNotification(InterviewSchedule interview, JobApply jobApply, boolean hasConflict) {
+        NotificationEvent candidateEvent;
+        NotificationEvent recruiterEvent;
         try {
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
             String candidateId = String.valueOf(jobApply.getCandidate().getCandidateId());
@@ -812,7 +752,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 ? "⚠️ Interview Invitation (Conflict) - " + jobApply.getJobPosting().getTitle()
                 : "Interview Invitation - " + jobApply.getJobPosting().getTitle();
 
-            NotificationEvent candidateEvent = NotificationEvent.builder()
+            candidateEvent = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(candidateEmail)
                     .recipientId(candidateId)
@@ -827,10 +767,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .priority(1) // High priority
                     .build();
 
-            notificationProducer.sendNotification("candidate-notifications", candidateEvent);
-            log.info("✅ Sent interview invitation to candidate: {} (hasConflict: {})", candidateEmail, hasConflict);
-
-            // Also send confirmation to recruiter
+            // Also confirm to the recruiter
             String recruiterMessage = String.format(
                     "✅ Interview has been scheduled successfully!\n\n" +
                             "📋 Job Position: %s\n" +
@@ -845,7 +782,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     interview.getDurationMinutes(),
                     interview.getInterviewType().name());
 
-            NotificationEvent recruiterEvent = NotificationEvent.builder()
+            recruiterEvent = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(recruiterEmail)
                     .recipientId(String.valueOf(jobApply.getJobPosting().getRecruiter().getId()))
@@ -858,19 +795,23 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(2)
                     .build();
-
-            notificationProducer.sendNotification("recruiter-notifications", recruiterEvent);
-            log.info("✅ Sent interview confirmation to recruiter: {}", recruiterEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send interview scheduled notification: {}", e.getMessage());
+            log.error("❌ Failed to build interview scheduled notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", candidateEvent);
+        log.info("✅ Sent interview invitation to candidate: {} (hasConflict: {})", candidateEvent.getRecipientEmail(), hasConflict);
+        notificationProducer.sendNotification("recruiter-notifications", recruiterEvent);
+        log.info("✅ Sent interview confirmation to recruiter: {}", recruiterEvent.getRecipientEmail());
     }
 
     /**
      * Send notification to recruiter when candidate confirms the interview.
      */
     private void sendInterviewConfirmedNotificationToRecruiter(InterviewSchedule interview) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String recruiterEmail = jobApply.getJobPosting().getRecruiter().getAccount().getEmail();
@@ -900,7 +841,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     interview.getDurationMinutes(),
                     interview.getInterviewType().name());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(recruiterEmail)
                     .recipientId(recruiterId)
@@ -914,19 +855,21 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(2)
                     .build();
-
-            notificationProducer.sendNotification("recruiter-notifications", event);
-            log.info("✅ Sent interview confirmation notification to recruiter: {}", recruiterEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send interview confirmation notification: {}", e.getMessage());
+            log.error("❌ Failed to build interview confirmation notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("recruiter-notifications", event);
+        log.info("✅ Sent interview confirmation notification to recruiter: {}", event.getRecipientEmail());
     }
 
     /**
      * Send notification to candidate when they need a second round interview.
      */
     private void sendSecondRoundNotification(InterviewSchedule interview) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
@@ -956,7 +899,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     interview.getInterviewerNotes() != null ? "📝 Feedback: " + interview.getInterviewerNotes() + "\n"
                             : "");
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(candidateEmail)
                     .recipientId(candidateId)
@@ -969,19 +912,21 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(1)
                     .build();
-
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.info("✅ Sent second round notification to candidate: {}", candidateEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send second round notification: {}", e.getMessage());
+            log.error("❌ Failed to build second round notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", event);
+        log.info("✅ Sent second round notification to candidate: {}", event.getRecipientEmail());
     }
 
     /**
      * Send notification to candidate about interview outcome (PASS, FAIL, PENDING).
      */
     private void sendInterviewOutcomeNotification(InterviewSchedule interview, InterviewOutcome outcome) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
@@ -1065,7 +1010,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 priority = 3;
             }
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(candidateEmail)
                     .recipientId(candidateId)
@@ -1078,19 +1023,21 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(priority)
                     .build();
-
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.info("✅ Sent interview outcome ({}) notification to candidate: {}", outcome, candidateEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send interview outcome notification: {}", e.getMessage());
+            log.error("❌ Failed to build interview outcome notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", event);
+        log.info("✅ Sent interview outcome ({}) notification to candidate: {}", outcome, event.getRecipientEmail());
     }
 
     /**
      * Send notification to candidate when marked as no-show.
      */
     private void sendNoShowNotification(InterviewSchedule interview) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
@@ -1125,7 +1072,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     jobApply.getJobPosting().getRecruiter().getCompanyName(),
                     scheduledTime);
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(candidateEmail)
                     .recipientId(candidateId)
@@ -1138,19 +1085,21 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(1)
                     .build();
-
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.info("✅ Sent no-show notification to candidate: {}", candidateEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send no-show notification: {}", e.getMessage());
+            log.error("❌ Failed to build no-show notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", event);
+        log.info("✅ Sent no-show notification to candidate: {}", event.getRecipientEmail());
     }
 
     /**
      * Send notification to candidate when interview is cancelled by recruiter.
      */
     private void sendInterviewCancelledNotification(InterviewSchedule interview, String reason) {
+        NotificationEvent event;
         try {
             JobApply jobApply = interview.getJobApply();
             String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
@@ -1183,7 +1132,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     scheduledTime,
                     reason != null ? reason : "Not specified");
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventId(java.util.UUID.randomUUID().toString())
                     .recipientEmail(candidateEmail)
                     .recipientId(candidateId)
@@ -1196,12 +1145,13 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                     .timestamp(LocalDateTime.now())
                     .priority(1)
                     .build();
-
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.info("✅ Sent interview cancellation notification to candidate: {}", candidateEmail);
-
         } catch (Exception e) {
-            log.error("❌ Failed to send interview cancellation notification: {}", e.getMessage());
+            log.error("❌ Failed to build interview cancellation notification: {}", e.getMessage());
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendNotification("candidate-notifications", event);
+        log.info("✅ Sent interview cancellation notification to candidate: {}", event.getRecipientEmail());
     }
 }
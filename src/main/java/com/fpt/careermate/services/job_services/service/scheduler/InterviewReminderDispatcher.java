@@ -0,0 +1,228 @@
+package com.fpt.careermate.services.job_services.service.scheduler;
+
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
+import com.fpt.careermate.services.job_services.domain.JobApply;
+import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims due interview reminders in chunks and publishes them.
+ * <p>
+ * Each chunk runs in its own transaction: due rows are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, events for the whole chunk are written to the
+ * notification outbox and flags are flipped with one UPDATE, so reminders and
+ * flags commit or roll back together. Parallel app instances therefore never
+ * claim the same reminder. Event IDs are derived from the interview so a
+ * republished event is deduplicated by the consumer. A reminder that fails to
+ * send is deferred by {@link #RETRY_DELAY} so later chunks do not claim it again.
+ *
+ * @since 1.3
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class InterviewReminderDispatcher {
+
+    public static final int CHUNK_SIZE = 100;
+
+    // A failed reminder is retried after this delay, while still inside its late tolerance
+    static final Duration RETRY_DELAY = Duration.ofMinutes(5);
+
+    InterviewScheduleRepo interviewRepo;
+    NotificationProducer notificationProducer;
+
+    /**
+     * Reminder kinds with their lead time before the interview and how late a
+     * reminder may still go out (e.g. after downtime) before it is skipped
+     */
+    @Getter
+    public enum ReminderType {
+        TWENTY_FOUR_HOUR("24_HOUR", "24 hours", Duration.ofHours(24), Duration.ofMinutes(30)),
+        TWO_HOUR("2_HOUR", "2 hours", Duration.ofHours(2), Duration.ofMinutes(15));
+
+        private final String code;
+        private final String label;
+        private final Duration leadTime;
+        private final Duration lateTolerance;
+
+        ReminderType(String code, String label, Duration leadTime, Duration lateTolerance) {
+            this.code = code;
+            this.label = label;
+            this.leadTime = leadTime;
+            this.lateTolerance = lateTolerance;
+        }
+    }
+
+    /**
+     * Outcome of one chunk: how many rows were claimed and how many reminders went out
+     */
+    public record ChunkResult(int claimed, int sent) {
+    }
+
+    /**
+     * Claim and send one chunk of due reminders
+     */
+    @Transactional
+    public ChunkResult dispatchChunk(ReminderType type) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plus(type.getLeadTime());
+        LocalDateTime windowStart = windowEnd.minus(type.getLateTolerance());
+
+        List<Integer> claimedIds = type == ReminderType.TWENTY_FOUR_HOUR
+                ? interviewRepo.claimDue24hReminders(now, windowStart, windowEnd, CHUNK_SIZE)
+                : interviewRepo.claimDue2hReminders(now, windowStart, windowEnd, CHUNK_SIZE);
+        if (claimedIds.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+
+        List<Integer> sentIds = new ArrayList<>();
+        for (InterviewSchedule interview : interviewRepo.findAllWithDetailsByIdIn(claimedIds)) {
+            List<QueuedReminder> reminders;
+            try {
+                reminders = buildReminders(interview, type);
+            } catch (Exception e) {
+                log.error("Failed to send {} reminder for interview {}: {}", type.getCode(), interview.getId(), e.getMessage());
+                continue;
+            }
+            // Not caught: an outbox write failure rolls back the whole chunk (see NotificationProducer)
+            for (QueuedReminder reminder : reminders) {
+                notificationProducer.sendNotification(reminder.topic(), reminder.event());
+            }
+            sentIds.add(interview.getId());
+            log.info("Sent {} interview reminder for interview {}", type.getCode(), interview.getId());
+        }
+
+        // Left unflagged but deferred: retried after the delay while still inside the window
+        List<Integer> failedIds = new ArrayList<>(claimedIds);
+        failedIds.removeAll(sentIds);
+        if (!failedIds.isEmpty()) {
+            interviewRepo.deferReminders(failedIds, now.plus(RETRY_DELAY));
+        }
+
+        if (!sentIds.isEmpty()) {
+            if (type == ReminderType.TWENTY_FOUR_HOUR) {
+                interviewRepo.markReminder24hSent(sentIds);
+            } else {
+                interviewRepo.markReminder2hSent(sentIds);
+            }
+        }
+
+        return new ChunkResult(claimedIds.size(), sentIds.size());
+    }
+
+    /**
+     * Reminder event for one recipient and the topic it goes to
+     */
+    private record QueuedReminder(String topic, NotificationEvent event) {
+    }
+
+    /**
+     * Build reminder events for both candidate and recruiter
+     */
+    private List<QueuedReminder> buildReminders(InterviewSchedule interview, ReminderType type) {
+        JobApply jobApply = interview.getJobApply();
+        String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
+        String recruiterEmail = jobApply.getJobPosting().getRecruiter().getAccount().getEmail();
+        String reminderType = type.getCode();
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEEE, MMM dd, yyyy 'at' HH:mm");
+        String scheduledTime = interview.getScheduledDate().format(formatter);
+        String timeRemaining = type.getLabel();
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("interviewId", interview.getId());
+        metadata.put("jobApplyId", jobApply.getId());
+        metadata.put("jobTitle", jobApply.getJobPosting().getTitle());
+        metadata.put("scheduledDate", scheduledTime);
+        metadata.put("interviewType", interview.getInterviewType());
+        metadata.put("location", interview.getLocation());
+        metadata.put("meetingLink", interview.getMeetingLink());
+        metadata.put("reminderType", reminderType);
+
+        // Send notification to candidate
+        String candidateMessage = String.format(
+                "⏰ Interview Reminder: Your interview for '%s' is in %s!\n\n" +
+                        "📅 When: %s\n" +
+                        "📍 Type: %s\n" +
+                        "📍 Location: %s\n" +
+                        (interview.getMeetingLink() != null ? "🔗 Meeting Link: %s\n" : "") +
+                        "\nPlease be prepared and on time. Good luck!",
+                jobApply.getJobPosting().getTitle(),
+                timeRemaining,
+                scheduledTime,
+                interview.getInterviewType(),
+                interview.getLocation() != null ? interview.getLocation() : "To be confirmed",
+                interview.getMeetingLink());
+
+        NotificationEvent candidateEvent = NotificationEvent.builder()
+                .eventId(reminderEventId(interview, reminderType, "candidate"))
+                .recipientEmail(candidateEmail)
+                .recipientId(String.valueOf(jobApply.getCandidate().getCandidateId()))
+                .category("CANDIDATE")
+                .eventType("INTERVIEW_REMINDER_" + reminderType)
+                .title("Interview Reminder - " + timeRemaining + " remaining")
+                .subject("Interview Reminder: " + jobApply.getJobPosting().getTitle())
+                .message(candidateMessage)
+                .metadata(metadata)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        // Send notification to recruiter
+        String recruiterMessage = String.format(
+                "⏰ Interview Reminder: Your interview with %s for '%s' is in %s!\n\n" +
+                        "📅 When: %s\n" +
+                        "👤 Candidate: %s\n" +
+                        "📍 Type: %s\n" +
+                        "\nPlease review the candidate's application before the interview.",
+                jobApply.getFullName(),
+                jobApply.getJobPosting().getTitle(),
+                timeRemaining,
+                scheduledTime,
+                jobApply.getFullName(),
+                interview.getInterviewType());
+
+        NotificationEvent recruiterEvent = NotificationEvent.builder()
+                .eventId(reminderEventId(interview, reminderType, "recruiter"))
+                .recipientEmail(recruiterEmail)
+                .recipientId(String.valueOf(jobApply.getJobPosting().getRecruiter().getId()))
+                .category("RECRUITER")
+                .eventType("INTERVIEW_REMINDER_" + reminderType)
+                .title("Interview Reminder - " + timeRemaining + " remaining")
+                .subject("Interview with " + jobApply.getFullName() + " - " + timeRemaining + " remaining")
+                .message(recruiterMessage)
+                .metadata(metadata)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return List.of(
+                new QueuedReminder(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, candidateEvent),
+                new QueuedReminder(KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, recruiterEvent));
+    }
+
+    /**
+     * Stable event ID per interview, schedule, reminder and audience so republishing is idempotent.
+     * Includes the scheduled time so a rescheduled interview gets fresh reminders.
+     */
+    private String reminderEventId(InterviewSchedule interview, String reminderType, String audience) {
+        return String.format("interview-%d-%s-%s-%s",
+                interview.getId(), interview.getScheduledDate(), reminderType, audience);
+    }
+}
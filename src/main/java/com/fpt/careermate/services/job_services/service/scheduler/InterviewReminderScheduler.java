@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 /**
  * Scheduled service for interview reminder notifications.
  * Sends 24-hour and 2-hour reminders to candidates.
+ * Polls every minute so reminders go out at their due time; claiming is done by
+ * {@link InterviewReminderDispatcher}, so running several instances is safe.
  * 
  * @since 1.0
  */
@@ -26,11 +28,11 @@ public class InterviewReminderScheduler {
 
     /**
      * Send 24-hour interview reminders.
-     * Runs every hour to check for interviews 24 hours away.
+     * Runs every minute to pick up interviews that just became 24 hours away.
      */
-    @Scheduled(cron = "0 0 * * * *") // Every hour
+    @Scheduled(fixedDelayString = "${app.interview.reminder.poll-interval-ms:60000}", initialDelay = 30000)
     public void send24HourReminders() {
-        log.info("Starting 24-hour interview reminder job at {}", LocalDateTime.now());
+        log.debug("Starting 24-hour interview reminder job at {}", LocalDateTime.now());
 
         try {
             Integer remindersSent = interviewScheduleService.send24HourReminders();
@@ -48,11 +50,11 @@ public class InterviewReminderScheduler {
 
     /**
      * Send 2-hour interview reminders.
-     * Runs every 30 minutes to check for interviews 2 hours away.
+     * Runs every minute to pick up interviews that just became 2 hours away.
      */
-    @Scheduled(cron = "0 */30 * * * *") // Every 30 minutes
+    @Scheduled(fixedDelayString = "${app.interview.reminder.poll-interval-ms:60000}", initialDelay = 45000)
     public void send2HourReminders() {
-        log.info("Starting 2-hour interview reminder job at {}", LocalDateTime.now());
+        log.debug("Starting 2-hour interview reminder job at {}", LocalDateTime.now());
 
         try {
             Integer remindersSent = interviewScheduleService.send2HourReminders();
@@ -2,17 +2,16 @@ package com.fpt.careermate.services.job_services.web;
 
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.CurrentUserResolver;
 import com.fpt.careermate.services.job_services.service.InterviewCalendarService;
 import com.fpt.careermate.services.job_services.service.dto.request.BatchWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.ConflictCheckRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.ConflictCheckRequestSimple;
+import com.fpt.careermate.services.job_services.service.dto.request.PanelSlotSearchRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.RecruiterWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.response.*;
 import com.fpt.careermate.services.job_services.service.impl.InterviewCalendarServiceImpl;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,22 +36,14 @@ import java.util.List;
 public class InterviewCalendarController {
 
         private final InterviewCalendarService calendarService;
-        private final AuthenticationImp authenticationImp;
-        private final RecruiterRepo recruiterRepo;
+        private final CurrentUserResolver currentUserResolver;
         
         /**
          * Get current recruiter from JWT token.
          * Uses JWT claims first (efficient), falls back to DB lookup if needed.
          */
         private Recruiter getMyRecruiter() {
-            Integer recruiterId = authenticationImp.getRecruiterIdFromToken();
-            if (recruiterId != null) {
-                return recruiterRepo.findById(recruiterId)
-                        .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
-            }
-            // Fallback for old tokens without recruiterId claim
-            Account currentAccount = authenticationImp.findByEmail();
-            return recruiterRepo.findByAccount_Id(currentAccount.getId())
+            return currentUserResolver.findRecruiter()
                     .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
         }
 
@@ -326,6 +317,20 @@ public class InterviewCalendarController {
                 return ResponseEntity.ok(response);
         }
 
+        @PostMapping("/panel/common-slots")
+        @PreAuthorize("hasRole('RECRUITER')")
+        @Operation(summary = "Find common slots for an interview panel",
+                   description = "Get ranked start times free for every recruiter in the panel and the candidate, considering working hours, time off and existing interviews")
+        public ResponseEntity<PanelSlotSearchResponse> findPanelSlots(
+                        @Valid @RequestBody PanelSlotSearchRequest request) {
+
+                log.info("REST: Finding panel slots for recruiters {} and candidate {}",
+                                request.getRecruiterIds(), request.getCandidateId());
+
+                PanelSlotSearchResponse response = calendarService.findPanelSlots(request);
+                return ResponseEntity.ok(response);
+        }
+
         // =====================================================
         // JWT-Based Endpoints (ID extracted from JWT token)
         // =====================================================
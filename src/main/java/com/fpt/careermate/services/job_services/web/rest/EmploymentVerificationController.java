@@ -1,14 +1,11 @@
 package com.fpt.careermate.services.job_services.web.rest;
 
 import com.fpt.careermate.common.response.ApiResponse;
-import com.fpt.careermate.services.account_services.domain.Account;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.job_services.service.EmploymentVerificationService;
 import com.fpt.careermate.services.job_services.service.dto.request.EmploymentTerminationRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.EmploymentVerificationRequest;
 import com.fpt.careermate.services.job_services.service.dto.response.EmploymentVerificationResponse;
-import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,16 +34,16 @@ public class EmploymentVerificationController {
     
     EmploymentVerificationService employmentVerificationService;
     AuthenticationImp authenticationImp;
-    RecruiterRepo recruiterRepo;
     
     /**
      * Get the current recruiter ID from the authenticated user
      */
     private Integer getCurrentRecruiterId() {
-        Account currentAccount = authenticationImp.findByEmail();
-        Recruiter recruiter = recruiterRepo.findByAccount_Id(currentAccount.getId())
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
-        return recruiter.getId();
+        Integer recruiterId = authenticationImp.getRecruiterIdFromToken();
+        if (recruiterId == null) {
+            throw new AppException(ErrorCode.USER_NOT_EXISTED);
+        }
+        return recruiterId;
     }
     
     @PostMapping("/job-apply/{jobApplyId}")
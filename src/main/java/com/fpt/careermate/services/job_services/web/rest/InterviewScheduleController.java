@@ -2,8 +2,7 @@ package com.fpt.careermate.services.job_services.web.rest;
 
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.CurrentUserResolver;
 import com.fpt.careermate.services.job_services.domain.JobApply;
 import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
 import com.fpt.careermate.services.job_services.service.dto.request.CompleteInterviewRequest;
@@ -12,9 +11,7 @@ import com.fpt.careermate.services.job_services.service.dto.request.UpdateInterv
 import com.fpt.careermate.services.job_services.service.dto.response.InterviewScheduleResponse;
 import com.fpt.careermate.services.job_services.service.InterviewScheduleService;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
-import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -48,9 +45,7 @@ import java.util.Map;
 public class InterviewScheduleController {
 
     InterviewScheduleService interviewScheduleService;
-    AuthenticationImp authenticationImp;
-    RecruiterRepo recruiterRepo;
-    CandidateRepo candidateRepo;
+    CurrentUserResolver currentUserResolver;
     JobApplyRepo jobApplyRepo;
     
     /**
@@ -58,14 +53,7 @@ public class InterviewScheduleController {
      * Uses JWT claims first (efficient), falls back to DB lookup if needed.
      */
     private Recruiter getMyRecruiter() {
-        Integer recruiterId = authenticationImp.getRecruiterIdFromToken();
-        if (recruiterId != null) {
-            return recruiterRepo.findById(recruiterId)
-                    .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
-        }
-        // Fallback for old tokens without recruiterId claim
-        Account currentAccount = authenticationImp.findByEmail();
-        return recruiterRepo.findByAccount_Id(currentAccount.getId())
+        return currentUserResolver.findRecruiter()
                 .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
     }
     
@@ -74,14 +62,7 @@ public class InterviewScheduleController {
      * Uses JWT claims first (efficient), falls back to DB lookup if needed.
      */
     private Candidate getMyCandidate() {
-        Integer candidateId = authenticationImp.getCandidateIdFromToken();
-        if (candidateId != null) {
-            return candidateRepo.findById(candidateId)
-                    .orElseThrow(() -> new AppException(ErrorCode.CANDIDATE_NOT_FOUND));
-        }
-        // Fallback for old tokens without candidateId claim
-        Account currentAccount = authenticationImp.findByEmail();
-        return candidateRepo.findByAccount_Id(currentAccount.getId())
+        return currentUserResolver.findCandidate()
                 .orElseThrow(() -> new AppException(ErrorCode.CANDIDATE_NOT_FOUND));
     }
 
@@ -0,0 +1,43 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import lombok.Getter;
+
+/**
+ * Delivery channels fed by the notification consumer after a notification is persisted.
+ * Each channel runs on its own bounded executor with its own retry policy.
+ * Ordered channels run one single-threaded lane per worker and route each
+ * recipient to a fixed lane, so one user's deliveries never overtake each other.
+ */
+@Getter
+public enum DeliveryChannel {
+    SSE("sse", 4, 10_000, 2, 200, true),
+    PUSH("push", 8, 10_000, 4, 1_000, false),
+    EMAIL("email", 4, 5_000, 5, 2_000, false);
+
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final String code;
+    private final int concurrency;        // Worker threads for this channel (one per lane if ordered)
+    private final int queueCapacity;      // Pending deliveries before new ones are dead-lettered
+    private final int maxAttempts;        // Including the first attempt
+    private final long initialBackoffMillis;
+    private final boolean ordered;        // Keep each recipient's deliveries in dispatch order
+
+    DeliveryChannel(String code, int concurrency, int queueCapacity, int maxAttempts, long initialBackoffMillis,
+                    boolean ordered) {
+        this.code = code;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Exponential backoff after the given failed attempt (the first retry waits the initial backoff)
+     */
+    public long backoffMillis(int failedAttempt) {
+        long backoff = initialBackoffMillis << Math.min(failedAttempt - 1, 10);
+        return Math.min(backoff, MAX_BACKOFF_MILLIS);
+    }
+}
@@ -0,0 +1,224 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import com.fpt.careermate.services.notification_services.service.NotificationPreferenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces bursts of similar notifications into digests for push and email.
+ * Events are grouped per (recipient, category). The first event of a window is
+ * delivered right away; later events in the same window are held back and
+ * summarized in one digest ("12 new applications for Java Dev") once the window
+ * closes. Digests of users in quiet hours wait until the quiet hours end; a
+ * group keeps at most max-pending events and only counts the ones after that.
+ * Every notification is still stored and sent over SSE individually, so in-app
+ * detail is unaffected. Pending groups live in memory: notification events are
+ * keyed by recipient, so all events of a recipient reach the same consumer; a
+ * restart loses only the out-of-app summary of the open windows.
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    private final NotificationPreferenceService preferenceService;
+    private final Set<String> eventTypes;
+    private final int defaultWindowMinutes;
+    private final int maxPending;
+
+    private final Map<GroupKey, Group> groups = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationPreferenceService preferenceService,
+                                 @Value("${app.notification.digest.event-types:APPLICATION_RECEIVED}") String[] eventTypes,
+                                 @Value("${app.notification.digest.window-minutes:15}") int defaultWindowMinutes,
+                                 @Value("${app.notification.digest.max-pending:500}") int maxPending) {
+        this.preferenceService = preferenceService;
+        this.eventTypes = Arrays.stream(eventTypes).map(String::trim).collect(Collectors.toUnmodifiableSet());
+        this.defaultWindowMinutes = defaultWindowMinutes;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Offer an event for coalescing.
+     *
+     * @return true if the event was absorbed into a pending digest and must not be
+     *         pushed or emailed on its own; false if it should be delivered now
+     */
+    public boolean offer(NotificationEvent event, NotificationPreference preference) {
+        if (!eventTypes.contains(event.getEventType())
+                || isCritical(event)
+                || !Boolean.TRUE.equals(preference.getDigestEnabled())) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        long windowMillis = windowMinutes(preference) * 60_000L;
+        GroupKey key = new GroupKey(event.getRecipientId(),
+                event.getCategory() != null ? event.getCategory() : event.getEventType());
+
+        boolean[] absorbed = new boolean[1];
+        groups.compute(key, (k, group) -> {
+            if (group == null || (group.pending.isEmpty() && now >= group.windowEnd)) {
+                // Leading edge: deliver and open a new window
+                return new Group(event.getEventType(), now + windowMillis);
+            }
+            if (group.pending.size() < maxPending) {
+                group.pending.add(event);
+            } else {
+                // Held past a full window (quiet hours): count instead of keeping
+                group.overflow++;
+            }
+            if (group.pending.size() >= maxPending) {
+                group.windowEnd = now;
+            }
+            absorbed[0] = true;
+            return group;
+        });
+        return absorbed[0];
+    }
+
+    /**
+     * Remove and return the digests whose window has closed.
+     * Windows without held-back events are simply dropped; digests of users in
+     * quiet hours stay pending.
+     */
+    public List<Digest> drainDue() {
+        long now = System.currentTimeMillis();
+        List<GroupKey> due = groups.entrySet().stream()
+                .filter(entry -> now >= entry.getValue().windowEnd)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, NotificationPreference> preferences = preferenceService.getPreferences(
+                due.stream().map(GroupKey::recipientId).collect(Collectors.toSet()));
+        ZonedDateTime zonedNow = ZonedDateTime.now();
+
+        List<Digest> digests = new ArrayList<>();
+        for (GroupKey key : due) {
+            boolean quiet = preferences.get(key.recipientId()).isQuietHours(zonedNow);
+            groups.computeIfPresent(key, (k, group) -> {
+                if (now < group.windowEnd || (quiet && !group.pending.isEmpty())) {
+                    return group;
+                }
+                if (!group.pending.isEmpty()) {
+                    digests.add(new Digest(k.recipientId(), k.category(), group.eventType,
+                            List.copyOf(group.pending), group.overflow));
+                }
+                return null;
+            });
+        }
+        if (!digests.isEmpty()) {
+            log.info("🗞️ {} notification digest(s) ready | events: {}", digests.size(),
+                    digests.stream().mapToInt(Digest::total).sum());
+        }
+        return digests;
+    }
+
+    private boolean isCritical(NotificationEvent event) {
+        return event.getPriority() != null && event.getPriority() == 1;
+    }
+
+    private int windowMinutes(NotificationPreference preference) {
+        return preference.getDigestWindowMinutes() != null ? preference.getDigestWindowMinutes() : defaultWindowMinutes;
+    }
+
+    private record GroupKey(String recipientId, String category) {
+    }
+
+    private static final class Group {
+
+        private final String eventType;
+        private final List<NotificationEvent> pending = new ArrayList<>();
+        private int overflow;
+        private volatile long windowEnd;
+
+        private Group(String eventType, long windowEnd) {
+            this.eventType = eventType;
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    /**
+     * Notifications held back during one window, summarized into a single message
+     *
+     * @param events   the held-back events, up to max-pending
+     * @param overflow number of further events that were only counted
+     */
+    public record Digest(String recipientId, String category, String eventType, List<NotificationEvent> events,
+                         int overflow) {
+
+        public int total() {
+            return events.size() + overflow;
+        }
+
+        /**
+         * Build the digest notification, e.g. "12 new applications for Java Dev"
+         */
+        public NotificationEvent toEvent() {
+            NotificationEvent latest = events.get(events.size() - 1);
+            String noun = NotificationEvent.EventType.APPLICATION_RECEIVED.name().equals(eventType)
+                    ? "application" : "notification";
+            String summary = total() + " new " + noun + (total() == 1 ? "" : "s");
+
+            // Count per job (or other subject) so the summary stays specific
+            Map<String, Long> perSubject = events.stream()
+                    .filter(event -> subjectOf(event) != null)
+                    .collect(Collectors.groupingBy(Digest::subjectOf, LinkedHashMap::new, Collectors.counting()));
+
+            StringBuilder message = new StringBuilder();
+            if (overflow == 0 && perSubject.size() == 1 && perSubject.values().iterator().next() == events.size()) {
+                summary += " for " + perSubject.keySet().iterator().next();
+                message.append(summary).append('.');
+            } else {
+                message.append(summary).append(':');
+                perSubject.forEach((subject, count) -> message.append("\n- ").append(subject).append(": ").append(count));
+                if (overflow > 0) {
+                    message.append("\n- ").append(overflow).append(" more");
+                }
+            }
+            message.append("\n\nOpen CareerMate to see the details.");
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("digest", true);
+            metadata.put("digestOf", eventType);
+            metadata.put("count", total());
+            metadata.put("eventIds", events.stream().map(NotificationEvent::getEventId).toList());
+
+            return NotificationEvent.builder()
+                    .eventId("digest-" + latest.getEventId())
+                    .eventType(NotificationEvent.EventType.NOTIFICATION_DIGEST.name())
+                    .recipientId(recipientId)
+                    .recipientEmail(latest.getRecipientEmail())
+                    .title(summary)
+                    .subject(summary)
+                    .message(message.toString())
+                    .category(category)
+                    .metadata(metadata)
+                    .priority(latest.getPriority() != null ? latest.getPriority() : 2)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        }
+
+        private static String subjectOf(NotificationEvent event) {
+            Object jobTitle = event.getMetadata() != null ? event.getMetadata().get("jobTitle") : null;
+            return jobTitle != null ? jobTitle.toString() : null;
+        }
+    }
+}
@@ -1,198 +1,432 @@
 package com.fpt.careermate.services.kafka.consumer;
 
+import com.fpt.careermate.common.constant.BroadcastAudience;
 import com.fpt.careermate.common.util.MailBody;
 import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.email_services.service.EmailTemplate;
 import com.fpt.careermate.services.email_services.service.impl.EmailService;
-import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
-import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import com.fpt.careermate.services.health_services.service.NotificationPipelineMetrics;
+import com.fpt.careermate.services.health_services.service.NotificationWorkerHealthTracker;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.notification_services.domain.BroadcastNotification;
 import com.fpt.careermate.services.notification_services.domain.Notification;
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import com.fpt.careermate.services.notification_services.repository.BroadcastNotificationRepo;
 import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
 import com.fpt.careermate.services.notification_services.service.FcmPushNotificationService;
+import com.fpt.careermate.services.notification_services.service.NotificationPreferenceService;
 import com.fpt.careermate.services.notification_services.service.NotificationSseService;
+import com.fpt.careermate.services.notification_services.service.UnreadCounterService;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Kafka consumer service for processing notifications
- * Processes notification events from Kafka topics, stores them in database,
- * and sends email notifications when appropriate
+ * Processes notification events from Kafka topics in batches, stores them in
+ * database, and sends email notifications when appropriate
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationConsumer {
 
-    private final NotificationHeartbeatRepo heartbeatRepo;
+    private final NotificationWorkerHealthTracker healthTracker;
+    private final NotificationPipelineMetrics pipelineMetrics;
     private final NotificationRepo notificationRepo;
+    private final BroadcastNotificationRepo broadcastRepo;
     private final EmailService emailService;
     private final NotificationSseService sseService;
     private final FcmPushNotificationService fcmService;
+    private final NotificationDeliveryDispatcher deliveryDispatcher;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationPreferenceService preferenceService;
+    private final NotificationCoalescer coalescer;
 
     /**
      * Consumer for admin notifications
      */
-    @KafkaListener(topics = KafkaConfig.ADMIN_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
-    public void consumeAdminNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    @KafkaListener(topics = KafkaConfig.ADMIN_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeAdminNotifications(List<ConsumerRecord<String, NotificationEvent>> records,
+                                          Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        consumeBatch("ADMIN", records, acknowledgment, consumer);
+    }
 
-        try {
-            log.info("📨 Received ADMIN notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.ADMIN_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
+    /**
+     * Consumer for recruiter notifications
+     */
+    @KafkaListener(topics = KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeRecruiterNotifications(List<ConsumerRecord<String, NotificationEvent>> records,
+                                              Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        consumeBatch("RECRUITER", records, acknowledgment, consumer);
+    }
 
-            // Process the notification
-            processNotification(event);
+    /**
+     * Consumer for candidate notifications
+     */
+    @KafkaListener(topics = KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeCandidateNotifications(List<ConsumerRecord<String, NotificationEvent>> records,
+                                              Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        consumeBatch("CANDIDATE", records, acknowledgment, consumer);
+    }
 
-            // Manually commit offset after successful processing
+    /**
+     * Consumer for broadcast notifications (one event per announcement)
+     */
+    @KafkaListener(topics = KafkaConfig.BROADCAST_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeBroadcastNotifications(List<ConsumerRecord<String, NotificationEvent>> records,
+                                              Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        if (records.isEmpty()) {
             acknowledgment.acknowledge();
-            log.info("✅ Successfully processed ADMIN notification: {}", event.getEventId());
+            return;
+        }
 
-            // Update heartbeat
-            updateHeartbeat(true, null);
+        String topic = records.get(0).topic();
+        long startedAt = System.nanoTime();
+
+        try {
+            log.info("📢 Received {} broadcast notification(s)", records.size());
+
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, NotificationEvent> record = records.get(i);
+                if (record.value() == null) {
+                    continue;
+                }
+                try {
+                    processBroadcast(withTimestamp(record));
+                } catch (Exception e) {
+                    // Broadcasts before this one are done; the error handler retries from here
+                    throw new BatchListenerFailedException("Failed to process broadcast", e, i);
+                }
+            }
+
+            acknowledgment.acknowledge();
+            healthTracker.recordSuccess(records.size());
+            pipelineMetrics.recordBatch(topic, records.size(), System.nanoTime() - startedAt);
+            recordLag(records, consumer);
 
         } catch (Exception e) {
-            log.error("❌ Error processing ADMIN notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
+            log.error("❌ Error processing {} broadcast notification(s) | Error: {}",
+                    records.size(), e.getMessage(), e);
+            healthTracker.recordFailure(records.size(), e.getMessage());
+            pipelineMetrics.recordConsumeFailure(topic, records.size());
+            // Don't acknowledge - the container error handler retries, then dead-letters
+            throw e;
         }
     }
 
     /**
-     * Consumer for recruiter notifications
+     * Store a broadcast once and fan it out by audience.
+     * SSE goes to the connected members of the audience, push goes to the
+     * audience's FCM topic; no per-user rows or emails are created.
      */
-    @KafkaListener(topics = KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
-    public void consumeRecruiterNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-
-        try {
-            log.info("📨 Received RECRUITER notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
-
-            // Process the notification
-            processNotification(event);
+    private void processBroadcast(NotificationEvent event) {
+        if (event.getEventId() == null || event.getAudience() == null) {
+            log.warn("⚠️ Skipping broadcast without eventId or audience: {}", event);
+            return;
+        }
 
-            // Manually commit offset after successful processing
-            acknowledgment.acknowledge();
-            log.info("✅ Successfully processed RECRUITER notification: {}", event.getEventId());
+        // Check if broadcast already exists (idempotency)
+        if (broadcastRepo.existsByEventId(event.getEventId())) {
+            log.warn("⚠️ Broadcast already exists, skipping: {}", event.getEventId());
+            pipelineMetrics.recordDuplicates("stored", 1);
+            return;
+        }
 
-            // Update heartbeat
-            updateHeartbeat(true, null);
+        BroadcastAudience audience = BroadcastAudience.valueOf(event.getAudience());
+        BroadcastNotification broadcast;
+        try {
+            broadcast = broadcastRepo.save(BroadcastNotification.builder()
+                    .eventId(event.getEventId())
+                    .eventType(event.getEventType())
+                    .audience(audience)
+                    .title(event.getTitle())
+                    .subject(event.getSubject())
+                    .message(event.getMessage())
+                    .category(event.getCategory())
+                    .metadata(event.getMetadata())
+                    .priority(event.getPriority() != null ? event.getPriority() : 2)
+                    .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer stored it first
+            log.warn("⚠️ Broadcast already exists, skipping: {}", event.getEventId());
+            pipelineMetrics.recordDuplicates("conflict", 1);
+            return;
+        }
+        log.info("✅ Broadcast saved | eventId: {} | audience: {}", broadcast.getEventId(), audience);
+        pipelineMetrics.recordPersisted(broadcast.getEventType(), broadcast.getCreatedAt());
+
+        NotificationResponse response = NotificationResponse.builder()
+                .id(broadcast.getId())
+                .eventId(broadcast.getEventId())
+                .eventType(broadcast.getEventType())
+                .title(broadcast.getTitle())
+                .message(broadcast.getMessage())
+                .category(broadcast.getCategory())
+                .metadata(broadcast.getMetadata())
+                .priority(broadcast.getPriority())
+                .isRead(false)
+                .broadcast(true)
+                .createdAt(broadcast.getCreatedAt())
+                .build();
+
+        deliveryDispatcher.dispatch(DeliveryChannel.SSE, audience.name(), null, () -> sseService.sendBroadcast(audience, response));
+        deliveryDispatcher.dispatch(DeliveryChannel.PUSH, event, () -> fcmService.sendToTopic(audience, response));
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Error processing RECRUITER notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
+    /**
+     * The record's event, stamped with the record's timestamp if the producer left it empty.
+     * The record timestamp is the same on every redelivery, so the stored created_at
+     * (part of the notification's unique key) is too.
+     */
+    private static NotificationEvent withTimestamp(ConsumerRecord<String, NotificationEvent> record) {
+        NotificationEvent event = record.value();
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault()));
         }
+        return event;
     }
 
     /**
-     * Consumer for candidate notifications
+     * Process one polled batch and acknowledge it as a whole
      */
-    @KafkaListener(topics = KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
-    public void consumeCandidateNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    private void consumeBatch(String audience, List<ConsumerRecord<String, NotificationEvent>> records,
+                              Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        if (records.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        String topic = records.get(0).topic();
+        long startedAt = System.nanoTime();
 
         try {
-            log.info("📨 Received CANDIDATE notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
-
-            // Process the notification
-            processNotification(event);
+            log.info("📨 Received {} {} notification(s) | Topic: {}", records.size(), audience, topic);
+
+            // Process the whole batch
+            try {
+                processNotifications(records.stream()
+                        .filter(record -> record.value() != null)
+                        .map(NotificationConsumer::withTimestamp)
+                        .toList());
+            } catch (Exception e) {
+                log.warn("⚠️ Batch of {} failed, retrying record by record | Topic: {} | Error: {}",
+                        records.size(), topic, e.getMessage());
+                processOneByOne(records);
+            }
 
-            // Manually commit offset after successful processing
+            // Manually commit offsets after successful processing
             acknowledgment.acknowledge();
-            log.info("✅ Successfully processed CANDIDATE notification: {}", event.getEventId());
+            log.info("✅ Successfully processed {} {} notification(s)", records.size(), audience);
 
-            // Update heartbeat
-            updateHeartbeat(true, null);
+            // Update in-memory worker health and pipeline metrics
+            healthTracker.recordSuccess(records.size());
+            pipelineMetrics.recordBatch(topic, records.size(), System.nanoTime() - startedAt);
+            recordLag(records, consumer);
 
         } catch (Exception e) {
-            log.error("❌ Error processing CANDIDATE notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
+            log.error("❌ Error processing {} {} notification(s) | Topic: {} | Error: {}",
+                    records.size(), audience, topic, e.getMessage(), e);
+            // Record the failure in worker health
+            healthTracker.recordFailure(records.size(), e.getMessage());
+            pipelineMetrics.recordConsumeFailure(topic, records.size());
+            // Don't acknowledge - the container error handler retries, then dead-letters
+            throw e;
         }
     }
 
     /**
-     * Process notification event
-     * Save to database for REST API retrieval by mobile clients
+     * Process records one at a time to find the one that fails the batch.
+     * Records before it are stored (redelivering them is a no-op thanks to the
+     * eventId check); the error handler then retries and, if it keeps failing,
+     * dead-letters only that record and resumes after it.
      */
-    private void processNotification(NotificationEvent event) {
-        log.info("Processing notification: {}", event);
+    private void processOneByOne(List<ConsumerRecord<String, NotificationEvent>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, NotificationEvent> record = records.get(i);
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                processNotifications(List.of(withTimestamp(record)));
+            } catch (Exception e) {
+                throw new BatchListenerFailedException("Failed to process notification", e, i);
+            }
+        }
+    }
 
-        try {
-            // Check if notification already exists (idempotency)
-            if (notificationRepo.existsByEventId(event.getEventId())) {
-                log.warn("⚠️ Notification with eventId {} already exists, skipping", event.getEventId());
-                return;
+    /**
+     * Process a batch of notification events.
+     * Deduplicates event IDs with one IN query, stores new notifications with a
+     * single JDBC batch, updates the in-memory unread counters, then fans out
+     * SSE per notification and push/email according to the recipient's
+     * preferences; bursts of similar notifications are coalesced into digests.
+     */
+    private void processNotifications(List<NotificationEvent> events) {
+        // Collapse duplicates inside the batch, keeping the first occurrence
+        Map<String, NotificationEvent> eventsById = new LinkedHashMap<>();
+        int withEventId = 0;
+        for (NotificationEvent event : events) {
+            if (event.getEventId() == null) {
+                log.warn("⚠️ Skipping notification without eventId: {}", event);
+                continue;
             }
+            withEventId++;
+            eventsById.putIfAbsent(event.getEventId(), event);
+        }
+        pipelineMetrics.recordDuplicates("batch", withEventId - eventsById.size());
+        if (eventsById.isEmpty()) {
+            return;
+        }
 
-            // Save notification to database
-            Notification notification = Notification.builder()
-                    .eventId(event.getEventId())
-                    .eventType(event.getEventType())
-                    .recipientId(event.getRecipientId())
-                    .recipientEmail(event.getRecipientEmail())
-                    .title(event.getTitle())
-                    .subject(event.getSubject())
-                    .message(event.getMessage())
-                    .category(event.getCategory())
-                    .metadata(event.getMetadata())
-                    .priority(event.getPriority())
-                    .isRead(false)
-                    .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
-                    .build();
+        try {
+            // Check which notifications already exist (idempotency)
+            Set<String> existing = new HashSet<>(notificationRepo.findExistingEventIds(eventsById.keySet()));
+            if (!existing.isEmpty()) {
+                log.warn("⚠️ {} notification(s) already exist, skipping: {}", existing.size(), existing);
+                pipelineMetrics.recordDuplicates("stored", existing.size());
+            }
 
-            notificationRepo.save(notification);
-            log.info("✅ Notification saved to database | eventId: {} | recipient: {}",
-                    event.getEventId(), event.getRecipientId());
+            List<Notification> toInsert = eventsById.values().stream()
+                    .filter(event -> !existing.contains(event.getEventId()))
+                    .map(this::toNotification)
+                    .toList();
+            if (toInsert.isEmpty()) {
+                return;
+            }
 
-            // Send real-time notification via SSE
-            sendSseNotification(notification);
+            // Save notifications to database; ON CONFLICT covers races with other consumers
+            Set<String> inserted = notificationRepo.bulkInsertIgnoringDuplicates(toInsert);
+            pipelineMetrics.recordDuplicates("conflict", toInsert.size() - inserted.size());
+            List<Notification> saved = new ArrayList<>(notificationRepo.findByEventIdIn(inserted));
+            saved.sort(Comparator.comparing(Notification::getId));
+            log.info("✅ {} notification(s) saved to database", saved.size());
+            for (Notification notification : saved) {
+                pipelineMetrics.recordPersisted(notification.getEventType(), notification.getCreatedAt());
+            }
 
-            // Send push notification to mobile devices
-            sendPushNotification(notification);
+            Map<String, NotificationPreference> preferences = preferenceService.getPreferences(saved.stream()
+                    .map(Notification::getRecipientId)
+                    .collect(Collectors.toSet()));
+            ZonedDateTime now = ZonedDateTime.now();
+
+            // Hand off to the delivery channels; the listener doesn't wait for them
+            for (Notification notification : saved) {
+                NotificationEvent event = eventsById.get(notification.getEventId());
+                NotificationPreference preference = preferences.get(notification.getRecipientId());
+
+                // Send real-time notification via SSE
+                deliveryDispatcher.dispatch(DeliveryChannel.SSE, event, () -> sendSseNotification(notification));
+
+                // Held back for a digest: push and email go out with the summary
+                if (coalescer.offer(event, preference)) {
+                    log.debug("🗞️ Notification held for digest | eventId: {} | recipient: {}",
+                            event.getEventId(), event.getRecipientId());
+                    continue;
+                }
+
+                // Send push notification to mobile devices, unless muted by quiet hours
+                if (Boolean.TRUE.equals(preference.getPushEnabled())
+                        && (isCritical(event) || !preference.isQuietHours(now))) {
+                    deliveryDispatcher.dispatch(DeliveryChannel.PUSH, event, () -> sendPushNotification(notification));
+                }
+
+                // Send email notifications for important events
+                sendAdditionalNotifications(event, Boolean.TRUE.equals(preference.getEmailEnabled()));
+            }
 
-            // Send email notifications for important events
-            sendAdditionalNotifications(event);
+            // Send one updated unread count per recipient (from the counter rows)
+            // on the recipient's SSE lane, so each count follows that recipient's notifications
+            Map<String, Long> unreadCounts = unreadCounterService.recordInserted(saved.stream()
+                    .collect(Collectors.groupingBy(Notification::getRecipientId, Collectors.counting())));
+            unreadCounts.forEach((recipientId, count) -> deliveryDispatcher.dispatch(DeliveryChannel.SSE, recipientId, null,
+                    () -> sseService.sendUnreadCount(recipientId, count.intValue())));
 
         } catch (Exception e) {
-            log.error("❌ Failed to save notification to database | eventId: {}", event.getEventId(), e);
+            log.error("❌ Failed to save notifications to database | eventIds: {}", eventsById.keySet(), e);
             throw e; // Re-throw to trigger Kafka retry
         }
     }
 
+    /**
+     * Send push and email for digests whose window has closed.
+     * Digests aren't stored; the notifications they summarize already are.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.digest.sweep-ms:30000}")
+    public void flushDigests() {
+        List<NotificationCoalescer.Digest> digests = coalescer.drainDue();
+        if (digests.isEmpty()) {
+            return;
+        }
+
+        Map<String, NotificationPreference> preferences = preferenceService.getPreferences(digests.stream()
+                .map(NotificationCoalescer.Digest::recipientId)
+                .collect(Collectors.toSet()));
+
+        for (NotificationCoalescer.Digest digest : digests) {
+            NotificationEvent event = digest.toEvent();
+            Notification notification = toNotification(event);
+            NotificationPreference preference = preferences.get(digest.recipientId());
+
+            if (Boolean.TRUE.equals(preference.getPushEnabled())) {
+                deliveryDispatcher.dispatch(DeliveryChannel.PUSH, event, () -> sendPushNotification(notification));
+            }
+            if (Boolean.TRUE.equals(preference.getEmailEnabled()) && shouldSendEmail(event)) {
+                deliveryDispatcher.dispatch(DeliveryChannel.EMAIL, event, () -> sendEmailNotification(event));
+            }
+            log.info("🗞️ Digest sent | recipient: {} | category: {} | notifications: {}",
+                    digest.recipientId(), digest.category(), digest.total());
+        }
+    }
+
+    private boolean isCritical(NotificationEvent event) {
+        return event.getPriority() != null && event.getPriority() == 1;
+    }
+
+    private Notification toNotification(NotificationEvent event) {
+        return Notification.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .recipientId(event.getRecipientId())
+                .recipientEmail(event.getRecipientEmail())
+                .title(event.getTitle())
+                .subject(event.getSubject())
+                .message(event.getMessage())
+                .category(event.getCategory())
+                .metadata(event.getMetadata())
+                .priority(event.getPriority() != null ? event.getPriority() : 2)
+                .isRead(false)
+                .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
+                .build();
+    }
+
     /**
      * Send additional notifications (email, push, SMS, etc.)
      * This can be extended based on requirements
      */
-    private void sendAdditionalNotifications(NotificationEvent event) {
+    private void sendAdditionalNotifications(NotificationEvent event, boolean emailEnabled) {
         // Log different event types for monitoring
         switch (event.getEventType()) {
             case "JOB_POSTING_APPROVED":
@@ -272,59 +506,50 @@ public class NotificationConsumer {
                 log.info("📧 Generic notification processed for: {}", event.getRecipientId());
         }
 
-        // Send email notification for important events
-        if (shouldSendEmail(event)) {
-            sendEmailNotification(event);
+        // Send email notification for important events, unless the user opted out
+        if (emailEnabled && shouldSendEmail(event)) {
+            deliveryDispatcher.dispatch(DeliveryChannel.EMAIL, event, () -> sendEmailNotification(event));
         }
     }
 
     /**
      * Send email notification
-     * Handles email sending with proper error handling to prevent notification
-     * processing failure
+     * Runs on the email delivery channel and only queues the email; SMTP retries
+     * happen in the email queue. Failures to queue propagate so the channel can
+     * retry with backoff and dead-letter the event once attempts run out.
+     * The notification is already saved in database, so the user can still see it in-app.
      */
     private void sendEmailNotification(NotificationEvent event) {
-        try {
-            // Validate email address exists and is valid format
-            if (event.getRecipientEmail() == null || event.getRecipientEmail().trim().isEmpty()) {
-                log.warn("⚠️ Skipping email for eventId {} - no recipient email", event.getEventId());
-                return;
-            }
-
-            // Basic email format validation (must contain @)
-            if (!event.getRecipientEmail().contains("@")) {
-                log.warn("⚠️ Skipping email for eventId {} - invalid email format: {}",
-                        event.getEventId(), event.getRecipientEmail());
-                return;
-            }
+        // Validate email address exists and is valid format
+        if (event.getRecipientEmail() == null || event.getRecipientEmail().trim().isEmpty()) {
+            log.warn("⚠️ Skipping email for eventId {} - no recipient email", event.getEventId());
+            return;
+        }
 
-            // Check if metadata requests to skip email
-            if (event.getMetadata() != null && Boolean.TRUE.equals(event.getMetadata().get("skipEmail"))) {
-                log.debug("⏭️ Skipping email for eventId {} - skipEmail flag set", event.getEventId());
-                return;
-            }
+        // Basic email format validation (must contain @)
+        if (!event.getRecipientEmail().contains("@")) {
+            log.warn("⚠️ Skipping email for eventId {} - invalid email format: {}",
+                    event.getEventId(), event.getRecipientEmail());
+            return;
+        }
 
-            // Build email body
-            MailBody mailBody = MailBody.builder()
-                    .to(event.getRecipientEmail())
-                    .subject(event.getSubject() != null ? event.getSubject() : event.getTitle())
-                    .text(formatEmailMessage(event))
-                    .build();
+        // Check if metadata requests to skip email
+        if (event.getMetadata() != null && Boolean.TRUE.equals(event.getMetadata().get("skipEmail"))) {
+            log.debug("⏭️ Skipping email for eventId {} - skipEmail flag set", event.getEventId());
+            return;
+        }
 
-            // Send email
-            emailService.sendSimpleEmail(mailBody);
+        // Build email from the notification layout
+        Map<String, Object> model = new LinkedHashMap<>();
+        model.put("subject", event.getSubject() != null ? event.getSubject() : event.getTitle());
+        model.put("content", formatEmailContent(event));
+        MailBody mailBody = EmailTemplate.NOTIFICATION.render(event.getRecipientEmail(), model);
 
-            log.info("✅ Email sent successfully | eventId: {} | recipient: {} | subject: {}",
-                    event.getEventId(), event.getRecipientEmail(), mailBody.subject());
+        // Send email
+        emailService.sendSimpleEmail(mailBody);
 
-        } catch (Exception e) {
-            // Log error but don't fail notification processing
-            // The notification is already saved in database, so user can still see it
-            // in-app
-            log.error("❌ Failed to send email | eventId: {} | recipient: {} | error: {}",
-                    event.getEventId(), event.getRecipientEmail(), e.getMessage());
-            // Don't re-throw - email failure should not trigger Kafka retry
-        }
+        log.info("✅ Email queued | eventId: {} | recipient: {} | subject: {}",
+                event.getEventId(), event.getRecipientEmail(), mailBody.subject());
     }
 
     /**
@@ -373,144 +598,90 @@ public class NotificationConsumer {
     }
 
     /**
-     * Format email message with proper structure
-     * Adds header and footer to make emails look professional
+     * Format the email content; the NOTIFICATION layout adds the footer with app branding
      */
-    private String formatEmailMessage(NotificationEvent event) {
-        StringBuilder formattedMessage = new StringBuilder();
+    private String formatEmailContent(NotificationEvent event) {
+        StringBuilder content = new StringBuilder();
 
         // Add greeting based on title
         if (event.getTitle() != null && !event.getTitle().isEmpty()) {
-            formattedMessage.append(event.getTitle()).append("\n\n");
+            content.append(event.getTitle()).append("\n\n");
         }
 
         // Add main message
-        formattedMessage.append(event.getMessage());
-
-        // Add footer with app branding
-        formattedMessage.append("\n\n");
-        formattedMessage.append("---\n");
-        formattedMessage.append("This is an automated notification from CareerMate.\n");
-        formattedMessage.append("You can view all your notifications in the app.\n\n");
-        formattedMessage.append("Best regards,\n");
-        formattedMessage.append("The CareerMate Team\n");
-        formattedMessage.append("\n");
-        formattedMessage.append("© 2025 CareerMate. All rights reserved.");
-
-        return formattedMessage.toString();
+        content.append(event.getMessage());
+
+        return content.toString();
     }
 
     /**
      * Send real-time notification via Server-Sent Events (SSE).
      * Broadcasts the notification to all active SSE connections for the user.
-     * Also sends updated unread count to keep notification bell badge current.
+     * Runs on the SSE delivery channel.
      *
      * @param notification The saved notification entity
      */
     private void sendSseNotification(Notification notification) {
-        try {
-            // Convert entity to response DTO
-            NotificationResponse response = NotificationResponse.builder()
-                    .id(notification.getId())
-                    .eventId(notification.getEventId())
-                    .eventType(notification.getEventType())
-                    .recipientId(notification.getRecipientId())
-                    .title(notification.getTitle())
-                    .message(notification.getMessage())
-                    .category(notification.getCategory())
-                    .metadata(notification.getMetadata())
-                    .priority(notification.getPriority())
-                    .isRead(notification.getIsRead())
-                    .createdAt(notification.getCreatedAt())
-                    .readAt(notification.getReadAt())
-                    .build();
-
-            // Send notification to user via SSE
-            sseService.sendNotification(notification.getRecipientId(), response);
-
-            // Calculate and send updated unread count
-            long unreadCount = notificationRepo.countByRecipientIdAndIsReadFalse(notification.getRecipientId());
-            sseService.sendUnreadCount(notification.getRecipientId(), (int) unreadCount);
-
-            log.info("📡 Real-time notification sent via SSE | userId: {} | notificationId: {} | unreadCount: {}",
-                    notification.getRecipientId(), notification.getId(), unreadCount);
+        // Send notification to user via SSE
+        sseService.sendNotification(notification.getRecipientId(), toResponse(notification));
+        pipelineMetrics.recordDelivered("sse", notification.getEventType(), notification.getCreatedAt());
 
-        } catch (Exception e) {
-            // Don't fail notification processing if SSE fails (user might not be connected)
-            log.warn("⚠️ Failed to send SSE notification | userId: {} | notificationId: {} | error: {}",
-                    notification.getRecipientId(), notification.getId(), e.getMessage());
-        }
+        log.info("📡 Real-time notification sent via SSE | userId: {} | notificationId: {}",
+                notification.getRecipientId(), notification.getId());
     }
 
     /**
      * Send push notification to mobile devices via Firebase Cloud Messaging.
      * Sends to all active device tokens registered for the user.
-     * Failures (e.g., expired tokens) are handled gracefully without blocking
-     * notification processing.
+     * Runs on the push delivery channel; per-device failures (e.g., expired
+     * tokens) are handled by the FCM service, other failures are retried.
      *
      * @param notification The saved notification entity
      */
     private void sendPushNotification(Notification notification) {
-        try {
-            // Convert entity to response DTO
-            NotificationResponse response = NotificationResponse.builder()
-                    .id(notification.getId())
-                    .eventId(notification.getEventId())
-                    .eventType(notification.getEventType())
-                    .recipientId(notification.getRecipientId())
-                    .title(notification.getTitle())
-                    .message(notification.getMessage())
-                    .category(notification.getCategory())
-                    .metadata(notification.getMetadata())
-                    .priority(notification.getPriority())
-                    .isRead(notification.getIsRead())
-                    .createdAt(notification.getCreatedAt())
-                    .readAt(notification.getReadAt())
-                    .build();
-
-            // Send push notification to all user's devices
-            int sentCount = fcmService.sendNotificationToUser(notification.getRecipientId(), response);
-
-            if (sentCount > 0) {
-                log.info("📱 Push notification sent | userId: {} | notificationId: {} | devices: {}",
-                        notification.getRecipientId(), notification.getId(), sentCount);
-            } else {
-                log.debug("📱 No active devices found for push notification | userId: {}",
-                        notification.getRecipientId());
-            }
-
-        } catch (Exception e) {
-            // Don't fail notification processing if push fails (Firebase might be
-            // unavailable)
-            log.warn("⚠️ Failed to send push notification | userId: {} | notificationId: {} | error: {}",
-                    notification.getRecipientId(), notification.getId(), e.getMessage());
+        // Send push notification to all user's devices
+        int sentCount = fcmService.sendNotificationToUser(notification.getRecipientId(), toResponse(notification));
+
+        if (sentCount > 0) {
+            pipelineMetrics.recordDelivered("push", notification.getEventType(), notification.getCreatedAt());
+            log.info("📱 Push notification sent | userId: {} | notificationId: {} | devices: {}",
+                    notification.getRecipientId(), notification.getId(), sentCount);
+        } else {
+            log.debug("📱 No active devices found for push notification | userId: {}",
+                    notification.getRecipientId());
         }
     }
 
+    private NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .eventId(notification.getEventId())
+                .eventType(notification.getEventType())
+                .recipientId(notification.getRecipientId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .category(notification.getCategory())
+                .metadata(notification.getMetadata())
+                .priority(notification.getPriority())
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .readAt(notification.getReadAt())
+                .build();
+    }
+
     /**
-     * Update heartbeat for health monitoring
+     * Send updated unread counts via SSE to keep notification bell badges current.
+     * Runs on the SSE delivery channel.
      */
-    private void updateHeartbeat(boolean success, String errorMessage) {
-        try {
-            NotificationHeartbeat heartbeat = heartbeatRepo.findByName("notification-worker")
-                    .orElse(NotificationHeartbeat.builder()
-                            .name("notification-worker")
-                            .lastProcessedAt(Instant.now())
-                            .messageCount(0L)
-                            .errorCount(0L)
-                            .build());
-
-            heartbeat.setLastProcessedAt(Instant.now());
-            heartbeat.setMessageCount(heartbeat.getMessageCount() + 1);
-
-            if (!success) {
-                heartbeat.setErrorCount(heartbeat.getErrorCount() + 1);
-                heartbeat.setLastErrorMessage(errorMessage);
-            }
-
-            heartbeatRepo.save(heartbeat);
-        } catch (Exception e) {
-            log.error("Failed to update heartbeat", e);
-        }
+    /**
+     * Record consumer lag for the partitions in this batch.
+     * Uses the lag the consumer already tracks from fetch responses; no broker round trip.
+     */
+    private void recordLag(List<ConsumerRecord<String, NotificationEvent>> records, Consumer<?, ?> consumer) {
+        records.stream()
+                .map(record -> new TopicPartition(record.topic(), record.partition()))
+                .distinct()
+                .forEach(partition -> consumer.currentLag(partition).ifPresent(lag ->
+                        healthTracker.recordLag(partition.topic(), partition.partition(), lag)));
     }
 }
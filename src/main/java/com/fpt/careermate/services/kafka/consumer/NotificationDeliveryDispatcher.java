@@ -0,0 +1,236 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs notification deliveries (SSE, push, email) off the Kafka listener thread.
+ * Each channel has a bounded queue drained by a fixed number of virtual threads,
+ * so a slow SMTP server only backs up the email queue. Failed deliveries are
+ * retried with exponential backoff; deliveries that exhaust their attempts, or
+ * that arrive while the channel queue is full, go to the delivery dead-letter topic.
+ * <p>
+ * Ordered channels (SSE) are split into single-threaded lanes picked by recipient,
+ * and retry in place on their lane, so a user's frames are written in the order
+ * they were dispatched.
+ */
+@Slf4j
+@Component
+public class NotificationDeliveryDispatcher {
+
+    public static final String CHANNEL_HEADER = "x-delivery-channel";
+    public static final String ATTEMPTS_HEADER = "x-delivery-attempts";
+    public static final String ERROR_HEADER = "x-delivery-error";
+
+    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<DeliveryChannel, ThreadPoolExecutor[]> executors = new EnumMap<>(DeliveryChannel.class);
+    private final ScheduledExecutorService retryScheduler;
+
+    public NotificationDeliveryDispatcher(KafkaTemplate<String, NotificationEvent> kafkaTemplate,
+                                          MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+
+        for (DeliveryChannel channel : DeliveryChannel.values()) {
+            ThreadPoolExecutor[] lanes = channel.isOrdered()
+                    ? new ThreadPoolExecutor[channel.getConcurrency()]
+                    : new ThreadPoolExecutor[1];
+            int threadsPerLane = channel.isOrdered() ? 1 : channel.getConcurrency();
+            for (int lane = 0; lane < lanes.length; lane++) {
+                lanes[lane] = new ThreadPoolExecutor(
+                        threadsPerLane, threadsPerLane,
+                        0L, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(Math.max(1, channel.getQueueCapacity() / lanes.length)),
+                        Thread.ofVirtual().name("notify-" + channel.getCode() + "-" + lane + "-", 0).factory());
+            }
+            executors.put(channel, lanes);
+
+            Gauge.builder("notification.delivery.queue.depth", lanes, NotificationDeliveryDispatcher::queueDepth)
+                    .description("Deliveries waiting for a channel worker")
+                    .tag("channel", channel.getCode())
+                    .register(meterRegistry);
+        }
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("notify-retry").daemon(true).factory());
+    }
+
+    /**
+     * Queue a delivery on its channel without blocking the caller.
+     *
+     * @param channel  channel the delivery belongs to
+     * @param event    source event, published to the dead-letter topic if delivery gives up;
+     *                 null for best-effort deliveries that aren't worth replaying
+     * @param delivery the delivery itself; throwing marks the attempt as failed
+     */
+    public void dispatch(DeliveryChannel channel, NotificationEvent event, Runnable delivery) {
+        dispatch(channel, event != null ? event.getRecipientId() : null, event, delivery);
+    }
+
+    /**
+     * Queue a delivery on its channel without blocking the caller.
+     *
+     * @param channel     channel the delivery belongs to
+     * @param recipientId recipient the delivery is ordered for on ordered channels;
+     *                    deliveries with the same recipient run one at a time, in dispatch order
+     * @param event       source event, published to the dead-letter topic if delivery gives up;
+     *                    null for best-effort deliveries that aren't worth replaying
+     * @param delivery    the delivery itself; throwing marks the attempt as failed
+     */
+    public void dispatch(DeliveryChannel channel, String recipientId, NotificationEvent event, Runnable delivery) {
+        ThreadPoolExecutor[] lanes = executors.get(channel);
+        ThreadPoolExecutor lane = lanes[lanes.length == 1 ? 0 : laneFor(recipientId, lanes.length)];
+        submit(lane, channel, event, delivery, 1);
+    }
+
+    static int laneFor(String recipientId, int lanes) {
+        return recipientId == null ? 0 : Math.floorMod(recipientId.hashCode(), lanes);
+    }
+
+    private void submit(ThreadPoolExecutor lane, DeliveryChannel channel, NotificationEvent event,
+                        Runnable delivery, int attempt) {
+        try {
+            lane.execute(() -> runAttempt(lane, channel, event, delivery, attempt));
+        } catch (RejectedExecutionException e) {
+            // Queue full or shutting down - never block the consumer thread
+            deadLetter(channel, event, attempt, "Delivery queue rejected the task");
+        }
+    }
+
+    private void runAttempt(ThreadPoolExecutor lane, DeliveryChannel channel, NotificationEvent event,
+                            Runnable delivery, int attempt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            delivery.run();
+            sample.stop(latencyTimer(channel, "success"));
+        } catch (Exception e) {
+            sample.stop(latencyTimer(channel, "failure"));
+
+            if (attempt >= channel.getMaxAttempts()) {
+                log.error("❌ {} delivery failed after {} attempt(s) | eventId: {} | error: {}",
+                        channel, attempt, eventId(event), e.getMessage());
+                deadLetter(channel, event, attempt, e.getMessage());
+                return;
+            }
+
+            long backoff = channel.backoffMillis(attempt);
+            log.warn("⚠️ {} delivery attempt {} failed, retrying in {} ms | eventId: {} | error: {}",
+                    channel, attempt, backoff, eventId(event), e.getMessage());
+
+            if (channel.isOrdered()) {
+                // Retry in place: the lane holds later deliveries for these recipients until this one is done
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    deadLetter(channel, event, attempt, e.getMessage());
+                    return;
+                }
+                runAttempt(lane, channel, event, delivery, attempt + 1);
+                return;
+            }
+
+            try {
+                retryScheduler.schedule(() -> submit(lane, channel, event, delivery, attempt + 1),
+                        backoff, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                deadLetter(channel, event, attempt, e.getMessage());
+            }
+        }
+    }
+
+    private void deadLetter(DeliveryChannel channel, NotificationEvent event, int attempts, String error) {
+        Counter.builder("notification.delivery.dead.letter")
+                .tag("channel", channel.getCode())
+                .register(meterRegistry)
+                .increment();
+
+        if (event == null) {
+            log.warn("⚠️ Dropping best-effort {} delivery after {} attempt(s) | error: {}", channel, attempts, error);
+            return;
+        }
+
+        ProducerRecord<String, NotificationEvent> record = new ProducerRecord<>(
+                KafkaConfig.NOTIFICATION_DELIVERY_DLT_TOPIC,
+                event.getRecipientId() != null ? event.getRecipientId() : event.getEventId(),
+                event);
+        record.headers().add(CHANNEL_HEADER, channel.getCode().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(ATTEMPTS_HEADER, String.valueOf(attempts).getBytes(StandardCharsets.UTF_8));
+        if (error != null) {
+            record.headers().add(ERROR_HEADER, error.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            kafkaTemplate.send(record).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("❌ Failed to dead-letter {} delivery | eventId: {} | error: {}",
+                            channel, event.getEventId(), ex.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            log.error("❌ Failed to dead-letter {} delivery | eventId: {} | error: {}",
+                    channel, event.getEventId(), e.getMessage());
+        }
+    }
+
+    private Timer latencyTimer(DeliveryChannel channel, String outcome) {
+        return Timer.builder("notification.delivery.latency")
+                .description("Time spent delivering a notification on one channel")
+                .tag("channel", channel.getCode())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private String eventId(NotificationEvent event) {
+        return event != null ? event.getEventId() : "-";
+    }
+
+    private static int queueDepth(ThreadPoolExecutor[] lanes) {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+        executors.values().forEach(lanes -> Arrays.stream(lanes).forEach(ThreadPoolExecutor::shutdown));
+        for (Map.Entry<DeliveryChannel, ThreadPoolExecutor[]> entry : executors.entrySet()) {
+            for (ThreadPoolExecutor lane : entry.getValue()) {
+                try {
+                    if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                        log.warn("⚠️ {} deliveries still pending at shutdown: {}",
+                                entry.getKey(), lane.getQueue().size());
+                        lane.shutdownNow();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    lane.shutdownNow();
+                }
+            }
+        }
+    }
+}
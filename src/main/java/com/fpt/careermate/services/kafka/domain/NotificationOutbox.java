@@ -0,0 +1,67 @@
+package com.fpt.careermate.services.kafka.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification event waiting to be published to Kafka.
+ * Written in the same transaction as the business change that caused it and
+ * deleted by the outbox relay once the broker has acknowledged it, so an event
+ * is published if and only if its transaction committed, unless it ends up
+ * dead-lettered after repeated failures.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "topic", nullable = false, length = 255)
+    String topic;
+
+    /**
+     * Kafka record key (recipient, audience or event ID); rows with the same key are published in ID order
+     */
+    @Column(name = "message_key", nullable = false, length = 255)
+    String messageKey;
+
+    @Column(name = "event_id", nullable = false, length = 255)
+    String eventId;
+
+    /**
+     * NotificationEvent in the NotificationEventCodec binary format, Base64-encoded;
+     * rows written before the switch hold JSON (starting with '{')
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    String payload;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    /**
+     * Failed publish attempts so far
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    /**
+     * Set when the relay gave up on the row (too many failed attempts or unreadable);
+     * dead-lettered rows are no longer published and are kept for inspection
+     */
+    @Column(name = "dead_lettered_at")
+    LocalDateTime deadLetteredAt;
+}
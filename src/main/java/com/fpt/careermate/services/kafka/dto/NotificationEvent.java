@@ -31,6 +31,7 @@ public class NotificationEvent implements Serializable {
     private Map<String, Object> metadata;
     private LocalDateTime timestamp;
     private Integer priority; // 1=HIGH, 2=MEDIUM, 3=LOW
+    private String audience; // Broadcast audience (ALL, CANDIDATE, ...); null for per-recipient events
 
     // Event types for notification system
     public enum EventType {
@@ -54,6 +55,7 @@ public class NotificationEvent implements Serializable {
 
         // System Events
         SYSTEM_NOTIFICATION,
+        NOTIFICATION_DIGEST,
 
         // Test Events
         TEST_ADMIN_NOTIFICATION,
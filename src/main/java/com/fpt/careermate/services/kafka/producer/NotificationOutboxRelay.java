@@ -0,0 +1,281 @@
+package com.fpt.careermate.services.kafka.producer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.health_services.service.NotificationPipelineMetrics;
+import com.fpt.careermate.services.kafka.domain.NotificationOutbox;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.repository.NotificationOutboxRepo;
+import com.fpt.careermate.services.kafka.serialization.NotificationEventCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes notification events from the outbox table to Kafka.
+ * <p>
+ * Each poll takes a PostgreSQL advisory lock for its transaction, so only one
+ * instance relays at a time and visible rows are sent in ID order. Rows with
+ * different keys are sent concurrently, but a key's next row is only sent once
+ * the broker acknowledged the previous one, and rows are deleted once
+ * acknowledged. When a send fails, the key's later rows are not sent at all and
+ * stay in the outbox, so a recipient's queued events can't overtake a failed one.
+ * <p>
+ * Sends use {@code outboxKafkaTemplate}, whose short {@code max.block.ms} keeps a
+ * down broker from holding the transaction and relay lock for long; a send that
+ * fails before reaching the producer's buffer stops the rest of the batch.
+ * <p>
+ * Ordering guarantee: IDs are assigned at insert time, not commit time. Events
+ * queued by one transaction keep their order, but when two concurrent
+ * transactions queue events for the same key, the one that commits later may
+ * hold the lower ID and be published after the other. Consumers must not rely on
+ * cross-transaction order.
+ * <p>
+ * A row that fails {@code app.notification.outbox.max-attempts} times, or whose
+ * payload can't be read, is dead-lettered: it stays in the table with
+ * {@code dead_lettered_at} set and is no longer published, which unblocks the
+ * rows queued after it for the same key.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxRelay {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long RELAY_LOCK_KEY = 4_812_730_011L;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepo outboxRepo;
+    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationPipelineMetrics pipelineMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long publishTimeoutSeconds;
+    private final int maxAttempts;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetterCounter;
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    public NotificationOutboxRelay(NotificationOutboxRepo outboxRepo,
+                                   @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, NotificationEvent> kafkaTemplate,
+                                   ObjectMapper objectMapper,
+                                   NotificationPipelineMetrics pipelineMetrics,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.notification.outbox.batch-size:500}") int batchSize,
+                                   @Value("${app.notification.outbox.publish-timeout-seconds:30}") long publishTimeoutSeconds,
+                                   @Value("${app.notification.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepo = outboxRepo;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.pipelineMetrics = pipelineMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.publishTimeoutSeconds = publishTimeoutSeconds;
+        this.maxAttempts = maxAttempts;
+
+        this.publishedCounter = Counter.builder("notification.outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.failed")
+                .description("Outbox events whose publish attempt failed")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("notification.outbox.dead.letter")
+                .description("Outbox events given up after too many failures or an unreadable payload")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.oldest.age", oldestPendingSeconds, AtomicLong::get)
+                .description("Age of the oldest event in the last relayed batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relay pending events; keeps going while full batches are published cleanly
+     */
+    @Scheduled(fixedDelayString = "${app.notification.outbox.poll-ms:500}")
+    public void relay() {
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> publishBatch());
+            } while (Boolean.TRUE.equals(more));
+        } catch (Exception e) {
+            log.error("❌ Notification outbox relay failed", e);
+        }
+    }
+
+    /**
+     * Publish one batch inside the current transaction.
+     *
+     * @return true if a full batch was published without failures
+     */
+    private boolean publishBatch() {
+        if (!outboxRepo.tryRelayLock(RELAY_LOCK_KEY)) {
+            return false; // Another instance is relaying
+        }
+
+        List<NotificationOutbox> batch = outboxRepo.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            oldestPendingSeconds.set(0);
+            return false;
+        }
+        oldestPendingSeconds.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toSeconds());
+
+        // Each key's readable rows in ID order; unreadable rows are dead-lettered below
+        Map<String, Deque<NotificationOutbox>> queuesByKey = new LinkedHashMap<>();
+        Map<Long, NotificationEvent> events = new HashMap<>();
+        Set<Long> unreadable = new HashSet<>();
+        for (NotificationOutbox row : batch) {
+            NotificationEvent event = readEvent(row);
+            if (event == null) {
+                unreadable.add(row.getId());
+            } else {
+                events.put(row.getId(), event);
+                queuesByKey.computeIfAbsent(row.getMessageKey(), key -> new ArrayDeque<>()).add(row);
+            }
+        }
+
+        // Send in rounds of at most one row per key, so a key's rows never race each other
+        List<Long> published = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        int blockedKeys = 0;
+        String lastError = null;
+        boolean aborted = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(publishTimeoutSeconds);
+        while (!aborted && !queuesByKey.isEmpty()) {
+            Map<NotificationOutbox, CompletableFuture<?>> round = new LinkedHashMap<>();
+            for (Deque<NotificationOutbox> queue : queuesByKey.values()) {
+                NotificationOutbox row = queue.poll();
+                CompletableFuture<?> send = send(row, events.get(row.getId()));
+                round.put(row, send);
+                if (send.isCompletedExceptionally()) {
+                    aborted = true; // Failed before reaching the producer, e.g. broker unreachable
+                    break;
+                }
+            }
+
+            try {
+                CompletableFuture.allOf(round.values().toArray(new CompletableFuture[0]))
+                        .orTimeout(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                        .join();
+            } catch (CompletionException e) {
+                // Inspected per row below
+            }
+
+            for (Map.Entry<NotificationOutbox, CompletableFuture<?>> entry : round.entrySet()) {
+                NotificationOutbox row = entry.getKey();
+                CompletableFuture<?> send = entry.getValue();
+                if (send.isDone() && !send.isCompletedExceptionally()) {
+                    published.add(row.getId());
+                } else {
+                    failed.add(row.getId());
+                    queuesByKey.remove(row.getMessageKey()); // Later rows for this key wait for the next poll
+                    blockedKeys++;
+                    lastError = errorMessage(send);
+                }
+            }
+            queuesByKey.values().removeIf(Deque::isEmpty);
+        }
+
+        if (!published.isEmpty()) {
+            outboxRepo.deleteByIdIn(published);
+            publishedCounter.increment(published.size());
+        }
+        if (!unreadable.isEmpty()) {
+            outboxRepo.deadLetter(unreadable, "Unreadable payload", LocalDateTime.now());
+            deadLetterCounter.increment(unreadable.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxRepo.recordFailedAttempt(failed, truncate(lastError));
+            failedCounter.increment(failed.size());
+            log.warn("⚠️ {} outbox event(s) failed to publish, {} key(s) held back | error: {}",
+                    failed.size(), blockedKeys, lastError);
+
+            int deadLettered = outboxRepo.deadLetterExhausted(failed, maxAttempts, LocalDateTime.now());
+            if (deadLettered > 0) {
+                deadLetterCounter.increment(deadLettered);
+                log.error("❌ {} outbox event(s) dead-lettered after {} failed attempts | error: {}",
+                        deadLettered, maxAttempts, lastError);
+            }
+        }
+        log.debug("📤 Relayed {} outbox event(s)", published.size());
+
+        return failed.isEmpty() && !aborted && batch.size() == batchSize;
+    }
+
+    private CompletableFuture<?> send(NotificationOutbox row, NotificationEvent event) {
+        long startedAt = System.nanoTime();
+        try {
+            return kafkaTemplate.send(row.getTopic(), row.getMessageKey(), event).whenComplete((result, ex) -> {
+                pipelineMetrics.recordPublish(row.getTopic(), System.nanoTime() - startedAt, ex == null);
+                if (ex == null) {
+                    pipelineMetrics.recordOutboxDelay(row.getTopic(), row.getCreatedAt());
+                }
+            });
+        } catch (Exception e) {
+            pipelineMetrics.recordPublish(row.getTopic(), System.nanoTime() - startedAt, false);
+            // e.g. metadata unavailable while the broker is down
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Deserialize a row; unreadable rows can never be published and are dead-lettered
+     */
+    private NotificationEvent readEvent(NotificationOutbox row) {
+        try {
+            String payload = row.getPayload();
+            if (payload.startsWith("{")) {
+                return objectMapper.readValue(payload, NotificationEvent.class); // Queued before the binary format
+            }
+            return NotificationEventCodec.decode(Base64.getDecoder().decode(payload));
+        } catch (Exception e) {
+            log.error("❌ Dead-lettering unreadable outbox event | id: {} | eventId: {} | error: {}",
+                    row.getId(), row.getEventId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String errorMessage(CompletableFuture<?> send) {
+        if (!send.isDone()) {
+            return "Timed out waiting for broker acknowledgement";
+        }
+        try {
+            send.join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage();
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -1,26 +1,36 @@
 package com.fpt.careermate.services.kafka.producer;
 
 import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.kafka.domain.NotificationOutbox;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.repository.NotificationOutboxRepo;
+import com.fpt.careermate.services.kafka.serialization.NotificationEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
- * Kafka producer service for sending notifications
+ * Kafka producer service for sending notifications.
+ * Events are written to the notification outbox in the caller's transaction and
+ * published by {@link NotificationOutboxRelay}, so they are only sent if the
+ * transaction commits and callers never wait for the broker.
+ * <p>
+ * Failures are not isolated from the caller: if the outbox insert fails inside a
+ * transaction, that transaction is marked rollback-only, so catching the exception
+ * does not save the caller's other changes (the commit then fails with
+ * UnexpectedRollbackException). Callers should let it propagate. Without a
+ * transaction, the insert runs and fails on its own.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationProducer {
 
-    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final NotificationOutboxRepo outboxRepo;
 
     /**
      * Send notification event to admin notification topic
@@ -37,7 +47,23 @@ public class NotificationProducer {
     }
 
     /**
-     * Generic method to send notification to any topic
+     * Send a broadcast event addressed to a whole audience.
+     * Produces a single event regardless of how many users the audience has.
+     */
+    public void sendBroadcastNotification(NotificationEvent event) {
+        if (event.getAudience() == null) {
+            throw new IllegalArgumentException("Broadcast event requires an audience");
+        }
+        sendNotification(KafkaConfig.BROADCAST_NOTIFICATION_TOPIC, event);
+    }
+
+    /**
+     * Generic method to send notification to any topic.
+     * Queues the event in the outbox; joins the caller's transaction if there is one.
+     *
+     * @throws RuntimeException if the event can't be serialized (nothing written yet, the
+     *                          caller's transaction is unaffected) or the outbox insert fails
+     *                          (the caller's transaction is rolled back)
      */
     public void sendNotification(String topic, NotificationEvent event) {
         if (event.getEventId() == null) {
@@ -47,26 +73,39 @@ public class NotificationProducer {
             event.setTimestamp(LocalDateTime.now());
         }
 
+        String key = partitionKey(event);
+        String payload;
         try {
-            log.info("📤 Sending notification to topic: {} with eventId: {}", topic, event.getEventId());
-
-            CompletableFuture<SendResult<String, NotificationEvent>> future =
-                kafkaTemplate.send(topic, event.getEventId(), event);
+            // Same encoding as on Kafka, so metadata value types reach consumers unchanged
+            payload = Base64.getEncoder().encodeToString(NotificationEventCodec.encode(event));
+        } catch (IllegalArgumentException e) {
+            log.error("❌ Error serializing notification for topic: {}", topic, e);
+            throw new RuntimeException("Failed to serialize notification event", e);
+        }
+        outboxRepo.save(NotificationOutbox.builder()
+                .topic(topic)
+                .messageKey(key)
+                .eventId(event.getEventId())
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.info("📤 Queued notification for topic: {} with eventId: {} | key: {}", topic, event.getEventId(), key);
+    }
 
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("✅ Message sent successfully to topic: {} | partition: {} | offset: {}",
-                        topic,
-                        result.getRecordMetadata().partition(),
-                        result.getRecordMetadata().offset());
-                } else {
-                    log.error("❌ Failed to send message to topic: {} | error: {}", topic, ex.getMessage());
-                }
-            });
-        } catch (Exception e) {
-            log.error("❌ Error sending notification to topic: {}", topic, e);
-            throw new RuntimeException("Failed to send Kafka message", e);
+    /**
+     * Record key used for partitioning.
+     * Keyed on the recipient so all of a user's notifications land on one partition,
+     * are consumed in order, and are handled by the same consumer instance.
+     * Broadcasts are keyed by audience; other events without a recipient fall back to the event ID.
+     */
+    private String partitionKey(NotificationEvent event) {
+        if (event.getRecipientId() != null && !event.getRecipientId().isBlank()) {
+            return event.getRecipientId();
+        }
+        if (event.getAudience() != null) {
+            return event.getAudience();
         }
+        return event.getEventId();
     }
 
     /**
@@ -0,0 +1,88 @@
+package com.fpt.careermate.services.kafka.repository;
+
+import com.fpt.careermate.services.kafka.domain.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the notification outbox
+ */
+@Repository
+public interface NotificationOutboxRepo extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Take the transaction-scoped relay lock so only one instance publishes at a time
+     *
+     * @param lockKey Advisory lock key
+     * @return true if the lock was acquired
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Oldest pending events, in ID order.
+     * IDs are assigned at insert, not at commit, so a row committed late can have a
+     * lower ID than rows already relayed; see {@link com.fpt.careermate.services.kafka.producer.NotificationOutboxRelay}.
+     *
+     * @param limit Maximum number of rows
+     * @return Pending outbox rows
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE dead_lettered_at IS NULL ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<NotificationOutbox> findNextBatch(@Param("limit") int limit);
+
+    /**
+     * Remove published events
+     *
+     * @param ids Outbox row IDs
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Record a failed publish attempt
+     *
+     * @param ids   Outbox row IDs
+     * @param error Error message
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    /**
+     * Dead-letter rows that have failed too often
+     *
+     * @param ids         Outbox row IDs that just failed
+     * @param maxAttempts Failed attempts after which a row is given up
+     * @param now         Dead-letter time
+     * @return Number of rows dead-lettered
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.deadLetteredAt = :now " +
+           "WHERE o.id IN :ids AND o.attempts >= :maxAttempts")
+    int deadLetterExhausted(@Param("ids") Collection<Long> ids,
+                            @Param("maxAttempts") int maxAttempts,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Dead-letter rows regardless of attempts (e.g. unreadable payload)
+     *
+     * @param ids   Outbox row IDs
+     * @param error Reason
+     * @param now   Dead-letter time
+     * @return Number of rows dead-lettered
+     */
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.deadLetteredAt = :now, o.lastError = :error WHERE o.id IN :ids")
+    int deadLetter(@Param("ids") Collection<Long> ids, @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,362 @@
+package com.fpt.careermate.services.kafka.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link NotificationEvent} for Kafka and the outbox.
+ * <p>
+ * Layout: a {@link #MAGIC} byte, a version byte, then the fields in a fixed
+ * order. Strings are UTF-8 with a varint length (0 = null), integers are zigzag
+ * varints, the timestamp is epoch seconds plus nanos (UTC) and metadata values
+ * carry a one-byte type tag. Field names are never written.
+ * <p>
+ * Compatibility rule: the format is append-only. A new field is added at the
+ * end and {@link #VERSION} is incremented; existing fields, their order and
+ * the metadata tags never change. A decoder accepts every version: it reads the
+ * fields it knows, stops there and ignores the rest of the record. So during a
+ * rolling deploy, old and new instances read each other's records; an old
+ * reader just doesn't see the new fields. A change that can't follow this rule
+ * needs a new magic byte, not a new version.
+ */
+public final class NotificationEventCodec {
+
+    /**
+     * First byte of every binary record; JSON records start with '{' instead
+     */
+    public static final byte MAGIC = 0x00;
+    public static final byte VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+
+    // Converts metadata values without a binary tag the same way the JSON path would
+    private static final ObjectMapper FALLBACK_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private NotificationEventCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length > 1 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(NotificationEvent event) {
+        Writer out = new Writer(estimateSize(event));
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        // Version 1 fields, in order
+        out.writeString(event.getEventId());
+        out.writeString(event.getEventType());
+        out.writeString(event.getRecipientId());
+        out.writeString(event.getRecipientEmail());
+        out.writeString(event.getTitle());
+        out.writeString(event.getSubject());
+        out.writeString(event.getMessage());
+        out.writeString(event.getCategory());
+        out.writeString(event.getAudience());
+        out.writeNullableInt(event.getPriority());
+        out.writeTimestamp(event.getTimestamp());
+        out.writeMap(event.getMetadata());
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not a binary event, or is truncated or corrupt
+     */
+    public static NotificationEvent decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary notification event");
+        }
+        try {
+            return decodeFields(ByteBuffer.wrap(data, 2, data.length - 2));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Truncated or corrupt notification event", e);
+        }
+    }
+
+    /**
+     * Version of a binary record (unsigned)
+     */
+    public static int version(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary notification event");
+        }
+        return data[1] & 0xFF;
+    }
+
+    private static NotificationEvent decodeFields(ByteBuffer in) {
+        // Every version starts with the version 1 fields, so there is nothing to branch on yet
+        NotificationEvent event = new NotificationEvent();
+        event.setEventId(readString(in));
+        event.setEventType(readString(in));
+        event.setRecipientId(readString(in));
+        event.setRecipientEmail(readString(in));
+        event.setTitle(readString(in));
+        event.setSubject(readString(in));
+        event.setMessage(readString(in));
+        event.setCategory(readString(in));
+        event.setAudience(readString(in));
+        event.setPriority(readNullableInt(in));
+        event.setTimestamp(readTimestamp(in));
+        event.setMetadata(readMap(in));
+        // Fields added by later versions follow here; read them only if in.hasRemaining()
+        return event;
+    }
+
+    private static int estimateSize(NotificationEvent event) {
+        int size = 64;
+        if (event.getMessage() != null) {
+            size += event.getMessage().length();
+        }
+        if (event.getMetadata() != null) {
+            size += event.getMetadata().size() * 32;
+        }
+        return size;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in);
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static Integer readNullableInt(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        return (int) zigzagDecode(readVarLong(in));
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long epochSecond = zigzagDecode(readVarLong(in));
+        int nanos = readVarInt(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    private static Map<String, Object> readMap(ByteBuffer in) {
+        int size = readLength(in);
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readValue(in));
+        }
+        return map;
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> readString(in);
+            case TAG_INT -> (int) zigzagDecode(readVarLong(in));
+            case TAG_LONG -> zigzagDecode(readVarLong(in));
+            case TAG_DOUBLE -> in.getDouble();
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_LIST -> {
+                int size = readCount(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TAG_MAP -> readMap(in);
+            default -> throw new IllegalArgumentException("Unknown metadata value tag: " + tag);
+        };
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    /**
+     * Length prefix stored as length + 1 (0 = null); returns -1 for null.
+     * Every element takes at least one byte, so a length beyond the remaining
+     * bytes can only come from a truncated or corrupt record.
+     */
+    private static int readLength(ByteBuffer in) {
+        long length = readVarLong(in) - 1;
+        if (length < -1 || length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated notification event");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Element count of a list, checked the same way as {@link #readLength}
+     */
+    private static int readCount(ByteBuffer in) {
+        long count = readVarLong(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Truncated notification event");
+        }
+        return (int) count;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint in notification event");
+            }
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte buffer with the encoding primitives
+     */
+    private static final class Writer extends ByteArrayOutputStream {
+
+        private Writer(int initialSize) {
+            super(initialSize);
+        }
+
+        void writeByte(int value) {
+            write(value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeNullableInt(Integer value) {
+            if (value == null) {
+                write(0);
+                return;
+            }
+            write(1);
+            writeVarLong(zigzagEncode(value));
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            if (value == null) {
+                write(0);
+                return;
+            }
+            write(1);
+            writeVarLong(zigzagEncode(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(value.getNano());
+        }
+
+        void writeMap(Map<?, ?> map) {
+            if (map == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(map.size() + 1L);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                write(TAG_NULL);
+            } else if (value instanceof String s) {
+                write(TAG_STRING);
+                writeString(s);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                write(TAG_INT);
+                writeVarLong(zigzagEncode(((Number) value).intValue()));
+            } else if (value instanceof Long l) {
+                write(TAG_LONG);
+                writeVarLong(zigzagEncode(l));
+            } else if (value instanceof Number n) {
+                // Double, Float, BigDecimal: JSON consumers would also have read these as Double
+                write(TAG_DOUBLE);
+                writeDouble(n.doubleValue());
+            } else if (value instanceof Boolean b) {
+                write(b ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Map<?, ?> m) {
+                write(TAG_MAP);
+                writeMap(m);
+            } else if (value instanceof Collection<?> c) {
+                write(TAG_LIST);
+                writeVarLong(c.size());
+                for (Object item : c) {
+                    writeValue(item);
+                }
+            } else {
+                // Dates, enums, POJOs: same shape the JSON serializer would produce
+                Object converted = FALLBACK_MAPPER.convertValue(value, Object.class);
+                if (converted != null && converted.getClass() == value.getClass()) {
+                    write(TAG_STRING);
+                    writeString(value.toString());
+                } else {
+                    writeValue(converted);
+                }
+            }
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (bits >>> shift));
+            }
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private static long zigzagEncode(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+}
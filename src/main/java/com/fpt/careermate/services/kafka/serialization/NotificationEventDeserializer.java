@@ -0,0 +1,44 @@
+package com.fpt.careermate.services.kafka.serialization;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka deserializer for {@link NotificationEvent}.
+ * Reads the compact binary format and falls back to JSON for records produced
+ * before the switch, so topics don't need to be drained during a rollout.
+ */
+public class NotificationEventDeserializer implements Deserializer<NotificationEvent> {
+
+    private final JsonDeserializer<NotificationEvent> jsonDeserializer =
+            new JsonDeserializer<>(NotificationEvent.class, false);
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.addTrustedPackages(NotificationEvent.class.getPackageName());
+    }
+
+    @Override
+    public NotificationEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (!NotificationEventCodec.isBinary(data)) {
+            return jsonDeserializer.deserialize(topic, data);
+        }
+        try {
+            return NotificationEventCodec.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to decode notification event from topic " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.fpt.careermate.services.kafka.serialization;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka serializer writing {@link NotificationEvent} in the compact binary format
+ */
+public class NotificationEventSerializer implements Serializer<NotificationEvent> {
+
+    @Override
+    public byte[] serialize(String topic, NotificationEvent event) {
+        return event == null ? null : NotificationEventCodec.encode(event);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Notification addressed to a whole audience (announcements, daily reminders).
+ * Stored once per announcement; per-user read state lives in {@link BroadcastReceipt}
+ * and is only written when a user reads it.
+ */
+@Entity
+@Table(name = "broadcast_notifications", indexes = {
+        @Index(name = "idx_broadcast_audience_created", columnList = "audience, created_at DESC")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "event_id", unique = true, nullable = false)
+    String eventId;
+
+    @Column(name = "event_type", nullable = false)
+    String eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    BroadcastAudience audience;
+
+    @Column(nullable = false)
+    String title;
+
+    String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    String message;
+
+    String category;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    Map<String, Object> metadata;
+
+    @Column(nullable = false)
+    @Builder.Default
+    Integer priority = 2; // 1=HIGH, 2=MEDIUM, 3=LOW (default MEDIUM)
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (priority == null) {
+            priority = 2; // Default to MEDIUM priority
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a broadcast notification as read by one user.
+ * Absence of a receipt means unread, so nothing is written when a broadcast is sent.
+ */
+@Entity
+@Table(name = "broadcast_receipts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_broadcast_receipt", columnNames = {"broadcast_id", "recipient_id"})
+}, indexes = {
+        @Index(name = "idx_broadcast_receipt_recipient", columnList = "recipient_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BroadcastReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "broadcast_id", nullable = false)
+    Long broadcastId;
+
+    @Column(name = "recipient_id", nullable = false)
+    String recipientId;
+
+    @Column(name = "read_at", nullable = false)
+    LocalDateTime readAt;
+}
@@ -10,12 +10,17 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
- * Notification entity for storing Kafka notifications in database
+ * Notification entity for storing Kafka notifications in database.
+ * The table may be range-partitioned by created_at (see V1_5 migration), so
+ * event_id is only unique together with created_at.
  */
 @Entity
-@Table(name = "notifications", indexes = {
+@Table(name = "notifications", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notifications_event_created", columnNames = {"event_id", "created_at"})
+}, indexes = {
         @Index(name = "idx_recipient_created", columnList = "recipient_id, created_at DESC"),
         @Index(name = "idx_recipient_read", columnList = "recipient_id, is_read"),
+        @Index(name = "idx_recipient_id", columnList = "recipient_id, id"),
         @Index(name = "idx_event_id", columnList = "event_id")
 })
 @Data
@@ -29,7 +34,7 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
-    @Column(name = "event_id", unique = true, nullable = false)
+    @Column(name = "event_id", nullable = false)
     String eventId;
 
     @Column(name = "event_type", nullable = false)
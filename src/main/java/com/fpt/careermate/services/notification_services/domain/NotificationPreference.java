@@ -0,0 +1,102 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Per-user delivery preferences for notifications.
+ * Controls which out-of-app channels (push, email) are used, whether bursts of
+ * similar notifications are coalesced into digests, and quiet hours during
+ * which non-critical push and email are held back. Users without a row get the
+ * defaults below; in-app notifications are always stored regardless.
+ */
+@Entity
+@Table(name = "notification_preferences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationPreference {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    /**
+     * User ID (email) these preferences belong to
+     */
+    @Column(name = "user_id", nullable = false, unique = true, length = 255)
+    String userId;
+
+    @Column(name = "push_enabled", nullable = false)
+    @Builder.Default
+    Boolean pushEnabled = true;
+
+    @Column(name = "email_enabled", nullable = false)
+    @Builder.Default
+    Boolean emailEnabled = true;
+
+    /**
+     * Whether bursts of similar notifications are summarized into one digest
+     */
+    @Column(name = "digest_enabled", nullable = false)
+    @Builder.Default
+    Boolean digestEnabled = true;
+
+    /**
+     * Digest window in minutes; null uses the application default
+     */
+    @Column(name = "digest_window_minutes")
+    Integer digestWindowMinutes;
+
+    /**
+     * Start of quiet hours (local time of the user); null disables quiet hours
+     */
+    @Column(name = "quiet_hours_start")
+    LocalTime quietHoursStart;
+
+    /**
+     * End of quiet hours (local time of the user), may be before the start to span midnight
+     */
+    @Column(name = "quiet_hours_end")
+    LocalTime quietHoursEnd;
+
+    /**
+     * IANA time zone used for quiet hours; null uses the server time zone
+     */
+    @Column(name = "time_zone", length = 64)
+    String timeZone;
+
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+
+    /**
+     * Preferences used for users who never saved any
+     */
+    public static NotificationPreference defaults(String userId) {
+        return NotificationPreference.builder().userId(userId).build();
+    }
+
+    /**
+     * Whether quiet hours are in effect at the given instant
+     */
+    public boolean isQuietHours(ZonedDateTime now) {
+        if (quietHoursStart == null || quietHoursEnd == null || quietHoursStart.equals(quietHoursEnd)) {
+            return false;
+        }
+        ZoneId zone = timeZone != null ? ZoneId.of(timeZone) : ZoneId.systemDefault();
+        LocalTime localTime = now.withZoneSameInstant(zone).toLocalTime();
+        if (quietHoursStart.isBefore(quietHoursEnd)) {
+            return !localTime.isBefore(quietHoursStart) && localTime.isBefore(quietHoursEnd);
+        }
+        // Spans midnight, e.g. 22:00-07:00
+        return !localTime.isBefore(quietHoursStart) || localTime.isBefore(quietHoursEnd);
+    }
+}
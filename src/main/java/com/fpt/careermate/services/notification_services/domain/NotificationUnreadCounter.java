@@ -0,0 +1,36 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unread notification count of one recipient, written through on every change
+ * to the recipient's notifications so the unread badge is a primary-key lookup
+ * instead of a COUNT over the notifications table.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "notification_unread_counters", indexes = {
+        // Reconciliation recounts the counters changed recently
+        @Index(name = "idx_unread_counter_updated", columnList = "updated_at")
+})
+public class NotificationUnreadCounter {
+
+    @Id
+    @Column(name = "recipient_id")
+    String recipientId;
+
+    @Column(name = "unread_count", nullable = false)
+    long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.services.notification_services.domain.BroadcastNotification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface BroadcastNotificationRepo extends JpaRepository<BroadcastNotification, Long> {
+
+    /**
+     * Check if broadcast exists by event ID
+     */
+    boolean existsByEventId(String eventId);
+
+    /**
+     * Find broadcasts visible to the given audiences since a cutoff, newest first
+     */
+    Page<BroadcastNotification> findByAudienceInAndCreatedAtAfterOrderByCreatedAtDesc(
+            Collection<BroadcastAudience> audiences, LocalDateTime since, Pageable pageable);
+
+    /**
+     * Count broadcasts visible to a recipient that they have no read receipt for
+     */
+    @Query("SELECT COUNT(b) FROM BroadcastNotification b " +
+            "WHERE b.audience IN :audiences AND b.createdAt > :since " +
+            "AND NOT EXISTS (SELECT 1 FROM BroadcastReceipt r " +
+            "WHERE r.broadcastId = b.id AND r.recipientId = :recipientId)")
+    long countUnread(@Param("recipientId") String recipientId,
+                     @Param("audiences") Collection<BroadcastAudience> audiences,
+                     @Param("since") LocalDateTime since);
+
+    /**
+     * Delete broadcasts older than the cutoff (cleanup)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BroadcastNotification b WHERE b.createdAt < :cutoffDate")
+    int deleteOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
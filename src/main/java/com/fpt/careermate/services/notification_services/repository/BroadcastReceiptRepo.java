@@ -0,0 +1,60 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.BroadcastReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastReceiptRepo extends JpaRepository<BroadcastReceipt, Long> {
+
+    /**
+     * Which of the given broadcasts the recipient has already read
+     */
+    @Query("SELECT r.broadcastId FROM BroadcastReceipt r " +
+            "WHERE r.recipientId = :recipientId AND r.broadcastId IN :broadcastIds")
+    List<Long> findReadBroadcastIds(@Param("recipientId") String recipientId,
+                                    @Param("broadcastIds") Collection<Long> broadcastIds);
+
+    /**
+     * Record that a recipient read a broadcast (no-op if already read)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, recipient_id, read_at) " +
+            "VALUES (:broadcastId, :recipientId, :readAt) " +
+            "ON CONFLICT (broadcast_id, recipient_id) DO NOTHING", nativeQuery = true)
+    int markRead(@Param("broadcastId") Long broadcastId,
+                 @Param("recipientId") String recipientId,
+                 @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Mark every broadcast visible to a recipient as read in one statement
+     *
+     * @param audiences audience names (BroadcastAudience.name())
+     */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, recipient_id, read_at) " +
+            "SELECT b.id, :recipientId, :readAt FROM broadcast_notifications b " +
+            "WHERE b.audience IN (:audiences) AND b.created_at > :since " +
+            "ON CONFLICT (broadcast_id, recipient_id) DO NOTHING", nativeQuery = true)
+    int markAllRead(@Param("recipientId") String recipientId,
+                    @Param("audiences") Collection<String> audiences,
+                    @Param("since") LocalDateTime since,
+                    @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Delete receipts of broadcasts older than the cutoff (cleanup, before the broadcasts themselves)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM broadcast_receipts r USING broadcast_notifications b " +
+            "WHERE r.broadcast_id = b.id AND b.created_at < :cutoffDate", nativeQuery = true)
+    int deleteForBroadcastsOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
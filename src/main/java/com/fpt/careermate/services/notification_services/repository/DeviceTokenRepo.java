@@ -2,8 +2,14 @@ package com.fpt.careermate.services.notification_services.repository;
 
 import com.fpt.careermate.services.notification_services.domain.DeviceToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +27,37 @@ public interface DeviceTokenRepo extends JpaRepository<DeviceToken, Long> {
      */
     List<DeviceToken> findByUserIdAndIsActiveTrue(String userId);
 
+    /**
+     * Find all active device tokens for several users at once
+     *
+     * @param userIds The user IDs (emails)
+     * @return List of active device tokens
+     */
+    List<DeviceToken> findByUserIdInAndIsActiveTrue(Collection<String> userIds);
+
+    /**
+     * Deactivate tokens FCM reported as invalid, in one statement
+     *
+     * @param tokens The FCM tokens
+     * @return Number of tokens deactivated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeviceToken d SET d.isActive = false WHERE d.token IN :tokens")
+    int deactivateByTokens(@Param("tokens") Collection<String> tokens);
+
+    /**
+     * Bump lastUsedAt for tokens that received a push, in one statement
+     *
+     * @param tokens The FCM tokens
+     * @param usedAt Time to record
+     * @return Number of tokens updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DeviceToken d SET d.lastUsedAt = :usedAt WHERE d.token IN :tokens")
+    int touchLastUsed(@Param("tokens") Collection<String> tokens, @Param("usedAt") LocalDateTime usedAt);
+
     /**
      * Find a device token by its FCM token string
      * 
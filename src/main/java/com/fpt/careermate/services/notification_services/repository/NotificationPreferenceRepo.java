@@ -0,0 +1,32 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for NotificationPreference entity operations
+ */
+@Repository
+public interface NotificationPreferenceRepo extends JpaRepository<NotificationPreference, Long> {
+
+    /**
+     * Find the preferences of a user
+     *
+     * @param userId The user ID (email)
+     * @return Optional preferences, empty if the user never saved any
+     */
+    Optional<NotificationPreference> findByUserId(String userId);
+
+    /**
+     * Find the preferences of several users at once
+     *
+     * @param userIds The user IDs (emails)
+     * @return Stored preferences; users without a row are absent
+     */
+    List<NotificationPreference> findByUserIdIn(Collection<String> userIds);
+}
@@ -10,10 +10,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface NotificationRepo extends JpaRepository<Notification, Long> {
+public interface NotificationRepo extends JpaRepository<Notification, Long>, NotificationRepoCustom {
 
     /**
      * Find all notifications for a specific recipient with pagination
@@ -25,6 +27,11 @@ public interface NotificationRepo extends JpaRepository<Notification, Long> {
      */
     Page<Notification> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(String recipientId, Pageable pageable);
 
+    /**
+     * Find notifications created after a given ID (SSE Last-Event-ID replay)
+     */
+    List<Notification> findByRecipientIdAndIdGreaterThanOrderByIdAsc(String recipientId, Long id, Pageable pageable);
+
     /**
      * Count unread notifications for a recipient
      */
@@ -45,6 +52,26 @@ public interface NotificationRepo extends JpaRepository<Notification, Long> {
      */
     Optional<Notification> findByEventId(String eventId);
 
+    /**
+     * Find which of the given event IDs are already stored (batch idempotency check)
+     */
+    @Query("SELECT n.eventId FROM Notification n WHERE n.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    /**
+     * Find notifications by event IDs (to reload rows written by bulk insert)
+     */
+    List<Notification> findByEventIdIn(Collection<String> eventIds);
+
+    /**
+     * Count unread notifications for several recipients at once.
+     * Returns rows of [recipientId, Long unreadCount]; recipients without unread rows are absent.
+     */
+    @Query("SELECT n.recipientId, COUNT(n) FROM Notification n " +
+            "WHERE n.recipientId IN :recipientIds AND n.isRead = false " +
+            "GROUP BY n.recipientId")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<String> recipientIds);
+
     /**
      * Mark all unread notifications as read for a recipient
      */
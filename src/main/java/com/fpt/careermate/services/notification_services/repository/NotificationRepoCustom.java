@@ -0,0 +1,21 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.Notification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk write operations for notifications that Spring Data derived queries can't express
+ */
+public interface NotificationRepoCustom {
+
+    /**
+     * Insert notifications in one JDBC batch, skipping rows whose event_id already exists.
+     *
+     * @param notifications notifications to insert (ids are ignored); createdAt is required
+     * @return event IDs of the rows that were actually inserted
+     * @throws IllegalArgumentException if a notification has no createdAt
+     */
+    Set<String> bulkInsertIgnoringDuplicates(List<Notification> notifications);
+}
@@ -0,0 +1,79 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.notification_services.domain.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class NotificationRepoCustomImpl implements NotificationRepoCustom {
+
+    // No conflict target: the unique key is (event_id, created_at), plus event_id
+    // alone on databases created before notifications were partitioned
+    private static final String INSERT_IGNORE_DUPLICATES_SQL =
+            "INSERT INTO notifications (event_id, event_type, recipient_id, recipient_email, title, subject, " +
+            "message, category, metadata, priority, is_read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<String> bulkInsertIgnoringDuplicates(List<Notification> notifications) {
+        Set<String> inserted = new HashSet<>();
+        if (notifications.isEmpty()) {
+            return inserted;
+        }
+
+        // created_at is part of the unique key on the partitioned table, so it has to come
+        // from the event: a redelivered event stamped with a fresh time would not collide
+        for (Notification notification : notifications) {
+            if (notification.getCreatedAt() == null) {
+                throw new IllegalArgumentException("Notification without createdAt, eventId " + notification.getEventId());
+            }
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IGNORE_DUPLICATES_SQL, notifications, notifications.size(),
+                (ps, n) -> {
+                    ps.setString(1, n.getEventId());
+                    ps.setString(2, n.getEventType());
+                    ps.setString(3, n.getRecipientId());
+                    ps.setString(4, n.getRecipientEmail());
+                    ps.setString(5, n.getTitle());
+                    ps.setString(6, n.getSubject());
+                    ps.setString(7, n.getMessage());
+                    ps.setString(8, n.getCategory());
+                    ps.setString(9, toJson(n));
+                    ps.setInt(10, n.getPriority() != null ? n.getPriority() : 2);
+                    ps.setBoolean(11, Boolean.TRUE.equals(n.getIsRead()));
+                    ps.setTimestamp(12, Timestamp.valueOf(n.getCreatedAt()));
+                });
+
+        // One row per statement: 0 means the event conflicted. A rewritten batch reports
+        // SUCCESS_NO_INFO (-2) instead, so callers must still re-read rows by event ID
+        for (int i = 0; i < counts[0].length; i++) {
+            if (counts[0][i] != 0) {
+                inserted.add(notifications.get(i).getEventId());
+            }
+        }
+        return inserted;
+    }
+
+    private String toJson(Notification notification) {
+        if (notification.getMetadata() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(notification.getMetadata());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize metadata for eventId " + notification.getEventId(), e);
+        }
+    }
+}
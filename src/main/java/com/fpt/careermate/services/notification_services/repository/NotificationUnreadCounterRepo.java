@@ -0,0 +1,54 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.NotificationUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationUnreadCounterRepo extends JpaRepository<NotificationUnreadCounter, String>,
+        NotificationUnreadCounterRepoCustom {
+
+    /**
+     * Create the counter from the notifications table; no-op if it already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notification_unread_counters (recipient_id, unread_count, updated_at) " +
+            "VALUES (:recipientId, (SELECT COUNT(*) FROM notifications " +
+            "WHERE recipient_id = :recipientId AND is_read = false), now()) " +
+            "ON CONFLICT (recipient_id) DO NOTHING", nativeQuery = true)
+    int initialize(@Param("recipientId") String recipientId);
+
+    /**
+     * One notification was read or an unread one deleted; no-op if there is no counter yet
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE notification_unread_counters SET unread_count = GREATEST(unread_count - 1, 0), " +
+            "updated_at = now() WHERE recipient_id = :recipientId", nativeQuery = true)
+    int decrement(@Param("recipientId") String recipientId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notification_unread_counters (recipient_id, unread_count, updated_at) " +
+            "VALUES (:recipientId, 0, now()) " +
+            "ON CONFLICT (recipient_id) DO UPDATE SET unread_count = 0, updated_at = now()", nativeQuery = true)
+    int reset(@Param("recipientId") String recipientId);
+
+    /**
+     * Recount the counters changed since the given time.
+     * updated_at is left alone so a counter is only recounted while it keeps changing.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE notification_unread_counters c SET unread_count = " +
+            "(SELECT COUNT(*) FROM notifications n WHERE n.recipient_id = c.recipient_id AND n.is_read = false) " +
+            "WHERE c.updated_at >= :since", nativeQuery = true)
+    int recountUpdatedSince(@Param("since") LocalDateTime since);
+}
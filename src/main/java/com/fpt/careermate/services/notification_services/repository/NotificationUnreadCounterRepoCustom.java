@@ -0,0 +1,18 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import java.util.Map;
+
+/**
+ * Bulk counter updates that Spring Data queries can't express
+ */
+public interface NotificationUnreadCounterRepoCustom {
+
+    /**
+     * Add newly stored notifications to their recipients' counters in one JDBC batch.
+     * A missing counter is created from the notifications table, which already
+     * includes the new rows, so the added amount only applies to existing counters.
+     *
+     * @param insertedPerRecipient number of notifications just stored per recipient
+     */
+    void addInserted(Map<String, Long> insertedPerRecipient);
+}
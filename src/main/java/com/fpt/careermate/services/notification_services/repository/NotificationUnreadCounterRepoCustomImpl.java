@@ -0,0 +1,36 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class NotificationUnreadCounterRepoCustomImpl implements NotificationUnreadCounterRepoCustom {
+
+    private static final String ADD_INSERTED_SQL =
+            "INSERT INTO notification_unread_counters (recipient_id, unread_count, updated_at) " +
+            "VALUES (?, (SELECT COUNT(*) FROM notifications WHERE recipient_id = ? AND is_read = false), now()) " +
+            "ON CONFLICT (recipient_id) DO UPDATE " +
+            "SET unread_count = notification_unread_counters.unread_count + ?, updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addInserted(Map<String, Long> insertedPerRecipient) {
+        if (insertedPerRecipient.isEmpty()) {
+            return;
+        }
+
+        // Same lock order in every batch, so concurrent listeners can't deadlock on counter rows
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(insertedPerRecipient.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        jdbcTemplate.batchUpdate(ADD_INSERTED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setString(2, entry.getKey());
+            ps.setLong(3, entry.getValue());
+        });
+    }
+}
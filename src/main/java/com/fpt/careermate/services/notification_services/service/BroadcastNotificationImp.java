@@ -0,0 +1,127 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.notification_services.domain.BroadcastNotification;
+import com.fpt.careermate.services.notification_services.repository.BroadcastNotificationRepo;
+import com.fpt.careermate.services.notification_services.repository.BroadcastReceiptRepo;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read side of broadcast notifications.
+ * Broadcasts are stored once per audience; a user's read state is derived from
+ * their receipts, so nothing is written per user until they actually read.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class BroadcastNotificationImp implements BroadcastNotificationService {
+
+    BroadcastNotificationRepo broadcastRepo;
+    BroadcastReceiptRepo receiptRepo;
+
+    private Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        return authentication;
+    }
+
+    private Set<BroadcastAudience> getAudiences(Authentication authentication) {
+        return BroadcastAudience.fromAuthorities(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    private LocalDateTime visibleSince() {
+        return LocalDateTime.now().minusDays(VISIBILITY_DAYS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NotificationResponse> getMyBroadcasts(Pageable pageable) {
+        Authentication authentication = getAuthentication();
+        String userId = authentication.getName();
+        log.info("Fetching broadcasts for user: {}", userId);
+
+        Page<BroadcastNotification> broadcasts = broadcastRepo.findByAudienceInAndCreatedAtAfterOrderByCreatedAtDesc(
+                getAudiences(authentication), visibleSince(), pageable);
+
+        List<Long> ids = broadcasts.getContent().stream().map(BroadcastNotification::getId).toList();
+        Set<Long> readIds = ids.isEmpty()
+                ? Set.of()
+                : new HashSet<>(receiptRepo.findReadBroadcastIds(userId, ids));
+
+        return broadcasts.map(b -> toResponse(b, userId, readIds.contains(b.getId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadBroadcastCount() {
+        Authentication authentication = getAuthentication();
+        return broadcastRepo.countUnread(authentication.getName(), getAudiences(authentication), visibleSince());
+    }
+
+    @Override
+    @Transactional
+    public NotificationResponse markBroadcastAsRead(Long broadcastId) {
+        Authentication authentication = getAuthentication();
+        String userId = authentication.getName();
+        log.info("Marking broadcast {} as read for user: {}", broadcastId, userId);
+
+        BroadcastNotification broadcast = broadcastRepo.findById(broadcastId)
+                .filter(b -> getAudiences(authentication).contains(b.getAudience()))
+                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+
+        receiptRepo.markRead(broadcastId, userId, LocalDateTime.now());
+        return toResponse(broadcast, userId, true);
+    }
+
+    @Override
+    @Transactional
+    public int markAllBroadcastsAsRead() {
+        Authentication authentication = getAuthentication();
+        String userId = authentication.getName();
+
+        List<String> audiences = getAudiences(authentication).stream().map(Enum::name).toList();
+        int marked = receiptRepo.markAllRead(userId, audiences, visibleSince(), LocalDateTime.now());
+        log.info("✅ Marked {} broadcasts as read for user: {}", marked, userId);
+        return marked;
+    }
+
+    private NotificationResponse toResponse(BroadcastNotification broadcast, String userId, boolean read) {
+        return NotificationResponse.builder()
+                .id(broadcast.getId())
+                .eventId(broadcast.getEventId())
+                .eventType(broadcast.getEventType())
+                .recipientId(userId)
+                .title(broadcast.getTitle())
+                .message(broadcast.getMessage())
+                .category(broadcast.getCategory())
+                .metadata(broadcast.getMetadata())
+                .priority(broadcast.getPriority())
+                .isRead(read)
+                .createdAt(broadcast.getCreatedAt())
+                .broadcast(true)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface BroadcastNotificationService {
+
+    /**
+     * Days a broadcast stays visible before cleanup
+     */
+    int VISIBILITY_DAYS = 30;
+
+    /**
+     * Get broadcasts visible to the authenticated user, with their read state
+     */
+    Page<NotificationResponse> getMyBroadcasts(Pageable pageable);
+
+    /**
+     * Count broadcasts the authenticated user hasn't read
+     */
+    long getUnreadBroadcastCount();
+
+    /**
+     * Mark a broadcast as read for the authenticated user
+     */
+    NotificationResponse markBroadcastAsRead(Long broadcastId);
+
+    /**
+     * Mark all visible broadcasts as read for the authenticated user
+     */
+    int markAllBroadcastsAsRead();
+}
@@ -0,0 +1,65 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Notification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin seam over Firebase Cloud Messaging multicast and topic sends.
+ * The Firebase implementation is used by default; setting app.fcm.stub.enabled=true
+ * swaps in a local stub so the push path can be exercised and benchmarked offline.
+ */
+public interface FcmClient {
+
+    /**
+     * FCM limit on device tokens per multicast request
+     */
+    int MAX_MULTICAST_TOKENS = 500;
+
+    /**
+     * Send one message to up to {@link #MAX_MULTICAST_TOKENS} device tokens in a single request.
+     *
+     * @param template prebuilt message parts shared by every token
+     * @param tokens   device tokens, at most {@link #MAX_MULTICAST_TOKENS}
+     * @return one outcome per token, in the same order as {@code tokens}
+     * @throws FirebaseMessagingException if the whole request failed
+     */
+    List<SendOutcome> sendMulticast(PushTemplate template, List<String> tokens) throws FirebaseMessagingException;
+
+    /**
+     * Send one message to every device subscribed to a topic.
+     *
+     * @return FCM message ID
+     * @throws FirebaseMessagingException if the request failed
+     */
+    String sendToTopic(PushTemplate template, String topic) throws FirebaseMessagingException;
+
+    /**
+     * Subscribe device tokens to a topic
+     */
+    void subscribeToTopic(List<String> tokens, String topic) throws FirebaseMessagingException;
+
+    /**
+     * Unsubscribe device tokens from a topic
+     */
+    void unsubscribeFromTopic(List<String> tokens, String topic) throws FirebaseMessagingException;
+
+    /**
+     * Message parts that don't depend on the target device. Any part may be null.
+     */
+    record PushTemplate(Notification notification,
+                        AndroidConfig androidConfig,
+                        ApnsConfig apnsConfig,
+                        Map<String, String> data) {
+    }
+
+    /**
+     * Result for a single token; errorCode is the FCM error code name when the send failed
+     */
+    record SendOutcome(String token, boolean success, String errorCode) {
+    }
+}
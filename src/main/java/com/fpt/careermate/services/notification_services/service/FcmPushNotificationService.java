@@ -1,5 +1,6 @@
 package com.fpt.careermate.services.notification_services.service;
 
+import com.fpt.careermate.common.constant.BroadcastAudience;
 import com.fpt.careermate.services.notification_services.domain.DeviceToken;
 import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
@@ -8,9 +9,11 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.messaging.*;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
@@ -19,9 +22,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for sending push notifications via Firebase Cloud Messaging (FCM).
@@ -33,7 +40,18 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FcmPushNotificationService {
 
+    // FCM error codes meaning the token will never work again
+    private static final Set<String> INVALID_TOKEN_ERRORS = Set.of("INVALID_ARGUMENT", "UNREGISTERED", "SENDER_ID_MISMATCH");
+
+    private static final int TOUCH_FLUSH_CHUNK = 1000;
+
     private final DeviceTokenRepo deviceTokenRepo;
+    private final FcmClient fcmClient;
+
+    // Tokens sent to successfully since the last flush
+    private final Set<String> pendingTokenTouches = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, AndroidConfig> androidConfigs = new ConcurrentHashMap<>();
+    private final Map<Integer, ApnsConfig> apnsConfigs = new ConcurrentHashMap<>();
 
     /**
      * Initialize Firebase Admin SDK on application startup.
@@ -81,11 +99,13 @@ public class FcmPushNotificationService {
 
     /**
      * Send a push notification to a specific user.
-     * Sends to all active device tokens registered for that user.
+     * Sends to all active device tokens registered for that user with multicast
+     * requests of up to 500 tokens each.
      *
      * @param userId       The user ID (email)
      * @param notification The notification to send
      * @return Number of devices successfully sent to
+     * @throws IllegalStateException if FCM rejected a whole request, so the caller can retry
      */
     public int sendNotificationToUser(String userId, NotificationResponse notification) {
         List<DeviceToken> tokens = deviceTokenRepo.findByUserIdAndIsActiveTrue(userId);
@@ -98,6 +118,64 @@ public class FcmPushNotificationService {
         log.info("📱 Sending push notification | userId: {} | devices: {} | eventType: {}",
                 userId, tokens.size(), notification.getEventType());
 
+        // Built once and shared by every device of the user
+        FcmClient.PushTemplate template = buildTemplate(notification);
+
+        try {
+            return sendToTokens(template, tokens.stream().map(DeviceToken::getToken).toList());
+        } catch (FirebaseMessagingException e) {
+            log.error("❌ FCM multicast failed | userId: {} | error: {}", userId, e.getMessage());
+            throw new IllegalStateException("FCM multicast failed for user " + userId, e);
+        }
+    }
+
+    /**
+     * Send a broadcast to every device subscribed to the audience's FCM topic.
+     * One request regardless of audience size.
+     *
+     * @throws IllegalStateException if FCM rejected the request, so the caller can retry
+     */
+    public void sendToTopic(BroadcastAudience audience, NotificationResponse notification) {
+        try {
+            String messageId = fcmClient.sendToTopic(buildTemplate(notification), audience.fcmTopic());
+            log.info("📢 Topic push sent | topic: {} | messageId: {}", audience.fcmTopic(), messageId);
+        } catch (FirebaseMessagingException e) {
+            log.error("❌ Topic push failed | topic: {} | error: {}", audience.fcmTopic(), e.getMessage());
+            throw new IllegalStateException("FCM topic send failed for " + audience.fcmTopic(), e);
+        }
+    }
+
+    /**
+     * Subscribe a device token to the broadcast topics of the given audiences.
+     * Failures are logged only; the device still gets personal notifications.
+     */
+    public void subscribeToBroadcastTopics(String token, Set<BroadcastAudience> audiences) {
+        for (BroadcastAudience audience : audiences) {
+            try {
+                fcmClient.subscribeToTopic(List.of(token), audience.fcmTopic());
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to subscribe device to topic {} | error: {}", audience.fcmTopic(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Unsubscribe a device token from every broadcast topic
+     */
+    public void unsubscribeFromBroadcastTopics(String token) {
+        for (BroadcastAudience audience : BroadcastAudience.values()) {
+            try {
+                fcmClient.unsubscribeFromTopic(List.of(token), audience.fcmTopic());
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to unsubscribe device from topic {} | error: {}", audience.fcmTopic(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Message parts for a notification, shared by every target device
+     */
+    private FcmClient.PushTemplate buildTemplate(NotificationResponse notification) {
         // Prepare notification data
         Map<String, String> data = new HashMap<>();
         data.put("notificationId", String.valueOf(notification.getId()));
@@ -105,106 +183,80 @@ public class FcmPushNotificationService {
         data.put("category", notification.getCategory() != null ? notification.getCategory() : "");
         data.put("priority", String.valueOf(notification.getPriority()));
         data.put("timestamp", notification.getCreatedAt().toString());
-
-        // Send to each device and count successes
-        int successCount = 0;
-        for (DeviceToken deviceToken : tokens) {
-            if (sendToDevice(deviceToken, notification, data)) {
-                successCount++;
-            }
+        if (Boolean.TRUE.equals(notification.getBroadcast())) {
+            data.put("broadcast", "true");
         }
 
-        return successCount;
+        return new FcmClient.PushTemplate(
+                Notification.builder()
+                        .setTitle(notification.getTitle())
+                        .setBody(notification.getMessage())
+                        .build(),
+                androidConfigFor(notification.getPriority()),
+                apnsConfigFor(notification.getPriority()),
+                data);
     }
 
     /**
-     * Send push notification to a single device token.
+     * Send a template to many tokens in multicast chunks.
+     * Successful tokens are queued for the periodic lastUsedAt update; tokens FCM
+     * reports as invalid are deactivated with one bulk UPDATE per chunk.
      *
-     * @param deviceToken  The device token entity
-     * @param notification The notification content
-     * @param data         Additional data payload
-     * @return true if sent successfully, false otherwise
+     * @return Number of tokens successfully sent to
      */
-    private boolean sendToDevice(DeviceToken deviceToken, NotificationResponse notification, Map<String, String> data) {
-        try {
-            // Build notification payload
-            Notification fcmNotification = Notification.builder()
-                    .setTitle(notification.getTitle())
-                    .setBody(notification.getMessage())
-                    .build();
-
-            // Build Android-specific config
-            AndroidConfig androidConfig = AndroidConfig.builder()
-                    .setPriority(getAndroidPriority(notification.getPriority()))
-                    .setNotification(AndroidNotification.builder()
-                            .setSound("default")
-                            .setColor("#667eea") // CareerMate brand color
-                            .setChannelId("careermate_notifications")
-                            .build())
-                    .build();
-
-            // Build iOS-specific config
-            ApnsConfig apnsConfig = ApnsConfig.builder()
-                    .setAps(Aps.builder()
-                            .setSound("default")
-                            .setBadge(notification.getPriority())
-                            .build())
-                    .build();
-
-            // Build the complete message
-            Message message = Message.builder()
-                    .setToken(deviceToken.getToken())
-                    .setNotification(fcmNotification)
-                    .putAllData(data)
-                    .setAndroidConfig(androidConfig)
-                    .setApnsConfig(apnsConfig)
-                    .build();
-
-            // Send the message
-            String response = FirebaseMessaging.getInstance().send(message);
-
-            log.info("✅ Push notification sent | userId: {} | deviceType: {} | messageId: {}",
-                    deviceToken.getUserId(), deviceToken.getDeviceType(), response);
-
-            // Update last used timestamp
-            deviceToken.setLastUsedAt(LocalDateTime.now());
-            deviceTokenRepo.save(deviceToken);
-
-            return true;
+    private int sendToTokens(FcmClient.PushTemplate template, List<String> tokens) throws FirebaseMessagingException {
+        int successCount = 0;
+        for (int from = 0; from < tokens.size(); from += FcmClient.MAX_MULTICAST_TOKENS) {
+            List<String> chunk = tokens.subList(from, Math.min(from + FcmClient.MAX_MULTICAST_TOKENS, tokens.size()));
+            List<String> invalidTokens = new ArrayList<>();
+
+            for (FcmClient.SendOutcome outcome : fcmClient.sendMulticast(template, chunk)) {
+                if (outcome.success()) {
+                    successCount++;
+                    pendingTokenTouches.add(outcome.token());
+                } else {
+                    log.error("❌ FCM error | errorCode: {}", outcome.errorCode());
+                    if (INVALID_TOKEN_ERRORS.contains(outcome.errorCode())) {
+                        invalidTokens.add(outcome.token());
+                    }
+                }
+            }
 
-        } catch (FirebaseMessagingException e) {
-            handleFirebaseError(deviceToken, e);
-            return false;
-        } catch (Exception e) {
-            log.error("❌ Unexpected error sending push notification | userId: {} | error: {}",
-                    deviceToken.getUserId(), e.getMessage());
-            return false;
+            // Mark tokens as inactive if they're invalid or unregistered
+            if (!invalidTokens.isEmpty()) {
+                int deactivated = deviceTokenRepo.deactivateByTokens(invalidTokens);
+                log.warn("⚠️ Device tokens marked inactive: {}", deactivated);
+            }
         }
+        return successCount;
     }
 
     /**
-     * Handle Firebase Messaging errors and mark invalid tokens as inactive.
+     * Android config for a priority, built once and reused.
      *
-     * @param deviceToken The device token that failed
-     * @param exception   The Firebase exception
+     * @param priority 1=HIGH, 2=MEDIUM, 3=LOW
      */
-    private void handleFirebaseError(DeviceToken deviceToken, FirebaseMessagingException exception) {
-        String errorCode = exception.getErrorCode() != null ? exception.getErrorCode().toString() : "UNKNOWN";
-
-        log.error("❌ FCM error | userId: {} | errorCode: {} | message: {}",
-                deviceToken.getUserId(), errorCode, exception.getMessage());
-
-        // Mark token as inactive if it's invalid or unregistered
-        if ("INVALID_ARGUMENT".equals(errorCode) ||
-                "UNREGISTERED".equals(errorCode) ||
-                "SENDER_ID_MISMATCH".equals(errorCode)) {
-
-            deviceToken.setIsActive(false);
-            deviceTokenRepo.save(deviceToken);
+    private AndroidConfig androidConfigFor(Integer priority) {
+        return androidConfigs.computeIfAbsent(priority != null ? priority : 0, p -> AndroidConfig.builder()
+                .setPriority(getAndroidPriority(priority))
+                .setNotification(AndroidNotification.builder()
+                        .setSound("default")
+                        .setColor("#667eea") // CareerMate brand color
+                        .setChannelId("careermate_notifications")
+                        .build())
+                .build());
+    }
 
-            log.warn("⚠️ Device token marked inactive | userId: {} | deviceType: {} | reason: {}",
-                    deviceToken.getUserId(), deviceToken.getDeviceType(), errorCode);
-        }
+    /**
+     * iOS config for a priority (used as the badge), built once and reused.
+     */
+    private ApnsConfig apnsConfigFor(Integer priority) {
+        return apnsConfigs.computeIfAbsent(priority != null ? priority : 0, p -> ApnsConfig.builder()
+                .setAps(Aps.builder()
+                        .setSound("default")
+                        .setBadge(p)
+                        .build())
+                .build());
     }
 
     /**
@@ -227,45 +279,64 @@ public class FcmPushNotificationService {
      * @param body   Notification body
      */
     public void sendSimplePush(String userId, String title, String body) {
-        List<DeviceToken> tokens = deviceTokenRepo.findByUserIdAndIsActiveTrue(userId);
-
-        if (tokens.isEmpty()) {
-            log.debug("⚠️ No active device tokens for user: {}", userId);
-            return;
-        }
-
-        log.info("📱 Sending simple push | userId: {} | devices: {} | title: {}",
-                userId, tokens.size(), title);
-
-        tokens.forEach(deviceToken -> {
-            try {
-                Message message = Message.builder()
-                        .setToken(deviceToken.getToken())
-                        .setNotification(Notification.builder()
-                                .setTitle(title)
-                                .setBody(body)
-                                .build())
-                        .build();
-
-                FirebaseMessaging.getInstance().send(message);
-                log.info("✅ Simple push sent | userId: {}", userId);
-
-            } catch (FirebaseMessagingException e) {
-                handleFirebaseError(deviceToken, e);
-            }
-        });
+        sendBroadcast(List.of(userId), title, body);
     }
 
     /**
      * Send push notification to multiple users.
+     * Loads all their active tokens in one query and sends in multicast chunks.
      *
      * @param userIds List of user IDs
      * @param title   Notification title
      * @param body    Notification body
      */
     public void sendBroadcast(List<String> userIds, String title, String body) {
-        userIds.forEach(userId -> sendSimplePush(userId, title, body));
-        log.info("📢 Broadcast push sent to {} users", userIds.size());
+        List<String> tokens = deviceTokenRepo.findByUserIdInAndIsActiveTrue(userIds).stream()
+                .map(DeviceToken::getToken)
+                .toList();
+
+        if (tokens.isEmpty()) {
+            log.debug("⚠️ No active device tokens for users: {}", userIds.size());
+            return;
+        }
+
+        FcmClient.PushTemplate template = new FcmClient.PushTemplate(
+                Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build(),
+                null, null, null);
+
+        try {
+            int sent = sendToTokens(template, tokens);
+            log.info("📢 Broadcast push sent to {} users | devices: {}/{}", userIds.size(), sent, tokens.size());
+        } catch (FirebaseMessagingException e) {
+            log.error("❌ Broadcast push failed | users: {} | error: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write coalesced lastUsedAt updates with one bulk UPDATE per flush instead
+     * of a save per successful send.
+     */
+    @Scheduled(fixedDelayString = "${app.fcm.token-touch-flush-ms:60000}")
+    @PreDestroy
+    public void flushTokenTouches() {
+        if (pendingTokenTouches.isEmpty()) {
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (Iterator<String> it = pendingTokenTouches.iterator(); it.hasNext(); ) {
+            tokens.add(it.next());
+            it.remove();
+        }
+
+        LocalDateTime usedAt = LocalDateTime.now();
+        for (int from = 0; from < tokens.size(); from += TOUCH_FLUSH_CHUNK) {
+            deviceTokenRepo.touchLastUsed(tokens.subList(from, Math.min(from + TOUCH_FLUSH_CHUNK, tokens.size())), usedAt);
+        }
+        log.debug("📱 Updated lastUsedAt for {} device tokens", tokens.size());
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FCM client backed by the Firebase Admin SDK (sendEachForMulticast for device
+ * tokens, topic messages for broadcasts)
+ */
+@Component
+@ConditionalOnProperty(name = "app.fcm.stub.enabled", havingValue = "false", matchIfMissing = true)
+public class FirebaseFcmClient implements FcmClient {
+
+    @Override
+    public List<SendOutcome> sendMulticast(PushTemplate template, List<String> tokens)
+            throws FirebaseMessagingException {
+        MulticastMessage.Builder builder = MulticastMessage.builder().addAllTokens(tokens);
+        if (template.notification() != null) {
+            builder.setNotification(template.notification());
+        }
+        if (template.androidConfig() != null) {
+            builder.setAndroidConfig(template.androidConfig());
+        }
+        if (template.apnsConfig() != null) {
+            builder.setApnsConfig(template.apnsConfig());
+        }
+        if (template.data() != null) {
+            builder.putAllData(template.data());
+        }
+
+        BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(builder.build());
+
+        List<SendResponse> responses = response.getResponses();
+        List<SendOutcome> outcomes = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            outcomes.add(new SendOutcome(tokens.get(i), sendResponse.isSuccessful(),
+                    sendResponse.isSuccessful() ? null : errorCode(sendResponse.getException())));
+        }
+        return outcomes;
+    }
+
+    @Override
+    public String sendToTopic(PushTemplate template, String topic) throws FirebaseMessagingException {
+        Message.Builder builder = Message.builder().setTopic(topic);
+        if (template.notification() != null) {
+            builder.setNotification(template.notification());
+        }
+        if (template.androidConfig() != null) {
+            builder.setAndroidConfig(template.androidConfig());
+        }
+        if (template.apnsConfig() != null) {
+            builder.setApnsConfig(template.apnsConfig());
+        }
+        if (template.data() != null) {
+            builder.putAllData(template.data());
+        }
+        return FirebaseMessaging.getInstance().send(builder.build());
+    }
+
+    @Override
+    public void subscribeToTopic(List<String> tokens, String topic) throws FirebaseMessagingException {
+        FirebaseMessaging.getInstance().subscribeToTopic(tokens, topic);
+    }
+
+    @Override
+    public void unsubscribeFromTopic(List<String> tokens, String topic) throws FirebaseMessagingException {
+        FirebaseMessaging.getInstance().unsubscribeFromTopic(tokens, topic);
+    }
+
+    private String errorCode(FirebaseMessagingException exception) {
+        if (exception == null) {
+            return "UNKNOWN";
+        }
+        // Messaging codes (UNREGISTERED, SENDER_ID_MISMATCH...) are more specific than platform codes
+        if (exception.getMessagingErrorCode() != null) {
+            return exception.getMessagingErrorCode().name();
+        }
+        return exception.getErrorCode() != null ? exception.getErrorCode().name() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,72 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance relay (app.sse.cluster.mode=local, the default).
+ * Hands every message straight to the local SSE connections; used for local
+ * development and tests where only one instance runs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sse.cluster.mode", havingValue = "local", matchIfMissing = true)
+public class LocalSseClusterRelay implements SseClusterRelay {
+
+    // Last notification sequence per user; an evicted user starts over, which
+    // the replay buffer sees as a gap
+    private final Map<String, Long> sequences;
+
+    private volatile Consumer<SseClusterMessage> localDelivery = message -> {
+    };
+
+    public LocalSseClusterRelay(@Value("${app.sse.replay.max-users:10000}") int maxUsers) {
+        this.sequences = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<SseClusterMessage> localDelivery) {
+        this.localDelivery = localDelivery;
+        log.info("📡 SSE relay running in local mode - events only reach connections on this instance");
+    }
+
+    @Override
+    public void userConnected(String userId) {
+        // Nothing to track with a single instance
+    }
+
+    @Override
+    public void userDisconnected(String userId) {
+        // Nothing to track with a single instance
+    }
+
+    @Override
+    public void publishToUser(SseClusterMessage message) {
+        if (message.type() == MessageType.NOTIFICATION) {
+            message = message.withSequence(sequences.merge(message.userId(), 1L, Long::sum));
+        }
+        localDelivery.accept(message);
+    }
+
+    @Override
+    public Long currentSequence(String userId) {
+        return sequences.get(userId);
+    }
+
+    @Override
+    public void publishBroadcast(SseClusterMessage message) {
+        localDelivery.accept(message);
+    }
+}
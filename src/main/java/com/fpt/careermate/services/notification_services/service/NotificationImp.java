@@ -38,6 +38,8 @@ public class NotificationImp implements NotificationService {
     NotificationMapper notificationMapper;
     NotificationProducer notificationProducer;
     AccountRepo accountRepo;
+    BroadcastNotificationService broadcastNotificationService;
+    UnreadCounterService unreadCounterService;
 
     /**
      * Get current authenticated user ID
@@ -72,10 +74,9 @@ public class NotificationImp implements NotificationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long getUnreadCount() {
         String userId = getCurrentUserId();
-        long count = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
+        long count = unreadCounterService.getUnreadCount(userId);
         log.debug("Unread count for user {}: {}", userId, count);
         return count;
     }
@@ -93,6 +94,7 @@ public class NotificationImp implements NotificationService {
             notification.setIsRead(true);
             notification.setReadAt(LocalDateTime.now());
             notification = notificationRepo.save(notification);
+            unreadCounterService.decrement(userId);
             log.info("✅ Notification {} marked as read", notificationId);
         }
 
@@ -106,7 +108,11 @@ public class NotificationImp implements NotificationService {
         log.info("Marking all notifications as read for user: {}", userId);
 
         int updatedCount = notificationRepo.markAllAsRead(userId, LocalDateTime.now());
+        unreadCounterService.reset(userId);
         log.info("✅ Marked {} notifications as read for user: {}", updatedCount, userId);
+
+        // Broadcasts have their own read state
+        broadcastNotificationService.markAllBroadcastsAsRead();
     }
 
     @Override
@@ -119,6 +125,9 @@ public class NotificationImp implements NotificationService {
                 .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
 
         notificationRepo.delete(notification);
+        if (!notification.getIsRead()) {
+            unreadCounterService.decrement(userId);
+        }
         log.info("✅ Notification {} deleted", notificationId);
     }
 
@@ -128,16 +137,20 @@ public class NotificationImp implements NotificationService {
         String userId = getCurrentUserId();
         log.debug("Fetching notification stats for user: {}", userId);
 
-        long total = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
-        long unread = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
+        // One row: [total, unread, highPriority]; the sums are null when the user has no notifications
+        Object[] stats = (Object[]) notificationRepo.getNotificationStats(userId);
 
         return NotificationStatsResponse.builder()
-                .totalNotifications(total)
-                .unreadCount(unread)
-                .highPriorityCount(0) // Can be enhanced later
+                .totalNotifications(longValue(stats[0]))
+                .unreadCount(unreadCounterService.getUnreadCount(userId))
+                .highPriorityCount(longValue(stats[2]))
                 .build();
     }
 
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
     @Override
     @Transactional
     public void sendTestNotification(String userRole, String recipientId) {
@@ -0,0 +1,282 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of the notifications table.
+ * Creates partitions ahead of time and applies retention by archiving and
+ * dropping whole partitions instead of deleting rows. Does nothing until the
+ * table has been partitioned (V1_5 migration); until then the weekly cleanup
+ * job keeps deleting old read notifications.
+ * <p>
+ * Rows outside every monthly partition land in the DEFAULT partition. If it
+ * holds rows for a month that is about to get its own partition, they are moved
+ * into the new partition (PostgreSQL refuses to create it otherwise). Whatever is
+ * left in DEFAULT is reported through the {@code notification.partitions.default.rows}
+ * gauge and an error log, since it escapes retention.
+ */
+@Service
+@Slf4j
+public class NotificationPartitionService {
+
+    private static final String PARENT_TABLE = "notifications";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_QUERY = "SELECT id, event_id, event_type, recipient_id, recipient_email, " +
+            "title, subject, message, category, metadata::text AS metadata, priority, is_read, created_at, read_at " +
+            "FROM %s ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate writeTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    // Months of partitions created ahead of the current one
+    @Value("${app.notification.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    // Whole months kept before the current one; older partitions are dropped
+    @Value("${app.notification.partitions.retention-months:6}")
+    private int retentionMonths;
+
+    // Directory for gzipped JSON-lines exports of dropped partitions; empty disables archiving
+    @Value("${app.notification.partitions.archive-dir:}")
+    private String archiveDir;
+
+    public NotificationPartitionService(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                        PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.writeTransactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("notification.partitions.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Rows in the DEFAULT notifications partition at the last maintenance run; should be 0")
+                .register(meterRegistry);
+
+        // PostgreSQL only streams with a fetch size inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(1_000);
+    }
+
+    /**
+     * Whether the notifications table is range-partitioned
+     */
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                        "JOIN pg_class c ON c.oid = pt.partrelid " +
+                        "WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and retire expired ones
+     * Runs every day at 1:30 AM
+     */
+    @Scheduled(cron = "${app.notification.partitions.cron:0 30 1 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!isPartitioned()) {
+                log.debug("Notifications table is not partitioned, skipping partition maintenance");
+                return;
+            }
+
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(current.plusMonths(i));
+            }
+
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : listPartitions()) {
+                YearMonth month = partitionMonth(partition);
+                if (month != null && month.isBefore(oldestKept)) {
+                    retirePartition(partition);
+                }
+            }
+
+            checkDefaultPartition();
+        } catch (Exception e) {
+            log.error("❌ Notification partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Export a partition to a gzipped JSON-lines file.
+     *
+     * @return the archive file
+     */
+    public Path archivePartition(String partition) throws IOException {
+        requirePartitionName(partition);
+        Path directory = Path.of(archiveDir);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(partition + ".jsonl.gz");
+        Path temp = directory.resolve(partition + ".jsonl.gz.part");
+
+        ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(String.format(ARCHIVE_QUERY, partition), rs -> {
+                        try {
+                            Map<String, Object> row = rowMapper.mapRow(rs, rs.getRow());
+                            writer.write(objectMapper.writeValueAsString(row));
+                            writer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = PARENT_TABLE + "_p" + month.format(PARTITION_SUFFIX);
+        if (tableExists(partition)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        if (!defaultPartitionHasRows(from, to)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, PARENT_TABLE, from, to));
+            return;
+        }
+
+        // Rows for this month sit in DEFAULT: build the partition standalone, move them in
+        // and attach it, all in one transaction so no row is visible twice or lost
+        writeTransactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS)", partition, PARENT_TABLE));
+            int moved = jdbcTemplate.update(String.format(
+                    "WITH moved AS (DELETE FROM %s WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+                            "INSERT INTO %s SELECT * FROM moved", DEFAULT_PARTITION, partition),
+                    from.atStartOfDay(), to.atStartOfDay());
+            jdbcTemplate.execute(String.format(
+                    "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                    PARENT_TABLE, partition, from, to));
+            log.warn("⚠️ Created notification partition {} and moved {} row(s) into it from {}",
+                    partition, moved, DEFAULT_PARTITION);
+        });
+    }
+
+    /**
+     * Report rows left in the DEFAULT partition; they are outside every monthly
+     * partition (e.g. timestamps beyond the months created ahead, or older than retention)
+     */
+    private void checkDefaultPartition() {
+        if (!tableExists(DEFAULT_PARTITION)) {
+            defaultPartitionRows.set(0);
+            return;
+        }
+        Long rows = jdbcTemplate.queryForObject(
+                String.format("SELECT COUNT(*) FROM %s", DEFAULT_PARTITION), Long.class);
+        defaultPartitionRows.set(rows != null ? rows : 0);
+        if (rows != null && rows > 0) {
+            log.error("❌ {} notification row(s) in {}; they are not covered by retention", rows, DEFAULT_PARTITION);
+        }
+    }
+
+    private boolean defaultPartitionHasRows(LocalDate from, LocalDate to) {
+        if (!tableExists(DEFAULT_PARTITION)) {
+            return false;
+        }
+        Boolean hasRows = jdbcTemplate.queryForObject(String.format(
+                        "SELECT EXISTS (SELECT 1 FROM %s WHERE created_at >= ? AND created_at < ?)", DEFAULT_PARTITION),
+                Boolean.class, from.atStartOfDay(), to.atStartOfDay());
+        return Boolean.TRUE.equals(hasRows);
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Archive (if configured) and drop a partition; kept if archiving fails
+     */
+    private void retirePartition(String partition) {
+        try {
+            if (!archiveDir.isBlank()) {
+                Path archive = archivePartition(partition);
+                log.info("📦 Archived notification partition {} to {}", partition, archive);
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to archive notification partition {}, keeping it", partition, e);
+            return;
+        }
+
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, partition));
+        jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+        log.info("🧹 Dropped notification partition {}", partition);
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? ORDER BY c.relname",
+                String.class, PARENT_TABLE);
+    }
+
+    private static YearMonth partitionMonth(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), PARTITION_SUFFIX) : null;
+    }
+
+    private static void requirePartitionName(String partition) {
+        // Partition names are interpolated into SQL, so only accept our own naming scheme
+        if (partitionMonth(partition) == null) {
+            throw new IllegalArgumentException("Not a notification partition: " + partition);
+        }
+    }
+}
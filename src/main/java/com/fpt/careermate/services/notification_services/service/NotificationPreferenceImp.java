@@ -0,0 +1,168 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import com.fpt.careermate.services.notification_services.repository.NotificationPreferenceRepo;
+import com.fpt.careermate.services.notification_services.service.dto.request.NotificationPreferenceRequest;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationPreferenceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notification delivery preferences.
+ * The Kafka consumer looks preferences up for every batch, so they are cached
+ * in memory for a short TTL; an update evicts the local entry and other
+ * instances pick it up once their entry expires.
+ */
+@Service
+@Slf4j
+public class NotificationPreferenceImp implements NotificationPreferenceService {
+
+    private final NotificationPreferenceRepo preferenceRepo;
+    private final long cacheTtlMillis;
+
+    private final Map<String, CachedPreference> cache = new ConcurrentHashMap<>();
+
+    public NotificationPreferenceImp(NotificationPreferenceRepo preferenceRepo,
+                                     @Value("${app.notification.preferences.cache-ttl-ms:300000}") long cacheTtlMillis) {
+        this.preferenceRepo = preferenceRepo;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPreferenceResponse getMyPreferences() {
+        String userId = getCurrentUserId();
+        return toResponse(preferenceRepo.findByUserId(userId)
+                .orElseGet(() -> NotificationPreference.defaults(userId)));
+    }
+
+    @Override
+    @Transactional
+    public NotificationPreferenceResponse updateMyPreferences(NotificationPreferenceRequest request) {
+        String userId = getCurrentUserId();
+        validate(request);
+
+        NotificationPreference preference = preferenceRepo.findByUserId(userId)
+                .orElseGet(() -> NotificationPreference.defaults(userId));
+
+        if (request.getPushEnabled() != null) {
+            preference.setPushEnabled(request.getPushEnabled());
+        }
+        if (request.getEmailEnabled() != null) {
+            preference.setEmailEnabled(request.getEmailEnabled());
+        }
+        if (request.getDigestEnabled() != null) {
+            preference.setDigestEnabled(request.getDigestEnabled());
+        }
+        if (request.getDigestWindowMinutes() != null) {
+            preference.setDigestWindowMinutes(request.getDigestWindowMinutes());
+        }
+        if (request.getQuietHoursStart() != null) {
+            preference.setQuietHoursStart(request.getQuietHoursStart());
+            preference.setQuietHoursEnd(request.getQuietHoursEnd());
+        }
+        if (request.getTimeZone() != null) {
+            preference.setTimeZone(request.getTimeZone());
+        }
+        preference.setUpdatedAt(LocalDateTime.now());
+
+        NotificationPreference saved = preferenceRepo.save(preference);
+        cache.remove(userId);
+        log.info("✅ Notification preferences updated for user: {}", userId);
+        return toResponse(saved);
+    }
+
+    @Override
+    public Map<String, NotificationPreference> getPreferences(Collection<String> userIds) {
+        long now = System.currentTimeMillis();
+        Map<String, NotificationPreference> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String userId : userIds) {
+            CachedPreference cached = cache.get(userId);
+            if (cached != null && now - cached.loadedAt() < cacheTtlMillis) {
+                result.put(userId, cached.preference());
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, NotificationPreference> loaded = new HashMap<>();
+            for (NotificationPreference preference : preferenceRepo.findByUserIdIn(missing)) {
+                loaded.put(preference.getUserId(), preference);
+            }
+            for (String userId : missing) {
+                NotificationPreference preference = loaded.getOrDefault(userId, NotificationPreference.defaults(userId));
+                cache.put(userId, new CachedPreference(preference, now));
+                result.put(userId, preference);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop expired cache entries
+     */
+    @Scheduled(fixedDelayString = "${app.notification.preferences.cache-ttl-ms:300000}")
+    public void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - cacheTtlMillis;
+        cache.values().removeIf(cached -> cached.loadedAt() < expiredBefore);
+    }
+
+    private void validate(NotificationPreferenceRequest request) {
+        // Quiet hours need both ends
+        if ((request.getQuietHoursStart() == null) != (request.getQuietHoursEnd() == null)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+        if (request.getTimeZone() != null) {
+            try {
+                ZoneId.of(request.getTimeZone());
+            } catch (DateTimeException e) {
+                throw new AppException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+
+    private NotificationPreferenceResponse toResponse(NotificationPreference preference) {
+        return NotificationPreferenceResponse.builder()
+                .userId(preference.getUserId())
+                .pushEnabled(preference.getPushEnabled())
+                .emailEnabled(preference.getEmailEnabled())
+                .digestEnabled(preference.getDigestEnabled())
+                .digestWindowMinutes(preference.getDigestWindowMinutes())
+                .quietHoursStart(preference.getQuietHoursStart())
+                .quietHoursEnd(preference.getQuietHoursEnd())
+                .timeZone(preference.getTimeZone())
+                .updatedAt(preference.getUpdatedAt())
+                .build();
+    }
+
+    private record CachedPreference(NotificationPreference preference, long loadedAt) {
+    }
+}
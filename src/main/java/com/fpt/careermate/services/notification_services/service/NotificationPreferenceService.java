@@ -0,0 +1,27 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import com.fpt.careermate.services.notification_services.service.dto.request.NotificationPreferenceRequest;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationPreferenceResponse;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface NotificationPreferenceService {
+
+    /**
+     * Get delivery preferences of the authenticated user (defaults if never saved)
+     */
+    NotificationPreferenceResponse getMyPreferences();
+
+    /**
+     * Create or update delivery preferences of the authenticated user
+     */
+    NotificationPreferenceResponse updateMyPreferences(NotificationPreferenceRequest request);
+
+    /**
+     * Preferences of several users for the delivery pipeline; every requested
+     * user is present in the result, with defaults if they never saved any
+     */
+    Map<String, NotificationPreference> getPreferences(Collection<String> userIds);
+}
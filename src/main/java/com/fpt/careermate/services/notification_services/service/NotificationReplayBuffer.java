@@ -0,0 +1,164 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Recent notifications per user, kept so reconnecting SSE clients can resume
+ * from their Last-Event-ID without a database round trip.
+ * Holds the last few notifications of the most recently notified users; older
+ * entries and idle users are evicted, in which case the caller falls back to
+ * the database.
+ * <p>
+ * The buffer is per instance and only sees the events relayed to it, i.e. those
+ * sent while the user had a connection here. Each event carries the user's
+ * sequence number from the {@link SseClusterRelay}: a number that doesn't
+ * follow the previous one means events were missed, and the buffer starts over.
+ * On reconnect the buffer is only used if its last number is still the user's
+ * current one, so nothing was sent while they were away. A user's buffer is kept
+ * for a while after their last connection here closes, which lets a client that
+ * reconnects to the same instance resume from memory.
+ */
+@Component
+public class NotificationReplayBuffer {
+
+    private final int capacityPerUser;
+    private final long retainAfterDisconnectMillis;
+    private final Map<String, UserBuffer> buffers;
+
+    public NotificationReplayBuffer(@Value("${app.sse.replay.buffer-size:32}") int capacityPerUser,
+                                    @Value("${app.sse.replay.max-users:10000}") int maxUsers,
+                                    @Value("${app.sse.replay.retain-after-disconnect-ms:300000}") long retainAfterDisconnectMillis) {
+        this.capacityPerUser = capacityPerUser;
+        this.retainAfterDisconnectMillis = retainAfterDisconnectMillis;
+        // Access-ordered, so the least recently notified user is evicted first
+        this.buffers = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserBuffer> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Remember a notification sent to a user
+     *
+     * @param sequence the user's sequence number of the notification, or null if unknown
+     */
+    public void record(String userId, Long sequence, NotificationResponse notification) {
+        UserBuffer buffer = buffers.computeIfAbsent(userId, k -> new UserBuffer(capacityPerUser));
+        synchronized (buffer) {
+            if (sequence == null || buffer.lastSequence == null || sequence != buffer.lastSequence + 1) {
+                // Events in between never reached this instance
+                buffer.notifications.clear();
+            }
+            buffer.lastSequence = sequence;
+
+            if (notification.getId() == null) {
+                return;
+            }
+            if (buffer.notifications.size() == capacityPerUser) {
+                buffer.notifications.removeFirst();
+            }
+            buffer.notifications.addLast(notification);
+        }
+    }
+
+    /**
+     * The user opened their first connection on this instance
+     */
+    public void connected(String userId) {
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer != null) {
+            synchronized (buffer) {
+                buffer.expiresAt = Long.MAX_VALUE;
+            }
+        }
+    }
+
+    /**
+     * The user's last connection on this instance closed; keep the buffer for a while
+     */
+    public void disconnected(String userId) {
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer != null) {
+            synchronized (buffer) {
+                buffer.expiresAt = System.currentTimeMillis() + retainAfterDisconnectMillis;
+            }
+        }
+    }
+
+    /**
+     * Drop a user's buffer right away
+     */
+    public void forget(String userId) {
+        buffers.remove(userId);
+    }
+
+    /**
+     * Notifications newer than the given ID, if the buffer still reaches back that far
+     * and has seen every notification up to the user's current sequence.
+     *
+     * @param currentSequence the user's latest sequence number from the relay, or null if unknown
+     * @return the missed notifications in ID order (possibly empty), or empty
+     *         Optional if the buffer can't cover the gap
+     */
+    public Optional<List<NotificationResponse>> since(String userId, long lastEventId, Long currentSequence) {
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        synchronized (buffer) {
+            if (buffer.isExpired(System.currentTimeMillis())
+                    || currentSequence == null || !Objects.equals(buffer.lastSequence, currentSequence)) {
+                return Optional.empty();
+            }
+            if (buffer.notifications.isEmpty() || buffer.notifications.peekFirst().getId() > lastEventId) {
+                return Optional.empty();
+            }
+            return Optional.of(buffer.notifications.stream()
+                    .filter(notification -> notification.getId() > lastEventId)
+                    .sorted(Comparator.comparing(NotificationResponse::getId))
+                    .toList());
+        }
+    }
+
+    /**
+     * Drop buffers of users who didn't come back in time
+     */
+    @Scheduled(fixedDelayString = "${app.sse.replay.cleanup-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (buffers) {
+            buffers.values().removeIf(buffer -> buffer.isExpired(now));
+        }
+    }
+
+    private static final class UserBuffer {
+
+        final Deque<NotificationResponse> notifications;
+        Long lastSequence;
+        // Long.MAX_VALUE while the user is connected here
+        long expiresAt = Long.MAX_VALUE;
+
+        UserBuffer(int capacity) {
+            this.notifications = new ArrayDeque<>(capacity);
+        }
+
+        synchronized boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.fpt.careermate.services.notification_services.service;
 
+import com.fpt.careermate.common.constant.BroadcastAudience;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import com.fpt.careermate.services.notification_services.repository.BroadcastNotificationRepo;
+import com.fpt.careermate.services.notification_services.repository.BroadcastReceiptRepo;
 import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -25,6 +29,9 @@ public class NotificationSchedulerService {
 
     NotificationProducer notificationProducer;
     NotificationRepo notificationRepo;
+    BroadcastNotificationRepo broadcastNotificationRepo;
+    BroadcastReceiptRepo broadcastReceiptRepo;
+    NotificationPartitionService notificationPartitionService;
 
     private static final List<String> DAILY_TIPS = Arrays.asList(
             "💡 Tip: Update your profile regularly to attract more recruiters!",
@@ -37,8 +44,10 @@ public class NotificationSchedulerService {
             "🌟 A complete profile gets 5x more views from recruiters!");
 
     /**
-     * Send daily reminder to all active candidates
+     * Send daily reminder to all candidates
      * Runs every day at 9:00 AM
+     * Published as one broadcast event: stored once, pushed via the candidate FCM
+     * topic and fanned out to connected SSE clients in memory
      */
     @Scheduled(cron = "0 0 9 * * *") // 9:00 AM every day
     public void sendDailyReminders() {
@@ -48,37 +57,18 @@ public class NotificationSchedulerService {
             // Get random tip for the day
             String dailyTip = DAILY_TIPS.get(new Random().nextInt(DAILY_TIPS.size()));
 
-            // In production, fetch active candidate IDs from database
-            // For now, send to a test candidate
-            List<String> candidateIds = getActiveCandidateIds();
-
-            for (String candidateId : candidateIds) {
-                sendDailyReminderToCandidate(candidateId, dailyTip);
-            }
-
-            log.info("✅ Daily reminder job completed. Sent to {} candidates", candidateIds.size());
-
-        } catch (Exception e) {
-            log.error("❌ Error in daily reminder job", e);
-        }
-    }
-
-    /**
-     * Send daily reminder to a specific candidate
-     */
-    private void sendDailyReminderToCandidate(String candidateId, String tip) {
-        try {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("reminderType", "daily");
             metadata.put("timestamp", LocalDateTime.now().toString());
-            metadata.put("tip", tip);
+            metadata.put("tip", dailyTip);
 
             String formattedDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy"));
 
             NotificationEvent event = NotificationEvent.builder()
+                    // One reminder per day, even if several instances run this job
+                    .eventId("daily-reminder-" + LocalDate.now())
                     .eventType("DAILY_REMINDER")
-                    .recipientId(candidateId)
-                    .recipientEmail(candidateId + "@example.com") // Fetch real email from DB
+                    .audience(BroadcastAudience.CANDIDATE.name())
                     .title("Daily Career Reminder")
                     .subject("Your Daily Career Tip - " + formattedDate)
                     .message(String.format(
@@ -91,46 +81,29 @@ public class NotificationSchedulerService {
                                     "• Review messages from recruiters\n\n" +
                                     "Best of luck!\n" +
                                     "CareerMate Team",
-                            tip))
+                            dailyTip))
                     .category("DAILY_REMINDER")
                     .metadata(metadata)
                     .priority(3) // Low priority
                     .build();
 
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.debug("✅ Daily reminder sent to candidate: {}", candidateId);
+            notificationProducer.sendBroadcastNotification(event);
+            log.info("✅ Daily reminder job completed. Broadcast {} published", event.getEventId());
 
         } catch (Exception e) {
-            log.error("❌ Failed to send daily reminder to candidate: {}", candidateId, e);
+            log.error("❌ Error in daily reminder job", e);
         }
     }
 
     /**
      * Send weekly announcement to all candidates
      * Runs every Monday at 10:00 AM
+     * Published as one broadcast event, like the daily reminder
      */
     @Scheduled(cron = "0 0 10 * * MON") // 10:00 AM every Monday
     public void sendWeeklyAnnouncement() {
         log.info("📢 Starting weekly announcement job at {}", LocalDateTime.now());
 
-        try {
-            List<String> candidateIds = getActiveCandidateIds();
-
-            for (String candidateId : candidateIds) {
-                sendWeeklyAnnouncementToCandidate(candidateId);
-            }
-
-            log.info("✅ Weekly announcement job completed. Sent to {} candidates", candidateIds.size());
-
-        } catch (Exception e) {
-            log.error("❌ Error in weekly announcement job", e);
-        }
-    }
-
-    /**
-     * Send weekly announcement to a specific candidate
-     */
-    private void sendWeeklyAnnouncementToCandidate(String candidateId) {
         try {
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("announcementType", "weekly");
@@ -139,9 +112,10 @@ public class NotificationSchedulerService {
             String weekNumber = LocalDateTime.now().format(DateTimeFormatter.ofPattern("w"));
 
             NotificationEvent event = NotificationEvent.builder()
+                    // One announcement per week, even if several instances run this job
+                    .eventId("weekly-announcement-" + LocalDate.now().format(DateTimeFormatter.ofPattern("YYYY-'W'ww")))
                     .eventType("ANNOUNCEMENT")
-                    .recipientId(candidateId)
-                    .recipientEmail(candidateId + "@example.com") // Fetch real email from DB
+                    .audience(BroadcastAudience.CANDIDATE.name())
                     .title("Weekly Career Update")
                     .subject("This Week's Job Market Insights - Week " + weekNumber)
                     .message(
@@ -169,11 +143,11 @@ public class NotificationSchedulerService {
                     .priority(2) // Medium priority
                     .build();
 
-            notificationProducer.sendNotification("candidate-notifications", event);
-            log.debug("✅ Weekly announcement sent to candidate: {}", candidateId);
+            notificationProducer.sendBroadcastNotification(event);
+            log.info("✅ Weekly announcement job completed. Broadcast {} published", event.getEventId());
 
         } catch (Exception e) {
-            log.error("❌ Failed to send weekly announcement to candidate: {}", candidateId, e);
+            log.error("❌ Error in weekly announcement job", e);
         }
     }
 
@@ -255,29 +229,27 @@ public class NotificationSchedulerService {
         log.info("🧹 Starting notification cleanup job at {}", LocalDateTime.now());
 
         try {
-            // Delete notifications older than 30 days that have been read
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-            int deletedCount = notificationRepo.deleteOldReadNotifications(cutoffDate);
+            // Partitioned storage retires whole months instead (NotificationPartitionService)
+            int deletedCount = 0;
+            if (!notificationPartitionService.isPartitioned()) {
+                // Delete notifications older than 30 days that have been read
+                LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
+                deletedCount = notificationRepo.deleteOldReadNotifications(cutoffDate);
+            }
+
+            // Broadcasts expire after their visibility window, read or not
+            LocalDateTime broadcastCutoff = LocalDateTime.now().minusDays(BroadcastNotificationService.VISIBILITY_DAYS);
+            broadcastReceiptRepo.deleteForBroadcastsOlderThan(broadcastCutoff);
+            int deletedBroadcasts = broadcastNotificationRepo.deleteOlderThan(broadcastCutoff);
 
-            log.info("✅ Cleanup job completed. Deleted {} old notifications", deletedCount);
+            log.info("✅ Cleanup job completed. Deleted {} old notifications and {} expired broadcasts",
+                    deletedCount, deletedBroadcasts);
 
         } catch (Exception e) {
             log.error("❌ Error in cleanup job", e);
         }
     }
 
-    /**
-     * Get active candidate IDs from database
-     * In production, this should query the candidate table
-     */
-    private List<String> getActiveCandidateIds() {
-        // TODO: Implement actual database query
-        // return candidateRepo.findAllActiveIds();
-
-        // For testing, return sample IDs
-        return Arrays.asList("candidate1", "candidate2", "candidate3");
-    }
-
     /**
      * Get candidates with upcoming deadlines
      * In production, this should query applications with deadlines in next 3 days
@@ -1,22 +1,45 @@
 package com.fpt.careermate.services.notification_services.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
+import com.fpt.careermate.services.notification_services.service.SseClusterRelay.SseClusterMessage;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import com.fpt.careermate.services.notification_services.service.mapper.NotificationMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Service to manage Server-Sent Events (SSE) connections for real-time
  * notifications.
  * Maintains active connections per user and broadcasts notifications to
- * connected clients.
+ * connected clients. Outgoing events go through the {@link SseClusterRelay} so
+ * they reach the user on whichever instance holds the connection.
+ *
+ * Writes never happen on the caller's thread: each event is rendered once and
+ * queued on every target connection, whose bounded queue is drained by a
+ * virtual-thread writer. Connections whose queue fills up or whose write stalls
+ * are dropped, and a single timer sends keepalives to all connections.
  */
 @Service
 @Slf4j
@@ -24,13 +47,54 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class NotificationSseService {
 
     private final ObjectMapper objectMapper;
+    private final SseClusterRelay clusterRelay;
+    private final NotificationReplayBuffer replayBuffer;
+    private final NotificationRepo notificationRepo;
+    private final NotificationMapper notificationMapper;
 
     // Store multiple SSE connections per user (user can have multiple tabs/devices)
-    private final Map<String, CopyOnWriteArrayList<SseEmitter>> userConnections = new ConcurrentHashMap<>();
+    private final Map<String, CopyOnWriteArrayList<SseConnection>> userConnections = new ConcurrentHashMap<>();
+
+    // Broadcast audiences of connected users, used to fan out broadcasts in memory
+    private final Map<String, Set<BroadcastAudience>> userAudiences = new ConcurrentHashMap<>();
+
+    // Drains connection queues; one short-lived virtual thread per busy connection
+    private final ExecutorService writer = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-writer-", 0).factory());
+
+    // Pre-serialized JSON is written as UTF-8 text, like the SSE field names around it
+    private static final MediaType EVENT_DATA_TYPE = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    // Keepalive frame is identical for every connection, so render it once
+    private final Set<DataWithMediaType> keepaliveFrame = Collections.unmodifiableSet(
+            SseEmitter.event().name("keepalive").data("ping", EVENT_DATA_TYPE).build());
 
     // SSE timeout: 30 minutes (1800000ms)
     private static final long SSE_TIMEOUT = 30 * 60 * 1000L;
 
+    // Frames a connection may have pending before it counts as a slow consumer
+    @Value("${app.sse.queue-capacity:64}")
+    private int queueCapacity;
+
+    // A single write blocked longer than this marks the connection as stalled
+    @Value("${app.sse.write-timeout-ms:15000}")
+    private long writeTimeoutMillis;
+
+    // Most notifications replayed to a reconnecting client; the rest come from the REST list
+    @Value("${app.sse.replay.max-events:50}")
+    private int maxReplayEvents;
+
+    @PostConstruct
+    void subscribeToCluster() {
+        clusterRelay.subscribe(this::deliverLocally);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        userConnections.values().forEach(connections -> connections.forEach(SseConnection::close));
+        writer.shutdownNow();
+    }
+
     /**
      * Create a new SSE connection for a user.
      *
@@ -38,43 +102,66 @@ public class NotificationSseService {
      * @return SseEmitter for the connection
      */
     public SseEmitter createConnection(String userId) {
+        return createConnection(userId, null);
+    }
+
+    /**
+     * Create a new SSE connection for a user, replaying notifications sent
+     * after the client's last received event.
+     *
+     * @param userId      The user ID
+     * @param lastEventId Value of the Last-Event-ID header, or null for a fresh stream
+     * @return SseEmitter for the connection
+     */
+    public SseEmitter createConnection(String userId, String lastEventId) {
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
+        SseConnection connection = new SseConnection(userId, emitter, queueCapacity, writer,
+                this::removeConnection);
+
+        // Send initial connection event
+        Set<DataWithMediaType> connected = render("connected", null, Map.of(
+                "message", "Connected to notification stream",
+                "userId", userId,
+                "timestamp", System.currentTimeMillis()));
+        if (connected != null) {
+            connection.enqueue(connected);
+        }
 
         // Add connection to user's connection list
-        userConnections.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.computeIfAbsent(userId, k -> {
+            // A buffer kept from an earlier connection is only used if no events were sent in between
+            replayBuffer.connected(userId);
+            clusterRelay.userConnected(userId);
+            return new CopyOnWriteArrayList<>();
+        });
+        connections.add(connection);
 
         log.info("📡 SSE connection established | userId: {} | totalConnections: {}",
-                userId, userConnections.get(userId).size());
+                userId, connections.size());
 
         // Handle completion (client closes connection normally)
         emitter.onCompletion(() -> {
-            removeConnection(userId, emitter);
+            removeConnection(connection);
             log.info("✅ SSE connection completed | userId: {}", userId);
         });
 
         // Handle timeout (connection idle for too long)
         emitter.onTimeout(() -> {
-            removeConnection(userId, emitter);
+            removeConnection(connection);
             log.warn("⏱️ SSE connection timeout | userId: {}", userId);
         });
 
         // Handle errors (network issues, client disconnect)
         emitter.onError((error) -> {
-            removeConnection(userId, emitter);
+            removeConnection(connection);
             log.error("❌ SSE connection error | userId: {} | error: {}", userId, error.getMessage());
         });
 
-        // Send initial connection event
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("connected")
-                    .data(Map.of(
-                            "message", "Connected to notification stream",
-                            "userId", userId,
-                            "timestamp", System.currentTimeMillis())));
-        } catch (IOException e) {
-            log.error("❌ Failed to send initial SSE event | userId: {}", userId, e);
-            removeConnection(userId, emitter);
+        // Replay after registering, so nothing sent in between is lost;
+        // a live event may arrive before a replayed one, and the id identifies duplicates
+        Long lastSeenId = parseEventId(lastEventId);
+        if (lastSeenId != null) {
+            replayMissed(connection, lastSeenId);
         }
 
         return emitter;
@@ -88,32 +175,80 @@ public class NotificationSseService {
      * @param notification The notification to send
      */
     public void sendNotification(String userId, NotificationResponse notification) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        clusterRelay.publishToUser(SseClusterMessage.notification(userId, notification));
+    }
+
+    /**
+     * Queue a notification on this instance's connections for the user.
+     */
+    private void sendLocalNotification(String userId, Long sequence, NotificationResponse notification) {
+        List<SseConnection> connections = userConnections.get(userId);
 
         if (connections == null || connections.isEmpty()) {
             log.debug("⚠️ No active SSE connections for user: {}", userId);
             return;
         }
+        // Recorded on the instance(s) holding the user's connections, while they hold them
+        replayBuffer.record(userId, sequence, notification);
+
+        Set<DataWithMediaType> frame = render("notification", eventId(notification), notification);
+        if (frame == null) {
+            return;
+        }
 
         log.info("📨 Broadcasting SSE notification | userId: {} | connections: {} | eventType: {}",
                 userId, connections.size(), notification.getEventType());
 
-        // Send to all user's connections
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("notification")
-                        .data(notification));
+        // Queue on all user's connections
+        connections.forEach(connection -> enqueue(connection, frame));
+    }
 
-                log.debug("✅ SSE notification sent | userId: {} | notificationId: {}",
-                        userId, notification.getId());
+    /**
+     * Record which broadcast audiences a connecting user belongs to.
+     * Users without registered audiences only receive ALL broadcasts.
+     *
+     * @param userId    The user ID
+     * @param audiences Audiences resolved from the user's roles
+     */
+    public void registerAudiences(String userId, Set<BroadcastAudience> audiences) {
+        userAudiences.put(userId, audiences);
+    }
 
-            } catch (IOException e) {
-                log.error("❌ Failed to send SSE notification | userId: {} | notificationId: {} | error: {}",
-                        userId, notification.getId(), e.getMessage());
-                removeConnection(userId, emitter);
+    /**
+     * Send a broadcast to every connected user in the audience.
+     * Every instance fans out over its own connection map; nothing is stored per user.
+     *
+     * @param audience     The broadcast audience
+     * @param notification The broadcast to send (recipientId is left empty)
+     */
+    public void sendBroadcast(BroadcastAudience audience, NotificationResponse notification) {
+        clusterRelay.publishBroadcast(SseClusterMessage.broadcast(audience, notification));
+    }
+
+    /**
+     * Queue a broadcast on this instance's connections in the audience.
+     */
+    private void sendLocalBroadcast(BroadcastAudience audience, NotificationResponse notification) {
+        // No event id: broadcasts aren't replayed, and leaving it unset keeps the
+        // client's Last-Event-ID pointing at its last personal notification
+        Set<DataWithMediaType> frame = render("notification", null, notification);
+        if (frame == null) {
+            return;
+        }
+
+        int recipients = 0;
+        for (Map.Entry<String, CopyOnWriteArrayList<SseConnection>> entry : userConnections.entrySet()) {
+            if (audience != BroadcastAudience.ALL
+                    && !userAudiences.getOrDefault(entry.getKey(), Set.of()).contains(audience)) {
+                continue;
             }
-        });
+
+            recipients++;
+            entry.getValue().forEach(connection -> enqueue(connection, frame));
+        }
+
+        log.info("📢 SSE broadcast sent | audience: {} | users: {} | eventType: {}",
+                audience, recipients, notification.getEventType());
     }
 
     /**
@@ -123,68 +258,179 @@ public class NotificationSseService {
      * @param unreadCount The number of unread notifications
      */
     public void sendUnreadCount(String userId, int unreadCount) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        clusterRelay.publishToUser(SseClusterMessage.unreadCount(userId, unreadCount));
+    }
+
+    private void sendLocalUnreadCount(String userId, int unreadCount) {
+        List<SseConnection> connections = userConnections.get(userId);
 
         if (connections == null || connections.isEmpty()) {
             return;
         }
 
+        Set<DataWithMediaType> frame = render("unread-count", null, Map.of("count", unreadCount));
+        if (frame == null) {
+            return;
+        }
+
         log.info("🔔 Broadcasting unread count | userId: {} | count: {}", userId, unreadCount);
 
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("unread-count")
-                        .data(Map.of("count", unreadCount)));
-            } catch (IOException e) {
-                log.error("❌ Failed to send unread count | userId: {}", userId);
-                removeConnection(userId, emitter);
-            }
-        });
+        connections.forEach(connection -> enqueue(connection, frame));
+    }
+
+    /**
+     * Handle a message routed to this instance by the cluster relay.
+     */
+    private void deliverLocally(SseClusterMessage message) {
+        switch (message.type()) {
+            case NOTIFICATION -> sendLocalNotification(message.userId(), message.sequence(), message.notification());
+            case UNREAD_COUNT -> sendLocalUnreadCount(message.userId(), message.unreadCount());
+            case BROADCAST -> sendLocalBroadcast(message.audience(), message.notification());
+        }
     }
 
     /**
      * Send a keepalive ping to maintain connection.
-     * Called periodically to prevent connection timeout.
      *
      * @param userId The user ID
      */
     public void sendKeepalive(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        List<SseConnection> connections = userConnections.get(userId);
 
         if (connections == null || connections.isEmpty()) {
             return;
         }
 
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("keepalive")
-                        .data("ping"));
-            } catch (IOException e) {
-                removeConnection(userId, emitter);
+        connections.forEach(connection -> enqueue(connection, keepaliveFrame));
+    }
+
+    /**
+     * Send keepalives to every connection on this instance and drop stalled ones.
+     * One timer covers all connections, so idle streams survive proxies that
+     * close quiet connections.
+     */
+    @Scheduled(fixedDelayString = "${app.sse.keepalive-interval-ms:25000}")
+    public void sendKeepalives() {
+        long now = System.currentTimeMillis();
+        int stalled = 0;
+
+        for (CopyOnWriteArrayList<SseConnection> connections : userConnections.values()) {
+            for (SseConnection connection : connections) {
+                if (connection.isStalled(now, writeTimeoutMillis)) {
+                    stalled++;
+                    removeConnection(connection);
+                } else {
+                    enqueue(connection, keepaliveFrame);
+                }
             }
-        });
+        }
+
+        if (stalled > 0) {
+            log.warn("🐢 Dropped {} stalled SSE connection(s)", stalled);
+        }
+    }
+
+    /**
+     * Queue a frame, dropping the connection if the client can't keep up
+     */
+    private void enqueue(SseConnection connection, Set<DataWithMediaType> frame) {
+        if (!connection.enqueue(frame) && !connection.isClosed()) {
+            log.warn("🐢 SSE queue full, dropping slow connection | userId: {}", connection.getUserId());
+            removeConnection(connection);
+        }
+    }
+
+    /**
+     * Queue the notifications a reconnecting client missed.
+     * Served from the in-memory replay buffer when it reaches back to the
+     * client's last event, otherwise from an indexed database range query.
+     * The buffer only counts if it saw every notification up to the user's
+     * current sequence, so a client that was away while events went to another
+     * instance (or to nobody) reads the database.
+     */
+    private void replayMissed(SseConnection connection, long lastSeenId) {
+        String userId = connection.getUserId();
+        List<NotificationResponse> missed = replayBuffer
+                .since(userId, lastSeenId, clusterRelay.currentSequence(userId))
+                .orElseGet(() -> notificationRepo.findByRecipientIdAndIdGreaterThanOrderByIdAsc(
+                                userId, lastSeenId, PageRequest.of(0, maxReplayEvents))
+                        .stream()
+                        .map(notificationMapper::toResponse)
+                        .toList());
+
+        int replayed = 0;
+        for (NotificationResponse notification : missed) {
+            if (replayed == maxReplayEvents) {
+                break;
+            }
+            Set<DataWithMediaType> frame = render("notification", eventId(notification), notification);
+            if (frame == null || !connection.enqueue(frame)) {
+                break;
+            }
+            replayed++;
+        }
+
+        if (replayed > 0) {
+            log.info("⏪ Replayed {} missed notification(s) | userId: {} | lastEventId: {}",
+                    replayed, userId, lastSeenId);
+        }
+    }
+
+    private static String eventId(NotificationResponse notification) {
+        return notification.getId() != null ? notification.getId().toString() : null;
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
+
+    /**
+     * Render an SSE event once; the result is shared by every connection it is queued on.
+     *
+     * @param eventId SSE id field, or null to leave the client's last event id unchanged
+     * @return the frame, or null if the payload can't be serialized
+     */
+    private Set<DataWithMediaType> render(String eventName, String eventId, Object payload) {
+        try {
+            String data = objectMapper.writeValueAsString(payload);
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName);
+            if (eventId != null) {
+                event.id(eventId);
+            }
+            return Collections.unmodifiableSet(event.data(data, EVENT_DATA_TYPE).build());
+        } catch (JsonProcessingException e) {
+            log.error("❌ Failed to serialize SSE event: {} | error: {}", eventName, e.getMessage());
+            return null;
+        }
     }
 
     /**
      * Remove a specific SSE connection for a user.
      *
-     * @param userId  The user ID
-     * @param emitter The emitter to remove
+     * @param connection The connection to remove
      */
-    private void removeConnection(String userId, SseEmitter emitter) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
-        if (connections != null) {
-            connections.remove(emitter);
-            if (connections.isEmpty()) {
-                userConnections.remove(userId);
+    private void removeConnection(SseConnection connection) {
+        String userId = connection.getUserId();
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.get(userId);
+        if (connections != null && connections.remove(connection)) {
+            if (connections.isEmpty() && userConnections.remove(userId, connections)) {
+                userAudiences.remove(userId);
+                replayBuffer.disconnected(userId);
+                clusterRelay.userDisconnected(userId);
                 log.info("🔌 All SSE connections closed for user: {}", userId);
             } else {
                 log.info("🔌 SSE connection removed | userId: {} | remaining: {}", userId, connections.size());
             }
         }
-        emitter.complete();
+        connection.close();
     }
 
     /**
@@ -193,9 +439,12 @@ public class NotificationSseService {
      * @param userId The user ID
      */
     public void removeAllConnections(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.remove(userId);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.remove(userId);
+        userAudiences.remove(userId);
+        replayBuffer.forget(userId);
         if (connections != null) {
-            connections.forEach(SseEmitter::complete);
+            clusterRelay.userDisconnected(userId);
+            connections.forEach(SseConnection::close);
             log.info("🔌 All SSE connections removed for user: {} | count: {}", userId, connections.size());
         }
     }
@@ -207,7 +456,7 @@ public class NotificationSseService {
      * @return Number of active connections
      */
     public int getConnectionCount(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.get(userId);
         return connections != null ? connections.size() : 0;
     }
 
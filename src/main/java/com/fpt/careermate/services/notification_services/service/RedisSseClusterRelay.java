@@ -0,0 +1,289 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Multi-instance relay over Redis pub/sub (app.sse.cluster.mode=redis).
+ *
+ * Each instance subscribes to its own node channel plus a shared broadcast
+ * channel. A presence set per user (sse:presence:{userId}) records which
+ * instances hold that user's connections, so a user event is published only to
+ * those instances instead of to every node. Presence keys expire unless the
+ * owning instance refreshes them, and node entries whose channel has no
+ * subscriber left are pruned on publish.
+ *
+ * Notifications are numbered per user with INCR on sse:seq:{userId}, so the
+ * replay buffer of an instance can tell whether it saw all of a user's events.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sse.cluster.mode", havingValue = "redis")
+public class RedisSseClusterRelay implements SseClusterRelay {
+
+    private static final String PRESENCE_KEY_PREFIX = "sse:presence:";
+    private static final String SEQUENCE_KEY_PREFIX = "sse:seq:";
+    private static final String NODE_CHANNEL_PREFIX = "sse:node:";
+    private static final String BROADCAST_CHANNEL = "sse:broadcast";
+    private static final long RESUBSCRIBE_DELAY_MILLIS = 2_000;
+
+    private final ObjectMapper objectMapper;
+    private final JedisPool jedisPool;
+    private final String instanceId;
+    private final long presenceTtlSeconds;
+    private final long sequenceTtlSeconds;
+
+    // Users with at least one SSE connection on this instance
+    private final Set<String> localUsers = ConcurrentHashMap.newKeySet();
+
+    private volatile Consumer<SseClusterMessage> localDelivery = message -> {
+    };
+    private volatile JedisPubSub subscriber;
+    private volatile boolean running = true;
+
+    public RedisSseClusterRelay(ObjectMapper objectMapper,
+                                @Value("${app.sse.cluster.redis-url:${REDIS_URL:redis://localhost:6379}}") String redisUrl,
+                                @Value("${app.sse.cluster.redis-pool-size:16}") int poolSize,
+                                @Value("${app.sse.cluster.presence-ttl-seconds:90}") long presenceTtlSeconds,
+                                @Value("${app.sse.cluster.sequence-ttl-seconds:86400}") long sequenceTtlSeconds) {
+        this.objectMapper = objectMapper;
+        this.presenceTtlSeconds = presenceTtlSeconds;
+        this.sequenceTtlSeconds = sequenceTtlSeconds;
+        this.instanceId = UUID.randomUUID().toString();
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(poolSize);
+        this.jedisPool = new JedisPool(poolConfig, URI.create(redisUrl));
+    }
+
+    @PostConstruct
+    void startSubscriber() {
+        Thread.ofPlatform()
+                .name("sse-cluster-subscriber")
+                .daemon(true)
+                .start(this::runSubscriber);
+        log.info("📡 SSE relay running in redis mode | instanceId: {}", instanceId);
+    }
+
+    @Override
+    public void subscribe(Consumer<SseClusterMessage> localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    @Override
+    public void userConnected(String userId) {
+        localUsers.add(userId);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.sadd(presenceKey(userId), instanceId);
+            pipeline.expire(presenceKey(userId), presenceTtlSeconds);
+            pipeline.sync();
+        } catch (Exception e) {
+            log.error("❌ Failed to register SSE presence | userId: {} | error: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void userDisconnected(String userId) {
+        localUsers.remove(userId);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.srem(presenceKey(userId), instanceId);
+        } catch (Exception e) {
+            log.error("❌ Failed to clear SSE presence | userId: {} | error: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishToUser(SseClusterMessage message) {
+        String userId = message.userId();
+        boolean deliverHere = localUsers.contains(userId);
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Set<String> nodes;
+            if (message.type() == MessageType.NOTIFICATION) {
+                // Numbering and presence lookup in one round trip
+                Pipeline pipeline = jedis.pipelined();
+                Response<Long> sequence = pipeline.incr(sequenceKey(userId));
+                pipeline.expire(sequenceKey(userId), sequenceTtlSeconds);
+                Response<Set<String>> members = pipeline.smembers(presenceKey(userId));
+                pipeline.sync();
+                message = message.withSequence(sequence.get());
+                nodes = new HashSet<>(members.get());
+            } else {
+                nodes = new HashSet<>(jedis.smembers(presenceKey(userId)));
+            }
+
+            // Connections on this instance don't go through pub/sub
+            if (deliverHere) {
+                deliverHere = false;
+                localDelivery.accept(message);
+            }
+
+            nodes.remove(instanceId);
+            if (nodes.isEmpty()) {
+                return;
+            }
+
+            String payload = serialize(message);
+            for (String node : nodes) {
+                long receivers = jedis.publish(NODE_CHANNEL_PREFIX + node, payload);
+                if (receivers == 0) {
+                    // Instance is gone without cleaning up its presence entry
+                    jedis.srem(presenceKey(userId), node);
+                    log.debug("🧹 Pruned stale SSE presence | userId: {} | node: {}", userId, node);
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to relay SSE event | userId: {} | type: {} | error: {}",
+                    userId, message.type(), e.getMessage());
+            if (deliverHere) {
+                // Unnumbered, so the replay buffer here starts over instead of trusting a gap
+                localDelivery.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public Long currentSequence(String userId) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            String sequence = jedis.get(sequenceKey(userId));
+            return sequence != null ? Long.valueOf(sequence) : null;
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to read SSE sequence | userId: {} | error: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void publishBroadcast(SseClusterMessage message) {
+        localDelivery.accept(message);
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.publish(BROADCAST_CHANNEL, serialize(message));
+        } catch (Exception e) {
+            log.error("❌ Failed to relay SSE broadcast | audience: {} | error: {}",
+                    message.audience(), e.getMessage());
+        }
+    }
+
+    /**
+     * Keep this instance's presence entries alive while users stay connected
+     */
+    @Scheduled(fixedDelayString = "${app.sse.cluster.presence-refresh-ms:30000}")
+    public void refreshPresence() {
+        if (localUsers.isEmpty()) {
+            return;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (String userId : localUsers) {
+                pipeline.sadd(presenceKey(userId), instanceId);
+                pipeline.expire(presenceKey(userId), presenceTtlSeconds);
+            }
+            pipeline.sync();
+        } catch (Exception e) {
+            log.error("❌ Failed to refresh SSE presence for {} user(s): {}", localUsers.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        JedisPubSub current = subscriber;
+        if (current != null && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            for (String userId : localUsers) {
+                pipeline.srem(presenceKey(userId), instanceId);
+            }
+            pipeline.sync();
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to clear SSE presence on shutdown: {}", e.getMessage());
+        }
+        jedisPool.close();
+    }
+
+    /**
+     * Blocking subscribe loop; reconnects after Redis failures until shutdown
+     */
+    private void runSubscriber() {
+        while (running) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                subscriber = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String channel, String payload) {
+                        handleMessage(channel, payload);
+                    }
+                };
+                jedis.subscribe(subscriber, NODE_CHANNEL_PREFIX + instanceId, BROADCAST_CHANNEL);
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("❌ SSE relay subscription lost, retrying in {}ms: {}",
+                        RESUBSCRIBE_DELAY_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RESUBSCRIBE_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void handleMessage(String channel, String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            // Broadcasts were already delivered locally by the publishing instance
+            if (instanceId.equals(envelope.origin())) {
+                return;
+            }
+            SseClusterMessage message = envelope.message();
+            if (message.userId() != null && !localUsers.contains(message.userId())) {
+                return;
+            }
+            localDelivery.accept(message);
+        } catch (Exception e) {
+            log.error("❌ Failed to handle relayed SSE event | channel: {} | error: {}", channel, e.getMessage());
+        }
+    }
+
+    private String serialize(SseClusterMessage message) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new Envelope(instanceId, message));
+    }
+
+    private static String presenceKey(String userId) {
+        return PRESENCE_KEY_PREFIX + userId;
+    }
+
+    private static String sequenceKey(String userId) {
+        return SEQUENCE_KEY_PREFIX + userId;
+    }
+
+    record Envelope(String origin, SseClusterMessage message) {
+    }
+}
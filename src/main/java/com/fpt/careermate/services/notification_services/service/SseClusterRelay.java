@@ -0,0 +1,78 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Routes SSE events to the instance(s) holding the recipient's connections.
+ * Kafka consumers may run on any instance, so events are published through the
+ * relay and handed back to {@link NotificationSseService} on the instance(s)
+ * where the user is actually connected.
+ */
+public interface SseClusterRelay {
+
+    /**
+     * Register the handler that writes messages to local SSE connections.
+     */
+    void subscribe(Consumer<SseClusterMessage> localDelivery);
+
+    /**
+     * Called when a user opens their first SSE connection on this instance.
+     */
+    void userConnected(String userId);
+
+    /**
+     * Called when a user's last SSE connection on this instance is closed.
+     */
+    void userDisconnected(String userId);
+
+    /**
+     * Deliver a message to every instance where the message's user is connected.
+     * Notifications are stamped with the user's next sequence number first.
+     */
+    void publishToUser(SseClusterMessage message);
+
+    /**
+     * Sequence number of the last notification published to the user, or null if
+     * unknown. Numbers go up by one per notification, so a receiver that saw every
+     * number up to this one has missed nothing.
+     */
+    Long currentSequence(String userId);
+
+    /**
+     * Deliver an audience-wide broadcast to every instance.
+     */
+    void publishBroadcast(SseClusterMessage message);
+
+    enum MessageType {
+        NOTIFICATION,
+        UNREAD_COUNT,
+        BROADCAST
+    }
+
+    record SseClusterMessage(MessageType type,
+                             String userId,
+                             BroadcastAudience audience,
+                             NotificationResponse notification,
+                             Integer unreadCount,
+                             Long sequence) {
+
+        public static SseClusterMessage notification(String userId, NotificationResponse notification) {
+            return new SseClusterMessage(MessageType.NOTIFICATION, userId, null, notification, null, null);
+        }
+
+        public static SseClusterMessage unreadCount(String userId, int unreadCount) {
+            return new SseClusterMessage(MessageType.UNREAD_COUNT, userId, null, null, unreadCount, null);
+        }
+
+        public static SseClusterMessage broadcast(BroadcastAudience audience, NotificationResponse notification) {
+            return new SseClusterMessage(MessageType.BROADCAST, null, audience, notification, null, null);
+        }
+
+        public SseClusterMessage withSequence(Long sequence) {
+            return new SseClusterMessage(type, userId, audience, notification, unreadCount, sequence);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One SSE stream with its own bounded outbound queue.
+ * Callers only enqueue pre-rendered frames; a single drain task at a time
+ * writes them to the emitter on the shared writer executor, so a slow client
+ * never blocks the thread that produced the event.
+ */
+@Slf4j
+final class SseConnection {
+
+    @Getter
+    private final String userId;
+    @Getter
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+    private final Executor writer;
+    private final Consumer<SseConnection> onWriteFailure;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // Start of the write currently in progress, 0 while idle
+    private volatile long writeStartedAt;
+    private volatile boolean closed;
+
+    SseConnection(String userId, SseEmitter emitter, int queueCapacity, Executor writer,
+                  Consumer<SseConnection> onWriteFailure) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = writer;
+        this.onWriteFailure = onWriteFailure;
+    }
+
+    /**
+     * Queue a frame for this connection.
+     *
+     * @return false if the connection is closed or its queue is full (slow consumer)
+     */
+    boolean enqueue(Set<DataWithMediaType> frame) {
+        if (closed || !queue.offer(frame)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Whether a single write has been blocked for longer than the given timeout
+     */
+    boolean isStalled(long now, long writeTimeoutMillis) {
+        long startedAt = writeStartedAt;
+        return startedAt != 0 && now - startedAt > writeTimeoutMillis;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Drop pending frames and complete the underlying emitter
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        try {
+            emitter.complete();
+        } catch (Exception e) {
+            log.debug("SSE emitter already completed | userId: {}", userId);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> frame;
+            while (!closed && (frame = queue.poll()) != null) {
+                writeStartedAt = System.currentTimeMillis();
+                emitter.send(frame);
+                writeStartedAt = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            writeStartedAt = 0;
+            log.debug("❌ SSE write failed | userId: {} | error: {}", userId, e.getMessage());
+            onWriteFailure.accept(this);
+        } finally {
+            draining.set(false);
+        }
+
+        // A frame may have been queued after the last poll but before the flag was cleared
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
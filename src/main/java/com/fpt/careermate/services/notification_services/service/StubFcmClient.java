@@ -0,0 +1,80 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local FCM stand-in for offline runs and benchmarks (app.fcm.stub.enabled=true).
+ * Each multicast costs one simulated round trip of app.fcm.stub.latency-ms;
+ * tokens starting with "invalid" fail as UNREGISTERED so deactivation can be exercised.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.fcm.stub.enabled", havingValue = "true")
+public class StubFcmClient implements FcmClient {
+
+    private final long latencyMillis;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+
+    public StubFcmClient(@Value("${app.fcm.stub.latency-ms:0}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        log.warn("⚠️ Using stub FCM client - push notifications are NOT delivered");
+    }
+
+    @Override
+    public List<SendOutcome> sendMulticast(PushTemplate template, List<String> tokens) {
+        simulateRoundTrip();
+        requestCount.incrementAndGet();
+        messageCount.addAndGet(tokens.size());
+
+        List<SendOutcome> outcomes = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            boolean invalid = token.startsWith("invalid");
+            outcomes.add(new SendOutcome(token, !invalid, invalid ? "UNREGISTERED" : null));
+        }
+        return outcomes;
+    }
+
+    @Override
+    public String sendToTopic(PushTemplate template, String topic) {
+        simulateRoundTrip();
+        requestCount.incrementAndGet();
+        messageCount.incrementAndGet();
+        return "stub-" + topic + "-" + requestCount.get();
+    }
+
+    @Override
+    public void subscribeToTopic(List<String> tokens, String topic) {
+        log.debug("Stub subscribe | topic: {} | tokens: {}", topic, tokens.size());
+    }
+
+    @Override
+    public void unsubscribeFromTopic(List<String> tokens, String topic) {
+        log.debug("Stub unsubscribe | topic: {} | tokens: {}", topic, tokens.size());
+    }
+
+    private void simulateRoundTrip() {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+}
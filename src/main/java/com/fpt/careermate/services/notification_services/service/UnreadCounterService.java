@@ -0,0 +1,99 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.domain.NotificationUnreadCounter;
+import com.fpt.careermate.services.notification_services.repository.NotificationUnreadCounterRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unread notification counters per user, stored in notification_unread_counters
+ * and shared by all instances. Both the REST unread count and the counts pushed
+ * over SSE are read from them.
+ * <p>
+ * A counter is created from the notifications table the first time a user is
+ * seen, then written through: incremented when notifications are stored,
+ * decremented when one is read or deleted (in the same transaction), and reset
+ * by mark-all-as-read. The consumer stores notifications before it updates the
+ * counters, so a counter created by a read in between counts those rows twice;
+ * counters that changed recently are recounted periodically to correct that.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UnreadCounterService {
+
+    private final NotificationUnreadCounterRepo counterRepo;
+
+    // Counters changed within this window are recounted by the reconciliation
+    @Value("${app.notification.unread.reconcile-window-ms:600000}")
+    private long reconcileWindowMillis;
+
+    /**
+     * Apply newly stored notifications and return the resulting counts
+     *
+     * @param insertedPerRecipient number of notifications just stored per recipient
+     * @return unread count per recipient after the insert
+     */
+    @Transactional
+    public Map<String, Long> recordInserted(Map<String, Long> insertedPerRecipient) {
+        Map<String, Long> result = new HashMap<>();
+        if (insertedPerRecipient.isEmpty()) {
+            return result;
+        }
+
+        counterRepo.addInserted(insertedPerRecipient);
+        for (NotificationUnreadCounter counter : counterRepo.findAllById(insertedPerRecipient.keySet())) {
+            result.put(counter.getRecipientId(), counter.getUnreadCount());
+        }
+        return result;
+    }
+
+    /**
+     * Current unread count of a user; creates the counter on first use
+     */
+    @Transactional
+    public long getUnreadCount(String userId) {
+        return counterRepo.findById(userId)
+                .or(() -> {
+                    counterRepo.initialize(userId);
+                    return counterRepo.findById(userId);
+                })
+                .map(NotificationUnreadCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    /**
+     * One notification was read (or an unread one deleted)
+     */
+    public void decrement(String userId) {
+        counterRepo.decrement(userId);
+    }
+
+    /**
+     * All of the user's notifications were marked as read
+     */
+    public void reset(String userId) {
+        counterRepo.reset(userId);
+    }
+
+    /**
+     * Recount the counters that changed recently
+     */
+    @Scheduled(fixedDelayString = "${app.notification.unread.reconcile-ms:300000}")
+    public void reconcile() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(reconcileWindowMillis));
+        int recounted = counterRepo.recountUpdatedSince(since);
+        if (recounted > 0) {
+            log.debug("🔢 Unread counters reconciled | recounted: {}", recounted);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fpt.careermate.services.notification_services.service.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalTime;
+
+/**
+ * Request DTO for updating notification delivery preferences.
+ * Fields left null keep their current value.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationPreferenceRequest {
+
+    Boolean pushEnabled;
+
+    Boolean emailEnabled;
+
+    /**
+     * Summarize bursts of similar notifications into one digest
+     */
+    Boolean digestEnabled;
+
+    /**
+     * Digest window in minutes (application default until set)
+     */
+    @Min(value = 1, message = "Digest window must be at least 1 minute")
+    @Max(value = 1440, message = "Digest window must be at most 1440 minutes")
+    Integer digestWindowMinutes;
+
+    /**
+     * Start of quiet hours, e.g. "22:00" (set together with quietHoursEnd, or both null;
+     * an equal start and end turns quiet hours off)
+     */
+    LocalTime quietHoursStart;
+
+    /**
+     * End of quiet hours, e.g. "07:00"
+     */
+    LocalTime quietHoursEnd;
+
+    /**
+     * IANA time zone, e.g. "Asia/Ho_Chi_Minh" (optional)
+     */
+    String timeZone;
+}
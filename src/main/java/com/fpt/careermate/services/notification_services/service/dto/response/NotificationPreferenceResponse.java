@@ -0,0 +1,32 @@
+package com.fpt.careermate.services.notification_services.service.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Response DTO for notification delivery preferences
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationPreferenceResponse {
+
+    String userId;
+    Boolean pushEnabled;
+    Boolean emailEnabled;
+    Boolean digestEnabled;
+    Integer digestWindowMinutes;
+    LocalTime quietHoursStart;
+    LocalTime quietHoursEnd;
+    String timeZone;
+    LocalDateTime updatedAt;
+}
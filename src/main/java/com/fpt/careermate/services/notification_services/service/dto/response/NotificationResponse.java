@@ -24,4 +24,5 @@ public class NotificationResponse {
     Boolean isRead;
     LocalDateTime createdAt;
     LocalDateTime readAt;
+    Boolean broadcast; // true for audience-wide broadcasts (read via /broadcasts endpoints)
 }
@@ -1,10 +1,12 @@
 package com.fpt.careermate.services.notification_services.web.rest;
 
+import com.fpt.careermate.common.constant.BroadcastAudience;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.common.response.ApiResponse;
 import com.fpt.careermate.services.notification_services.domain.DeviceToken;
 import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
+import com.fpt.careermate.services.notification_services.service.FcmPushNotificationService;
 import com.fpt.careermate.services.notification_services.service.dto.request.DeviceTokenRequest;
 import com.fpt.careermate.services.notification_services.service.dto.response.DeviceTokenResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,11 +15,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for managing device tokens for push notifications.
@@ -31,6 +35,7 @@ import java.util.List;
 public class DeviceTokenController {
 
     private final DeviceTokenRepo deviceTokenRepo;
+    private final FcmPushNotificationService fcmService;
 
     /**
      * Register a device token for push notifications.
@@ -158,6 +163,9 @@ public class DeviceTokenController {
 
             deviceToken = deviceTokenRepo.save(deviceToken);
 
+            // Broadcasts reach devices through FCM topics for the user's audiences
+            fcmService.subscribeToBroadcastTopics(deviceToken.getToken(), getCurrentAudiences());
+
             DeviceTokenResponse response = mapToResponse(deviceToken);
 
             return ApiResponse.<DeviceTokenResponse>builder()
@@ -197,6 +205,7 @@ public class DeviceTokenController {
         deviceTokenRepo.findByToken(token).ifPresent(deviceToken -> {
             deviceToken.setIsActive(false);
             deviceTokenRepo.save(deviceToken);
+            fcmService.unsubscribeFromBroadcastTopics(deviceToken.getToken());
             log.info("🔕 Unregistered device token | userId: {} | deviceType: {}",
                     deviceToken.getUserId(), deviceToken.getDeviceType());
         });
@@ -281,4 +290,14 @@ public class DeviceTokenController {
         }
         return authentication.getName();
     }
+
+    /**
+     * Broadcast audiences of the current user, from their role authorities
+     */
+    private Set<BroadcastAudience> getCurrentAudiences() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return BroadcastAudience.fromAuthorities(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
 }
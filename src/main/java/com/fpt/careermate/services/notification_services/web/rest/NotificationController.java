@@ -1,12 +1,17 @@
 package com.fpt.careermate.services.notification_services.web.rest;
 
 import com.fpt.careermate.common.response.ApiResponse;
+import com.fpt.careermate.services.notification_services.service.BroadcastNotificationService;
+import com.fpt.careermate.services.notification_services.service.NotificationPreferenceService;
 import com.fpt.careermate.services.notification_services.service.NotificationService;
 import com.fpt.careermate.services.notification_services.service.dto.request.BroadcastNotificationRequest;
+import com.fpt.careermate.services.notification_services.service.dto.request.NotificationPreferenceRequest;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationPreferenceResponse;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -27,6 +32,8 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
         NotificationService notificationService;
+        BroadcastNotificationService broadcastNotificationService;
+        NotificationPreferenceService notificationPreferenceService;
 
         @GetMapping
         @PreAuthorize("isAuthenticated()")
@@ -113,6 +120,42 @@ public class NotificationController {
                                 .build();
         }
 
+        @GetMapping("/broadcasts")
+        @PreAuthorize("isAuthenticated()")
+        @Operation(summary = "Get My Broadcasts", description = "Retrieve announcements and reminders sent to the user's audience (all users or their role), with read state")
+        public ApiResponse<Page<NotificationResponse>> getMyBroadcasts(
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "20") int size) {
+
+                log.info("REST request to get broadcasts | page: {}, size: {}", page, size);
+
+                return ApiResponse.<Page<NotificationResponse>>builder()
+                                .result(broadcastNotificationService.getMyBroadcasts(PageRequest.of(page, size)))
+                                .build();
+        }
+
+        @GetMapping("/broadcasts/unread-count")
+        @PreAuthorize("isAuthenticated()")
+        @Operation(summary = "Get Unread Broadcast Count", description = "Get the count of unread broadcasts for the authenticated user")
+        public ApiResponse<Long> getUnreadBroadcastCount() {
+                log.debug("REST request to get unread broadcast count");
+
+                return ApiResponse.<Long>builder()
+                                .result(broadcastNotificationService.getUnreadBroadcastCount())
+                                .build();
+        }
+
+        @PutMapping("/broadcasts/{broadcastId}/read")
+        @PreAuthorize("isAuthenticated()")
+        @Operation(summary = "Mark Broadcast as Read", description = "Mark a specific broadcast as read for the authenticated user")
+        public ApiResponse<NotificationResponse> markBroadcastAsRead(@PathVariable Long broadcastId) {
+                log.info("REST request to mark broadcast as read: {}", broadcastId);
+
+                return ApiResponse.<NotificationResponse>builder()
+                                .result(broadcastNotificationService.markBroadcastAsRead(broadcastId))
+                                .build();
+        }
+
         @GetMapping("/stats")
         @PreAuthorize("isAuthenticated()")
         @Operation(summary = "Get Notification Statistics", description = "Get notification statistics for the authenticated user")
@@ -124,6 +167,29 @@ public class NotificationController {
                                 .build();
         }
 
+        @GetMapping("/preferences")
+        @PreAuthorize("isAuthenticated()")
+        @Operation(summary = "Get Notification Preferences", description = "Get push/email, digest and quiet hours preferences of the authenticated user")
+        public ApiResponse<NotificationPreferenceResponse> getPreferences() {
+                log.debug("REST request to get notification preferences");
+
+                return ApiResponse.<NotificationPreferenceResponse>builder()
+                                .result(notificationPreferenceService.getMyPreferences())
+                                .build();
+        }
+
+        @PutMapping("/preferences")
+        @PreAuthorize("isAuthenticated()")
+        @Operation(summary = "Update Notification Preferences", description = "Update push/email, digest and quiet hours preferences of the authenticated user")
+        public ApiResponse<NotificationPreferenceResponse> updatePreferences(
+                        @RequestBody @Valid NotificationPreferenceRequest request) {
+                log.info("REST request to update notification preferences");
+
+                return ApiResponse.<NotificationPreferenceResponse>builder()
+                                .result(notificationPreferenceService.updateMyPreferences(request))
+                                .build();
+        }
+
         @PostMapping("/test/{userRole}/{recipientId}")
         @PreAuthorize("hasRole('ADMIN')")
         @Operation(summary = "Send Test Notification", description = "Send a test notification (Admin only)")
@@ -1,5 +1,6 @@
 package com.fpt.careermate.services.notification_services.web.rest;
 
+import com.fpt.careermate.common.constant.BroadcastAudience;
 import com.fpt.careermate.config.CustomJwtDecoder;
 import com.fpt.careermate.services.notification_services.service.NotificationSseService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,17 +11,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for Server-Sent Events (SSE) real-time notification streaming.
@@ -63,8 +69,12 @@ public class NotificationSseController {
      * - Auto-reconnect: Browser handles reconnection automatically
      * - Multiple tabs: Each tab gets its own connection
      * - Authentication: JWT token required as query parameter
+     * - Resume: notification events carry an id; on reconnect, notifications after
+     *   Last-Event-ID (header, or lastEventId query parameter) are replayed
      * 
      * @param token JWT Bearer token (query parameter) - REQUIRED because EventSource cannot send headers
+     * @param lastEventId Last-Event-ID header sent by the browser on automatic reconnect
+     * @param lastEventIdParam Same value as a query parameter, for clients that reconnect manually
      * @param response HttpServletResponse for error handling
      * @return SseEmitter that streams notifications to the client
      * @throws IOException if response writing fails
@@ -92,19 +102,26 @@ public class NotificationSseController {
             - Timeout: 30 minutes
             - Auto-reconnect: Yes (handled by browser)
             - Multiple tabs: Supported (each gets own connection)
+            - Resume: notifications after Last-Event-ID (header or lastEventId query parameter) are replayed
             """)
     public SseEmitter streamNotifications(
             @RequestParam(value = "token", required = false) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
             HttpServletResponse response) throws IOException {
 
         // Try to get userId from SecurityContext first (if authenticated via header)
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userId = null;
+        Set<BroadcastAudience> audiences;
 
         // If authenticated via Spring Security (Authorization header)
         if (authentication != null && authentication.isAuthenticated()
                 && !authentication.getName().equals("anonymousUser")) {
             userId = authentication.getName();
+            audiences = BroadcastAudience.fromAuthorities(authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
             log.info("🔌 SSE connection via Authorization header | userId: {}", userId);
         }
         // If token provided as query parameter (EventSource workaround)
@@ -113,6 +130,9 @@ public class NotificationSseController {
                 // Validate and decode JWT token
                 var jwt = jwtDecoder.decode(token);
                 userId = jwt.getSubject(); // Get userId from token
+                String scope = jwt.getClaimAsString("scope");
+                audiences = BroadcastAudience.fromAuthorities(
+                        scope != null ? Arrays.asList(scope.split(" ")) : List.of());
                 log.info("🔌 SSE connection via query parameter | userId: {}", userId);
             } catch (Exception e) {
                 log.error("❌ Invalid token in SSE connection: {}", e.getMessage());
@@ -137,6 +157,13 @@ public class NotificationSseController {
             return null;
         }
 
+        // Needed to route audience-wide broadcasts to this user's connections
+        sseService.registerAudiences(userId, audiences);
+
+        String resumeFrom = lastEventId != null ? lastEventId : lastEventIdParam;
+        if (resumeFrom != null) {
+            return sseService.createConnection(userId, resumeFrom);
+        }
         return sseService.createConnection(userId);
     }
 }
@@ -0,0 +1,42 @@
+package com.fpt.careermate.services.order_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usage of one entitlement by one candidate or recruiter in one period
+ * (a month such as "2025-01", or "ALL" for lifetime limits).
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@Entity(name = "usage_quota")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_usage_quota_subject_period",
+        columnNames = {"subject_type", "subject_id", "entitlement_code", "period"}))
+public class UsageQuota {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    long id;
+
+    @Column(name = "subject_type", nullable = false, length = 20)
+    String subjectType;
+
+    @Column(name = "subject_id", nullable = false)
+    int subjectId;
+
+    @Column(name = "entitlement_code", nullable = false, length = 50)
+    String entitlementCode;
+
+    @Column(name = "period", nullable = false, length = 10)
+    String period;
+
+    int used;
+
+    LocalDateTime updatedAt;
+}
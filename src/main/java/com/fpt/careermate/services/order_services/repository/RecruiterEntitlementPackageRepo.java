@@ -2,9 +2,16 @@ package com.fpt.careermate.services.order_services.repository;
 
 import com.fpt.careermate.services.order_services.domain.RecruiterEntitlementPackage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RecruiterEntitlementPackageRepo extends JpaRepository<RecruiterEntitlementPackage, Integer> {
     RecruiterEntitlementPackage findByRecruiterPackage_NameAndRecruiterEntitlement_Code(String packageName, String entitlementCode);
+
+    @Query("SELECT rep FROM recruiter_entitlement_package rep " +
+            "JOIN FETCH rep.recruiterPackage JOIN FETCH rep.recruiterEntitlement")
+    List<RecruiterEntitlementPackage> findAllWithPackageAndEntitlement();
 }
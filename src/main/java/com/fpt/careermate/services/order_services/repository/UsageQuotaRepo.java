@@ -0,0 +1,61 @@
+package com.fpt.careermate.services.order_services.repository;
+
+import com.fpt.careermate.services.order_services.domain.UsageQuota;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface UsageQuotaRepo extends JpaRepository<UsageQuota, Long> {
+
+    @Query(value = "SELECT used FROM usage_quota WHERE subject_type = :subjectType AND subject_id = :subjectId " +
+            "AND entitlement_code = :code AND period = :period", nativeQuery = true)
+    Integer findUsed(@Param("subjectType") String subjectType,
+                     @Param("subjectId") int subjectId,
+                     @Param("code") String code,
+                     @Param("period") String period);
+
+    /**
+     * Create the counter with its starting value; no-op if it already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO usage_quota (subject_type, subject_id, entitlement_code, period, used, updated_at) " +
+            "VALUES (:subjectType, :subjectId, :code, :period, :used, now()) " +
+            "ON CONFLICT (subject_type, subject_id, entitlement_code, period) DO NOTHING", nativeQuery = true)
+    int initialize(@Param("subjectType") String subjectType,
+                   @Param("subjectId") int subjectId,
+                   @Param("code") String code,
+                   @Param("period") String period,
+                   @Param("used") int used);
+
+    /**
+     * Increment the counter if it is below the limit.
+     * The row lock taken by the update serializes concurrent consumers.
+     *
+     * @return 1 if consumed, 0 if the limit is reached or the counter does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE usage_quota SET used = used + 1, updated_at = now() " +
+            "WHERE subject_type = :subjectType AND subject_id = :subjectId " +
+            "AND entitlement_code = :code AND period = :period AND used < :limit", nativeQuery = true)
+    int tryConsume(@Param("subjectType") String subjectType,
+                   @Param("subjectId") int subjectId,
+                   @Param("code") String code,
+                   @Param("period") String period,
+                   @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE usage_quota SET used = GREATEST(used - 1, 0), updated_at = now() " +
+            "WHERE subject_type = :subjectType AND subject_id = :subjectId " +
+            "AND entitlement_code = :code AND period = :period", nativeQuery = true)
+    int release(@Param("subjectType") String subjectType,
+                @Param("subjectId") int subjectId,
+                @Param("code") String code,
+                @Param("period") String period);
+}
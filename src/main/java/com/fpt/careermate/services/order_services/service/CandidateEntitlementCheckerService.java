@@ -3,15 +3,17 @@ package com.fpt.careermate.services.order_services.service;
 
 import com.fpt.careermate.common.constant.EntitlementCode;
 import com.fpt.careermate.common.constant.PackageCode;
+import com.fpt.careermate.common.constant.QuotaSubjectType;
 import com.fpt.careermate.common.constant.StatusInvoice;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.common.util.CoachUtil;
 import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
-import com.fpt.careermate.services.order_services.domain.CandidatePackage;
-import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
 import com.fpt.careermate.services.order_services.domain.CandidateInvoice;
-import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
-import com.fpt.careermate.services.order_services.repository.CandidatePackageRepo;
+import com.fpt.careermate.services.order_services.service.EntitlementMatrix.Entitlement;
+import com.fpt.careermate.services.order_services.service.UsageQuotaService.QuotaKey;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -20,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.function.IntSupplier;
 
 /**
  * Service kiểm tra quyền hạn của Candidate khi mua gói dịch vụ
@@ -31,36 +34,33 @@ import java.time.LocalDate;
 @PreAuthorize("hasRole('CANDIDATE')")
 public class CandidateEntitlementCheckerService {
 
-    CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
+    EntitlementMatrix entitlementMatrix;
     CoachUtil coachUtil;
-    CandidatePackageRepo candidatePackageRepo;
     JobApplyRepo jobApplyRepo;
+    ResumeRepo resumeRepo;
+    UsageQuotaService usageQuotaService;
 
 
     public boolean core(String entitlementCode) {
-        // Kiểm tra gói Free
-        if (checkFreePackage()) {
-            // Nếu là Free package
-            log.info("Candidate is on Free CandidatePackage");
-            CandidatePackage freeCandidatePackage = candidatePackageRepo.findByName(PackageCode.FREE);
-            CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                    .findByCandidatePackage_NameAndCandidateEntitlement_Code(freeCandidatePackage.getName(), entitlementCode);
-            return entitlement != null && entitlement.isEnabled();
-        }
-
-        CandidatePackage currentCandidatePackage = coachUtil.getCurrentCandidate().getCandidateInvoice().getCandidatePackage();
-
-        // Lấy candidateEntitlement "entitlementCode"
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(currentCandidatePackage.getName(), entitlementCode);
+        // Lấy candidateEntitlement "entitlementCode" của gói hiện tại
+        Entitlement entitlement = entitlementMatrix.candidate(
+                currentPackageName(coachUtil.getCurrentCandidate()), entitlementCode);
 
         // Trả kết quả
-        return entitlement != null && entitlement.isEnabled();
+        return entitlement != null && entitlement.enabled();
+    }
+
+    // Gói hiện tại của candidate (Free nếu không có candidateInvoice hoạt động)
+    private String currentPackageName(Candidate candidate) {
+        if (checkFreePackage(candidate)) {
+            log.info("Candidate is on Free CandidatePackage");
+            return PackageCode.FREE;
+        }
+        return candidate.getCandidateInvoice().getCandidatePackage().getName();
     }
 
     // Khi có candidate mới, kiểm tra candidateInvoice == null hoặc active == false hoặc status != PAID là Free
-    private boolean checkFreePackage() {
-        Candidate currentCandidate = coachUtil.getCurrentCandidate();
+    private boolean checkFreePackage(Candidate currentCandidate) {
         CandidateInvoice candidateInvoice = currentCandidate.getCandidateInvoice();
 
         if(candidateInvoice == null || !candidateInvoice.isActive() || !StatusInvoice.PAID.equals(candidateInvoice.getStatus())) {
@@ -102,30 +102,11 @@ public class CandidateEntitlementCheckerService {
     public boolean canCreateNewCV() {
         Candidate candidate = coachUtil.getCurrentCandidate();
 
-        // Đếm số lượng CV hiện có của candidate
-        int currentCvCount = candidate.getResumes().size();
-
-        // Lấy gói hiện tại (Free nếu không có candidateInvoice hoạt động)
-        CandidatePackage candidatePackage = checkFreePackage()
-                ? candidatePackageRepo.findByName(PackageCode.FREE)
-                : candidate.getCandidateInvoice().getCandidatePackage();
+        // Lấy candidateEntitlement CV_BUILDER tương ứng với gói hiện tại
+        Entitlement entitlement = entitlementMatrix.candidate(currentPackageName(candidate), EntitlementCode.CV_BUILDER);
 
-        // Lấy candidateEntitlement CV_BUILDER tương ứng với gói đó
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(
-                        candidatePackage.getName(),
-                        EntitlementCode.CV_BUILDER
-                );
-
-        // Nếu candidateEntitlement không tồn tại hoặc bị disable → không được tạo
-        if (entitlement == null || !entitlement.isEnabled()) return false;
-
-        // Nếu limit = 0 → nghĩa là không giới hạn
-        Integer limit = entitlement.getLimitValue();
-        if (limit == null || limit == 0) return true;
-
-        // Chỉ cho phép tạo mới nếu chưa vượt giới hạn
-        return currentCvCount < limit;
+        // Số lượng CV hiện có của candidate (bộ đếm, không tải danh sách CV)
+        return hasRemaining(entitlement, cvQuota(candidate), () -> resumeRepo.countByCandidateCandidateId(candidate.getCandidateId()));
     }
 
     /**
@@ -138,35 +119,67 @@ public class CandidateEntitlementCheckerService {
     public boolean canApplyJob() {
         Candidate candidate = coachUtil.getCurrentCandidate();
 
-        // Lấy tháng hiện tại
-        int currentMonth = LocalDate.now().getMonth().getValue();
-        // Lấy năm hiện tại
-        int currentYear = LocalDate.now().getYear();
+        // Lấy candidateEntitlement APPLY_JOB tương ứng với gói hiện tại
+        Entitlement entitlement = entitlementMatrix.candidate(currentPackageName(candidate), EntitlementCode.APPLY_JOB);
+
+        // Số lần apply trong tháng này
+        return hasRemaining(entitlement, applyQuota(candidate), () -> countAppliedThisMonth(candidate));
+    }
+
+    /**
+     * Trừ 1 lượt tạo CV; gọi trong transaction tạo CV.
+     * Kiểm tra và trừ là một câu UPDATE nên các request đồng thời không vượt giới hạn.
+     */
+    public void consumeCreateCV(Candidate candidate) {
+        Entitlement entitlement = entitlementMatrix.candidate(currentPackageName(candidate), EntitlementCode.CV_BUILDER);
+        consume(entitlement, cvQuota(candidate), () -> resumeRepo.countByCandidateCandidateId(candidate.getCandidateId()));
+    }
+
+    /**
+     * Trả lại 1 lượt tạo CV khi CV bị xóa
+     */
+    public void releaseCV(Candidate candidate) {
+        usageQuotaService.release(cvQuota(candidate));
+    }
 
-        // Đếm số lần apply trong tháng này
-        int appliedCountThisMonth = jobApplyRepo.countByCandidateAndMonth(candidate.getCandidateId(), currentMonth, currentYear);
+    /**
+     * Trừ 1 lượt apply job trong tháng; gọi trong transaction tạo đơn apply
+     */
+    public void consumeApplyJob(Candidate candidate) {
+        Entitlement entitlement = entitlementMatrix.candidate(currentPackageName(candidate), EntitlementCode.APPLY_JOB);
+        consume(entitlement, applyQuota(candidate), () -> countAppliedThisMonth(candidate));
+    }
 
-        // Lấy gói hiện tại
-        CandidatePackage candidatePackage = checkFreePackage()
-                ? candidatePackageRepo.findByName(PackageCode.FREE)
-                : candidate.getCandidateInvoice().getCandidatePackage();
+    private boolean hasRemaining(Entitlement entitlement, QuotaKey key, IntSupplier initialCount) {
+        // Nếu candidateEntitlement không tồn tại hoặc bị disable → không được dùng
+        if (entitlement == null || !entitlement.enabled()) return false;
 
-        // Lấy candidateEntitlement APPLY_JOB tương ứng với gói đó
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(
-                        candidatePackage.getName(),
-                        EntitlementCode.APPLY_JOB
-                );
+        // Nếu limit = 0 → nghĩa là không giới hạn
+        if (entitlement.isUnlimited()) return true;
+
+        // Chỉ cho phép nếu chưa vượt giới hạn
+        return usageQuotaService.used(key, initialCount) < entitlement.limitValue();
+    }
+
+    private void consume(Entitlement entitlement, QuotaKey key, IntSupplier initialCount) {
+        if (entitlement == null || !entitlement.enabled()
+                || !usageQuotaService.tryConsume(key, entitlement.limitValue(), initialCount)) {
+            throw new AppException(ErrorCode.QUOTA_EXCEEDED);
+        }
+    }
 
-        // Nếu candidateEntitlement không tồn tại hoặc bị disable → không được apply
-        if (entitlement == null || !entitlement.isEnabled()) return false;
+    // Giới hạn CV tính trên tổng số CV, không reset theo tháng
+    private static QuotaKey cvQuota(Candidate candidate) {
+        return QuotaKey.lifetime(QuotaSubjectType.CANDIDATE, candidate.getCandidateId(), EntitlementCode.CV_BUILDER);
+    }
 
-        // Nếu candidateEntitlement có limitCount = 0 → không giới hạn apply
-        Integer limit = entitlement.getLimitValue();
-        if (limit == null || limit == 0) return true;
+    private static QuotaKey applyQuota(Candidate candidate) {
+        return QuotaKey.monthly(QuotaSubjectType.CANDIDATE, candidate.getCandidateId(), EntitlementCode.APPLY_JOB);
+    }
 
-        // Chỉ cho phép apply nếu chưa vượt giới hạn trong tháng
-        return appliedCountThisMonth < limit;
+    private int countAppliedThisMonth(Candidate candidate) {
+        LocalDate today = LocalDate.now();
+        return jobApplyRepo.countByCandidateAndMonth(candidate.getCandidateId(), today.getMonthValue(), today.getYear());
     }
 
     /**
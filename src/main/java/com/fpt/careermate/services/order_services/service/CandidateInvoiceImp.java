@@ -2,14 +2,11 @@ package com.fpt.careermate.services.order_services.service;
 
 import com.fpt.careermate.common.constant.StatusInvoice;
 import com.fpt.careermate.common.util.CoachUtil;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.order_services.domain.CandidateInvoice;
 import com.fpt.careermate.services.order_services.service.dto.response.MyCandidateInvoiceResponse;
 import com.fpt.careermate.services.order_services.service.dto.response.MyRecruiterInvoiceResponse;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import com.fpt.careermate.services.order_services.domain.CandidatePackage;
-import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.order_services.repository.CandidateInvoiceRepo;
 import com.fpt.careermate.services.order_services.repository.CandidatePackageRepo;
 import com.fpt.careermate.services.order_services.service.impl.CandidateInvoiceService;
@@ -34,9 +31,7 @@ public class CandidateInvoiceImp implements CandidateInvoiceService {
 
     CandidateInvoiceRepo candidateInvoiceRepo;
     CandidatePackageRepo candidatePackageRepo;
-    CandidateRepo candidateRepo;
     CandidateInvoiceMapper candidateInvoiceMapper;
-    AuthenticationImp authenticationImp;
     CoachUtil coachUtil;
 
 //    @Transactional
@@ -75,10 +70,7 @@ public class CandidateInvoiceImp implements CandidateInvoiceService {
     }
 
     private Candidate getCurrentCandidate(){
-        Account currentAccount = authenticationImp.findByEmail();
-        Optional<Candidate> candidate = candidateRepo.findByAccount_Id(Integer.valueOf(currentAccount.getId()));
-        Candidate currentCandidate = candidate.get();
-        return currentCandidate;
+        return coachUtil.getCurrentCandidate();
     }
 
     public void updateCandidateOrder(CandidateInvoice exstingCandidateInvoice, String packageName){
@@ -0,0 +1,145 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
+import com.fpt.careermate.services.order_services.repository.RecruiterEntitlementPackageRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory package × entitlement matrix for candidates and recruiters.
+ * The table is seeded at startup and almost never changes, so entitlement checks
+ * read an immutable snapshot instead of querying per check. A reload builds a new
+ * snapshot from one query per side and swaps it in atomically; it runs at startup,
+ * periodically, and can be triggered after packages are edited.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntitlementMatrix {
+
+    private final CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
+    private final RecruiterEntitlementPackageRepo recruiterEntitlementPackageRepo;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Entitlement of a candidate package
+     *
+     * @return the entitlement, or null if the package does not grant it
+     */
+    public Entitlement candidate(String packageName, String entitlementCode) {
+        return lookup(current().candidate(), packageName, entitlementCode);
+    }
+
+    /**
+     * Entitlement of a recruiter package
+     *
+     * @return the entitlement, or null if the package does not grant it
+     */
+    public Entitlement recruiter(String packageName, String entitlementCode) {
+        return lookup(current().recruiter(), packageName, entitlementCode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ Failed to load entitlement matrix, will load on first use", e);
+        }
+    }
+
+    /**
+     * Rebuild the matrix from the database
+     * Runs every 10 minutes by default
+     */
+    @Scheduled(fixedDelayString = "${app.entitlements.reload-ms:600000}",
+            initialDelayString = "${app.entitlements.reload-ms:600000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ Failed to reload entitlement matrix, keeping the previous one", e);
+        }
+    }
+
+    /**
+     * Rebuild the matrix and swap it in
+     */
+    public void reload() {
+        Snapshot loaded = new Snapshot(
+                index(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement(),
+                        cep -> cep.getCandidatePackage().getName(),
+                        cep -> cep.getCandidateEntitlement().getCode(),
+                        cep -> new Entitlement(cep.isEnabled(), cep.getLimitValue())),
+                index(recruiterEntitlementPackageRepo.findAllWithPackageAndEntitlement(),
+                        rep -> rep.getRecruiterPackage().getName(),
+                        rep -> rep.getRecruiterEntitlement().getCode(),
+                        rep -> new Entitlement(rep.isEnabled(), rep.getLimitValue())));
+        snapshot = loaded;
+        log.info("🎫 Entitlement matrix loaded | candidate packages: {} | recruiter packages: {}",
+                loaded.candidate().size(), loaded.recruiter().size());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Entitlement lookup(Map<String, Map<String, Entitlement>> matrix,
+                                      String packageName, String entitlementCode) {
+        if (packageName == null || entitlementCode == null) {
+            return null;
+        }
+        Map<String, Entitlement> entitlements = matrix.get(packageName);
+        return entitlements != null ? entitlements.get(entitlementCode) : null;
+    }
+
+    private static <T> Map<String, Map<String, Entitlement>> index(List<T> rows,
+                                                                   Function<T, String> packageName,
+                                                                   Function<T, String> code,
+                                                                   Function<T, Entitlement> entitlement) {
+        Map<String, Map<String, Entitlement>> byPackage = new HashMap<>();
+        for (T row : rows) {
+            String name = packageName.apply(row);
+            String entitlementCode = code.apply(row);
+            if (name != null && entitlementCode != null) {
+                byPackage.computeIfAbsent(name, k -> new HashMap<>()).put(entitlementCode, entitlement.apply(row));
+            }
+        }
+        Map<String, Map<String, Entitlement>> immutable = new HashMap<>();
+        byPackage.forEach((name, entitlements) -> immutable.put(name, Map.copyOf(entitlements)));
+        return Map.copyOf(immutable);
+    }
+
+    /**
+     * One package × entitlement cell; a limit of 0 means unlimited
+     */
+    public record Entitlement(boolean enabled, int limitValue) {
+
+        public boolean isUnlimited() {
+            return limitValue == 0;
+        }
+    }
+
+    private record Snapshot(Map<String, Map<String, Entitlement>> candidate,
+                            Map<String, Map<String, Entitlement>> recruiter) {
+    }
+}
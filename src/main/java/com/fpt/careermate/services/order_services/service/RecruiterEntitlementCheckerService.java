@@ -1,17 +1,17 @@
 package com.fpt.careermate.services.order_services.service;
 
 
-import com.fpt.careermate.common.constant.EntitlementCode;
-import com.fpt.careermate.common.constant.PackageCode;
+import com.fpt.careermate.common.constant.QuotaSubjectType;
 import com.fpt.careermate.common.constant.RecruiterEntitlementCode;
 import com.fpt.careermate.common.constant.RecruiterPackageCode;
 import com.fpt.careermate.common.constant.StatusInvoice;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.common.util.CoachUtil;
 import com.fpt.careermate.services.job_services.repository.JobPostingRepo;
-import com.fpt.careermate.services.order_services.domain.*;
-import com.fpt.careermate.services.order_services.repository.RecruiterEntitlementPackageRepo;
-import com.fpt.careermate.services.order_services.repository.RecruiterPackageRepo;
-import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.order_services.domain.RecruiterInvoice;
+import com.fpt.careermate.services.order_services.service.EntitlementMatrix.Entitlement;
+import com.fpt.careermate.services.order_services.service.UsageQuotaService.QuotaKey;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -32,35 +32,31 @@ import java.time.LocalDate;
 @PreAuthorize("hasRole('RECRUITER')")
 public class RecruiterEntitlementCheckerService {
 
-    RecruiterEntitlementPackageRepo recruiterEntitlementPackageRepo;
+    EntitlementMatrix entitlementMatrix;
     CoachUtil coachUtil;
-    RecruiterPackageRepo recruiterPackageRepo;
     JobPostingRepo jobPostingRepo;
+    UsageQuotaService usageQuotaService;
 
     private boolean core(String entitlementCode) {
-        // Kiểm tra gói BASIC
-        if (checkBasicPackage()) {
-            // Nếu là Free package
-            log.info("Recruiter is on BASIC");
-            RecruiterPackage basicRecruiterPackage = recruiterPackageRepo.findByName(RecruiterPackageCode.BASIC);
-            RecruiterEntitlementPackage entitlement = recruiterEntitlementPackageRepo
-                    .findByRecruiterPackage_NameAndRecruiterEntitlement_Code(basicRecruiterPackage.getName(), entitlementCode);
-            return entitlement != null && entitlement.isEnabled();
-        }
-
-        RecruiterPackage currentRecruiterPackage = coachUtil.getCurrentRecruiter().getRecruiterInvoice().getRecruiterPackage();
-
-        // Lấy recruiterEntitlement "entitlementCode"
-        RecruiterEntitlementPackage entitlement = recruiterEntitlementPackageRepo
-                .findByRecruiterPackage_NameAndRecruiterEntitlement_Code(currentRecruiterPackage.getName(), entitlementCode);
+        // Lấy recruiterEntitlement "entitlementCode" của gói hiện tại
+        Entitlement entitlement = entitlementMatrix.recruiter(
+                currentPackageName(coachUtil.getCurrentRecruiter()), entitlementCode);
 
         // Trả kết quả
-        return entitlement != null && entitlement.isEnabled();
+        return entitlement != null && entitlement.enabled();
+    }
+
+    // Gói hiện tại của recruiter (BASIC nếu không có recruiterInvoice hoạt động)
+    private String currentPackageName(Recruiter recruiter) {
+        if (checkBasicPackage(recruiter)) {
+            log.info("Recruiter is on BASIC");
+            return RecruiterPackageCode.BASIC;
+        }
+        return recruiter.getRecruiterInvoice().getRecruiterPackage().getName();
     }
 
     // Khi có recruiter mới, kiểm tra recruiterInvoice == null hoặc active == false hoặc status != PAID là BASIC
-    private boolean checkBasicPackage() {
-        Recruiter currentRecruiter = coachUtil.getCurrentRecruiter();
+    private boolean checkBasicPackage(Recruiter currentRecruiter) {
         RecruiterInvoice recruiterInvoice = currentRecruiter.getRecruiterInvoice();
 
         if(recruiterInvoice == null || !recruiterInvoice.isActive() || !StatusInvoice.PAID.equals(recruiterInvoice.getStatus())) {
@@ -87,37 +83,40 @@ public class RecruiterEntitlementCheckerService {
     public boolean canPostJob() {
         Recruiter recruiter = coachUtil.getCurrentRecruiter();
 
-        // Lấy tháng hiện tại
-        int currentMonth = LocalDate.now().getMonth().getValue();
-        // Lấy năm hiện tại
-        int currentYear = LocalDate.now().getYear();
-
-        // Đếm số lần post trong tháng này
-        int appliedCountThisMonth = jobPostingRepo.countByRecruiterAndMonth(
-                recruiter.getId(), currentMonth, currentYear
-        );
-
-        // Lấy gói hiện tại
-        RecruiterPackage recruiterPackage = checkBasicPackage()
-                ? recruiterPackageRepo.findByName(RecruiterPackageCode.BASIC)
-                : recruiter.getRecruiterInvoice().getRecruiterPackage();
-
-        // Lấy recruiterEntitlement JOB_POSTING tương ứng với gói đó
-        RecruiterEntitlementPackage entitlement = recruiterEntitlementPackageRepo
-                .findByRecruiterPackage_NameAndRecruiterEntitlement_Code(
-                        recruiterPackage.getName(),
-                        RecruiterEntitlementCode.JOB_POSTING
-                );
+        // Lấy recruiterEntitlement JOB_POSTING tương ứng với gói hiện tại
+        Entitlement entitlement = entitlementMatrix.recruiter(currentPackageName(recruiter), RecruiterEntitlementCode.JOB_POSTING);
 
         // Nếu recruiterEntitlement không tồn tại hoặc bị disable → không được post
-        if (entitlement == null || !entitlement.isEnabled()) return false;
+        if (entitlement == null || !entitlement.enabled()) return false;
 
         // Nếu recruiterEntitlement có limitCount = 0 → không giới hạn post
-        Integer limit = entitlement.getLimitValue();
-        if (limit == null || limit == 0) return true;
+        if (entitlement.isUnlimited()) return true;
 
         // Chỉ cho phép post nếu chưa vượt giới hạn trong tháng
-        return appliedCountThisMonth < limit;
+        int postedCountThisMonth = usageQuotaService.used(postJobQuota(recruiter), () -> countPostedThisMonth(recruiter));
+        return postedCountThisMonth < entitlement.limitValue();
+    }
+
+    /**
+     * Trừ 1 lượt post job trong tháng; gọi trong transaction tạo job posting.
+     * Kiểm tra và trừ là một câu UPDATE nên các request đồng thời không vượt giới hạn.
+     */
+    public void consumePostJob(Recruiter recruiter) {
+        Entitlement entitlement = entitlementMatrix.recruiter(currentPackageName(recruiter), RecruiterEntitlementCode.JOB_POSTING);
+        if (entitlement == null || !entitlement.enabled()
+                || !usageQuotaService.tryConsume(postJobQuota(recruiter), entitlement.limitValue(),
+                        () -> countPostedThisMonth(recruiter))) {
+            throw new AppException(ErrorCode.QUOTA_EXCEEDED);
+        }
+    }
+
+    private static QuotaKey postJobQuota(Recruiter recruiter) {
+        return QuotaKey.monthly(QuotaSubjectType.RECRUITER, recruiter.getId(), RecruiterEntitlementCode.JOB_POSTING);
+    }
+
+    private int countPostedThisMonth(Recruiter recruiter) {
+        LocalDate today = LocalDate.now();
+        return jobPostingRepo.countByRecruiterAndMonth(recruiter.getId(), today.getMonthValue(), today.getYear());
     }
 
     /**
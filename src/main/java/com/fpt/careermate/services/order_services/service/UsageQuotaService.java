@@ -0,0 +1,99 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.services.order_services.repository.UsageQuotaRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.function.IntSupplier;
+
+/**
+ * Per-subject, per-period usage counters (candidate/recruiter × entitlement × period).
+ * Consuming a quota is a single conditional UPDATE on one row, so the check and
+ * the increment are atomic and concurrent requests cannot both take the last
+ * slot. When called inside the guarded action's transaction, the increment
+ * commits or rolls back together with the action.
+ *
+ * A counter is created the first time it is used, starting from the caller's
+ * count of existing usage (e.g. this month's applications), so history from
+ * before the counters existed is respected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsageQuotaService {
+
+    private static final String LIFETIME_PERIOD = "ALL";
+
+    private final UsageQuotaRepo usageQuotaRepo;
+
+    /**
+     * Current usage
+     *
+     * @param initialCount existing usage, only evaluated if the counter does not exist yet
+     */
+    public int used(QuotaKey key, IntSupplier initialCount) {
+        Integer used = usageQuotaRepo.findUsed(key.subjectType(), key.subjectId(), key.entitlementCode(), key.period());
+        return used != null ? used : initialCount.getAsInt();
+    }
+
+    /**
+     * Take one unit of the quota if any is left.
+     *
+     * @param limit        maximum usage in the period; 0 means unlimited (usage is still counted)
+     * @param initialCount existing usage, only evaluated if the counter does not exist yet
+     * @return whether a unit was taken
+     */
+    public boolean tryConsume(QuotaKey key, int limit, IntSupplier initialCount) {
+        int effectiveLimit = limit == 0 ? Integer.MAX_VALUE : limit;
+        if (consume(key, effectiveLimit) == 1) {
+            return true;
+        }
+        // Either the limit is reached or the counter does not exist yet; a concurrent
+        // request may create it first, so retry the update either way
+        if (usageQuotaRepo.findUsed(key.subjectType(), key.subjectId(), key.entitlementCode(), key.period()) == null) {
+            usageQuotaRepo.initialize(key.subjectType(), key.subjectId(), key.entitlementCode(), key.period(),
+                    initialCount.getAsInt());
+        }
+        return consume(key, effectiveLimit) == 1;
+    }
+
+    /**
+     * Give one unit back (e.g. a CV was deleted)
+     */
+    public void release(QuotaKey key) {
+        usageQuotaRepo.release(key.subjectType(), key.subjectId(), key.entitlementCode(), key.period());
+    }
+
+    private int consume(QuotaKey key, int limit) {
+        return usageQuotaRepo.tryConsume(key.subjectType(), key.subjectId(), key.entitlementCode(), key.period(), limit);
+    }
+
+    /**
+     * Identifies one counter
+     */
+    public record QuotaKey(String subjectType, int subjectId, String entitlementCode, String period) {
+
+        /**
+         * Counter for the current calendar month
+         */
+        public static QuotaKey monthly(String subjectType, int subjectId, String entitlementCode) {
+            return monthly(subjectType, subjectId, entitlementCode, YearMonth.now());
+        }
+
+        /**
+         * Counter for the given calendar month
+         */
+        public static QuotaKey monthly(String subjectType, int subjectId, String entitlementCode, YearMonth month) {
+            return new QuotaKey(subjectType, subjectId, entitlementCode, month.toString());
+        }
+
+        /**
+         * Counter that never resets
+         */
+        public static QuotaKey lifetime(String subjectType, int subjectId, String entitlementCode) {
+            return new QuotaKey(subjectType, subjectId, entitlementCode, LIFETIME_PERIOD);
+        }
+    }
+}
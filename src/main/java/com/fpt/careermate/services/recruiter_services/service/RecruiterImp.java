@@ -509,6 +509,7 @@ public class RecruiterImp implements RecruiterService {
      */
     private void sendProfileUpdateRequestNotificationToAdmin(Recruiter recruiter,
             RecruiterProfileUpdateRequest updateRequest) {
+        NotificationEvent event;
         try {
             java.util.Map<String, Object> metadata = new java.util.HashMap<>();
             metadata.put("requestId", updateRequest.getId());
@@ -518,7 +519,7 @@ public class RecruiterImp implements RecruiterService {
             metadata.put("actionType", "PROFILE_UPDATE_REQUEST");
             metadata.put("actionUrl", "/api/admin/recruiter-update-requests/" + updateRequest.getId());
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.PROFILE_UPDATE_REQUEST.name())
                     .recipientId("ADMIN")
                     .recipientEmail("admin@careermate.com")
@@ -536,13 +537,15 @@ public class RecruiterImp implements RecruiterService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
-
-            notificationProducer.sendAdminNotification(event);
-            log.info("✅ Profile update request notification sent to admin for recruiter ID: {}", recruiter.getId());
         } catch (Exception e) {
-            log.error("❌ Failed to send profile update request notification to admin for recruiter ID: {}",
+            log.error("❌ Failed to build profile update request notification to admin for recruiter ID: {}",
                     recruiter.getId(), e);
+            return;
         }
+
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        notificationProducer.sendAdminNotification(event);
+        log.info("✅ Profile update request notification sent to admin for recruiter ID: {}", recruiter.getId());
     }
 
     /**
@@ -561,8 +564,9 @@ public class RecruiterImp implements RecruiterService {
                         ? "Admin Note: " + adminNote + "\n\n"
                         : "");
 
+        NotificationEvent event = null;
         try {
-            // Send Kafka notification for in-app notification
+            // Build the in-app notification
             java.util.Map<String, Object> metadata = new java.util.HashMap<>();
             metadata.put("requestId", request.getId());
             metadata.put("recruiterId", recruiter.getId());
@@ -570,7 +574,7 @@ public class RecruiterImp implements RecruiterService {
             metadata.put("adminNote", adminNote != null ? adminNote : "");
             metadata.put("status", "APPROVED");
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.PROFILE_UPDATE_APPROVED.name())
                     .recipientId(recruiter.getAccount().getEmail()) // Use email for SSE
                     .recipientEmail(recruiter.getAccount().getEmail())
@@ -581,12 +585,15 @@ public class RecruiterImp implements RecruiterService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
+        } catch (Exception e) {
+            log.error("❌ Failed to build profile update approval notification to recruiter ID: {}",
+                    recruiter.getId(), e);
+        }
 
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        if (event != null) {
             notificationProducer.sendRecruiterNotification(event);
             log.info("✅ Profile update approval notification sent to recruiter ID: {}", recruiter.getId());
-        } catch (Exception e) {
-            log.error("❌ Failed to send profile update approval notification to recruiter ID: {}",
-                    recruiter.getId(), e);
         }
 
         // Send email notification
@@ -619,8 +626,9 @@ public class RecruiterImp implements RecruiterService {
                         "CareerMate Team",
                 rejectionReason != null ? rejectionReason : "No specific reason provided");
 
+        NotificationEvent event = null;
         try {
-            // Send Kafka notification for in-app notification
+            // Build the in-app notification
             java.util.Map<String, Object> metadata = new java.util.HashMap<>();
             metadata.put("requestId", request.getId());
             metadata.put("recruiterId", recruiter.getId());
@@ -628,7 +636,7 @@ public class RecruiterImp implements RecruiterService {
             metadata.put("rejectionReason", rejectionReason != null ? rejectionReason : "No specific reason provided");
             metadata.put("status", "REJECTED");
 
-            NotificationEvent event = NotificationEvent.builder()
+            event = NotificationEvent.builder()
                     .eventType(NotificationEvent.EventType.PROFILE_UPDATE_REJECTED.name())
                     .recipientId(recruiter.getAccount().getEmail()) // Use email for SSE
                     .recipientEmail(recruiter.getAccount().getEmail())
@@ -639,12 +647,15 @@ public class RecruiterImp implements RecruiterService {
                     .metadata(metadata)
                     .priority(2) // MEDIUM priority
                     .build();
+        } catch (Exception e) {
+            log.error("❌ Failed to build profile update rejection notification to recruiter ID: {}",
+                    recruiter.getId(), e);
+        }
 
+        // Not caught: an outbox write failure rolls back the caller's transaction (see NotificationProducer)
+        if (event != null) {
             notificationProducer.sendRecruiterNotification(event);
             log.info("✅ Profile update rejection notification sent to recruiter ID: {}", recruiter.getId());
-        } catch (Exception e) {
-            log.error("❌ Failed to send profile update rejection notification to recruiter ID: {}",
-                    recruiter.getId(), e);
         }
 
         // Send email notification
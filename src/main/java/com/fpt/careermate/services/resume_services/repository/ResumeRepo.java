@@ -2,7 +2,11 @@ package com.fpt.careermate.services.resume_services.repository;
 
 import com.fpt.careermate.common.constant.ResumeType;
 import com.fpt.careermate.services.resume_services.domain.Resume;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +15,12 @@ public interface ResumeRepo extends JpaRepository<Resume, Integer> {
     List<Resume> findByCandidateCandidateId(int candidateId);
     Optional<Resume> findByResumeIdAndCandidateCandidateId(int resumeId, int candidateId);
     List<Resume> findByCandidateCandidateIdAndType(int candidateId, ResumeType type);
-}
\ No newline at end of file
+    int countByCandidateCandidateId(int candidateId);
+
+    /**
+     * Candidate's resume, row-locked until the transaction ends so concurrent deletes run one at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM resume r WHERE r.resumeId = :resumeId AND r.candidate.candidateId = :candidateId")
+    Optional<Resume> findForDeletion(@Param("resumeId") int resumeId, @Param("candidateId") int candidateId);
+}
@@ -1,6 +1,7 @@
 package com.fpt.careermate.services.resume_services.service;
 
 import com.fpt.careermate.common.constant.ResumeType;
+import com.fpt.careermate.services.order_services.service.CandidateEntitlementCheckerService;
 import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.profile_services.service.CandidateProfileImp;
@@ -35,6 +36,7 @@ public class ResumeImp implements ResumeService {
     ResumeMapper resumeMapper;
     CandidateProfileImp candidateProfileImp;
     AuthenticationImp authenticationService;
+    CandidateEntitlementCheckerService candidateEntitlementCheckerService;
 
     @Override
     @Transactional
@@ -42,6 +44,9 @@ public class ResumeImp implements ResumeService {
     public ResumeResponse createResume(ResumeRequest resumeRequest) {
         Candidate candidate = candidateProfileImp.generateProfile();
 
+        // Take a CV slot of the candidate's package; rolled back with the resume on failure
+        candidateEntitlementCheckerService.consumeCreateCV(candidate);
+
         // Create new resume
         Resume newResume = Resume.builder()
                 .candidate(candidate)
@@ -86,8 +91,14 @@ public class ResumeImp implements ResumeService {
     @PreAuthorize("hasRole('CANDIDATE')")
     @Override
     public void deleteResume(int resumeId) {
-        resumeRepo.findById(resumeId).orElseThrow(() -> new AppException(ErrorCode.RESUME_NOT_FOUND));
-        resumeRepo.deleteById(resumeId);
+        Candidate candidate = candidateProfileImp.generateProfile();
+
+        // Lock the row so a concurrent delete of the same resume finds nothing and cannot free the slot twice;
+        // the delete and the released CV slot commit together
+        Resume resume = resumeRepo.findForDeletion(resumeId, candidate.getCandidateId())
+                .orElseThrow(() -> new AppException(ErrorCode.RESUME_NOT_FOUND));
+        resumeRepo.delete(resume);
+        candidateEntitlementCheckerService.releaseCV(candidate);
     }
 
     @Transactional
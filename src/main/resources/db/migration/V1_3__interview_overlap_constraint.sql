@@ -0,0 +1,52 @@
+-- V1.3 Interview Overlap Constraint Migration
+-- Stores each interview's end time so overlap checks become index lookups,
+-- and lets PostgreSQL reject double-booking of the same interviewer
+-- instead of racing between the conflict check and the insert.
+
+-- =====================================================
+-- Extension: btree_gist
+-- Purpose: Allow scalar equality (recruiter, interviewer) alongside range
+--          overlap in a single GiST index / exclusion constraint
+-- =====================================================
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- =====================================================
+-- Column: interview_schedule.scheduled_end_date
+-- Purpose: scheduled_date + duration_minutes, maintained by the entity
+-- =====================================================
+ALTER TABLE interview_schedule
+    ADD COLUMN IF NOT EXISTS scheduled_end_date TIMESTAMP;
+
+UPDATE interview_schedule
+SET scheduled_end_date = scheduled_date + (duration_minutes * INTERVAL '1 minute')
+WHERE scheduled_end_date IS NULL;
+
+ALTER TABLE interview_schedule
+    ALTER COLUMN scheduled_end_date SET NOT NULL;
+
+-- Recruiter calendar lookups by day / range
+CREATE INDEX IF NOT EXISTS idx_interview_schedule_recruiter_date
+    ON interview_schedule (created_by_recruiter_id, scheduled_date);
+
+-- Recruiter overlap lookups (hasConflict, findOverlappingInterviews)
+CREATE INDEX IF NOT EXISTS idx_interview_schedule_recruiter_period
+    ON interview_schedule USING gist (created_by_recruiter_id, tsrange(scheduled_date, scheduled_end_date));
+
+-- =====================================================
+-- Constraint: excl_interview_interviewer_overlap
+-- Purpose: The same interviewer of a recruiter cannot hold two active
+--          interviews at overlapping times. Interviews without an
+--          interviewer email are not constrained, so companies with
+--          several interviewers can still run parallel sessions.
+-- Note: Existing overlapping active interviews must be resolved first
+-- Note: The status predicate must stay in sync with the overlap queries in
+--       InterviewScheduleRepo (hasConflict, findOverlappingInterviews)
+-- =====================================================
+ALTER TABLE interview_schedule
+    ADD CONSTRAINT excl_interview_interviewer_overlap
+    EXCLUDE USING gist (
+        created_by_recruiter_id WITH =,
+        lower(interviewer_email) WITH =,
+        tsrange(scheduled_date, scheduled_end_date) WITH &&
+    )
+    WHERE (status IN ('SCHEDULED', 'CONFIRMED'));
@@ -0,0 +1,12 @@
+-- V1.4 Interview Reminder Indexes
+-- Partial indexes for the reminder dispatcher's claim queries. They only
+-- contain active interviews whose reminder is still pending, so each poll
+-- touches a handful of index entries regardless of table size.
+
+CREATE INDEX IF NOT EXISTS idx_interview_schedule_pending_reminder_24h
+    ON interview_schedule (scheduled_date)
+    WHERE reminder_sent24h = false AND status IN ('SCHEDULED', 'CONFIRMED');
+
+CREATE INDEX IF NOT EXISTS idx_interview_schedule_pending_reminder_2h
+    ON interview_schedule (scheduled_date)
+    WHERE reminder_sent2h = false AND status IN ('SCHEDULED', 'CONFIRMED');
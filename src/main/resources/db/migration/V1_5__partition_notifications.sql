@@ -0,0 +1,80 @@
+-- V1.5 Partitioned notifications
+-- Moves notifications to a table range-partitioned by created_at, one
+-- partition per month. Retention then drops whole partitions
+-- (NotificationPartitionService) instead of deleting rows, so there is no
+-- large DELETE, no table bloat and no vacuum backlog.
+--
+-- Partitioned tables can't have a unique index without the partition key,
+-- so event_id is unique together with created_at. Producers stamp every
+-- event with its timestamp, so a redelivered event still collides.
+--
+-- Run in a maintenance window with the notification consumers stopped.
+-- The old table is kept as notifications_legacy until the copy is verified.
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX IF EXISTS idx_recipient_created RENAME TO idx_legacy_recipient_created;
+ALTER INDEX IF EXISTS idx_recipient_read RENAME TO idx_legacy_recipient_read;
+ALTER INDEX IF EXISTS idx_recipient_id RENAME TO idx_legacy_recipient_id;
+ALTER INDEX IF EXISTS idx_event_id RENAME TO idx_legacy_event_id;
+
+CREATE SEQUENCE notifications_partitioned_id_seq;
+SELECT setval('notifications_partitioned_id_seq',
+              COALESCE((SELECT MAX(id) FROM notifications_legacy), 0) + 1, false);
+
+CREATE TABLE notifications (
+    id              bigint       NOT NULL DEFAULT nextval('notifications_partitioned_id_seq'),
+    event_id        varchar(255) NOT NULL,
+    event_type      varchar(255) NOT NULL,
+    recipient_id    varchar(255) NOT NULL,
+    recipient_email varchar(255),
+    title           varchar(255) NOT NULL,
+    subject         varchar(255),
+    message         text         NOT NULL,
+    category        varchar(255),
+    metadata        jsonb,
+    priority        integer      NOT NULL,
+    is_read         boolean      NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    read_at         timestamp(6),
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT uk_notifications_event_created UNIQUE (event_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_partitioned_id_seq OWNED BY notifications.id;
+
+-- Created on the parent, so every partition gets them automatically
+CREATE INDEX idx_recipient_created ON notifications (recipient_id, created_at DESC);
+CREATE INDEX idx_recipient_read ON notifications (recipient_id, is_read);
+CREATE INDEX idx_recipient_id ON notifications (recipient_id, id);
+CREATE INDEX idx_event_id ON notifications (event_id);
+
+-- Catch-all for rows outside the monthly partitions; should stay empty
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- Monthly partitions from the oldest existing row to two months ahead;
+-- the application creates later months itself
+DO $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_legacy), now()))::date;
+    last_month  date := (date_trunc('month', now()) + interval '2 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, event_id, event_type, recipient_id, recipient_email, title, subject,
+                           message, category, metadata, priority, is_read, created_at, read_at)
+SELECT id, event_id, event_type, recipient_id, recipient_email, title, subject,
+       message, category, metadata, priority, is_read, created_at, read_at
+FROM notifications_legacy;
+
+COMMIT;
+
+-- After comparing row counts:
+-- DROP TABLE notifications_legacy;
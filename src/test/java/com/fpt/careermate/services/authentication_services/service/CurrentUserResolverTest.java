@@ -0,0 +1,142 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.account_services.domain.Account;
+import com.fpt.careermate.services.account_services.repository.AccountRepo;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CurrentUserResolver Tests")
+class CurrentUserResolverTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private AccountRepo accountRepo;
+    private CandidateRepo candidateRepo;
+    private RecruiterRepo recruiterRepo;
+    private CurrentUserResolver resolver;
+
+    private static void authenticate(Map<String, Object> claims) {
+        Jwt.Builder jwt = Jwt.withTokenValue("token").header("alg", "HS512").subject(EMAIL);
+        claims.forEach(jwt::claim);
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt.build()));
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        accountRepo = mock(AccountRepo.class);
+        candidateRepo = mock(CandidateRepo.class);
+        recruiterRepo = mock(RecruiterRepo.class);
+        resolver = new CurrentUserResolver(accountRepo, candidateRepo, recruiterRepo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should read IDs from the token claims without querying")
+    void shouldReadClaims() {
+        authenticate(Map.of("userId", 7, "candidateId", 11, "recruiterId", 13L));
+
+        assertEquals(EMAIL, resolver.getEmail());
+        assertEquals(7, resolver.getUserId());
+        assertEquals(11, resolver.getCandidateId());
+        assertEquals(13, resolver.getRecruiterId());
+        verifyNoInteractions(accountRepo, candidateRepo, recruiterRepo);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when the token has no claims")
+    void shouldFallBackToDatabase() {
+        authenticate(Map.of());
+        when(accountRepo.findByEmail(EMAIL)).thenReturn(Optional.of(Account.builder().id(7).email(EMAIL).build()));
+        when(recruiterRepo.findByAccount_Id(7)).thenReturn(Optional.of(Recruiter.builder().id(13).build()));
+        when(candidateRepo.findByAccount_Id(7)).thenReturn(Optional.empty());
+
+        assertEquals(7, resolver.getUserId());
+        assertEquals(13, resolver.getRecruiterId());
+        assertNull(resolver.getCandidateId());
+    }
+
+    @Test
+    @DisplayName("Should load each entity once per request")
+    void shouldCachePerRequest() {
+        startRequest();
+        authenticate(Map.of("candidateId", 11));
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId(11);
+        when(accountRepo.findByEmail(EMAIL)).thenReturn(Optional.of(Account.builder().id(7).email(EMAIL).build()));
+        when(candidateRepo.findById(11)).thenReturn(Optional.of(candidate));
+
+        resolver.getAccount();
+        resolver.getAccount();
+        assertSame(candidate, resolver.findCandidate().orElseThrow());
+        assertSame(candidate, resolver.findCandidate().orElseThrow());
+
+        verify(accountRepo, times(1)).findByEmail(EMAIL);
+        verify(candidateRepo, times(1)).findById(11);
+    }
+
+    @Test
+    @DisplayName("Should remember a missing profile for the rest of the request")
+    void shouldCacheAbsentProfile() {
+        startRequest();
+        authenticate(Map.of("userId", 7));
+        when(recruiterRepo.findByAccount_Id(7)).thenReturn(Optional.empty());
+
+        assertTrue(resolver.findRecruiter().isEmpty());
+        assertTrue(resolver.findRecruiter().isEmpty());
+
+        verify(recruiterRepo, times(1)).findByAccount_Id(7);
+    }
+
+    @Test
+    @DisplayName("Should query again on every call outside a web request")
+    void shouldNotCacheOutsideRequest() {
+        authenticate(Map.of());
+        when(accountRepo.findByEmail(EMAIL)).thenReturn(Optional.of(Account.builder().id(7).email(EMAIL).build()));
+
+        resolver.getAccount();
+        resolver.getAccount();
+
+        verify(accountRepo, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reject unauthenticated and unknown users")
+    void shouldRejectMissingUser() {
+        AppException unauthenticated = assertThrows(AppException.class, () -> resolver.getEmail());
+        assertEquals(ErrorCode.UNAUTHENTICATED, unauthenticated.getErrorCode());
+
+        authenticate(Map.of());
+        when(accountRepo.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        AppException unknown = assertThrows(AppException.class, () -> resolver.getAccount());
+        assertEquals(ErrorCode.USER_NOT_EXISTED, unknown.getErrorCode());
+    }
+}
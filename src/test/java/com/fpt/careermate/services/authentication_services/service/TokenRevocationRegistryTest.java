@@ -0,0 +1,165 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.services.authentication_services.domain.InvalidToken;
+import com.fpt.careermate.services.authentication_services.repository.InvalidDateTokenRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenRevocationRegistry Tests")
+class TokenRevocationRegistryTest {
+
+    private InvalidDateTokenRepo invalidTokenRepo;
+    private TokenRevocationRegistry registry;
+
+    private static InvalidToken token(String jti, long expiresInMillis) {
+        return InvalidToken.builder()
+                .id(jti)
+                .expiryTime(new Date(System.currentTimeMillis() + expiresInMillis))
+                .createdAt(new Date())
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        invalidTokenRepo = mock(InvalidDateTokenRepo.class);
+        registry = new TokenRevocationRegistry(invalidTokenRepo, 1_000);
+    }
+
+    @Nested
+    @DisplayName("Before loading")
+    class BeforeLoading {
+
+        @Test
+        @DisplayName("Should check the database")
+        void shouldFallBackToDatabase() {
+            when(invalidTokenRepo.existsById("revoked")).thenReturn(true);
+
+            assertTrue(registry.isRevoked("revoked"));
+            assertFalse(registry.isRevoked("active"));
+            verify(invalidTokenRepo, times(2)).existsById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should keep checking the database if the load fails")
+        void shouldFallBackAfterFailedLoad() {
+            when(invalidTokenRepo.findByExpiryTimeAfter(any())).thenThrow(new RuntimeException("db down"));
+            when(invalidTokenRepo.existsById("revoked")).thenReturn(true);
+
+            registry.reload();
+
+            assertTrue(registry.isRevoked("revoked"));
+        }
+
+        @Test
+        @DisplayName("Should treat a token without ID as not revoked")
+        void nullIdIsNotRevoked() {
+            assertFalse(registry.isRevoked(null));
+            verifyNoInteractions(invalidTokenRepo);
+        }
+    }
+
+    @Nested
+    @DisplayName("After loading")
+    class AfterLoading {
+
+        @BeforeEach
+        void load() {
+            when(invalidTokenRepo.findByExpiryTimeAfter(any())).thenReturn(List.of(token("revoked", 60_000)));
+            registry.reload();
+        }
+
+        @Test
+        @DisplayName("Should answer from memory")
+        void shouldAnswerFromMemory() {
+            assertTrue(registry.isRevoked("revoked"));
+            assertFalse(registry.isRevoked("active"));
+            verify(invalidTokenRepo, never()).existsById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should see local revocations immediately")
+        void shouldSeeLocalRevocation() {
+            registry.revoke("logged-out", new Date(System.currentTimeMillis() + 60_000));
+
+            assertTrue(registry.isRevoked("logged-out"));
+            verify(invalidTokenRepo).save(argThat((InvalidToken token) -> "logged-out".equals(token.getId())));
+        }
+
+        @Test
+        @DisplayName("Should pick up revocations from other instances on sync")
+        void shouldSyncRemoteRevocations() {
+            when(invalidTokenRepo.findByCreatedAtAfter(any())).thenReturn(List.of(token("remote", 60_000)));
+
+            assertFalse(registry.isRevoked("remote"));
+            registry.sync();
+
+            assertTrue(registry.isRevoked("remote"));
+        }
+
+        @Test
+        @DisplayName("Should drop expired revocations on reload")
+        void shouldDropExpiredOnReload() {
+            registry.revoke("expired", new Date(System.currentTimeMillis() - 1_000));
+            when(invalidTokenRepo.findByExpiryTimeAfter(any())).thenReturn(List.of());
+
+            registry.reload();
+
+            assertFalse(registry.isRevoked("expired"));
+            verify(invalidTokenRepo, times(2)).deleteByExpiryTimeBefore(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bloom filter")
+    class BloomFilterTests {
+
+        @Test
+        @DisplayName("Should never report a false negative")
+        void noFalseNegatives() {
+            TokenRevocationRegistry.BloomFilter filter = new TokenRevocationRegistry.BloomFilter(10_000);
+            for (int i = 0; i < 10_000; i++) {
+                filter.add("jti-" + i);
+            }
+
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(filter.mightContain("jti-" + i), "jti-" + i);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep false positives near 1% at the expected size")
+        void falsePositiveRate() {
+            TokenRevocationRegistry.BloomFilter filter = new TokenRevocationRegistry.BloomFilter(10_000);
+            for (int i = 0; i < 10_000; i++) {
+                filter.add("jti-" + i);
+            }
+
+            int falsePositives = 0;
+            int probes = 100_000;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("other-" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+        }
+
+        @Test
+        @DisplayName("Empty filter should contain nothing")
+        void emptyFilter() {
+            TokenRevocationRegistry.BloomFilter filter = new TokenRevocationRegistry.BloomFilter(0);
+
+            assertFalse(filter.mightContain("jti"));
+            assertFalse(filter.mightContain(""));
+        }
+    }
+}
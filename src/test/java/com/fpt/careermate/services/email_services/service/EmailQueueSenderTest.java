@@ -0,0 +1,118 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.constant.StatusEmail;
+import com.fpt.careermate.common.util.MailBody;
+import com.fpt.careermate.services.email_services.domain.QueuedEmail;
+import com.fpt.careermate.services.email_services.repository.QueuedEmailRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailQueueSender Tests")
+class EmailQueueSenderTest {
+
+    private QueuedEmailRepo queuedEmailRepo;
+    private MailTransport mailTransport;
+    private SimpleMeterRegistry meterRegistry;
+
+    private static QueuedEmail email(long id, int attempts) {
+        return QueuedEmail.builder()
+                .id(id)
+                .recipient("user" + id + "@example.com")
+                .subject("Subject " + id)
+                .body("Body " + id)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private EmailQueueSender sender(int batchSize, int maxAttempts, double ratePerSecond) {
+        return new EmailQueueSender(queuedEmailRepo, mailTransport, mock(PlatformTransactionManager.class),
+                meterRegistry, batchSize, maxAttempts, ratePerSecond);
+    }
+
+    @BeforeEach
+    void setUp() {
+        queuedEmailRepo = mock(QueuedEmailRepo.class);
+        mailTransport = mock(MailTransport.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should send a batch over one connection and delete the accepted rows")
+    @SuppressWarnings("unchecked")
+    void shouldSendBatch() {
+        when(queuedEmailRepo.claimDue(any(), anyInt())).thenReturn(List.of(email(1, 0), email(2, 0)));
+        when(mailTransport.send(anyList())).thenReturn(List.of(
+                new MailTransport.SendOutcome(true, null), new MailTransport.SendOutcome(true, null)));
+
+        sender(20, 6, 100).drain();
+
+        verify(mailTransport, times(1)).send(argThat((List<MailBody> messages) -> messages.size() == 2
+                && "user1@example.com".equals(messages.get(0).to())));
+        verify(queuedEmailRepo).deleteByIdIn(List.of(1L, 2L));
+        assertEquals(2, meterRegistry.get("email.queue.sent").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep draining while full batches go out")
+    void shouldContinueAfterFullBatch() {
+        when(queuedEmailRepo.claimDue(any(), anyInt())).thenReturn(List.of(email(1, 0), email(2, 0)), List.of());
+        when(mailTransport.send(anyList())).thenReturn(List.of(
+                new MailTransport.SendOutcome(true, null), new MailTransport.SendOutcome(true, null)));
+
+        sender(2, 6, 100).drain();
+
+        verify(queuedEmailRepo, times(2)).claimDue(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not claim more emails than the rate allows")
+    void shouldRespectRateLimit() {
+        when(queuedEmailRepo.claimDue(any(), anyInt())).thenReturn(List.of());
+
+        sender(20, 6, 5).drain();
+
+        verify(queuedEmailRepo).claimDue(any(), eq(5));
+    }
+
+    @Test
+    @DisplayName("Should reschedule a failed email with backoff")
+    void shouldRescheduleFailure() {
+        QueuedEmail failing = email(1, 0);
+        when(queuedEmailRepo.claimDue(any(), anyInt())).thenReturn(List.of(failing));
+        when(mailTransport.send(anyList())).thenReturn(List.of(new MailTransport.SendOutcome(false, "421 try later")));
+
+        LocalDateTime before = LocalDateTime.now();
+        sender(20, 6, 100).drain();
+
+        assertEquals(1, failing.getAttempts());
+        assertEquals(StatusEmail.PENDING, failing.getStatus());
+        assertEquals("421 try later", failing.getLastError());
+        assertFalse(failing.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        verify(queuedEmailRepo, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should give up after the last attempt")
+    void shouldFailAfterMaxAttempts() {
+        QueuedEmail failing = email(1, 5);
+        when(queuedEmailRepo.claimDue(any(), anyInt())).thenReturn(List.of(failing));
+        when(mailTransport.send(anyList())).thenReturn(List.of(new MailTransport.SendOutcome(false, "550 no such user")));
+
+        sender(20, 6, 100).drain();
+
+        assertEquals(6, failing.getAttempts());
+        assertEquals(StatusEmail.FAILED, failing.getStatus());
+        assertEquals(1, meterRegistry.get("email.queue.failed").counter().count());
+    }
+}
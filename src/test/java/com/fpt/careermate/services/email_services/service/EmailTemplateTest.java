@@ -0,0 +1,50 @@
+package com.fpt.careermate.services.email_services.service;
+
+import com.fpt.careermate.common.util.MailBody;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailTemplate Tests")
+class EmailTemplateTest {
+
+    @Test
+    @DisplayName("Should fill in every occurrence of a variable")
+    void shouldRenderVariables() {
+        String body = EmailTemplate.JOB_POSTING_APPROVED.renderBody(Map.of(
+                "title", "Java Dev", "address", "Ho Chi Minh City", "expirationDate", "2030-01-31"));
+
+        assertTrue(body.startsWith("Great news! Your job posting 'Java Dev' has been approved"), body);
+        assertTrue(body.contains("- Title: Java Dev\n"), body);
+        assertTrue(body.contains("- Location: Ho Chi Minh City\n"), body);
+        assertFalse(body.contains("{{"), body);
+    }
+
+    @Test
+    @DisplayName("Should render a missing variable as empty")
+    void shouldRenderMissingAsEmpty() {
+        assertEquals("Your verification code is: ", EmailTemplate.VERIFICATION_CODE.renderBody(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should wrap notification content and use its subject")
+    void shouldRenderNotificationLayout() {
+        MailBody mail = EmailTemplate.NOTIFICATION.render("user@example.com",
+                Map.of("subject", "Interview Reminder", "content", "Your interview is tomorrow."));
+
+        assertEquals("user@example.com", mail.to());
+        assertEquals("Interview Reminder", mail.subject());
+        assertTrue(mail.text().startsWith("Your interview is tomorrow.\n\n---\n"), mail.text());
+        assertTrue(mail.text().endsWith("All rights reserved."), mail.text());
+    }
+
+    @Test
+    @DisplayName("Should not expand placeholders inside variable values")
+    void shouldNotRenderValuesAsTemplates() {
+        assertEquals("Your verification code is: {{otp}}",
+                EmailTemplate.VERIFICATION_CODE.renderBody(Map.of("otp", "{{otp}}")));
+    }
+}
@@ -0,0 +1,94 @@
+package com.fpt.careermate.services.health_services.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationPipelineMetrics Tests")
+class NotificationPipelineMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPipelineMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new NotificationPipelineMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should tag publish latency by topic and outcome")
+    void shouldRecordPublish() {
+        metrics.recordPublish("candidate-notifications", TimeUnit.MILLISECONDS.toNanos(5), true);
+        metrics.recordPublish("candidate-notifications", TimeUnit.MILLISECONDS.toNanos(7), true);
+        metrics.recordPublish("candidate-notifications", TimeUnit.MILLISECONDS.toNanos(9), false);
+
+        Timer success = meterRegistry.get("notification.publish.latency")
+                .tags("topic", "candidate-notifications", "outcome", "success").timer();
+        assertEquals(2, success.count());
+        assertEquals(12, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, meterRegistry.get("notification.publish.latency").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should measure end-to-end latency from the event timestamp")
+    void shouldRecordDelivered() {
+        metrics.recordDelivered("SSE", "JOB_APPROVED", LocalDateTime.now().minusSeconds(2));
+
+        Timer timer = meterRegistry.get("notification.end.to.end.latency")
+                .tags("channel", "SSE", "event_type", "JOB_APPROVED").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 2_000);
+    }
+
+    @Test
+    @DisplayName("Should tag a missing event type as unknown and skip a missing timestamp")
+    void shouldHandleMissingFields() {
+        metrics.recordPersisted(null, LocalDateTime.now());
+        metrics.recordPersisted("JOB_APPROVED", null);
+
+        assertEquals(1, meterRegistry.get("notification.persist.latency").tag("event_type", "UNKNOWN").timer().count());
+        assertEquals(0, meterRegistry.get("notification.persist.latency").tag("event_type", "JOB_APPROVED").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should clamp timestamps from the future to zero")
+    void shouldClampClockSkew() {
+        metrics.recordOutboxDelay("candidate-notifications", LocalDateTime.now().plusMinutes(1));
+
+        Timer timer = meterRegistry.get("notification.outbox.delay").timer();
+        assertEquals(1, timer.count());
+        assertEquals(0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should count duplicates per stage and ignore empty counts")
+    void shouldRecordDuplicates() {
+        metrics.recordDuplicates("batch", 2);
+        metrics.recordDuplicates("batch", 3);
+        metrics.recordDuplicates("stored", 0);
+
+        assertEquals(5, meterRegistry.get("notification.dedup.hits").tag("stage", "batch").counter().count());
+        assertNull(meterRegistry.find("notification.dedup.hits").tag("stage", "stored").counter());
+    }
+
+    @Test
+    @DisplayName("Should record batch size, duration and failures per topic")
+    void shouldRecordBatch() {
+        metrics.recordBatch("candidate-notifications", 50, TimeUnit.MILLISECONDS.toNanos(120));
+        metrics.recordConsumeFailure("candidate-notifications", 50);
+
+        assertEquals(50, meterRegistry.get("notification.consume.batch.size").summary().totalAmount(), 0.001);
+        assertEquals(120, meterRegistry.get("notification.consume.batch.duration").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(50, meterRegistry.get("notification.consume.failed")
+                .tag("topic", "candidate-notifications").counter().count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.fpt.careermate.services.health_services.service;
+
+import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationWorkerHealthTracker Tests")
+class NotificationWorkerHealthTrackerTest {
+
+    private static final String WORKER = NotificationWorkerHealthTracker.WORKER_NAME;
+
+    private NotificationHeartbeatRepo heartbeatRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationWorkerHealthTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        heartbeatRepo = mock(NotificationHeartbeatRepo.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new NotificationWorkerHealthTracker(heartbeatRepo, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database per batch")
+    void shouldCountInMemory() {
+        tracker.recordSuccess(10);
+        tracker.recordSuccess(5);
+        tracker.recordFailure(3, "db down");
+
+        assertEquals(18, tracker.getProcessedCount());
+        assertEquals(1, tracker.getFailedCount());
+        assertTrue(tracker.hasActivity());
+        verifyNoInteractions(heartbeatRepo);
+    }
+
+    @Test
+    @DisplayName("Should flush the accumulated deltas in one write")
+    void shouldFlushDeltas() {
+        tracker.recordSuccess(10);
+        tracker.recordFailure(3, "db down");
+
+        tracker.flush();
+
+        verify(heartbeatRepo).addHeartbeat(eq(WORKER), eq(tracker.getLastProcessedAt()), eq(13L), eq(1L), eq("db down"));
+    }
+
+    @Test
+    @DisplayName("Should skip the flush when nothing happened since the last one")
+    void shouldSkipIdleFlush() {
+        tracker.flush();
+        tracker.recordSuccess(1);
+        tracker.flush();
+        tracker.flush();
+
+        verify(heartbeatRepo, times(1)).addHeartbeat(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the deltas for the next flush when the write fails")
+    void shouldRetryFailedFlush() {
+        tracker.recordSuccess(4);
+        doThrow(new RuntimeException("db down")).doReturn(1)
+                .when(heartbeatRepo).addHeartbeat(any(), any(), anyLong(), anyLong(), any());
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(heartbeatRepo, times(2)).addHeartbeat(eq(WORKER), any(), eq(4L), eq(0L), isNull());
+    }
+
+    @Test
+    @DisplayName("Should expose counters and per-partition lag as meters")
+    void shouldRegisterMeters() {
+        tracker.recordSuccess(7);
+        tracker.recordLag("candidate-notifications", 0, 12);
+        tracker.recordLag("candidate-notifications", 0, 4);
+        tracker.recordLag("candidate-notifications", 1, 0);
+
+        assertEquals(7, meterRegistry.get("notification.worker.processed").functionCounter().count());
+        assertEquals(4, meterRegistry.get("notification.worker.lag")
+                .tag("partition", "0").gauge().value());
+        assertEquals(Map.of("candidate-notifications-0", 4L, "candidate-notifications-1", 0L),
+                tracker.getPartitionLag());
+    }
+}
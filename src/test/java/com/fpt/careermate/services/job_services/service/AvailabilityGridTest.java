@@ -0,0 +1,159 @@
+package com.fpt.careermate.services.job_services.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilityGrid Tests")
+class AvailabilityGridTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 6, 2);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+
+    private static LocalDateTime at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute);
+    }
+
+    @Nested
+    @DisplayName("Free windows")
+    class FreeWindows {
+
+        @Test
+        @DisplayName("Closed grid should have no start times")
+        void closedGridHasNoStartTimes() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_2);
+
+            assertTrue(grid.findStartTimes(15).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should list every start time that fits in a window")
+        void shouldListStartTimesInWindow() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_1);
+            grid.markFree(DAY_1, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+            assertEquals(List.of(at(DAY_1, 9, 0), at(DAY_1, 9, 15), at(DAY_1, 9, 30)), grid.findStartTimes(30));
+        }
+
+        @Test
+        @DisplayName("Should not count partial slots at the edges of a window")
+        void shouldIgnorePartialSlots() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_1);
+            grid.markFree(DAY_1, LocalTime.of(9, 5), LocalTime.of(10, 10));
+
+            assertEquals(List.of(at(DAY_1, 9, 15), at(DAY_1, 9, 30), at(DAY_1, 9, 45)), grid.findStartTimes(15));
+        }
+
+        @Test
+        @DisplayName("Should ignore windows outside the range or of zero length")
+        void shouldIgnoreInvalidWindows() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_1);
+            grid.markFree(DAY_2, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            grid.markFree(DAY_1.minusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0));
+            grid.markFree(DAY_1, LocalTime.of(10, 0), LocalTime.of(9, 0));
+            grid.markFree(DAY_1, LocalTime.of(9, 5), LocalTime.of(9, 20));
+
+            assertTrue(grid.findStartTimes(15).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should not let a meeting span midnight")
+        void shouldNotSpanMidnight() {
+            AvailabilityGrid grid = AvailabilityGrid.open(DAY_1, DAY_2);
+            grid.markBusy(at(DAY_1, 0, 0), at(DAY_1, 23, 0));
+            grid.markBusy(at(DAY_2, 1, 0), at(DAY_2.plusDays(1), 0, 0));
+
+            assertEquals(List.of(at(DAY_1, 23, 0), at(DAY_2, 0, 0)), grid.findStartTimes(60));
+            assertTrue(grid.findStartTimes(90).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Busy periods")
+    class BusyPeriods {
+
+        @Test
+        @DisplayName("Should block every slot a busy period touches")
+        void shouldBlockTouchedSlots() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_1);
+            grid.markFree(DAY_1, LocalTime.of(10, 0), LocalTime.of(11, 0));
+            grid.markBusy(at(DAY_1, 10, 5), at(DAY_1, 10, 20));
+
+            assertEquals(List.of(at(DAY_1, 10, 30), at(DAY_1, 10, 45)), grid.findStartTimes(15));
+        }
+
+        @Test
+        @DisplayName("Should clip busy periods to the grid range")
+        void shouldClipBusyPeriods() {
+            AvailabilityGrid grid = AvailabilityGrid.open(DAY_1, DAY_1);
+            grid.markBusy(at(DAY_1.minusDays(1), 12, 0), at(DAY_1, 23, 0));
+            grid.markBusy(at(DAY_2, 0, 0), at(DAY_2, 12, 0));
+
+            assertEquals(List.of(at(DAY_1, 23, 0)), grid.findStartTimes(60));
+        }
+
+        @Test
+        @DisplayName("Should block whole days")
+        void shouldBlockWholeDays() {
+            AvailabilityGrid grid = AvailabilityGrid.open(DAY_1, DAY_2);
+            grid.markDaysBusy(DAY_1, DAY_1);
+
+            List<LocalDateTime> starts = grid.findStartTimes(24 * 60);
+
+            assertEquals(List.of(at(DAY_2, 0, 0)), starts);
+        }
+
+        @Test
+        @DisplayName("Should keep only slots free in both grids")
+        void shouldIntersect() {
+            AvailabilityGrid first = AvailabilityGrid.closed(DAY_1, DAY_1);
+            first.markFree(DAY_1, LocalTime.of(9, 0), LocalTime.of(11, 0));
+            AvailabilityGrid second = AvailabilityGrid.closed(DAY_1, DAY_1);
+            second.markFree(DAY_1, LocalTime.of(10, 30), LocalTime.of(12, 0));
+
+            first.intersect(second);
+
+            assertEquals(List.of(at(DAY_1, 10, 30)), first.findStartTimes(30));
+        }
+    }
+
+    @Nested
+    @DisplayName("Helpers")
+    class Helpers {
+
+        @Test
+        @DisplayName("Should round durations up to whole slots")
+        void shouldRoundSlotsUp() {
+            assertEquals(1, AvailabilityGrid.slotsFor(1));
+            assertEquals(1, AvailabilityGrid.slotsFor(15));
+            assertEquals(2, AvailabilityGrid.slotsFor(16));
+            assertEquals(4, AvailabilityGrid.slotsFor(60));
+        }
+
+        @Test
+        @DisplayName("Should count free slots around a booking within the day")
+        void shouldCountFreeAround() {
+            AvailabilityGrid grid = AvailabilityGrid.closed(DAY_1, DAY_1);
+            grid.markFree(DAY_1, LocalTime.of(9, 0), LocalTime.of(11, 0));
+
+            assertEquals(4, grid.countFreeAround(at(DAY_1, 9, 30), 30, 2));
+            assertEquals(2, grid.countFreeAround(at(DAY_1, 9, 0), 30, 2));
+            assertEquals(2, grid.countFreeAround(at(DAY_1, 9, 15), 90, 4));
+        }
+
+        @Test
+        @DisplayName("Should not count past midnight")
+        void shouldStopAtMidnight() {
+            AvailabilityGrid grid = AvailabilityGrid.open(DAY_1, DAY_2);
+
+            assertEquals(4, grid.countFreeAround(at(DAY_1, 23, 30), 30, 4));
+        }
+    }
+}
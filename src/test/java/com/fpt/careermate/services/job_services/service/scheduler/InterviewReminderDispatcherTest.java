@@ -0,0 +1,136 @@
+package com.fpt.careermate.services.job_services.service.scheduler;
+
+import com.fpt.careermate.common.constant.InterviewType;
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.account_services.domain.Account;
+import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
+import com.fpt.careermate.services.job_services.domain.JobApply;
+import com.fpt.careermate.services.job_services.domain.JobPosting;
+import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
+import com.fpt.careermate.services.job_services.service.scheduler.InterviewReminderDispatcher.ChunkResult;
+import com.fpt.careermate.services.job_services.service.scheduler.InterviewReminderDispatcher.ReminderType;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("InterviewReminderDispatcher Tests")
+class InterviewReminderDispatcherTest {
+
+    private static final LocalDateTime SCHEDULED = LocalDateTime.of(2030, 1, 15, 10, 0);
+
+    private InterviewScheduleRepo interviewRepo;
+    private NotificationProducer notificationProducer;
+    private InterviewReminderDispatcher dispatcher;
+
+    private static InterviewSchedule interview(int id) {
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId(7);
+        candidate.setAccount(Account.builder().email("candidate@example.com").build());
+
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(3);
+        recruiter.setAccount(Account.builder().email("recruiter@example.com").build());
+
+        JobApply jobApply = JobApply.builder()
+                .id(id)
+                .fullName("Jane Doe")
+                .candidate(candidate)
+                .jobPosting(JobPosting.builder().title("Java Dev").recruiter(recruiter).build())
+                .build();
+
+        return InterviewSchedule.builder()
+                .id(id)
+                .jobApply(jobApply)
+                .scheduledDate(SCHEDULED)
+                .interviewType(InterviewType.VIDEO_CALL)
+                .meetingLink("https://meet.example.com/abc")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        interviewRepo = mock(InterviewScheduleRepo.class);
+        notificationProducer = mock(NotificationProducer.class);
+        dispatcher = new InterviewReminderDispatcher(interviewRepo, notificationProducer);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no reminder is due")
+    void shouldSkipEmptyChunk() {
+        when(interviewRepo.claimDue24hReminders(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(new ChunkResult(0, 0), dispatcher.dispatchChunk(ReminderType.TWENTY_FOUR_HOUR));
+        verifyNoInteractions(notificationProducer);
+        verify(interviewRepo, never()).findAllWithDetailsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should remind candidate and recruiter and flag the chunk in one update")
+    void shouldSendAndFlagChunk() {
+        when(interviewRepo.claimDue24hReminders(any(), any(), any(), eq(InterviewReminderDispatcher.CHUNK_SIZE)))
+                .thenReturn(List.of(1, 2));
+        when(interviewRepo.findAllWithDetailsByIdIn(List.of(1, 2))).thenReturn(List.of(interview(1), interview(2)));
+
+        assertEquals(new ChunkResult(2, 2), dispatcher.dispatchChunk(ReminderType.TWENTY_FOUR_HOUR));
+
+        verify(notificationProducer, times(2)).sendNotification(eq(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC), any());
+        verify(notificationProducer, times(2)).sendNotification(eq(KafkaConfig.RECRUITER_NOTIFICATION_TOPIC), any());
+        verify(interviewRepo).markReminder24hSent(List.of(1, 2));
+        verify(interviewRepo, never()).deferReminders(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should derive stable event IDs so a republished reminder is deduplicated")
+    void shouldUseStableEventIds() {
+        when(interviewRepo.claimDue2hReminders(any(), any(), any(), anyInt())).thenReturn(List.of(1));
+        when(interviewRepo.findAllWithDetailsByIdIn(List.of(1))).thenReturn(List.of(interview(1)));
+
+        dispatcher.dispatchChunk(ReminderType.TWO_HOUR);
+
+        verify(notificationProducer).sendNotification(eq(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC),
+                argThat((NotificationEvent event) ->
+                        ("interview-1-" + SCHEDULED + "-2_HOUR-candidate").equals(event.getEventId())
+                                && "7".equals(event.getRecipientId())));
+        verify(notificationProducer).sendNotification(eq(KafkaConfig.RECRUITER_NOTIFICATION_TOPIC),
+                argThat((NotificationEvent event) ->
+                        ("interview-1-" + SCHEDULED + "-2_HOUR-recruiter").equals(event.getEventId())
+                                && "3".equals(event.getRecipientId())));
+        verify(interviewRepo).markReminder2hSent(List.of(1));
+    }
+
+    @Test
+    @DisplayName("Should defer a reminder that can't be built and still flag the others")
+    void shouldDeferBrokenReminder() {
+        InterviewSchedule broken = interview(2);
+        broken.getJobApply().getCandidate().setAccount(null);
+        when(interviewRepo.claimDue24hReminders(any(), any(), any(), anyInt())).thenReturn(List.of(1, 2));
+        when(interviewRepo.findAllWithDetailsByIdIn(List.of(1, 2))).thenReturn(List.of(interview(1), broken));
+
+        assertEquals(new ChunkResult(2, 1), dispatcher.dispatchChunk(ReminderType.TWENTY_FOUR_HOUR));
+
+        verify(interviewRepo).markReminder24hSent(List.of(1));
+        verify(interviewRepo).deferReminders(eq(List.of(2)), any());
+    }
+
+    @Test
+    @DisplayName("Should let an outbox failure roll back the chunk")
+    void shouldPropagateOutboxFailure() {
+        when(interviewRepo.claimDue24hReminders(any(), any(), any(), anyInt())).thenReturn(List.of(1));
+        when(interviewRepo.findAllWithDetailsByIdIn(List.of(1))).thenReturn(List.of(interview(1)));
+        doThrow(new IllegalStateException("outbox unavailable"))
+                .when(notificationProducer).sendNotification(anyString(), any());
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatchChunk(ReminderType.TWENTY_FOUR_HOUR));
+        verify(interviewRepo, never()).markReminder24hSent(any());
+    }
+}
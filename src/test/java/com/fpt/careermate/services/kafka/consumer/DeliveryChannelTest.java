@@ -0,0 +1,55 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DeliveryChannel Tests")
+class DeliveryChannelTest {
+
+    @Test
+    @DisplayName("First retry should wait the initial backoff")
+    void firstRetryWaitsInitialBackoff() {
+        for (DeliveryChannel channel : DeliveryChannel.values()) {
+            assertEquals(channel.getInitialBackoffMillis(), channel.backoffMillis(1), channel.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Backoff should double after each failed attempt")
+    void backoffDoubles() {
+        assertEquals(200, DeliveryChannel.SSE.backoffMillis(1));
+        assertEquals(400, DeliveryChannel.SSE.backoffMillis(2));
+        assertEquals(800, DeliveryChannel.SSE.backoffMillis(3));
+        assertEquals(16_000, DeliveryChannel.EMAIL.backoffMillis(4));
+    }
+
+    @Test
+    @DisplayName("Backoff should be capped at one minute")
+    void backoffIsCapped() {
+        assertEquals(32_000, DeliveryChannel.EMAIL.backoffMillis(5));
+        assertEquals(60_000, DeliveryChannel.EMAIL.backoffMillis(6));
+        assertEquals(60_000, DeliveryChannel.PUSH.backoffMillis(20));
+    }
+
+    @Test
+    @DisplayName("Backoff should not overflow for very large attempt numbers")
+    void backoffDoesNotOverflow() {
+        for (DeliveryChannel channel : DeliveryChannel.values()) {
+            long backoff = channel.backoffMillis(Integer.MAX_VALUE);
+            assertTrue(backoff > 0 && backoff <= 60_000, channel.name() + ": " + backoff);
+        }
+    }
+
+    @Test
+    @DisplayName("Backoff should never decrease as attempts grow")
+    void backoffIsMonotonic() {
+        for (DeliveryChannel channel : DeliveryChannel.values()) {
+            for (int attempt = 1; attempt < 64; attempt++) {
+                assertTrue(channel.backoffMillis(attempt + 1) >= channel.backoffMillis(attempt),
+                        channel.name() + " attempt " + attempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.notification_services.domain.NotificationPreference;
+import com.fpt.careermate.services.notification_services.service.NotificationPreferenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationCoalescer Tests")
+class NotificationCoalescerTest {
+
+    private static final String APPLICATION_RECEIVED = NotificationEvent.EventType.APPLICATION_RECEIVED.name();
+    private static final int MAX_PENDING = 3;
+
+    private NotificationPreferenceService preferenceService;
+    private NotificationCoalescer coalescer;
+    private NotificationPreference preference;
+
+    private static NotificationEvent event(String eventId, String eventType, String jobTitle) {
+        return NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType)
+                .recipientId("recruiter@example.com")
+                .recipientEmail("recruiter@example.com")
+                .category("APPLICATION")
+                .priority(2)
+                .metadata(jobTitle != null ? Map.of("jobTitle", jobTitle) : null)
+                .build();
+    }
+
+    private static NotificationEvent application(String eventId, String jobTitle) {
+        return event(eventId, APPLICATION_RECEIVED, jobTitle);
+    }
+
+    @BeforeEach
+    void setUp() {
+        preferenceService = mock(NotificationPreferenceService.class);
+        coalescer = new NotificationCoalescer(preferenceService, new String[]{APPLICATION_RECEIVED}, 15, MAX_PENDING);
+        preference = NotificationPreference.defaults("recruiter@example.com");
+        when(preferenceService.getPreferences(anyCollection()))
+                .thenAnswer(invocation -> Map.of("recruiter@example.com", preference));
+    }
+
+    @Nested
+    @DisplayName("Offer")
+    class Offer {
+
+        @Test
+        @DisplayName("Should deliver the first event of a window and hold back the rest")
+        void shouldHoldBackAfterLeadingEdge() {
+            assertFalse(coalescer.offer(application("1", "Java Dev"), preference));
+            assertTrue(coalescer.offer(application("2", "Java Dev"), preference));
+            assertTrue(coalescer.offer(application("3", "Java Dev"), preference));
+        }
+
+        @Test
+        @DisplayName("Should not hold back other event types")
+        void shouldPassOtherTypes() {
+            assertFalse(coalescer.offer(event("1", "JOB_APPROVED", null), preference));
+            assertFalse(coalescer.offer(event("2", "JOB_APPROVED", null), preference));
+        }
+
+        @Test
+        @DisplayName("Should not hold back critical events")
+        void shouldPassCriticalEvents() {
+            coalescer.offer(application("1", "Java Dev"), preference);
+            NotificationEvent critical = application("2", "Java Dev");
+            critical.setPriority(1);
+
+            assertFalse(coalescer.offer(critical, preference));
+        }
+
+        @Test
+        @DisplayName("Should not hold back when the user disabled digests")
+        void shouldRespectPreference() {
+            preference.setDigestEnabled(false);
+
+            assertFalse(coalescer.offer(application("1", "Java Dev"), preference));
+            assertFalse(coalescer.offer(application("2", "Java Dev"), preference));
+        }
+
+        @Test
+        @DisplayName("Should keep separate windows per recipient")
+        void shouldGroupPerRecipient() {
+            coalescer.offer(application("1", "Java Dev"), preference);
+            NotificationEvent other = application("2", "Java Dev");
+            other.setRecipientId("other@example.com");
+
+            assertFalse(coalescer.offer(other, preference));
+        }
+    }
+
+    @Nested
+    @DisplayName("Drain")
+    class Drain {
+
+        @Test
+        @DisplayName("Should not drain an open window")
+        void shouldKeepOpenWindow() {
+            coalescer.offer(application("1", "Java Dev"), preference);
+            coalescer.offer(application("2", "Java Dev"), preference);
+
+            assertTrue(coalescer.drainDue().isEmpty());
+            verifyNoInteractions(preferenceService);
+        }
+
+        @Test
+        @DisplayName("Should close the window early once max pending is reached")
+        void shouldDrainWhenFull() {
+            coalescer.offer(application("0", "Java Dev"), preference);
+            for (int i = 1; i <= MAX_PENDING; i++) {
+                coalescer.offer(application(String.valueOf(i), "Java Dev"), preference);
+            }
+
+            List<NotificationCoalescer.Digest> digests = coalescer.drainDue();
+
+            assertEquals(1, digests.size());
+            assertEquals(List.of("1", "2", "3"),
+                    digests.get(0).events().stream().map(NotificationEvent::getEventId).toList());
+            assertTrue(coalescer.drainDue().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep digests pending during quiet hours")
+        void shouldWaitForQuietHours() {
+            preference.setQuietHoursStart(LocalTime.MIN);
+            preference.setQuietHoursEnd(LocalTime.MAX);
+            coalescer.offer(application("0", "Java Dev"), preference);
+            for (int i = 1; i <= MAX_PENDING; i++) {
+                coalescer.offer(application(String.valueOf(i), "Java Dev"), preference);
+            }
+
+            assertTrue(coalescer.drainDue().isEmpty());
+
+            preference.setQuietHoursStart(null);
+            assertEquals(1, coalescer.drainDue().size());
+        }
+
+        @Test
+        @DisplayName("Should count events held through quiet hours beyond max pending")
+        void shouldCapPendingDuringQuietHours() {
+            preference.setQuietHoursStart(LocalTime.MIN);
+            preference.setQuietHoursEnd(LocalTime.MAX);
+            coalescer.offer(application("0", "Java Dev"), preference);
+            for (int i = 1; i <= MAX_PENDING + 5; i++) {
+                assertTrue(coalescer.offer(application(String.valueOf(i), "Java Dev"), preference));
+            }
+            assertTrue(coalescer.drainDue().isEmpty());
+
+            preference.setQuietHoursStart(null);
+            List<NotificationCoalescer.Digest> digests = coalescer.drainDue();
+
+            assertEquals(1, digests.size());
+            assertEquals(MAX_PENDING, digests.get(0).events().size());
+            assertEquals(5, digests.get(0).overflow());
+            assertEquals("8 new applications", digests.get(0).toEvent().getTitle());
+        }
+    }
+
+    @Nested
+    @DisplayName("Digest")
+    class DigestEvent {
+
+        @Test
+        @DisplayName("Should summarize events of one job")
+        void shouldSummarizeSingleJob() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest("recruiter@example.com",
+                    "APPLICATION", APPLICATION_RECEIVED,
+                    List.of(application("1", "Java Dev"), application("2", "Java Dev")), 0);
+
+            NotificationEvent event = digest.toEvent();
+
+            assertEquals("2 new applications for Java Dev", event.getTitle());
+            assertEquals(NotificationEvent.EventType.NOTIFICATION_DIGEST.name(), event.getEventType());
+            assertEquals("digest-2", event.getEventId());
+            assertEquals(2, event.getMetadata().get("count"));
+            assertEquals(List.of("1", "2"), event.getMetadata().get("eventIds"));
+        }
+
+        @Test
+        @DisplayName("Should list counts per job when several jobs are involved")
+        void shouldListCountsPerJob() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest("recruiter@example.com",
+                    "APPLICATION", APPLICATION_RECEIVED,
+                    List.of(application("1", "Java Dev"), application("2", "QA"), application("3", "Java Dev")), 0);
+
+            NotificationEvent event = digest.toEvent();
+
+            assertEquals("3 new applications", event.getTitle());
+            assertTrue(event.getMessage().contains("- Java Dev: 2"), event.getMessage());
+            assertTrue(event.getMessage().contains("- QA: 1"), event.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should use the singular for one event")
+        void shouldUseSingular() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest("recruiter@example.com",
+                    "APPLICATION", APPLICATION_RECEIVED, List.of(application("1", null)), 0);
+
+            assertEquals("1 new application", digest.toEvent().getTitle());
+        }
+
+        @Test
+        @DisplayName("Should include counted-only events in the total")
+        void shouldCountOverflow() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest("recruiter@example.com",
+                    "APPLICATION", APPLICATION_RECEIVED,
+                    List.of(application("1", "Java Dev"), application("2", "Java Dev")), 10);
+
+            NotificationEvent event = digest.toEvent();
+
+            assertEquals("12 new applications", event.getTitle());
+            assertTrue(event.getMessage().contains("- Java Dev: 2"), event.getMessage());
+            assertTrue(event.getMessage().contains("- 10 more"), event.getMessage());
+            assertEquals(12, event.getMetadata().get("count"));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.email_services.service.impl.EmailService;
+import com.fpt.careermate.services.health_services.service.NotificationPipelineMetrics;
+import com.fpt.careermate.services.health_services.service.NotificationWorkerHealthTracker;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.notification_services.repository.BroadcastNotificationRepo;
+import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
+import com.fpt.careermate.services.notification_services.service.FcmPushNotificationService;
+import com.fpt.careermate.services.notification_services.service.NotificationPreferenceService;
+import com.fpt.careermate.services.notification_services.service.NotificationSseService;
+import com.fpt.careermate.services.notification_services.service.UnreadCounterService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationConsumer Tests")
+class NotificationConsumerTest {
+
+    private NotificationRepo notificationRepo;
+    private Acknowledgment acknowledgment;
+    private NotificationConsumer consumer;
+
+    private static ConsumerRecord<String, NotificationEvent> record(long offset, String eventId) {
+        NotificationEvent event = NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType("JOB_APPROVED")
+                .recipientId("user@example.com")
+                .title("Title")
+                .message("Message")
+                .build();
+        return new ConsumerRecord<>(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, 0, offset, event.getRecipientId(), event);
+    }
+
+    @BeforeEach
+    void setUp() {
+        notificationRepo = mock(NotificationRepo.class);
+        acknowledgment = mock(Acknowledgment.class);
+        consumer = new NotificationConsumer(
+                mock(NotificationWorkerHealthTracker.class),
+                mock(NotificationPipelineMetrics.class),
+                notificationRepo,
+                mock(BroadcastNotificationRepo.class),
+                mock(EmailService.class),
+                mock(NotificationSseService.class),
+                mock(FcmPushNotificationService.class),
+                mock(NotificationDeliveryDispatcher.class),
+                mock(UnreadCounterService.class),
+                mock(NotificationPreferenceService.class),
+                mock(NotificationCoalescer.class));
+    }
+
+    @Test
+    @DisplayName("Should store a healthy batch with one query and acknowledge it")
+    void shouldAcknowledgeHealthyBatch() {
+        consumer.consumeCandidateNotifications(List.of(record(0, "a"), record(1, "b")), acknowledgment, mock(Consumer.class));
+
+        verify(notificationRepo, times(1)).findExistingEventIds(anyCollection());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should report only the failing record to the error handler")
+    @SuppressWarnings("unchecked")
+    void shouldReportFailingRecordIndex() {
+        when(notificationRepo.findExistingEventIds(anyCollection())).thenAnswer(invocation -> {
+            if (((Collection<String>) invocation.getArgument(0)).contains("poison")) {
+                throw new IllegalStateException("cannot store");
+            }
+            return List.of();
+        });
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.consumeCandidateNotifications(
+                        List.of(record(0, "a"), record(1, "poison"), record(2, "c")),
+                        acknowledgment, mock(Consumer.class)));
+
+        assertEquals(1, failure.getIndex());
+        verify(acknowledgment, never()).acknowledge();
+        // The record before the failing one was stored on its own
+        verify(notificationRepo).findExistingEventIds(argThat((Collection<String> ids) -> ids.size() == 1 && ids.contains("a")));
+    }
+}
@@ -0,0 +1,131 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationDeliveryDispatcher Tests")
+class NotificationDeliveryDispatcherTest {
+
+    private NotificationDeliveryDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dispatcher = new NotificationDeliveryDispatcher(mock(KafkaTemplate.class), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private static NotificationEvent event(String recipientId, int sequence) {
+        return NotificationEvent.builder()
+                .eventId(recipientId + "-" + sequence)
+                .recipientId(recipientId)
+                .build();
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write one recipient's SSE events in dispatch order")
+    void shouldKeepRecipientOrder() throws InterruptedException {
+        int events = 200;
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(events);
+
+        for (int i = 0; i < events; i++) {
+            int sequence = i;
+            dispatcher.dispatch(DeliveryChannel.SSE, event("user@example.com", sequence), () -> {
+                pause();
+                delivered.add(sequence);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < events; i++) {
+            assertEquals(i, delivered.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should hold later SSE events while a failed one is retried")
+    void shouldRetryInPlace() throws InterruptedException {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(2);
+
+        dispatcher.dispatch(DeliveryChannel.SSE, event("user@example.com", 0), () -> {
+            if (failedOnce.compareAndSet(false, true)) {
+                throw new IllegalStateException("emitter busy");
+            }
+            delivered.add(0);
+            done.countDown();
+        });
+        dispatcher.dispatch(DeliveryChannel.SSE, event("user@example.com", 1), () -> {
+            delivered.add(1);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1), delivered);
+    }
+
+    @Test
+    @DisplayName("Should order unread counts with the recipient's notifications")
+    void shouldOrderKeyedDeliveries() throws InterruptedException {
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        dispatcher.dispatch(DeliveryChannel.SSE, event("user@example.com", 0), () -> {
+            pause();
+            delivered.add("notification");
+            done.countDown();
+        });
+        dispatcher.dispatch(DeliveryChannel.SSE, "user@example.com", null, () -> {
+            delivered.add("unread-count");
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("notification", "unread-count"), delivered);
+    }
+
+    @Test
+    @DisplayName("Should always route a recipient to the same lane")
+    void shouldPickStableLane() {
+        int lanes = DeliveryChannel.SSE.getConcurrency();
+
+        assertEquals(NotificationDeliveryDispatcher.laneFor("user@example.com", lanes),
+                NotificationDeliveryDispatcher.laneFor("user@example.com", lanes));
+        assertEquals(0, NotificationDeliveryDispatcher.laneFor(null, lanes));
+        for (int i = 0; i < 1_000; i++) {
+            int lane = NotificationDeliveryDispatcher.laneFor("user-" + i, lanes);
+            assertTrue(lane >= 0 && lane < lanes);
+        }
+    }
+}
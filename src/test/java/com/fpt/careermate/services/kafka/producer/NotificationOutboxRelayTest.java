@@ -0,0 +1,134 @@
+package com.fpt.careermate.services.kafka.producer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.health_services.service.NotificationPipelineMetrics;
+import com.fpt.careermate.services.kafka.domain.NotificationOutbox;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.repository.NotificationOutboxRepo;
+import com.fpt.careermate.services.kafka.serialization.NotificationEventCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationOutboxRelay Tests")
+class NotificationOutboxRelayTest {
+
+    private NotificationOutboxRepo outboxRepo;
+    private KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private NotificationOutboxRelay relay;
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private static NotificationOutbox row(long id, String key, String eventId) {
+        NotificationEvent event = NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType("JOB_APPROVED")
+                .recipientId(key)
+                .build();
+        return NotificationOutbox.builder()
+                .id(id)
+                .topic(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC)
+                .messageKey(key)
+                .eventId(eventId)
+                .payload(Base64.getEncoder().encodeToString(NotificationEventCodec.encode(event)))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepo = mock(NotificationOutboxRepo.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(outboxRepo.tryRelayLock(anyLong())).thenReturn(true);
+        relay = new NotificationOutboxRelay(outboxRepo, kafkaTemplate, new ObjectMapper(),
+                mock(NotificationPipelineMetrics.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 100, 5, 10);
+    }
+
+    /**
+     * Acknowledge every send except those for the given event IDs
+     */
+    private void failSendsOf(Set<String> failingEventIds) {
+        when(kafkaTemplate.send(anyString(), any(), any())).thenAnswer(invocation -> {
+            NotificationEvent event = invocation.getArgument(2);
+            sent.add(event.getEventId());
+            return failingEventIds.contains(event.getEventId())
+                    ? CompletableFuture.failedFuture(new IllegalStateException("not leader"))
+                    : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+    }
+
+    @Test
+    @DisplayName("Should publish and delete a clean batch")
+    void shouldPublishCleanBatch() {
+        when(outboxRepo.findNextBatch(100)).thenReturn(List.of(row(1, "a", "a-1"), row(2, "a", "a-2"), row(3, "b", "b-1")));
+        failSendsOf(Set.of());
+
+        relay.relay();
+
+        assertEquals(List.of("a-1", "b-1", "a-2"), sent);
+        verify(outboxRepo).deleteByIdIn(argThat((List<Long> ids) -> Set.copyOf(ids).equals(Set.of(1L, 2L, 3L))));
+        verify(outboxRepo, never()).recordFailedAttempt(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not send a key's later rows after its send failed")
+    void shouldHoldBackKeyAfterFailure() {
+        when(outboxRepo.findNextBatch(100)).thenReturn(List.of(row(1, "a", "a-1"), row(2, "a", "a-2"), row(3, "b", "b-1")));
+        failSendsOf(Set.of("a-1"));
+
+        relay.relay();
+
+        assertFalse(sent.contains("a-2"));
+        verify(outboxRepo).deleteByIdIn(List.of(3L));
+        verify(outboxRepo).recordFailedAttempt(eq(List.of(1L)), eq("not leader"));
+    }
+
+    @Test
+    @DisplayName("Should stop the batch when a send fails before reaching the producer")
+    void shouldAbortOnSynchronousFailure() {
+        when(outboxRepo.findNextBatch(100)).thenReturn(List.of(row(1, "a", "a-1"), row(2, "b", "b-1"), row(3, "c", "c-1")));
+        when(kafkaTemplate.send(anyString(), any(), any())).thenAnswer(invocation -> {
+            NotificationEvent event = invocation.getArgument(2);
+            sent.add(event.getEventId());
+            throw new IllegalStateException("Topic metadata not present after 5000 ms");
+        });
+
+        relay.relay();
+
+        assertEquals(List.of("a-1"), sent);
+        verify(outboxRepo, never()).deleteByIdIn(any());
+        verify(outboxRepo).recordFailedAttempt(eq(List.of(1L)), anyString());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter an unreadable row without blocking its key")
+    void shouldDeadLetterUnreadableRow() {
+        NotificationOutbox unreadable = row(1, "a", "a-1");
+        unreadable.setPayload("not base64!");
+        when(outboxRepo.findNextBatch(100)).thenReturn(List.of(unreadable, row(2, "a", "a-2")));
+        failSendsOf(Set.of());
+
+        relay.relay();
+
+        assertEquals(List.of("a-2"), sent);
+        verify(outboxRepo).deadLetter(eq(Set.of(1L)), anyString(), any());
+        verify(outboxRepo).deleteByIdIn(List.of(2L));
+    }
+}
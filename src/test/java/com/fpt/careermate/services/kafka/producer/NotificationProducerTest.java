@@ -0,0 +1,92 @@
+package com.fpt.careermate.services.kafka.producer;
+
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.kafka.domain.NotificationOutbox;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.kafka.repository.NotificationOutboxRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationProducer Tests")
+class NotificationProducerTest {
+
+    private NotificationOutboxRepo outboxRepo;
+    private NotificationProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepo = mock(NotificationOutboxRepo.class);
+        producer = new NotificationProducer(outboxRepo);
+    }
+
+    private NotificationOutbox queued() {
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should key a notification by its recipient")
+    void shouldKeyByRecipient() {
+        producer.sendNotification(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, NotificationEvent.builder()
+                .eventId("event-1")
+                .recipientId("user@example.com")
+                .build());
+
+        NotificationOutbox row = queued();
+        assertEquals("user@example.com", row.getMessageKey());
+        assertEquals("event-1", row.getEventId());
+        assertEquals(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, row.getTopic());
+    }
+
+    @Test
+    @DisplayName("Should give every notification of a recipient the same key")
+    void shouldUseSameKeyPerRecipient() {
+        producer.sendNotification(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC,
+                NotificationEvent.builder().eventId("event-1").recipientId("user@example.com").build());
+        producer.sendNotification(KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC,
+                NotificationEvent.builder().eventId("event-2").recipientId("user@example.com").build());
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo, times(2)).save(captor.capture());
+        assertEquals(captor.getAllValues().get(0).getMessageKey(), captor.getAllValues().get(1).getMessageKey());
+    }
+
+    @Test
+    @DisplayName("Should key a broadcast by its audience")
+    void shouldKeyBroadcastByAudience() {
+        producer.sendBroadcastNotification(NotificationEvent.builder()
+                .eventId("broadcast-1")
+                .audience("CANDIDATE")
+                .build());
+
+        NotificationOutbox row = queued();
+        assertEquals("CANDIDATE", row.getMessageKey());
+        assertEquals(KafkaConfig.BROADCAST_NOTIFICATION_TOPIC, row.getTopic());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the event ID without recipient or audience")
+    void shouldFallBackToEventId() {
+        producer.sendNotification(KafkaConfig.ADMIN_NOTIFICATION_TOPIC, NotificationEvent.builder()
+                .recipientId(" ")
+                .build());
+
+        NotificationOutbox row = queued();
+        assertNotNull(row.getEventId());
+        assertEquals(row.getEventId(), row.getMessageKey());
+    }
+
+    @Test
+    @DisplayName("Should reject a broadcast without audience")
+    void shouldRejectBroadcastWithoutAudience() {
+        assertThrows(IllegalArgumentException.class,
+                () -> producer.sendBroadcastNotification(NotificationEvent.builder().eventId("broadcast-1").build()));
+        verifyNoInteractions(outboxRepo);
+    }
+}
@@ -0,0 +1,192 @@
+package com.fpt.careermate.services.kafka.serialization;
+
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationEventCodec Tests")
+class NotificationEventCodecTest {
+
+    private static NotificationEvent fullEvent() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("jobId", 42);
+        nested.put("tags", List.of("java", "spring"));
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("int", 7);
+        metadata.put("long", 1L << 40);
+        metadata.put("double", 3.5);
+        metadata.put("flag", true);
+        metadata.put("off", false);
+        metadata.put("text", "hello");
+        metadata.put("missing", null);
+        metadata.put("nested", nested);
+
+        return NotificationEvent.builder()
+                .eventId("evt-1")
+                .eventType("EMAIL")
+                .recipientId("12")
+                .recipientEmail("user@example.com")
+                .title("Title")
+                .subject("Subject")
+                .message("Message")
+                .category("JOB")
+                .audience("ALL")
+                .priority(1)
+                .timestamp(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000))
+                .metadata(metadata)
+                .build();
+    }
+
+    private static NotificationEvent roundTrip(NotificationEvent event) {
+        return NotificationEventCodec.decode(NotificationEventCodec.encode(event));
+    }
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTrip {
+
+        @Test
+        @DisplayName("Should keep every field")
+        void shouldKeepEveryField() {
+            NotificationEvent event = fullEvent();
+
+            assertEquals(event, roundTrip(event));
+        }
+
+        @Test
+        @DisplayName("Should keep null fields null")
+        void shouldKeepNullFields() {
+            NotificationEvent decoded = roundTrip(new NotificationEvent());
+
+            assertEquals(new NotificationEvent(), decoded);
+            assertNull(decoded.getMetadata());
+            assertNull(decoded.getPriority());
+            assertNull(decoded.getTimestamp());
+        }
+
+        @Test
+        @DisplayName("Should keep empty strings distinct from null")
+        void shouldKeepEmptyStrings() {
+            NotificationEvent event = NotificationEvent.builder().title("").message(null).metadata(Map.of()).build();
+
+            NotificationEvent decoded = roundTrip(event);
+
+            assertEquals("", decoded.getTitle());
+            assertNull(decoded.getMessage());
+            assertEquals(Map.of(), decoded.getMetadata());
+        }
+
+        @Test
+        @DisplayName("Should keep unicode text")
+        void shouldKeepUnicode() {
+            NotificationEvent event = NotificationEvent.builder()
+                    .title("Phỏng vấn đã được xác nhận 🎉")
+                    .message("日本語 • Ελληνικά • 👩‍💻")
+                    .metadata(Map.of("tên", "Nguyễn Văn A"))
+                    .build();
+
+            assertEquals(event, roundTrip(event));
+        }
+
+        @Test
+        @DisplayName("Should keep metadata value types")
+        void shouldKeepMetadataTypes() {
+            Map<String, Object> metadata = roundTrip(fullEvent()).getMetadata();
+
+            assertInstanceOf(Integer.class, metadata.get("int"));
+            assertInstanceOf(Long.class, metadata.get("long"));
+            assertInstanceOf(Double.class, metadata.get("double"));
+            assertEquals(Boolean.TRUE, metadata.get("flag"));
+            assertEquals(Boolean.FALSE, metadata.get("off"));
+            assertTrue(metadata.containsKey("missing"));
+            assertNull(metadata.get("missing"));
+            assertInstanceOf(Map.class, metadata.get("nested"));
+            assertEquals(List.of("java", "spring"), ((Map<?, ?>) metadata.get("nested")).get("tags"));
+        }
+
+        @Test
+        @DisplayName("Should keep extreme numbers")
+        void shouldKeepExtremeNumbers() {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("minInt", Integer.MIN_VALUE);
+            metadata.put("maxLong", Long.MAX_VALUE);
+            metadata.put("minLong", Long.MIN_VALUE);
+            NotificationEvent event = NotificationEvent.builder().priority(-1).metadata(metadata).build();
+
+            assertEquals(event, roundTrip(event));
+        }
+    }
+
+    @Nested
+    @DisplayName("Versions")
+    class Versions {
+
+        @Test
+        @DisplayName("Should write the current version")
+        void shouldWriteCurrentVersion() {
+            byte[] data = NotificationEventCodec.encode(fullEvent());
+
+            assertTrue(NotificationEventCodec.isBinary(data));
+            assertEquals(NotificationEventCodec.VERSION, NotificationEventCodec.version(data));
+        }
+
+        @Test
+        @DisplayName("Should read known fields of a newer version and ignore appended ones")
+        void shouldReadNewerVersion() {
+            NotificationEvent event = fullEvent();
+            byte[] current = NotificationEventCodec.encode(event);
+            byte[] newer = Arrays.copyOf(current, current.length + 5);
+            newer[1] = (byte) 200;
+            System.arraycopy(new byte[]{1, 2, 3, 4, 5}, 0, newer, current.length, 5);
+
+            assertEquals(200, NotificationEventCodec.version(newer));
+            assertEquals(event, NotificationEventCodec.decode(newer));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid input")
+    class InvalidInput {
+
+        @Test
+        @DisplayName("Should reject every truncated prefix")
+        void shouldRejectTruncatedInput() {
+            byte[] data = NotificationEventCodec.encode(fullEvent());
+
+            for (int length = 0; length < data.length; length++) {
+                byte[] prefix = Arrays.copyOf(data, length);
+                assertThrows(IllegalArgumentException.class, () -> NotificationEventCodec.decode(prefix),
+                        "prefix of length " + length);
+            }
+        }
+
+        @Test
+        @DisplayName("Should not treat JSON as binary")
+        void shouldRejectJson() {
+            byte[] json = "{\"eventId\":\"evt-1\"}".getBytes(StandardCharsets.UTF_8);
+
+            assertFalse(NotificationEventCodec.isBinary(json));
+            assertThrows(IllegalArgumentException.class, () -> NotificationEventCodec.decode(json));
+        }
+
+        @Test
+        @DisplayName("Should reject a length larger than the record")
+        void shouldRejectOversizedLength() {
+            byte[] data = {NotificationEventCodec.MAGIC, NotificationEventCodec.VERSION, (byte) 0x7F};
+
+            assertThrows(IllegalArgumentException.class, () -> NotificationEventCodec.decode(data));
+        }
+    }
+}
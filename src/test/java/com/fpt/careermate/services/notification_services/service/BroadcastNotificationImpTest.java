@@ -0,0 +1,168 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.services.notification_services.domain.BroadcastNotification;
+import com.fpt.careermate.services.notification_services.repository.BroadcastNotificationRepo;
+import com.fpt.careermate.services.notification_services.repository.BroadcastReceiptRepo;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BroadcastNotificationImp Tests")
+class BroadcastNotificationImpTest {
+
+    private static final String USER = "candidate@example.com";
+
+    private BroadcastNotificationRepo broadcastRepo;
+    private BroadcastReceiptRepo receiptRepo;
+    private BroadcastNotificationImp broadcastService;
+
+    private static BroadcastNotification broadcast(long id, BroadcastAudience audience) {
+        return BroadcastNotification.builder()
+                .id(id)
+                .eventId("broadcast-" + id)
+                .eventType("SYSTEM_ANNOUNCEMENT")
+                .audience(audience)
+                .title("Maintenance")
+                .message("Tonight at 22:00")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void signIn(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(USER, null,
+                Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        broadcastRepo = mock(BroadcastNotificationRepo.class);
+        receiptRepo = mock(BroadcastReceiptRepo.class);
+        broadcastService = new BroadcastNotificationImp(broadcastRepo, receiptRepo);
+        signIn("ROLE_CANDIDATE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Audiences")
+    class Audiences {
+
+        @Test
+        @DisplayName("Should add one audience per role on top of ALL")
+        void shouldResolveFromRoles() {
+            assertEquals(Set.of(BroadcastAudience.ALL, BroadcastAudience.CANDIDATE, BroadcastAudience.RECRUITER),
+                    BroadcastAudience.fromAuthorities(List.of("ROLE_CANDIDATE", "ROLE_RECRUITER", "SCOPE_read")));
+        }
+
+        @Test
+        @DisplayName("Should only give ALL to a user without roles")
+        void shouldDefaultToAll() {
+            assertEquals(Set.of(BroadcastAudience.ALL), BroadcastAudience.fromAuthorities(null));
+            assertEquals(Set.of(BroadcastAudience.ALL), BroadcastAudience.fromAuthorities(List.of("ROLE_ALL")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class Reads {
+
+        @Test
+        @DisplayName("Should derive read state from the user's receipts")
+        @SuppressWarnings("unchecked")
+        void shouldMarkReadFromReceipts() {
+            when(broadcastRepo.findByAudienceInAndCreatedAtAfterOrderByCreatedAtDesc(any(), any(), any()))
+                    .thenReturn(new PageImpl<>(List.of(broadcast(1, BroadcastAudience.ALL),
+                            broadcast(2, BroadcastAudience.CANDIDATE))));
+            when(receiptRepo.findReadBroadcastIds(eq(USER), any())).thenReturn(List.of(2L));
+
+            Page<NotificationResponse> page = broadcastService.getMyBroadcasts(PageRequest.of(0, 20));
+
+            assertEquals(List.of(false, true), page.getContent().stream().map(NotificationResponse::getIsRead).toList());
+            assertTrue(page.getContent().stream().allMatch(response -> USER.equals(response.getRecipientId())
+                    && Boolean.TRUE.equals(response.getBroadcast())));
+            verify(broadcastRepo).findByAudienceInAndCreatedAtAfterOrderByCreatedAtDesc(
+                    argThat((Collection<BroadcastAudience> audiences) ->
+                            Set.copyOf(audiences).equals(Set.of(BroadcastAudience.ALL, BroadcastAudience.CANDIDATE))),
+                    any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not query receipts for an empty page")
+        void shouldSkipReceiptsForEmptyPage() {
+            when(broadcastRepo.findByAudienceInAndCreatedAtAfterOrderByCreatedAtDesc(any(), any(), any()))
+                    .thenReturn(Page.empty());
+
+            assertTrue(broadcastService.getMyBroadcasts(PageRequest.of(0, 20)).isEmpty());
+            verifyNoInteractions(receiptRepo);
+        }
+    }
+
+    @Nested
+    @DisplayName("Mark as read")
+    class MarkAsRead {
+
+        @Test
+        @DisplayName("Should write a receipt for a broadcast in the user's audience")
+        void shouldWriteReceipt() {
+            when(broadcastRepo.findById(2L)).thenReturn(Optional.of(broadcast(2, BroadcastAudience.CANDIDATE)));
+
+            NotificationResponse response = broadcastService.markBroadcastAsRead(2L);
+
+            assertTrue(response.getIsRead());
+            verify(receiptRepo).markRead(eq(2L), eq(USER), any());
+        }
+
+        @Test
+        @DisplayName("Should hide broadcasts addressed to other audiences")
+        void shouldRejectOtherAudience() {
+            when(broadcastRepo.findById(3L)).thenReturn(Optional.of(broadcast(3, BroadcastAudience.RECRUITER)));
+
+            assertThrows(AppException.class, () -> broadcastService.markBroadcastAsRead(3L));
+            verify(receiptRepo, never()).markRead(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should mark all visible broadcasts with one statement")
+        @SuppressWarnings("unchecked")
+        void shouldMarkAll() {
+            when(receiptRepo.markAllRead(eq(USER), any(), any(), any())).thenReturn(4);
+
+            assertEquals(4, broadcastService.markAllBroadcastsAsRead());
+            verify(receiptRepo).markAllRead(eq(USER),
+                    argThat((Collection<String> audiences) -> Set.copyOf(audiences).equals(Set.of("ALL", "CANDIDATE"))),
+                    any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject anonymous callers")
+    void shouldRequireAuthentication() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(AppException.class, () -> broadcastService.getUnreadBroadcastCount());
+    }
+}
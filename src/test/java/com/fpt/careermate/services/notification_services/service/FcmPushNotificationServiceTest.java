@@ -0,0 +1,123 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.services.notification_services.domain.DeviceToken;
+import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FcmPushNotificationService Tests")
+class FcmPushNotificationServiceTest {
+
+    private static final String USER = "user@example.com";
+
+    private DeviceTokenRepo deviceTokenRepo;
+    private StubFcmClient fcmClient;
+    private FcmPushNotificationService pushService;
+
+    private static NotificationResponse notification() {
+        return NotificationResponse.builder()
+                .id(1L)
+                .eventType("JOB_APPROVED")
+                .title("Title")
+                .message("Message")
+                .priority(2)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<DeviceToken> tokens(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> DeviceToken.builder().userId(USER).token(prefix + i).isActive(true).build())
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        deviceTokenRepo = mock(DeviceTokenRepo.class);
+        fcmClient = new StubFcmClient(0);
+        pushService = new FcmPushNotificationService(deviceTokenRepo, fcmClient);
+    }
+
+    @Test
+    @DisplayName("Should send to all devices in multicast requests of at most 500 tokens")
+    void shouldChunkMulticast() {
+        when(deviceTokenRepo.findByUserIdAndIsActiveTrue(USER)).thenReturn(tokens("token-", 1_200));
+
+        assertEquals(1_200, pushService.sendNotificationToUser(USER, notification()));
+        assertEquals(3, fcmClient.getRequestCount());
+        assertEquals(1_200, fcmClient.getMessageCount());
+    }
+
+    @Test
+    @DisplayName("Should skip FCM when the user has no devices")
+    void shouldSkipUserWithoutDevices() {
+        when(deviceTokenRepo.findByUserIdAndIsActiveTrue(USER)).thenReturn(List.of());
+
+        assertEquals(0, pushService.sendNotificationToUser(USER, notification()));
+        assertEquals(0, fcmClient.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should deactivate invalid tokens with one update")
+    @SuppressWarnings("unchecked")
+    void shouldDeactivateInvalidTokens() {
+        List<DeviceToken> devices = new ArrayList<>(tokens("token-", 2));
+        devices.addAll(tokens("invalid-", 2));
+        when(deviceTokenRepo.findByUserIdAndIsActiveTrue(USER)).thenReturn(devices);
+
+        assertEquals(2, pushService.sendNotificationToUser(USER, notification()));
+        verify(deviceTokenRepo).deactivateByTokens(argThat((Collection<String> tokens) ->
+                Set.copyOf(tokens).equals(Set.of("invalid-0", "invalid-1"))));
+    }
+
+    @Test
+    @DisplayName("Should record last use of delivered tokens in one batched update")
+    @SuppressWarnings("unchecked")
+    void shouldFlushTokenTouches() {
+        when(deviceTokenRepo.findByUserIdAndIsActiveTrue(USER)).thenReturn(tokens("token-", 3));
+        pushService.sendNotificationToUser(USER, notification());
+        pushService.sendNotificationToUser(USER, notification());
+        verify(deviceTokenRepo, never()).touchLastUsed(any(), any());
+
+        pushService.flushTokenTouches();
+        pushService.flushTokenTouches();
+
+        verify(deviceTokenRepo, times(1)).touchLastUsed(argThat((Collection<String> tokens) ->
+                Set.copyOf(tokens).equals(Set.of("token-0", "token-1", "token-2"))), any());
+    }
+
+    @Test
+    @DisplayName("Should send a broadcast with one topic request")
+    void shouldSendTopicOnce() {
+        pushService.sendToTopic(BroadcastAudience.CANDIDATE, notification());
+
+        assertEquals(1, fcmClient.getRequestCount());
+        verifyNoInteractions(deviceTokenRepo);
+    }
+
+    @Test
+    @DisplayName("Should surface a rejected request so the caller can retry")
+    void shouldThrowWhenRequestFails() throws FirebaseMessagingException {
+        FcmClient failingClient = mock(FcmClient.class);
+        when(failingClient.sendMulticast(any(), any())).thenThrow(mock(FirebaseMessagingException.class));
+        when(deviceTokenRepo.findByUserIdAndIsActiveTrue(USER)).thenReturn(tokens("token-", 1));
+
+        FcmPushNotificationService service = new FcmPushNotificationService(deviceTokenRepo, failingClient);
+
+        assertThrows(IllegalStateException.class, () -> service.sendNotificationToUser(USER, notification()));
+    }
+}
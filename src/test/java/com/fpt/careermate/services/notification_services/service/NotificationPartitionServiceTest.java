@@ -0,0 +1,168 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationPartitionService Tests")
+class NotificationPartitionServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private FakeJdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPartitionService partitionService;
+
+    private static String partition(YearMonth month) {
+        return "notifications_p" + month.format(SUFFIX);
+    }
+
+    private boolean executed(String prefix) {
+        return jdbcTemplate.statements.stream().anyMatch(sql -> sql.startsWith(prefix));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new FakeJdbcTemplate();
+        meterRegistry = new SimpleMeterRegistry();
+        partitionService = new NotificationPartitionService(jdbcTemplate, mock(DataSource.class),
+                mock(PlatformTransactionManager.class), new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(partitionService, "monthsAhead", 2);
+        ReflectionTestUtils.setField(partitionService, "retentionMonths", 6);
+        ReflectionTestUtils.setField(partitionService, "archiveDir", "");
+    }
+
+    @Test
+    @DisplayName("Should leave an unpartitioned table alone")
+    void shouldSkipUnpartitionedTable() {
+        jdbcTemplate.partitioned = false;
+
+        partitionService.maintainPartitions();
+
+        assertTrue(jdbcTemplate.statements.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should create the missing partitions of the coming months")
+    void shouldCreatePartitionsAhead() {
+        YearMonth now = YearMonth.now();
+        jdbcTemplate.tables.add(partition(now));
+
+        partitionService.maintainPartitions();
+
+        assertFalse(executed("CREATE TABLE IF NOT EXISTS " + partition(now) + " "));
+        assertTrue(executed("CREATE TABLE IF NOT EXISTS " + partition(now.plusMonths(1)) + " "));
+        assertTrue(executed("CREATE TABLE IF NOT EXISTS " + partition(now.plusMonths(2)) + " "));
+        assertFalse(executed("CREATE TABLE IF NOT EXISTS " + partition(now.plusMonths(3)) + " "));
+    }
+
+    @Test
+    @DisplayName("Should drop whole partitions past retention")
+    void shouldDropExpiredPartitions() {
+        YearMonth now = YearMonth.now();
+        jdbcTemplate.tables.addAll(List.of(partition(now.minusMonths(7)), partition(now.minusMonths(6)),
+                "notifications_default"));
+
+        partitionService.maintainPartitions();
+
+        assertTrue(executed("ALTER TABLE notifications DETACH PARTITION " + partition(now.minusMonths(7))));
+        assertTrue(executed("DROP TABLE " + partition(now.minusMonths(7))));
+        assertFalse(executed("DROP TABLE " + partition(now.minusMonths(6))));
+        assertFalse(executed("DROP TABLE notifications_default"));
+    }
+
+    @Test
+    @DisplayName("Should move a month's rows out of DEFAULT before attaching its partition")
+    void shouldMoveRowsOutOfDefault() {
+        YearMonth now = YearMonth.now();
+        jdbcTemplate.tables.addAll(List.of("notifications_default", partition(now.plusMonths(1)),
+                partition(now.plusMonths(2))));
+        jdbcTemplate.defaultHasRows = true;
+
+        partitionService.maintainPartitions();
+
+        List<String> statements = jdbcTemplate.statements;
+        assertTrue(statements.get(0).startsWith("CREATE TABLE " + partition(now) + " (LIKE notifications"));
+        assertTrue(statements.get(1).startsWith("WITH moved AS (DELETE FROM notifications_default"));
+        assertTrue(statements.get(2).startsWith("ALTER TABLE notifications ATTACH PARTITION " + partition(now)));
+    }
+
+    @Test
+    @DisplayName("Should report rows left in DEFAULT")
+    void shouldReportDefaultRows() {
+        jdbcTemplate.tables.add("notifications_default");
+        jdbcTemplate.defaultRowCount = 5;
+
+        partitionService.maintainPartitions();
+
+        assertEquals(5, meterRegistry.get("notification.partitions.default.rows").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should refuse to archive anything but a notification partition")
+    void shouldRejectForeignTableName() {
+        assertThrows(IllegalArgumentException.class,
+                () -> partitionService.archivePartition("notifications; DROP TABLE account"));
+    }
+
+    /**
+     * Answers the catalog queries from an in-memory table list and records the DDL
+     */
+    private static final class FakeJdbcTemplate extends JdbcTemplate {
+
+        final Set<String> tables = new HashSet<>();
+        final List<String> statements = new ArrayList<>();
+        boolean partitioned = true;
+        boolean defaultHasRows;
+        long defaultRowCount;
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            Object result;
+            if (sql.contains("pg_partitioned_table")) {
+                result = partitioned;
+            } else if (sql.startsWith("SELECT to_regclass")) {
+                result = tables.contains((String) args[0]);
+            } else if (sql.startsWith("SELECT EXISTS (SELECT 1 FROM notifications_default")) {
+                result = defaultHasRows;
+            } else if (sql.startsWith("SELECT COUNT(*) FROM notifications_default")) {
+                result = defaultRowCount;
+            } else {
+                throw new AssertionError("Unexpected query: " + sql);
+            }
+            return requiredType.cast(result);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return tables.stream().sorted().map(elementType::cast).toList();
+        }
+
+        @Override
+        public void execute(String sql) {
+            statements.add(sql);
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            statements.add(sql);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationReplayBuffer Tests")
+class NotificationReplayBufferTest {
+
+    private static final String USER = "user@example.com";
+
+    private NotificationReplayBuffer buffer;
+
+    private static NotificationResponse notification(long id) {
+        return NotificationResponse.builder().id(id).recipientId(USER).build();
+    }
+
+    private static List<Long> ids(Optional<List<NotificationResponse>> replay) {
+        return replay.orElseThrow().stream().map(NotificationResponse::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        buffer = new NotificationReplayBuffer(4, 100, 60_000);
+    }
+
+    @Test
+    @DisplayName("Should replay the notifications after the client's last event")
+    void shouldReplayFromMemory() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, 2L, notification(11));
+        buffer.record(USER, 3L, notification(12));
+
+        assertEquals(List.of(11L, 12L), ids(buffer.since(USER, 10, 3L)));
+    }
+
+    @Test
+    @DisplayName("Should keep the buffer after a disconnect when nothing was sent since")
+    void shouldKeepBufferAfterDisconnect() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, 2L, notification(11));
+        buffer.disconnected(USER);
+        buffer.connected(USER);
+
+        assertEquals(List.of(11L), ids(buffer.since(USER, 10, 2L)));
+    }
+
+    @Test
+    @DisplayName("Should fall back when notifications were sent while the user was away")
+    void shouldDetectEventsSentWhileAway() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, 2L, notification(11));
+
+        assertTrue(buffer.since(USER, 10, 3L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start over after a sequence gap")
+    void shouldStartOverAfterGap() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, 2L, notification(11));
+        buffer.record(USER, 4L, notification(13));
+
+        // 12 went elsewhere, so the buffer can't cover a client that last saw 10
+        assertTrue(buffer.since(USER, 10, 4L).isEmpty());
+        assertEquals(List.of(), ids(buffer.since(USER, 13, 4L)));
+    }
+
+    @Test
+    @DisplayName("Should start over after an unnumbered notification")
+    void shouldStartOverWithoutSequence() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, null, notification(11));
+
+        assertTrue(buffer.since(USER, 10, null).isEmpty());
+        assertTrue(buffer.since(USER, 10, 2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fall back when the buffer no longer reaches the last event")
+    void shouldFallBackWhenOverwritten() {
+        for (long sequence = 1; sequence <= 6; sequence++) {
+            buffer.record(USER, sequence, notification(9 + sequence));
+        }
+
+        assertTrue(buffer.since(USER, 10, 6L).isEmpty());
+        assertEquals(List.of(14L, 15L), ids(buffer.since(USER, 13, 6L)));
+    }
+
+    @Test
+    @DisplayName("Should drop the buffer once the user stays away past the retention time")
+    void shouldEvictAfterRetention() {
+        NotificationReplayBuffer shortLived = new NotificationReplayBuffer(4, 100, 0);
+        shortLived.record(USER, 1L, notification(10));
+        shortLived.record(USER, 2L, notification(11));
+        shortLived.disconnected(USER);
+
+        assertTrue(shortLived.since(USER, 10, 2L).isEmpty());
+        shortLived.evictExpired();
+        shortLived.connected(USER);
+        assertTrue(shortLived.since(USER, 10, 2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep a connected user's buffer during cleanup")
+    void shouldKeepConnectedUser() {
+        buffer.record(USER, 1L, notification(10));
+        buffer.record(USER, 2L, notification(11));
+
+        buffer.evictExpired();
+
+        assertEquals(List.of(11L), ids(buffer.since(USER, 10, 2L)));
+    }
+}
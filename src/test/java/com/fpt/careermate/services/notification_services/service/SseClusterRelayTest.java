@@ -0,0 +1,103 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.common.constant.BroadcastAudience;
+import com.fpt.careermate.services.notification_services.service.SseClusterRelay.MessageType;
+import com.fpt.careermate.services.notification_services.service.SseClusterRelay.SseClusterMessage;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SseClusterRelay Tests")
+class SseClusterRelayTest {
+
+    private static final String USER = "user@example.com";
+
+    private static NotificationResponse notification(long id) {
+        return NotificationResponse.builder()
+                .id(id)
+                .eventType("JOB_APPROVED")
+                .recipientId(USER)
+                .title("Title")
+                .createdAt(LocalDateTime.of(2030, 1, 15, 10, 0))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Local relay")
+    class Local {
+
+        private LocalSseClusterRelay relay;
+        private final List<SseClusterMessage> delivered = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            relay = new LocalSseClusterRelay(100);
+            relay.subscribe(delivered::add);
+        }
+
+        @Test
+        @DisplayName("Should hand every message to the local connections")
+        void shouldDeliverLocally() {
+            relay.publishToUser(SseClusterMessage.unreadCount(USER, 3));
+            relay.publishBroadcast(SseClusterMessage.broadcast(BroadcastAudience.ALL, notification(1)));
+
+            assertEquals(List.of(MessageType.UNREAD_COUNT, MessageType.BROADCAST),
+                    delivered.stream().map(SseClusterMessage::type).toList());
+        }
+
+        @Test
+        @DisplayName("Should number each user's notifications consecutively")
+        void shouldNumberNotifications() {
+            relay.publishToUser(SseClusterMessage.notification(USER, notification(1)));
+            relay.publishToUser(SseClusterMessage.notification("other@example.com", notification(2)));
+            relay.publishToUser(SseClusterMessage.unreadCount(USER, 1));
+            relay.publishToUser(SseClusterMessage.notification(USER, notification(3)));
+
+            assertEquals(1L, delivered.get(0).sequence());
+            assertEquals(1L, delivered.get(1).sequence());
+            assertNull(delivered.get(2).sequence());
+            assertEquals(2L, delivered.get(3).sequence());
+            assertEquals(2L, relay.currentSequence(USER));
+            assertNull(relay.currentSequence("nobody@example.com"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Redis envelope")
+    class RedisEnvelope {
+
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        @Test
+        @DisplayName("Should survive the JSON round trip between instances")
+        void shouldRoundTrip() throws Exception {
+            SseClusterMessage message = SseClusterMessage.notification(USER, notification(7)).withSequence(5L);
+
+            String json = objectMapper.writeValueAsString(new RedisSseClusterRelay.Envelope("node-1", message));
+            RedisSseClusterRelay.Envelope read = objectMapper.readValue(json, RedisSseClusterRelay.Envelope.class);
+
+            assertEquals("node-1", read.origin());
+            assertEquals(message, read.message());
+        }
+
+        @Test
+        @DisplayName("Should carry a broadcast's audience")
+        void shouldRoundTripBroadcast() throws Exception {
+            SseClusterMessage message = SseClusterMessage.broadcast(BroadcastAudience.RECRUITER, notification(8));
+
+            String json = objectMapper.writeValueAsString(new RedisSseClusterRelay.Envelope("node-1", message));
+
+            assertEquals(BroadcastAudience.RECRUITER,
+                    objectMapper.readValue(json, RedisSseClusterRelay.Envelope.class).message().audience());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SseConnection Tests")
+class SseConnectionTest {
+
+    private static final int QUEUE_CAPACITY = 3;
+
+    private SseEmitter emitter;
+    private final Queue<Runnable> writerTasks = new ArrayDeque<>();
+    private final List<SseConnection> failed = new ArrayList<>();
+    private SseConnection connection;
+
+    private static Set<DataWithMediaType> frame(String data) {
+        return SseEmitter.event().name("notification").data(data).build();
+    }
+
+    /**
+     * Run the queued writer tasks on the test thread
+     */
+    private void runWriter() {
+        Runnable task;
+        while ((task = writerTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        emitter = mock(SseEmitter.class);
+        connection = new SseConnection("user@example.com", emitter, QUEUE_CAPACITY, writerTasks::add, failed::add);
+    }
+
+    @Test
+    @DisplayName("Should write queued frames in order on the writer, not the caller")
+    void shouldWriteOnWriter() throws IOException {
+        Set<DataWithMediaType> first = frame("1");
+        Set<DataWithMediaType> second = frame("2");
+
+        assertTrue(connection.enqueue(first));
+        assertTrue(connection.enqueue(second));
+        verify(emitter, never()).send(anySet());
+        assertEquals(1, writerTasks.size());
+
+        runWriter();
+
+        InOrder order = inOrder(emitter);
+        order.verify(emitter).send(first);
+        order.verify(emitter).send(second);
+    }
+
+    @Test
+    @DisplayName("Should refuse frames once the queue is full")
+    void shouldRejectWhenFull() {
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            assertTrue(connection.enqueue(frame(String.valueOf(i))));
+        }
+
+        assertFalse(connection.enqueue(frame("overflow")));
+    }
+
+    @Test
+    @DisplayName("Should report a failed write")
+    void shouldReportWriteFailure() throws IOException {
+        doThrow(new IOException("broken pipe")).when(emitter).send(anySet());
+
+        connection.enqueue(frame("1"));
+        runWriter();
+
+        assertEquals(List.of(connection), failed);
+    }
+
+    @Test
+    @DisplayName("Should drop pending frames and complete the emitter on close")
+    void shouldCloseOnce() throws IOException {
+        connection.enqueue(frame("1"));
+        connection.close();
+        connection.close();
+        runWriter();
+
+        assertTrue(connection.isClosed());
+        assertFalse(connection.enqueue(frame("2")));
+        verify(emitter, never()).send(anySet());
+        verify(emitter, times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Should close when the writer rejects the drain task")
+    void shouldCloseWhenWriterRejects() {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("shut down");
+        };
+        SseConnection rejected = new SseConnection("user@example.com", emitter, QUEUE_CAPACITY, rejecting, failed::add);
+
+        rejected.enqueue(frame("1"));
+
+        assertTrue(rejected.isClosed());
+        verify(emitter).complete();
+    }
+
+    @Test
+    @DisplayName("Should count as stalled only while a write is blocked too long")
+    void shouldDetectStalledWrite() throws IOException {
+        AtomicBoolean stalledDuringWrite = new AtomicBoolean();
+        doAnswer(invocation -> {
+            stalledDuringWrite.set(connection.isStalled(System.currentTimeMillis() + 60_000, 15_000));
+            return null;
+        }).when(emitter).send(anySet());
+
+        assertFalse(connection.isStalled(System.currentTimeMillis() + 60_000, 15_000));
+        connection.enqueue(frame("1"));
+        runWriter();
+
+        assertTrue(stalledDuringWrite.get());
+        assertFalse(connection.isStalled(System.currentTimeMillis() + 60_000, 15_000));
+    }
+}
@@ -0,0 +1,85 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.domain.NotificationUnreadCounter;
+import com.fpt.careermate.services.notification_services.repository.NotificationUnreadCounterRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UnreadCounterService Tests")
+class UnreadCounterServiceTest {
+
+    private NotificationUnreadCounterRepo counterRepo;
+    private UnreadCounterService unreadCounterService;
+
+    private static NotificationUnreadCounter counter(String recipientId, long unreadCount) {
+        return NotificationUnreadCounter.builder()
+                .recipientId(recipientId)
+                .unreadCount(unreadCount)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        counterRepo = mock(NotificationUnreadCounterRepo.class);
+        unreadCounterService = new UnreadCounterService(counterRepo);
+    }
+
+    @Test
+    @DisplayName("Should read an existing counter without recounting")
+    void shouldReadExistingCounter() {
+        when(counterRepo.findById("user@example.com")).thenReturn(Optional.of(counter("user@example.com", 4)));
+
+        assertEquals(4, unreadCounterService.getUnreadCount("user@example.com"));
+        verify(counterRepo, never()).initialize(anyString());
+    }
+
+    @Test
+    @DisplayName("Should create a missing counter from the notifications table")
+    void shouldInitializeMissingCounter() {
+        when(counterRepo.findById("user@example.com"))
+                .thenReturn(Optional.empty(), Optional.of(counter("user@example.com", 2)));
+
+        assertEquals(2, unreadCounterService.getUnreadCount("user@example.com"));
+        verify(counterRepo).initialize("user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should return the counts after storing notifications")
+    void shouldReturnCountsAfterInsert() {
+        Map<String, Long> inserted = Map.of("a@example.com", 1L, "b@example.com", 2L);
+        when(counterRepo.findAllById(inserted.keySet()))
+                .thenReturn(List.of(counter("a@example.com", 3), counter("b@example.com", 2)));
+
+        Map<String, Long> counts = unreadCounterService.recordInserted(inserted);
+
+        verify(counterRepo).addInserted(inserted);
+        assertEquals(Map.of("a@example.com", 3L, "b@example.com", 2L), counts);
+    }
+
+    @Test
+    @DisplayName("Should skip the database for an empty batch")
+    void shouldSkipEmptyInsert() {
+        assertTrue(unreadCounterService.recordInserted(Map.of()).isEmpty());
+        verifyNoInteractions(counterRepo);
+    }
+
+    @Test
+    @DisplayName("Should write reads and mark-all-as-read through to the counter")
+    void shouldWriteThrough() {
+        unreadCounterService.decrement("user@example.com");
+        unreadCounterService.reset("user@example.com");
+
+        verify(counterRepo).decrement("user@example.com");
+        verify(counterRepo).reset("user@example.com");
+    }
+}
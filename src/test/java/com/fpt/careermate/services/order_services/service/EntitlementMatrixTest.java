@@ -0,0 +1,126 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.services.order_services.domain.CandidateEntitlement;
+import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
+import com.fpt.careermate.services.order_services.domain.CandidatePackage;
+import com.fpt.careermate.services.order_services.domain.RecruiterEntitlement;
+import com.fpt.careermate.services.order_services.domain.RecruiterEntitlementPackage;
+import com.fpt.careermate.services.order_services.domain.RecruiterPackage;
+import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
+import com.fpt.careermate.services.order_services.repository.RecruiterEntitlementPackageRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EntitlementMatrix Tests")
+class EntitlementMatrixTest {
+
+    private CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
+    private RecruiterEntitlementPackageRepo recruiterEntitlementPackageRepo;
+    private EntitlementMatrix entitlementMatrix;
+
+    private static CandidateEntitlementPackage candidateCell(String packageName, String code,
+                                                             boolean enabled, int limitValue) {
+        return CandidateEntitlementPackage.builder()
+                .candidatePackage(CandidatePackage.builder().name(packageName).build())
+                .candidateEntitlement(CandidateEntitlement.builder().code(code).build())
+                .enabled(enabled)
+                .limitValue(limitValue)
+                .build();
+    }
+
+    private static RecruiterEntitlementPackage recruiterCell(String packageName, String code,
+                                                             boolean enabled, int limitValue) {
+        return RecruiterEntitlementPackage.builder()
+                .recruiterPackage(RecruiterPackage.builder().name(packageName).build())
+                .recruiterEntitlement(RecruiterEntitlement.builder().code(code).build())
+                .enabled(enabled)
+                .limitValue(limitValue)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        candidateEntitlementPackageRepo = mock(CandidateEntitlementPackageRepo.class);
+        recruiterEntitlementPackageRepo = mock(RecruiterEntitlementPackageRepo.class);
+        entitlementMatrix = new EntitlementMatrix(candidateEntitlementPackageRepo, recruiterEntitlementPackageRepo);
+
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement()).thenReturn(List.of(
+                candidateCell("FREE", "CV_BUILDER", true, 1),
+                candidateCell("FREE", "AI_ANALYZER", false, 0),
+                candidateCell("PREMIUM", "CV_BUILDER", true, 0)));
+        when(recruiterEntitlementPackageRepo.findAllWithPackageAndEntitlement()).thenReturn(List.of(
+                recruiterCell("BASIC", "JOB_POSTING", true, 5)));
+    }
+
+    @Test
+    @DisplayName("Should look up cells per package and entitlement")
+    void shouldLookUpCells() {
+        assertEquals(new EntitlementMatrix.Entitlement(true, 1), entitlementMatrix.candidate("FREE", "CV_BUILDER"));
+        assertFalse(entitlementMatrix.candidate("FREE", "AI_ANALYZER").enabled());
+        assertTrue(entitlementMatrix.candidate("PREMIUM", "CV_BUILDER").isUnlimited());
+        assertEquals(new EntitlementMatrix.Entitlement(true, 5), entitlementMatrix.recruiter("BASIC", "JOB_POSTING"));
+    }
+
+    @Test
+    @DisplayName("Should return null for a package or entitlement that is not granted")
+    void shouldReturnNullWhenMissing() {
+        assertNull(entitlementMatrix.candidate("PREMIUM", "AI_ANALYZER"));
+        assertNull(entitlementMatrix.candidate("GOLD", "CV_BUILDER"));
+        assertNull(entitlementMatrix.candidate(null, "CV_BUILDER"));
+        assertNull(entitlementMatrix.recruiter("BASIC", null));
+    }
+
+    @Test
+    @DisplayName("Should load once and answer later checks from memory")
+    void shouldLoadOnce() {
+        entitlementMatrix.candidate("FREE", "CV_BUILDER");
+        entitlementMatrix.candidate("PREMIUM", "CV_BUILDER");
+        entitlementMatrix.recruiter("BASIC", "JOB_POSTING");
+
+        verify(candidateEntitlementPackageRepo, times(1)).findAllWithPackageAndEntitlement();
+        verify(recruiterEntitlementPackageRepo, times(1)).findAllWithPackageAndEntitlement();
+    }
+
+    @Test
+    @DisplayName("Should pick up package changes on refresh")
+    void shouldSwapOnRefresh() {
+        entitlementMatrix.onStartup();
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement()).thenReturn(List.of(
+                candidateCell("FREE", "CV_BUILDER", true, 3)));
+
+        entitlementMatrix.refresh();
+
+        assertEquals(3, entitlementMatrix.candidate("FREE", "CV_BUILDER").limitValue());
+        assertNull(entitlementMatrix.candidate("PREMIUM", "CV_BUILDER"));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous matrix when a refresh fails")
+    void shouldKeepMatrixOnFailedRefresh() {
+        entitlementMatrix.onStartup();
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement())
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        entitlementMatrix.refresh();
+
+        assertEquals(new EntitlementMatrix.Entitlement(true, 1), entitlementMatrix.candidate("FREE", "CV_BUILDER"));
+    }
+
+    @Test
+    @DisplayName("Should load on first use when startup loading failed")
+    void shouldLoadLazilyAfterFailedStartup() {
+        when(recruiterEntitlementPackageRepo.findAllWithPackageAndEntitlement())
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(List.of(recruiterCell("BASIC", "JOB_POSTING", true, 5)));
+
+        entitlementMatrix.onStartup();
+
+        assertEquals(5, entitlementMatrix.recruiter("BASIC", "JOB_POSTING").limitValue());
+    }
+}
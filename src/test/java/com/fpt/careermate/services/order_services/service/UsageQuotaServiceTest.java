@@ -0,0 +1,149 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.common.constant.EntitlementCode;
+import com.fpt.careermate.common.constant.QuotaSubjectType;
+import com.fpt.careermate.services.order_services.repository.UsageQuotaRepo;
+import com.fpt.careermate.services.order_services.service.UsageQuotaService.QuotaKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UsageQuotaService Tests")
+class UsageQuotaServiceTest {
+
+    private static final String CANDIDATE = QuotaSubjectType.CANDIDATE;
+    private static final String APPLY_JOB = EntitlementCode.APPLY_JOB;
+
+    private UsageQuotaRepo usageQuotaRepo;
+    private UsageQuotaService usageQuotaService;
+
+    @BeforeEach
+    void setUp() {
+        usageQuotaRepo = mock(UsageQuotaRepo.class);
+        usageQuotaService = new UsageQuotaService(usageQuotaRepo);
+    }
+
+    @Nested
+    @DisplayName("Periods")
+    class Periods {
+
+        @Test
+        @DisplayName("Monthly key should use the current month")
+        void monthlyUsesCurrentMonth() {
+            QuotaKey key = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB);
+
+            assertEquals(YearMonth.now().toString(), key.period());
+        }
+
+        @Test
+        @DisplayName("Monthly key should roll over to a new counter each month")
+        void monthlyRollsOver() {
+            QuotaKey january = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 1));
+            QuotaKey february = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 2));
+
+            assertEquals("2025-01", january.period());
+            assertEquals("2025-02", february.period());
+            assertNotEquals(january, february);
+        }
+
+        @Test
+        @DisplayName("Monthly key should roll over across years")
+        void monthlyRollsOverYear() {
+            QuotaKey december = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 12));
+            QuotaKey january = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 12).plusMonths(1));
+
+            assertEquals("2025-12", december.period());
+            assertEquals("2026-01", january.period());
+        }
+
+        @Test
+        @DisplayName("Lifetime key should never change period")
+        void lifetimeNeverRollsOver() {
+            QuotaKey key = QuotaKey.lifetime(CANDIDATE, 1, EntitlementCode.CV_BUILDER);
+
+            assertEquals("ALL", key.period());
+            assertEquals(key, QuotaKey.lifetime(CANDIDATE, 1, EntitlementCode.CV_BUILDER));
+        }
+
+        @Test
+        @DisplayName("New month should start from the caller's count, not last month's usage")
+        void newMonthStartsFromInitialCount() {
+            QuotaKey february = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 2));
+            when(usageQuotaRepo.findUsed(CANDIDATE, 1, APPLY_JOB, "2025-01")).thenReturn(5);
+            when(usageQuotaRepo.findUsed(CANDIDATE, 1, APPLY_JOB, "2025-02")).thenReturn(null);
+
+            assertEquals(0, usageQuotaService.used(february, () -> 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Consume")
+    class Consume {
+
+        private final QuotaKey key = QuotaKey.monthly(CANDIDATE, 1, APPLY_JOB, YearMonth.of(2025, 1));
+
+        @Test
+        @DisplayName("Should take a unit from an existing counter")
+        void shouldConsumeExistingCounter() {
+            when(usageQuotaRepo.tryConsume(CANDIDATE, 1, APPLY_JOB, "2025-01", 5)).thenReturn(1);
+            AtomicInteger initialCountCalls = new AtomicInteger();
+
+            assertTrue(usageQuotaService.tryConsume(key, 5, initialCountCalls::incrementAndGet));
+            assertEquals(0, initialCountCalls.get());
+            verify(usageQuotaRepo, never()).initialize(anyString(), anyInt(), anyString(), anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should create a missing counter from the initial count and retry")
+        void shouldInitializeMissingCounter() {
+            when(usageQuotaRepo.tryConsume(CANDIDATE, 1, APPLY_JOB, "2025-01", 5)).thenReturn(0, 1);
+            when(usageQuotaRepo.findUsed(CANDIDATE, 1, APPLY_JOB, "2025-01")).thenReturn(null);
+
+            assertTrue(usageQuotaService.tryConsume(key, 5, () -> 3));
+            verify(usageQuotaRepo).initialize(CANDIDATE, 1, APPLY_JOB, "2025-01", 3);
+        }
+
+        @Test
+        @DisplayName("Should refuse when the limit is reached")
+        void shouldRefuseAtLimit() {
+            when(usageQuotaRepo.tryConsume(CANDIDATE, 1, APPLY_JOB, "2025-01", 5)).thenReturn(0);
+            when(usageQuotaRepo.findUsed(CANDIDATE, 1, APPLY_JOB, "2025-01")).thenReturn(5);
+
+            assertFalse(usageQuotaService.tryConsume(key, 5, () -> 0));
+            verify(usageQuotaRepo, never()).initialize(anyString(), anyInt(), anyString(), anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should treat a limit of 0 as unlimited")
+        void shouldTreatZeroAsUnlimited() {
+            when(usageQuotaRepo.tryConsume(CANDIDATE, 1, APPLY_JOB, "2025-01", Integer.MAX_VALUE)).thenReturn(1);
+
+            assertTrue(usageQuotaService.tryConsume(key, 0, () -> 0));
+        }
+
+        @Test
+        @DisplayName("Should use the stored count over the initial count")
+        void shouldPreferStoredCount() {
+            when(usageQuotaRepo.findUsed(CANDIDATE, 1, APPLY_JOB, "2025-01")).thenReturn(4);
+
+            assertEquals(4, usageQuotaService.used(key, () -> {
+                throw new AssertionError("initial count should not be evaluated");
+            }));
+        }
+
+        @Test
+        @DisplayName("Should give a unit back on release")
+        void shouldRelease() {
+            usageQuotaService.release(key);
+
+            verify(usageQuotaRepo).release(CANDIDATE, 1, APPLY_JOB, "2025-01");
+        }
+    }
+}